@@ -74,12 +74,15 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
       return;
     }
     ListLineConsumer agentLogger = new ListLineConsumer();
+    AgentLaunchingWaiter launchingWaiter = new AgentLaunchingWaiter(agentPingDelayMs);
     LineConsumer lineConsumer =
         new AbstractLineConsumer() {
           @Override
           public void writeLine(String line) throws IOException {
             machine.getLogger().writeLine(line);
             agentLogger.writeLine(line);
+            // output of agent often means that it is started, so check it soon
+            launchingWaiter.wakeUp();
           }
         };
     try {
@@ -89,13 +92,9 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
           agent.getId(),
           machine.getWorkspaceId());
 
-      final long pingStartTimestamp = System.currentTimeMillis();
-      while (System.currentTimeMillis() - pingStartTimestamp < agentMaxStartTimeMs) {
-        if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
-          return;
-        } else {
-          Thread.sleep(agentPingDelayMs);
-        }
+      if (launchingWaiter.await(
+          () -> agentLaunchingChecker.isLaunched(agent, process, machine), agentMaxStartTimeMs)) {
+        return;
       }
       LOG.error(
           format(
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.agent.server.launcher;
+
+import org.eclipse.che.api.core.ServerException;
+
+/**
+ * Waits until agent is launched checking its state with exponentially growing delays, so agents
+ * which start quickly are found launched early while slowly starting agents are not checked too
+ * often. Delays grow from {@link #MIN_CHECK_DELAY_MS} up to the given maximum delay.
+ *
+ * <p>Waiting is shortened when {@link #wakeUp()} is called, e.g. when agent writes to its output.
+ * Then agent state is checked once the minimal delay elapses since the previous check and delays
+ * start growing from the minimal one again. So agent which writes a lot to its output doesn't make
+ * its state checked more often than once in the minimal delay.
+ */
+public class AgentLaunchingWaiter {
+  /** Delay between the first and the second checks of agent state. */
+  public static final long MIN_CHECK_DELAY_MS = 25;
+
+  private final long minDelayMs;
+  private final long maxDelayMs;
+
+  private boolean wokenUp;
+
+  /** @param maxDelayMs maximum delay between checks of agent state */
+  public AgentLaunchingWaiter(long maxDelayMs) {
+    this(Math.min(MIN_CHECK_DELAY_MS, maxDelayMs), maxDelayMs);
+  }
+
+  AgentLaunchingWaiter(long minDelayMs, long maxDelayMs) {
+    // zero delay would make checks run back to back
+    this.minDelayMs = Math.max(1, minDelayMs);
+    this.maxDelayMs = Math.max(this.minDelayMs, maxDelayMs);
+  }
+
+  /**
+   * Checks agent state until agent is launched or timeout is reached.
+   *
+   * @param check check of agent state
+   * @param timeoutMs maximum time of waiting
+   * @return true if agent is launched, false if timeout is reached
+   * @throws ServerException if check of agent state fails
+   * @throws InterruptedException if waiting thread is interrupted
+   */
+  public boolean await(LaunchingCheck check, long timeoutMs)
+      throws ServerException, InterruptedException {
+    final long deadline = System.currentTimeMillis() + timeoutMs;
+    long delay = minDelayMs;
+    long now;
+    while ((now = System.currentTimeMillis()) < deadline) {
+      if (check.isLaunched()) {
+        return true;
+      }
+      final long checked = System.currentTimeMillis();
+      synchronized (this) {
+        long next;
+        while ((next = Math.min(checked + (wokenUp ? minDelayMs : delay), deadline))
+            > (now = System.currentTimeMillis())) {
+          wait(next - now);
+        }
+        if (wokenUp) {
+          wokenUp = false;
+          delay = minDelayMs;
+        } else {
+          delay = Math.min(delay * 2, maxDelayMs);
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Makes waiting thread check agent state once the minimal delay elapses since the previous check.
+   */
+  public synchronized void wakeUp() {
+    wokenUp = true;
+    notifyAll();
+  }
+
+  /** Check of agent state. */
+  public interface LaunchingCheck {
+    /** Returns true if agent is launched, false otherwise. */
+    boolean isLaunched() throws ServerException;
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.agent.server.launcher;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link AgentLaunchingWaiter}. */
+public class AgentLaunchingWaiterTest {
+  private ExecutorService executor;
+
+  @BeforeMethod
+  public void setUp() {
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldReturnTrueWhenAgentIsLaunched() throws Exception {
+    final AtomicInteger checks = new AtomicInteger();
+
+    final boolean launched =
+        new AgentLaunchingWaiter(1, 5).await(() -> checks.incrementAndGet() == 3, 10_000);
+
+    assertTrue(launched);
+    assertEquals(checks.get(), 3);
+  }
+
+  @Test
+  public void shouldReturnFalseWhenTimeoutIsReached() throws Exception {
+    final long start = System.currentTimeMillis();
+
+    final boolean launched = new AgentLaunchingWaiter(1, 5).await(() -> false, 100);
+
+    assertFalse(launched);
+    assertTrue(System.currentTimeMillis() - start >= 100);
+  }
+
+  @Test
+  public void shouldIncreaseDelaysBetweenChecksUpToMaximum() throws Exception {
+    final AtomicInteger checks = new AtomicInteger();
+
+    new AgentLaunchingWaiter(10, 40)
+        .await(
+            () -> {
+              checks.incrementAndGet();
+              return false;
+            },
+            300);
+
+    // checks at about 0, 10, 30, 70, 110, 150, 190, 230, 270 ms
+    assertTrue(checks.get() <= 9, "Agent state was checked " + checks.get() + " times");
+  }
+
+  @Test
+  public void shouldCheckAgentStateAfterMinimalDelayWhenWokenUp() throws Exception {
+    final AgentLaunchingWaiter waiter = new AgentLaunchingWaiter(50, 10_000);
+    final CountDownLatch firstCheck = new CountDownLatch(1);
+    final AtomicInteger checks = new AtomicInteger();
+    executor.execute(
+        () -> {
+          try {
+            firstCheck.await();
+            waiter.wakeUp();
+          } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+          }
+        });
+    final long start = System.currentTimeMillis();
+
+    final boolean launched =
+        waiter.await(
+            () -> {
+              firstCheck.countDown();
+              return checks.incrementAndGet() == 2;
+            },
+            60_000);
+
+    assertTrue(launched);
+    assertTrue(System.currentTimeMillis() - start < TimeUnit.SECONDS.toMillis(10));
+  }
+
+  @Test
+  public void shouldNotCheckAgentStateMoreOftenThanMinimalDelayWhenWokenUpRepeatedly()
+      throws Exception {
+    final AgentLaunchingWaiter waiter = new AgentLaunchingWaiter(20, 10_000);
+    final AtomicInteger checks = new AtomicInteger();
+    executor.execute(
+        () -> {
+          // agent which writes to its output all the time
+          while (!Thread.currentThread().isInterrupted()) {
+            waiter.wakeUp();
+          }
+        });
+
+    waiter.await(
+        () -> {
+          checks.incrementAndGet();
+          return false;
+        },
+        300);
+
+    assertTrue(checks.get() <= 16, "Agent state was checked " + checks.get() + " times");
+  }
+
+  @Test
+  public void shouldNotWaitForeverWhenMaximumDelayIsZero() throws Exception {
+    final AtomicInteger checks = new AtomicInteger();
+    final long start = System.currentTimeMillis();
+
+    final boolean launched =
+        new AgentLaunchingWaiter(0)
+            .await(
+                () -> {
+                  checks.incrementAndGet();
+                  return false;
+                },
+                100);
+
+    assertFalse(launched);
+    assertTrue(System.currentTimeMillis() - start < TimeUnit.SECONDS.toMillis(10));
+    assertTrue(checks.get() <= 101, "Agent state was checked " + checks.get() + " times");
+  }
+}
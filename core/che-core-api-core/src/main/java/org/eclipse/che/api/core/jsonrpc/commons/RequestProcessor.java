@@ -18,4 +18,18 @@ public interface RequestProcessor {
    * @param runnable runnable to be called for processing of a request
    */
   void process(Runnable runnable);
+
+  /**
+   * Process a runnable interface that handles request with the specified method name received from
+   * the specified endpoint. Implementation may use this information to schedule processing of
+   * requests, by default it is ignored.
+   *
+   * @param endpointId endpoint the request is received from
+   * @param method method name of the request
+   * @param runnable runnable to be called for processing of a request
+   * @throws JsonRpcException if the request can not be accepted for processing
+   */
+  default void process(String endpointId, String method, Runnable runnable) {
+    process(runnable);
+  }
 }
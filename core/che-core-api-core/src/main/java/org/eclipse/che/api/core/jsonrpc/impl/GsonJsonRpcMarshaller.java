@@ -10,15 +10,14 @@
  */
 package org.eclipse.che.api.core.jsonrpc.impl;
 
-import static org.eclipse.che.api.core.jsonrpc.commons.JsonRpcUtils.cast;
-
-import com.google.gson.JsonArray;
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonNull;
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
-import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
 import com.google.inject.Inject;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.List;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
@@ -27,144 +26,169 @@ import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResult;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
+import org.eclipse.che.dto.shared.DTO;
 
+/**
+ * Writes JSON RPC requests and responses in a single pass. DTOs are written straight to the
+ * message with the DTO {@link Gson}, so they are neither serialized to intermediate strings nor
+ * parsed back into JSON trees.
+ */
 public class GsonJsonRpcMarshaller implements JsonRpcMarshaller {
   private final JsonParser jsonParser;
+  private final Gson dtoGson;
+  private final TypeAdapter<JsonElement> jsonElementAdapter;
 
   @Inject
   public GsonJsonRpcMarshaller(JsonParser jsonParser) {
     this.jsonParser = jsonParser;
+    this.dtoGson = DtoFactory.getInstance().getGson();
+    this.jsonElementAdapter = dtoGson.getAdapter(JsonElement.class);
   }
 
   @Override
   public String marshall(JsonRpcResponse response) {
-    JsonElement jsonId = getId(response);
-    JsonElement jsonResult = getResult(response);
-    JsonElement jsonError = getError(response);
-
-    return getResponse(jsonId, jsonResult, jsonError).toString();
+    StringWriter message = new StringWriter();
+    try (JsonWriter writer = newJsonWriter(message)) {
+      writer.beginObject();
+      writer.name("jsonrpc").value("2.0");
+      if (response.hasId()) {
+        writer.name("id").value(response.getId());
+      }
+
+      if (response.hasResult()) {
+        JsonRpcResult result = response.getResult();
+        writer.name("result");
+        writeValues(writer, result.isSingle(), result.getMany());
+      } else {
+        writer.name("error");
+        writeError(writer, response.getError());
+      }
+      writer.endObject();
+    } catch (IOException e) {
+      throw new RuntimeException(e); // won't happen
+    }
+    return message.toString();
   }
 
   @Override
   public String marshall(JsonRpcRequest request) {
-    JsonElement method = getMethod(request);
-    JsonElement id = getId(request);
-    JsonElement params = getParams(request);
-
-    return getRequest(method, id, params).toString();
-  }
-
-  private JsonObject getRequest(
-      JsonElement jsonMethod, JsonElement jsonId, JsonElement jsonParams) {
-    JsonObject jsonRequest = new JsonObject();
-    jsonRequest.addProperty("jsonrpc", "2.0");
-    jsonRequest.add("method", jsonMethod);
-
-    if (jsonId != null) {
-      jsonRequest.add("id", jsonId);
-    }
-
-    if (jsonParams != null) {
-      jsonRequest.add("params", jsonParams);
+    StringWriter message = new StringWriter();
+    try (JsonWriter writer = newJsonWriter(message)) {
+      writer.beginObject();
+      writer.name("jsonrpc").value("2.0");
+      writer.name("method").value(request.getMethod());
+      if (request.hasId()) {
+        writer.name("id").value(request.getId());
+      }
+
+      if (request.hasParams()) {
+        JsonRpcParams params = request.getParams();
+        writer.name("params");
+        writeValues(writer, params.isSingle(), params.getMany());
+      }
+      writer.endObject();
+    } catch (IOException e) {
+      throw new RuntimeException(e); // won't happen
     }
-    return jsonRequest;
+    return message.toString();
   }
 
-  private JsonElement getParams(JsonRpcRequest request) {
-    if (!request.hasParams()) {
-      return null;
-    }
-
-    JsonRpcParams params = request.getParams();
-    return params.isSingle() ? getElement(params.getOne()) : getElements(params.getMany());
+  private JsonWriter newJsonWriter(StringWriter message) {
+    JsonWriter writer = new JsonWriter(message);
+    // allows NaN and infinite numbers in the same way as JSON trees do
+    writer.setLenient(true);
+    return writer;
   }
 
-  private JsonElement getId(JsonRpcRequest request) {
-    return request.hasId() ? new JsonPrimitive(request.getId()) : null;
-  }
+  private void writeError(JsonWriter writer, JsonRpcError error) throws IOException {
+    if (error == null) {
+      writer.nullValue();
+      return;
+    }
 
-  private JsonPrimitive getMethod(JsonRpcRequest request) {
-    return new JsonPrimitive(request.getMethod());
+    writer.beginObject();
+    writer.name("code").value(error.getCode());
+    writer.name("message").value(error.getMessage());
+    writer.endObject();
   }
 
-  private JsonObject getResponse(
-      JsonElement jsonId, JsonElement jsonResult, JsonElement jsonError) {
-    JsonObject jsonResponse = new JsonObject();
-    jsonResponse.addProperty("jsonrpc", "2.0");
-    if (jsonId != null) {
-      jsonResponse.add("id", jsonId);
+  /**
+   * Writes params or result. The only value is written as is when it is a JSON object, otherwise
+   * it is wrapped into an array.
+   */
+  private void writeValues(JsonWriter writer, boolean single, List<?> values) throws IOException {
+    if (single) {
+      Object value = toWritable(values.get(0));
+      if (isJsonObject(value)) {
+        writeValue(writer, value);
+      } else {
+        writer.beginArray();
+        writeValue(writer, value);
+        writer.endArray();
+      }
+      return;
     }
 
-    if (jsonResult != null) {
-      jsonResponse.add("result", jsonResult);
-    } else {
-      jsonResponse.add("error", jsonError);
+    writer.beginArray();
+    for (Object value : values) {
+      writeValue(writer, toWritable(value));
     }
-    return jsonResponse;
+    writer.endArray();
   }
 
-  private JsonObject getError(JsonRpcResponse response) {
-    if (!response.hasError()) {
-      return null;
+  /**
+   * Converts value to one of the types which are written directly, those are null, JSON element,
+   * string, boolean, double and DTO.
+   */
+  private Object toWritable(Object value) {
+    if (value == null
+        || value instanceof JsonElement
+        || value instanceof String
+        || value instanceof Boolean
+        || value instanceof Double
+        || isDto(value)) {
+      return value;
     }
-
-    JsonObject jsonError = new JsonObject();
-    JsonRpcError error = response.getError();
-    jsonError.add("code", new JsonPrimitive(error.getCode()));
-    jsonError.add("message", new JsonPrimitive(error.getMessage()));
-    return jsonError;
-  }
-
-  private JsonElement getResult(JsonRpcResponse response) {
-    if (!response.hasResult()) {
-      return null;
+    if (value instanceof JsonSerializable) {
+      return ((JsonSerializable) value).toJsonElement();
     }
-
-    JsonRpcResult result = response.getResult();
-    return result.isSingle() ? getElement(result.getOne()) : getElements(result.getMany());
-  }
-
-  private JsonElement getId(JsonRpcResponse response) {
-    return response.hasId() ? new JsonPrimitive(response.getId()) : null;
+    return jsonParser.parse(value.toString());
   }
 
-  private JsonElement getElements(List<?> params) {
-    JsonArray elements = new JsonArray();
-    params.forEach(param -> elements.add(getJsonElement(param)));
-    return elements;
+  private void writeValue(JsonWriter writer, Object value) throws IOException {
+    if (value == null) {
+      writer.nullValue();
+    } else if (value instanceof JsonElement) {
+      jsonElementAdapter.write(writer, (JsonElement) value);
+    } else if (value instanceof String) {
+      writer.value((String) value);
+    } else if (value instanceof Boolean) {
+      writer.value((Boolean) value);
+    } else if (value instanceof Double) {
+      writer.value((Double) value);
+    } else {
+      dtoGson.toJson(value, value.getClass(), writer);
+    }
   }
 
-  private JsonElement getElement(Object param) {
-    JsonElement jsonElement = getJsonElement(param);
-    if (jsonElement.isJsonObject()) {
-      return jsonElement;
+  private static boolean isJsonObject(Object value) {
+    if (value instanceof JsonElement) {
+      return ((JsonElement) value).isJsonObject();
     }
-
-    JsonArray array = new JsonArray();
-    array.add(jsonElement);
-    return array;
+    return isDto(value);
   }
 
-  private JsonElement getJsonElement(Object param) {
-    if (param == null) {
-      return JsonNull.INSTANCE;
-    }
-    if (param instanceof JsonElement) {
-      return cast(param);
-    }
-    if (param instanceof String) {
-      return new JsonPrimitive((String) param);
-    }
-    if (param instanceof Boolean) {
-      return new JsonPrimitive((Boolean) param);
-    }
-    if (param instanceof Double) {
-      return new JsonPrimitive((Double) param);
+  /** Checks whether value is an implementation of DTO, which is serialized by DTO gson. */
+  private static boolean isDto(Object value) {
+    if (!(value instanceof JsonSerializable)) {
+      return false;
     }
-    try {
-      return jsonParser.parse(DtoFactory.getInstance().toJson(param));
-    } catch (IllegalArgumentException e) {
-      return jsonParser.parse(param.toString());
+    for (Class<?> implemented : value.getClass().getInterfaces()) {
+      if (implemented.isAnnotationPresent(DTO.class)) {
+        return true;
+      }
     }
+    return false;
   }
 }
@@ -14,13 +14,14 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.Collections.singletonList;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
-import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
@@ -30,6 +31,10 @@ import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResult;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcUnmarshaller;
 
+/**
+ * Reads JSON RPC requests and responses in a single pass. Only objects passed as params or result
+ * are parsed into JSON trees, those are converted to DTOs later by {@link GsonJsonRpcComposer}.
+ */
 @Singleton
 public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
   private final JsonParser jsonParser;
@@ -41,7 +46,21 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
 
   @Override
   public List<String> unmarshalArray(String message) {
-    return getArray(message, jsonParser.parse(message).isJsonArray());
+    try (JsonReader reader = newJsonReader(message)) {
+      if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+        return singletonList(message);
+      }
+
+      List<String> result = new ArrayList<>();
+      reader.beginArray();
+      while (reader.hasNext()) {
+        result.add(jsonParser.parse(reader).toString());
+      }
+      reader.endArray();
+      return result;
+    } catch (IOException e) {
+      throw new JsonSyntaxException(e);
+    }
   }
 
   @Override
@@ -49,12 +68,32 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
     checkNotNull(message, "Message must not be null");
     checkArgument(!message.isEmpty(), "Message must not be empty");
 
-    JsonObject request = jsonParser.parse(message).getAsJsonObject();
-
-    String method = getMethod(request);
-    String id = getId(request);
-    JsonRpcParams params = getParams(request);
+    String method = null;
+    String id = null;
+    JsonRpcParams params = null;
+    try (JsonReader reader = newJsonReader(message)) {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "method":
+            method = reader.nextString();
+            break;
+          case "id":
+            id = readId(reader);
+            break;
+          case "params":
+            params = readParams(reader);
+            break;
+          default:
+            reader.skipValue();
+        }
+      }
+      reader.endObject();
+    } catch (IOException e) {
+      throw new JsonSyntaxException(e);
+    }
 
+    checkArgument(method != null, "Request method must not be null");
     return new JsonRpcRequest(id, method, params);
   }
 
@@ -63,110 +102,114 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
     checkNotNull(message, "Message must not be null");
     checkArgument(!message.isEmpty(), "Message must not be empty");
 
-    JsonObject response = jsonParser.parse(message).getAsJsonObject();
-
-    String id = getId(response);
-    JsonRpcResult result = getResult(response);
-    JsonRpcError error = getError(response);
+    String id = null;
+    JsonRpcResult result = null;
+    JsonRpcError error = null;
+    try (JsonReader reader = newJsonReader(message)) {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "id":
+            id = readId(reader);
+            break;
+          case "result":
+            result = readResult(reader);
+            break;
+          case "error":
+            error = readError(reader);
+            break;
+          default:
+            reader.skipValue();
+        }
+      }
+      reader.endObject();
+    } catch (IOException e) {
+      throw new JsonSyntaxException(e);
+    }
 
     return new JsonRpcResponse(id, result, error);
   }
 
-  private JsonRpcError getError(JsonObject response) {
-    if (!response.has("error")) {
-      return null;
-    }
-
-    int code = response.get("error").getAsJsonObject().get("code").getAsInt();
-    String errorMessage = response.get("error").getAsJsonObject().get("message").getAsString();
-    return new JsonRpcError(code, errorMessage);
+  private JsonReader newJsonReader(String message) {
+    JsonReader reader = new JsonReader(new StringReader(message));
+    // accepts the same messages as the lenient JSON parser does
+    reader.setLenient(true);
+    return reader;
   }
 
-  private JsonRpcResult getResult(JsonObject response) {
-    if (!response.has("result")) {
+  private String readId(JsonReader reader) throws IOException {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull();
       return null;
     }
-
-    JsonElement jsonElement = response.get("result");
-    if (!jsonElement.isJsonArray()) {
-      return new JsonRpcResult(getInnerItem(jsonElement));
-    }
-
-    JsonArray jsonArray = jsonElement.getAsJsonArray();
-    int size = jsonArray.size();
-    List<Object> innerResults = new ArrayList<>(size);
-    for (int i = 0; i < size; i++) {
-      JsonElement innerJsonElement = jsonArray.get(i);
-      innerResults.add(getInnerItem(innerJsonElement));
-    }
-
-    return new JsonRpcResult(innerResults);
+    // numeric ids are kept as they are written in the message
+    return reader.nextString();
   }
 
-  private JsonRpcParams getParams(JsonObject jsonObject) {
-    if (!jsonObject.has("params")) {
+  private JsonRpcError readError(JsonReader reader) throws IOException {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull();
       return null;
     }
 
-    JsonElement jsonElement = jsonObject.get("params");
-    if (!jsonElement.isJsonArray()) {
-      return new JsonRpcParams(getInnerItem(jsonElement));
-    }
-
-    JsonArray jsonArray = jsonElement.getAsJsonArray();
-    int size = jsonArray.size();
-    List<Object> innerParameters = new ArrayList<>(size);
-    for (int i = 0; i < size; i++) {
-      JsonElement innerJsonElement = jsonArray.get(i);
-      innerParameters.add(getInnerItem(innerJsonElement));
+    int code = 0;
+    String errorMessage = null;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "code":
+          code = reader.nextInt();
+          break;
+        case "message":
+          errorMessage = reader.nextString();
+          break;
+        default:
+          reader.skipValue();
+      }
     }
-
-    return new JsonRpcParams(innerParameters);
-  }
-
-  private String getId(JsonObject jsonObject) {
-    return jsonObject.has("id") ? jsonObject.get("id").getAsString() : null;
-  }
-
-  private String getMethod(JsonObject jsonObject) {
-    return jsonObject.get("method").getAsString();
+    reader.endObject();
+    return new JsonRpcError(code, errorMessage);
   }
 
-  private List<String> getArray(String message, boolean isArray) {
-    if (!isArray) {
-      return singletonList(message);
+  private JsonRpcResult readResult(JsonReader reader) throws IOException {
+    if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+      return new JsonRpcResult(readInnerItem(reader));
     }
-
-    JsonArray jsonArray = jsonParser.parse(message).getAsJsonArray();
-    int size = jsonArray.size();
-    List<String> result = new ArrayList<>(size);
-    for (int i = 0; i < size; i++) {
-      JsonElement jsonElement = jsonArray.get(i);
-      result.add(jsonElement.toString());
-    }
-    return result;
+    return new JsonRpcResult(readInnerItems(reader));
   }
 
-  private Object getInnerItem(JsonElement jsonElement) {
-    if (jsonElement.isJsonNull()) {
-      return null;
+  private JsonRpcParams readParams(JsonReader reader) throws IOException {
+    if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+      return new JsonRpcParams(readInnerItem(reader));
     }
+    return new JsonRpcParams(readInnerItems(reader));
+  }
 
-    if (jsonElement.isJsonObject()) {
-      return jsonElement.getAsJsonObject();
+  private List<Object> readInnerItems(JsonReader reader) throws IOException {
+    List<Object> items = new ArrayList<>();
+    reader.beginArray();
+    while (reader.hasNext()) {
+      items.add(readInnerItem(reader));
     }
+    reader.endArray();
+    return items;
+  }
 
-    if (jsonElement.isJsonPrimitive()) {
-      JsonPrimitive jsonPrimitive = jsonElement.getAsJsonPrimitive();
-      if (jsonPrimitive.isNumber()) {
-        return jsonPrimitive.getAsDouble();
-      } else if (jsonPrimitive.isString()) {
-        return jsonPrimitive.getAsString();
-      } else {
-        return jsonPrimitive.getAsBoolean();
-      }
+  private Object readInnerItem(JsonReader reader) throws IOException {
+    switch (reader.peek()) {
+      case NULL:
+        reader.nextNull();
+        return null;
+      case BEGIN_OBJECT:
+        return jsonParser.parse(reader).getAsJsonObject();
+      case NUMBER:
+        return reader.nextDouble();
+      case STRING:
+        return reader.nextString();
+      case BOOLEAN:
+        return reader.nextBoolean();
+      default:
+        throw new IllegalStateException("Unexpected json element type");
     }
-
-    throw new IllegalStateException("Unexpected json element type");
   }
 }
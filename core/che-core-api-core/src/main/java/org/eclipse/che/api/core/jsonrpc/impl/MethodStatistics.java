@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Processing statistics of JSON RPC requests with the same method name collected by {@link
+ * ServerSideRequestProcessor}.
+ */
+public class MethodStatistics {
+  private final String method;
+  private final TimeHistogram queueTime = new TimeHistogram();
+  private final TimeHistogram executionTime = new TimeHistogram();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+
+  MethodStatistics(String method) {
+    this.method = method;
+  }
+
+  /** Returns method name. */
+  public String getMethod() {
+    return method;
+  }
+
+  /** Returns time requests spent in the queue waiting for processing thread. */
+  public TimeHistogram getQueueTime() {
+    return queueTime;
+  }
+
+  /** Returns time spent in processing of requests. */
+  public TimeHistogram getExecutionTime() {
+    return executionTime;
+  }
+
+  /** Returns number of requests which are waiting for processing at the moment. */
+  public int getQueueDepth() {
+    return queued.get();
+  }
+
+  /** Returns number of requests rejected because the queue was full. */
+  public long getRejected() {
+    return rejected.get();
+  }
+
+  /** Returns number of requests which processing failed with unexpected exception. */
+  public long getFailed() {
+    return failed.get();
+  }
+
+  void requestQueued() {
+    queued.incrementAndGet();
+  }
+
+  void requestRejected() {
+    rejected.incrementAndGet();
+  }
+
+  void requestStarted(long queueTimeNanos) {
+    queued.decrementAndGet();
+    queueTime.record(queueTimeNanos);
+  }
+
+  void requestFinished(long executionTimeNanos, boolean succeeded) {
+    executionTime.record(executionTimeNanos);
+    if (!succeeded) {
+      failed.incrementAndGet();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "MethodStatistics{"
+        + "method='"
+        + method
+        + '\''
+        + ", queueDepth="
+        + queued
+        + ", rejected="
+        + rejected
+        + ", failed="
+        + failed
+        + ", queueTime="
+        + queueTime
+        + ", executionTime="
+        + executionTime
+        + '}';
+  }
+}
@@ -10,39 +10,108 @@
  */
 package org.eclipse.che.api.core.jsonrpc.impl;
 
-import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Singleton;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestProcessor;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
 
+/**
+ * Processes requests with a bounded number of threads. Requests are queued per method name and
+ * per endpoint, threads take requests round-robin across methods and across endpoints within a
+ * method, so a burst of requests of one method or from one endpoint does not starve the others.
+ * When the queue of a method is full the request is rejected with JSON RPC error.
+ */
 @Singleton
 public class ServerSideRequestProcessor implements RequestProcessor {
+  private static final Logger LOG = getLogger(ServerSideRequestProcessor.class);
+
+  public static final String MAX_POOL_SIZE = "che.core.jsonrpc.processor_max_pool_size";
+  public static final String QUEUE_CAPACITY = "che.core.jsonrpc.processor_queue_capacity";
+
+  /** Implementation defined server error, see JSON RPC specification. */
+  public static final int REQUEST_REJECTED_ERROR_CODE = -32001;
+
+  /** Statistics of methods beyond this number are collected together under {@link #OTHER}. */
+  private static final int MAX_TRACKED_METHODS = 256;
+
+  private static final String OTHER = "*";
+
+  private final int poolSize;
+  private final int queueCapacity;
+  private final ReentrantLock lock;
+  private final Condition notEmpty;
+  private final ArrayDeque<MethodQueue> readyMethods;
+  private final Map<String, MethodQueue> methodQueues;
+  private final ConcurrentMap<String, MethodStatistics> statistics;
+
   private ExecutorService executorService;
+  private boolean stopped;
+
+  @Inject
+  public ServerSideRequestProcessor(
+      @Named(MAX_POOL_SIZE) int poolSize, @Named(QUEUE_CAPACITY) int queueCapacity) {
+    if (poolSize <= 0 || queueCapacity <= 0) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Invalid request processor configuration: pool size %d, queue capacity %d",
+              poolSize, queueCapacity));
+    }
+    this.poolSize = poolSize;
+    this.queueCapacity = queueCapacity;
+    this.lock = new ReentrantLock();
+    this.notEmpty = lock.newCondition();
+    this.readyMethods = new ArrayDeque<>();
+    this.methodQueues = new HashMap<>();
+    this.statistics = new ConcurrentHashMap<>();
+  }
 
   @PostConstruct
-  private void postConstruct() {
+  void postConstruct() {
     ThreadFactory factory =
         new ThreadFactoryBuilder()
             .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
-            .setNameFormat(ServerSideRequestProcessor.class.getSimpleName())
+            .setNameFormat(ServerSideRequestProcessor.class.getSimpleName() + "-%d")
             .setDaemon(true)
             .build();
 
-    executorService = newCachedThreadPool(factory);
+    executorService = newFixedThreadPool(poolSize, factory);
+    for (int i = 0; i < poolSize; i++) {
+      executorService.execute(this::processQueuedRequests);
+    }
   }
 
   @PreDestroy
-  private void preDestroy() {
+  void preDestroy() {
+    lock.lock();
+    try {
+      stopped = true;
+      notEmpty.signalAll();
+    } finally {
+      lock.unlock();
+    }
     executorService.shutdown();
     try {
-      if (executorService.awaitTermination(5, SECONDS)) {
+      if (!executorService.awaitTermination(5, SECONDS)) {
         executorService.shutdownNow();
         executorService.awaitTermination(5, SECONDS);
       }
@@ -54,6 +123,145 @@ public class ServerSideRequestProcessor implements RequestProcessor {
 
   @Override
   public void process(Runnable runnable) {
-    executorService.execute(runnable);
+    process(OTHER, OTHER, runnable);
+  }
+
+  @Override
+  public void process(String endpointId, String method, Runnable runnable) {
+    final MethodStatistics methodStatistics = getOrCreateStatistics(method);
+    final Request request = new Request(runnable, methodStatistics);
+    lock.lock();
+    try {
+      if (stopped) {
+        methodStatistics.requestRejected();
+        throw new JsonRpcException(REQUEST_REJECTED_ERROR_CODE, "Server is shutting down");
+      }
+      MethodQueue queue = methodQueues.get(method);
+      if (queue == null) {
+        queue = new MethodQueue(method);
+        methodQueues.put(method, queue);
+        readyMethods.add(queue);
+      } else if (queue.size >= queueCapacity) {
+        methodStatistics.requestRejected();
+        LOG.warn("Request of method '{}' from endpoint '{}' is rejected", method, endpointId);
+        throw new JsonRpcException(
+            REQUEST_REJECTED_ERROR_CODE,
+            "Too many requests of method '" + method + "' are waiting for processing");
+      }
+      queue.add(endpointId, request);
+      methodStatistics.requestQueued();
+      notEmpty.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Returns processing statistics of requests grouped by method name. */
+  public Map<String, MethodStatistics> getStatistics() {
+    return unmodifiableMap(statistics);
+  }
+
+  private MethodStatistics getOrCreateStatistics(String method) {
+    final MethodStatistics methodStatistics = statistics.get(method);
+    if (methodStatistics != null) {
+      return methodStatistics;
+    }
+    // method names come from clients, do not let unknown ones grow the map infinitely
+    final String key = statistics.size() < MAX_TRACKED_METHODS ? method : OTHER;
+    return statistics.computeIfAbsent(key, MethodStatistics::new);
+  }
+
+  private void processQueuedRequests() {
+    try {
+      for (Request request = take(); request != null; request = take()) {
+        final long start = System.nanoTime();
+        request.statistics.requestStarted(start - request.queuedAt);
+        boolean succeeded = false;
+        try {
+          request.runnable.run();
+          succeeded = true;
+        } catch (RuntimeException e) {
+          LOG.error(e.getLocalizedMessage(), e);
+        } finally {
+          request.statistics.requestFinished(System.nanoTime() - start, succeeded);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Takes next request, waits until any request is queued. Returns {@code null} when processor is
+   * stopped and all queued requests are taken.
+   */
+  private Request take() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (readyMethods.isEmpty()) {
+        if (stopped) {
+          return null;
+        }
+        notEmpty.await();
+      }
+      final MethodQueue queue = readyMethods.poll();
+      final Request request = queue.poll();
+      if (queue.size > 0) {
+        readyMethods.add(queue);
+      } else {
+        methodQueues.remove(queue.method);
+      }
+      return request;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static class Request {
+    final Runnable runnable;
+    final MethodStatistics statistics;
+    final long queuedAt;
+
+    Request(Runnable runnable, MethodStatistics statistics) {
+      this.runnable = runnable;
+      this.statistics = statistics;
+      this.queuedAt = System.nanoTime();
+    }
+  }
+
+  /** Requests of one method, endpoints which have requests are polled round-robin. */
+  private static class MethodQueue {
+    final String method;
+    final Map<String, ArrayDeque<Request>> requestsByEndpoint = new HashMap<>();
+    final ArrayDeque<String> readyEndpoints = new ArrayDeque<>();
+    int size;
+
+    MethodQueue(String method) {
+      this.method = method;
+    }
+
+    void add(String endpointId, Request request) {
+      ArrayDeque<Request> requests = requestsByEndpoint.get(endpointId);
+      if (requests == null) {
+        requests = new ArrayDeque<>();
+        requestsByEndpoint.put(endpointId, requests);
+        readyEndpoints.add(endpointId);
+      }
+      requests.add(request);
+      size++;
+    }
+
+    Request poll() {
+      final String endpointId = readyEndpoints.poll();
+      final ArrayDeque<Request> requests = requestsByEndpoint.get(endpointId);
+      final Request request = requests.poll();
+      if (requests.isEmpty()) {
+        requestsByEndpoint.remove(endpointId);
+      } else {
+        readyEndpoints.add(endpointId);
+      }
+      size--;
+      return request;
+    }
   }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of durations with fixed buckets from 1 millisecond to 10 seconds. Recording is
+ * lock-free, so it is cheap enough to be done for every processed request.
+ */
+public class TimeHistogram {
+  private static final long[] BUCKET_BOUNDS_MILLIS = {1, 5, 10, 50, 100, 500, 1000, 5000, 10000};
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong totalNanos = new AtomicLong();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  void record(long nanos) {
+    final long millis = NANOSECONDS.toMillis(nanos);
+    int bucket = 0;
+    while (bucket < BUCKET_BOUNDS_MILLIS.length && millis >= BUCKET_BOUNDS_MILLIS[bucket]) {
+      bucket++;
+    }
+    buckets.incrementAndGet(bucket);
+    count.incrementAndGet();
+    totalNanos.addAndGet(nanos);
+    long max;
+    do {
+      max = maxNanos.get();
+    } while (nanos > max && !maxNanos.compareAndSet(max, nanos));
+  }
+
+  /** Returns number of recorded durations. */
+  public long getCount() {
+    return count.get();
+  }
+
+  /** Returns average of recorded durations in milliseconds. */
+  public double getAverageMillis() {
+    final long n = count.get();
+    return n == 0 ? 0 : totalNanos.get() / (n * 1_000_000D);
+  }
+
+  /** Returns max recorded duration in milliseconds. */
+  public long getMaxMillis() {
+    return NANOSECONDS.toMillis(maxNanos.get());
+  }
+
+  /**
+   * Returns upper bound in milliseconds of the bucket which contains the specified percentile of
+   * recorded durations, max duration is returned for percentiles which fall into the last bucket.
+   *
+   * @param percentile percentile from 0 to 100
+   */
+  public long getPercentileMillis(double percentile) {
+    final long n = count.get();
+    if (n == 0) {
+      return 0;
+    }
+    final long rank = (long) Math.ceil(n * percentile / 100);
+    long seen = 0;
+    for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+      seen += buckets.get(i);
+      if (seen >= rank) {
+        return BUCKET_BOUNDS_MILLIS[i];
+      }
+    }
+    return getMaxMillis();
+  }
+
+  /** Returns number of durations in each bucket, keys are bucket upper bounds like {@code <5ms}. */
+  public Map<String, Long> getBuckets() {
+    final Map<String, Long> result = new LinkedHashMap<>();
+    for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+      result.put("<" + BUCKET_BOUNDS_MILLIS[i] + "ms", buckets.get(i));
+    }
+    result.put(
+        ">=" + BUCKET_BOUNDS_MILLIS[BUCKET_BOUNDS_MILLIS.length - 1] + "ms",
+        buckets.get(BUCKET_BOUNDS_MILLIS.length));
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "TimeHistogram{"
+        + "count="
+        + count
+        + ", averageMillis="
+        + getAverageMillis()
+        + ", maxMillis="
+        + getMaxMillis()
+        + ", buckets="
+        + getBuckets()
+        + '}';
+  }
+}
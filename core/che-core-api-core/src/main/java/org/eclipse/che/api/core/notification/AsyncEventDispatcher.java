@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Subscriber which puts events into the bounded queue, the queue is drained by dedicated threads
+ * which pass events to the actual subscriber. If events are ordered by event type then each thread
+ * has its own queue and events of the same type always get into the same queue.
+ */
+class AsyncEventDispatcher implements EventSubscriber<Object> {
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncEventDispatcher.class);
+
+  private static final AtomicInteger DISPATCHER_COUNTER = new AtomicInteger();
+
+  private final EventSubscriber subscriber;
+  private final AsyncSubscription subscription;
+  private final List<BlockingQueue<Delivery>> queues;
+  private final SubscriberStatistics statistics;
+  private final ExecutorService executor;
+
+  private volatile boolean stopped;
+
+  AsyncEventDispatcher(
+      EventSubscriber<?> subscriber, Class<?> eventType, AsyncSubscription subscription) {
+    this.subscriber = subscriber;
+    this.subscription = subscription;
+    final int queuesNum = subscription.isOrderedByEventType() ? subscription.getThreads() : 1;
+    this.queues = new ArrayList<>(queuesNum);
+    for (int i = 0; i < queuesNum; i++) {
+      queues.add(new ArrayBlockingQueue<>(subscription.getQueueSize()));
+    }
+    this.statistics = new SubscriberStatistics(subscriber.toString(), eventType, queues);
+    this.executor =
+        Executors.newFixedThreadPool(
+            subscription.getThreads(),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setNameFormat(
+                    "EventDispatcher-"
+                        + DISPATCHER_COUNTER.incrementAndGet()
+                        + '-'
+                        + eventType.getSimpleName()
+                        + "-%d")
+                .build());
+    for (int i = 0; i < subscription.getThreads(); i++) {
+      final BlockingQueue<Delivery> queue = queues.get(i % queuesNum);
+      executor.execute(() -> dispatch(queue));
+    }
+  }
+
+  @Override
+  public void onEvent(Object event) {
+    if (stopped) {
+      return;
+    }
+    statistics.eventPublished();
+    final Delivery delivery = new Delivery(event);
+    final BlockingQueue<Delivery> queue =
+        queues.get(Math.floorMod(event.getClass().hashCode(), queues.size()));
+    switch (subscription.getOverflowPolicy()) {
+      case BLOCK:
+        try {
+          queue.put(delivery);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          statistics.eventDropped();
+        }
+        break;
+      case DROP_NEWEST:
+        if (!queue.offer(delivery)) {
+          statistics.eventDropped();
+          LOG.debug("Queue of {} is full, event {} is dropped", subscriber, event);
+        }
+        break;
+      case DROP_OLDEST:
+        while (!queue.offer(delivery)) {
+          final Delivery oldest = queue.poll();
+          if (oldest != null) {
+            statistics.eventDropped();
+            LOG.debug("Queue of {} is full, event {} is dropped", subscriber, oldest.event);
+          }
+        }
+        break;
+    }
+  }
+
+  EventSubscriber<?> getSubscriber() {
+    return subscriber;
+  }
+
+  SubscriberStatistics getStatistics() {
+    return statistics;
+  }
+
+  /** Stops delivery threads, events which are still in the queue are discarded. */
+  void stop() {
+    stopped = true;
+    executor.shutdownNow();
+    int discarded = 0;
+    for (BlockingQueue<Delivery> queue : queues) {
+      discarded += queue.size();
+      queue.clear();
+    }
+    if (discarded > 0) {
+      LOG.warn("{} events are not delivered to {} because of shutdown", discarded, subscriber);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void dispatch(BlockingQueue<Delivery> queue) {
+    try {
+      while (!stopped) {
+        final Delivery delivery = queue.take();
+        final long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+          LOG.debug("Dispatch event {} for {}", delivery.event, subscriber);
+          subscriber.onEvent(delivery.event);
+          succeeded = true;
+        } catch (Throwable e) {
+          // Delivery thread must survive any failure, otherwise blocked publishers wait forever.
+          LOG.error(e.getMessage(), e);
+        } finally {
+          final long end = System.nanoTime();
+          statistics.eventDelivered(start - delivery.publishTime, end - start, succeeded);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Dispatchers of the same subscriber are equal, so subscriber is registered only once. */
+  @Override
+  public boolean equals(Object obj) {
+    return this == obj
+        || (obj instanceof AsyncEventDispatcher
+            && ((AsyncEventDispatcher) obj).subscriber == subscriber);
+  }
+
+  @Override
+  public int hashCode() {
+    return System.identityHashCode(subscriber);
+  }
+
+  @Override
+  public String toString() {
+    return "AsyncEventDispatcher{subscriber=" + subscriber + ", " + subscription + '}';
+  }
+
+  private static class Delivery {
+    final Object event;
+    final long publishTime;
+
+    Delivery(Object event) {
+      this.event = event;
+      this.publishTime = System.nanoTime();
+    }
+  }
+}
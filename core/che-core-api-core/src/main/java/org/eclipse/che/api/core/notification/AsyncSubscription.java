@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+/**
+ * Options of asynchronous delivery of events to a subscriber. Subscriber registered with these
+ * options gets its own bounded queue and threads, so {@link EventService#publish(Object)} only
+ * puts event into the queue and does not wait until the subscriber handles it. Usage example:
+ *
+ * <pre>
+ *     bus.subscribe(subscriber, MyEvent.class, AsyncSubscription.ordered().withQueueSize(100));
+ * </pre>
+ *
+ * @see EventService#subscribe(EventSubscriber, Class, AsyncSubscription)
+ */
+public class AsyncSubscription {
+  /** Defines what happens with published event when queue of the subscriber is full. */
+  public enum OverflowPolicy {
+    /** Publisher waits until there is room in the queue. */
+    BLOCK,
+    /** Published event is dropped. */
+    DROP_NEWEST,
+    /** The oldest event in the queue is dropped to make room for published one. */
+    DROP_OLDEST
+  }
+
+  public static final int DEFAULT_QUEUE_SIZE = 1024;
+
+  /**
+   * Creates options of delivery with single thread, events are passed to the subscriber one by
+   * one in the same order they are published.
+   */
+  public static AsyncSubscription ordered() {
+    return new AsyncSubscription(1, true, false);
+  }
+
+  /**
+   * Creates options of delivery with the specified number of threads, events of the same type are
+   * passed to the subscriber one by one in the same order they are published, events of different
+   * types may be passed to the subscriber concurrently.
+   */
+  public static AsyncSubscription orderedByEventType(int threads) {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+    }
+    return new AsyncSubscription(threads, false, true);
+  }
+
+  /**
+   * Creates options of delivery with the specified number of threads, events may be passed to the
+   * subscriber concurrently and in any order.
+   */
+  public static AsyncSubscription unordered(int threads) {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+    }
+    return new AsyncSubscription(threads, false, false);
+  }
+
+  private final int threads;
+  private final boolean ordered;
+  private final boolean orderedByEventType;
+
+  private int queueSize;
+  private OverflowPolicy overflowPolicy;
+
+  private AsyncSubscription(int threads, boolean ordered, boolean orderedByEventType) {
+    this.threads = threads;
+    this.ordered = ordered;
+    this.orderedByEventType = orderedByEventType;
+    this.queueSize = DEFAULT_QUEUE_SIZE;
+    this.overflowPolicy = OverflowPolicy.BLOCK;
+  }
+
+  /** Returns number of threads which deliver events to the subscriber. */
+  public int getThreads() {
+    return threads;
+  }
+
+  /** Returns {@code true} if events are delivered in the same order they are published. */
+  public boolean isOrdered() {
+    return ordered;
+  }
+
+  /**
+   * Returns {@code true} if events of the same type are delivered in the same order they are
+   * published.
+   */
+  public boolean isOrderedByEventType() {
+    return orderedByEventType;
+  }
+
+  /**
+   * Returns max number of events waiting for delivery. If events are ordered by event type then
+   * each delivery thread has a queue of this size.
+   */
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  public AsyncSubscription withQueueSize(int queueSize) {
+    if (queueSize <= 0) {
+      throw new IllegalArgumentException("Queue size must be positive: " + queueSize);
+    }
+    this.queueSize = queueSize;
+    return this;
+  }
+
+  /** Returns policy applied to published event when queue is full, default is {@code BLOCK}. */
+  public OverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  public AsyncSubscription withOverflowPolicy(OverflowPolicy overflowPolicy) {
+    if (overflowPolicy == null) {
+      throw new IllegalArgumentException("Null overflow policy.");
+    }
+    this.overflowPolicy = overflowPolicy;
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return "AsyncSubscription{"
+        + "threads="
+        + threads
+        + ", ordered="
+        + ordered
+        + ", orderedByEventType="
+        + orderedByEventType
+        + ", queueSize="
+        + queueSize
+        + ", overflowPolicy="
+        + overflowPolicy
+        + '}';
+  }
+}
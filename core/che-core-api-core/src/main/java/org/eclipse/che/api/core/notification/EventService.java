@@ -15,13 +15,16 @@ import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +43,10 @@ import org.slf4j.LoggerFactory;
  *     bus.publish(new MyEvent());
  * </pre>
  *
+ * By default subscribers are called synchronously in the thread which publishes event. Subscriber
+ * which is slow or may block should be registered with {@link AsyncSubscription}, then events are
+ * put into its bounded queue and delivered by its own threads.
+ *
  * @author andrew00x
  */
 @Singleton
@@ -136,7 +143,74 @@ public class EventService {
     doSubscribe(subscriber, eventType);
   }
 
-  private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
+  /**
+   * Subscribe to an event for asynchronous delivery. Published events are put into the queue of
+   * the subscriber and delivered by its own threads according to the given options, so slow
+   * subscriber does not delay publisher and other subscribers. Subscribing the same subscriber for
+   * asynchronous delivery of the same event type twice has no effect.
+   *
+   * @param subscriber The subscriber to call when an event is published.
+   * @param eventType The event to subscribe to.
+   * @param subscription options of the delivery
+   */
+  public <T> void subscribe(
+      EventSubscriber<? extends T> subscriber, Class<T> eventType, AsyncSubscription subscription) {
+    doSubscribe(subscriber, eventType, subscription);
+  }
+
+  /**
+   * Subscribe event listener for asynchronous delivery. The event to subscribe to is inferred by
+   * checking the generic type arguments of the given subscriber.
+   *
+   * @param subscriber event subscriber
+   * @param subscription options of the delivery
+   * @see #subscribe(EventSubscriber, Class, AsyncSubscription)
+   */
+  public void subscribe(EventSubscriber<?> subscriber, AsyncSubscription subscription) {
+    doSubscribe(subscriber, getEventType(subscriber), subscription);
+  }
+
+  private void doSubscribe(
+      EventSubscriber<?> subscriber, Class<?> eventType, AsyncSubscription subscription) {
+    if (subscription == null) {
+      throw new IllegalArgumentException("Null subscription options.");
+    }
+    final AsyncEventDispatcher dispatcher =
+        new AsyncEventDispatcher(subscriber, eventType, subscription);
+    if (!doSubscribe(dispatcher, eventType)) {
+      dispatcher.stop();
+    }
+  }
+
+  /**
+   * Returns delivery statistics of all subscribers registered for asynchronous delivery. Useful
+   * to find subscribers which do not keep up with published events.
+   */
+  public List<SubscriberStatistics> getSubscriberStatistics() {
+    final List<SubscriberStatistics> result = new ArrayList<>();
+    for (Set<EventSubscriber> entries : subscribersByEventType.values()) {
+      for (EventSubscriber entry : entries) {
+        if (entry instanceof AsyncEventDispatcher) {
+          result.add(((AsyncEventDispatcher) entry).getStatistics());
+        }
+      }
+    }
+    return result;
+  }
+
+  /** Stops threads of all subscribers registered for asynchronous delivery. */
+  @PreDestroy
+  public void stop() {
+    for (Set<EventSubscriber> entries : subscribersByEventType.values()) {
+      for (EventSubscriber entry : entries) {
+        if (entry instanceof AsyncEventDispatcher && entries.remove(entry)) {
+          ((AsyncEventDispatcher) entry).stop();
+        }
+      }
+    }
+  }
+
+  private boolean doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
     Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
     if (entries == null) {
       Set<EventSubscriber> newEntries = new CopyOnWriteArraySet<>();
@@ -145,7 +219,7 @@ public class EventService {
         entries = newEntries;
       }
     }
-    entries.add(subscriber);
+    return entries.add(subscriber);
   }
 
   /**
@@ -166,6 +240,14 @@ public class EventService {
     final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
     if (entries != null && !entries.isEmpty()) {
       boolean changed = entries.remove(subscriber);
+      for (EventSubscriber entry : entries) {
+        if (entry instanceof AsyncEventDispatcher
+            && ((AsyncEventDispatcher) entry).getSubscriber() == subscriber
+            && entries.remove(entry)) {
+          ((AsyncEventDispatcher) entry).stop();
+          changed = true;
+        }
+      }
       if (changed) {
         if (entries.isEmpty()) {
           subscribersByEventType.remove(eventType);
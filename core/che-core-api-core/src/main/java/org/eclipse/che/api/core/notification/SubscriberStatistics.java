@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivery counters of the subscriber registered in {@link EventService} for asynchronous
+ * delivery. Dispatch latency is time the event spent in the queue of the subscriber, handling time
+ * is time spent in {@link EventSubscriber#onEvent(Object)}. All methods are thread-safe.
+ */
+public class SubscriberStatistics {
+  private final String subscriber;
+  private final Class<?> eventType;
+  private final List<? extends BlockingQueue<?>> queues;
+  private final AtomicLong published = new AtomicLong();
+  private final AtomicLong delivered = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong totalLatencyNanos = new AtomicLong();
+  private final AtomicLong maxLatencyNanos = new AtomicLong();
+  private final AtomicLong totalHandlingNanos = new AtomicLong();
+
+  SubscriberStatistics(
+      String subscriber, Class<?> eventType, List<? extends BlockingQueue<?>> queues) {
+    this.subscriber = subscriber;
+    this.eventType = eventType;
+    this.queues = queues;
+  }
+
+  /** Returns string representation of the subscriber. */
+  public String getSubscriber() {
+    return subscriber;
+  }
+
+  /** Returns type of events the subscriber is registered for. */
+  public Class<?> getEventType() {
+    return eventType;
+  }
+
+  /** Returns number of events waiting for delivery at the moment. */
+  public int getQueueDepth() {
+    int depth = 0;
+    for (BlockingQueue<?> queue : queues) {
+      depth += queue.size();
+    }
+    return depth;
+  }
+
+  /** Returns number of events published to the subscriber including dropped ones. */
+  public long getPublished() {
+    return published.get();
+  }
+
+  /** Returns number of events passed to the subscriber. */
+  public long getDelivered() {
+    return delivered.get();
+  }
+
+  /** Returns number of events dropped because queue of the subscriber was full. */
+  public long getDropped() {
+    return dropped.get();
+  }
+
+  /** Returns number of events the subscriber failed to handle with exception. */
+  public long getFailed() {
+    return failed.get();
+  }
+
+  /** Returns average time the delivered events spent in the queue. */
+  public long getAverageDispatchLatencyMillis() {
+    final long count = delivered.get();
+    return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatencyNanos.get() / count);
+  }
+
+  /** Returns max time a delivered event spent in the queue. */
+  public long getMaxDispatchLatencyMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get());
+  }
+
+  /** Returns average time the subscriber spent handling single event. */
+  public long getAverageHandlingTimeMillis() {
+    final long count = delivered.get();
+    return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalHandlingNanos.get() / count);
+  }
+
+  void eventPublished() {
+    published.incrementAndGet();
+  }
+
+  void eventDropped() {
+    dropped.incrementAndGet();
+  }
+
+  void eventDelivered(long latencyNanos, long handlingNanos, boolean succeeded) {
+    delivered.incrementAndGet();
+    if (!succeeded) {
+      failed.incrementAndGet();
+    }
+    totalLatencyNanos.addAndGet(latencyNanos);
+    totalHandlingNanos.addAndGet(handlingNanos);
+    long max;
+    do {
+      max = maxLatencyNanos.get();
+    } while (latencyNanos > max && !maxLatencyNanos.compareAndSet(max, latencyNanos));
+  }
+
+  @Override
+  public String toString() {
+    return "SubscriberStatistics{"
+        + "subscriber='"
+        + subscriber
+        + '\''
+        + ", eventType="
+        + eventType.getName()
+        + ", queueDepth="
+        + getQueueDepth()
+        + ", published="
+        + published
+        + ", delivered="
+        + delivered
+        + ", dropped="
+        + dropped
+        + ", failed="
+        + failed
+        + ", averageDispatchLatencyMillis="
+        + getAverageDispatchLatencyMillis()
+        + ", maxDispatchLatencyMillis="
+        + getMaxDispatchLatencyMillis()
+        + '}';
+  }
+}
@@ -10,76 +10,284 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.websocket.Session;
+import org.slf4j.Logger;
 
 /**
  * Instance is responsible for re-sending messages that were not sent during the period when WEB
  * SOCKET session was closed. If session is closed during re-send process it stops and left messages
  * will be re-sent as WEB SOCKET session becomes open again.
  *
+ * <p>Memory used by kept messages is bounded:
+ *
+ * <ul>
+ *   <li>each endpoint keeps at most {@code che.websocket.resend.max_messages} latest messages;
+ *   <li>total size of kept messages does not exceed {@code che.websocket.resend.max_bytes}, when it
+ *       is reached the oldest messages of the least recently used endpoints are evicted;
+ *   <li>messages of endpoint which is not used for {@code che.websocket.resend.ttl_sec} are
+ *       evicted, so endpoints that never connect again do not stay forever.
+ * </ul>
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
-  private static final int MAX_MESSAGES = 100;
+  private static final Logger LOG = getLogger(MessagesReSender.class);
+
+  public static final String MAX_MESSAGES = "che.websocket.resend.max_messages";
+  public static final String MAX_BYTES = "che.websocket.resend.max_bytes";
+  public static final String TTL_SEC = "che.websocket.resend.ttl_sec";
+
+  private static final int DEFAULT_MAX_MESSAGES = 100;
+  private static final long DEFAULT_MAX_BYTES = 16 * 1024 * 1024;
+  private static final long DEFAULT_TTL_SEC = 600;
 
   private final WebSocketSessionRegistry registry;
+  private final int maxMessages;
+  private final long maxBytes;
+  private final long ttlMillis;
 
-  private final Map<String, List<String>> messagesMap = new HashMap<>();
+  /** Buffers in access order, so the least recently used endpoint goes first. */
+  private final LinkedHashMap<String, MessageBuffer> buffers;
+
+  private long bufferedBytes;
+  private long evictedMessages;
+  private long expiredEndpoints;
+  private long resentMessages;
 
-  @Inject
   public MessagesReSender(WebSocketSessionRegistry registry) {
-    this.registry = registry;
+    this(registry, DEFAULT_MAX_MESSAGES, DEFAULT_MAX_BYTES, DEFAULT_TTL_SEC);
   }
 
-  public void add(String endpointId, String message) {
-    List<String> messages = messagesMap.get(endpointId);
+  @Inject
+  public MessagesReSender(
+      WebSocketSessionRegistry registry,
+      @Named(MAX_MESSAGES) int maxMessages,
+      @Named(MAX_BYTES) long maxBytes,
+      @Named(TTL_SEC) long ttlSeconds) {
+    this(registry, maxMessages, maxBytes, ttlSeconds, SECONDS);
+  }
 
-    if (messages == null) {
-      messages = new LinkedList<>();
-      messagesMap.put(endpointId, messages);
+  MessagesReSender(
+      WebSocketSessionRegistry registry,
+      int maxMessages,
+      long maxBytes,
+      long ttl,
+      TimeUnit ttlUnit) {
+    if (maxMessages <= 0 || maxBytes <= 0 || ttl <= 0) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Invalid limits of messages to re-send: %d messages, %d bytes, %d %s",
+              maxMessages, maxBytes, ttl, ttlUnit));
     }
+    this.registry = registry;
+    this.maxMessages = maxMessages;
+    this.maxBytes = maxBytes;
+    this.ttlMillis = ttlUnit.toMillis(ttl);
+    this.buffers = new LinkedHashMap<>(16, 0.75f, true);
+  }
 
-    if (messages.size() <= MAX_MESSAGES) {
-      messages.add(message);
+  public void add(String endpointId, String message) {
+    final long size = sizeOf(message);
+    synchronized (this) {
+      final long now = System.currentTimeMillis();
+      expire(now);
+      if (size > maxBytes) {
+        evictedMessages++;
+        LOG.debug("Message for endpoint {} exceeds size limit and is not kept", endpointId);
+        return;
+      }
+      MessageBuffer buffer = buffers.get(endpointId);
+      if (buffer == null) {
+        buffer = new MessageBuffer(maxMessages);
+        buffers.put(endpointId, buffer);
+      }
+      add(buffer, message, size, now);
+      evictLeastRecentlyUsed();
     }
   }
 
   public void resend(String endpointId) {
-    final List<String> messages = messagesMap.remove(endpointId);
-
-    if (messages == null || messages.isEmpty()) {
-      return;
-    }
-
     final Optional<Session> sessionOptional = registry.get(endpointId);
 
     if (!sessionOptional.isPresent()) {
       return;
     }
 
-    final Session session = sessionOptional.get();
-
-    final List<String> backing = new ArrayList<>(messages);
-    messages.clear();
+    final List<String> messages;
+    synchronized (this) {
+      expire(System.currentTimeMillis());
+      final MessageBuffer buffer = buffers.remove(endpointId);
+      if (buffer == null) {
+        return;
+      }
+      bufferedBytes -= buffer.bytes;
+      messages = buffer.drain();
+    }
 
-    for (String message : backing) {
+    final Session session = sessionOptional.get();
 
-      if (session.isOpen()) {
+    final List<String> left = new ArrayList<>();
+    int sent = 0;
+    for (String message : messages) {
+      if (left.isEmpty() && session.isOpen()) {
         session.getAsyncRemote().sendText(message);
+        sent++;
       } else {
-        messages.add(message);
+        left.add(message);
+      }
+    }
+
+    synchronized (this) {
+      resentMessages += sent;
+      if (!left.isEmpty()) {
+        keep(endpointId, left);
+      }
+    }
+  }
+
+  /** Returns approximate size in bytes of all kept messages. */
+  public synchronized long getBufferedBytes() {
+    return bufferedBytes;
+  }
+
+  /** Returns number of endpoints which have kept messages. */
+  public synchronized int getBufferedEndpoints() {
+    return buffers.size();
+  }
+
+  /** Returns number of messages evicted because of the per-endpoint or the total size limit. */
+  public synchronized long getEvictedMessages() {
+    return evictedMessages;
+  }
+
+  /** Returns number of endpoints which messages were evicted because of the time to live. */
+  public synchronized long getExpiredEndpoints() {
+    return expiredEndpoints;
+  }
+
+  /** Returns number of messages successfully re-sent. */
+  public synchronized long getResentMessages() {
+    return resentMessages;
+  }
+
+  /** Puts not sent messages back in front of messages added while re-send was in progress. */
+  private void keep(String endpointId, List<String> messages) {
+    final long now = System.currentTimeMillis();
+    final MessageBuffer buffer = new MessageBuffer(maxMessages);
+    for (String message : messages) {
+      add(buffer, message, sizeOf(message), now);
+    }
+    final MessageBuffer added = buffers.remove(endpointId);
+    if (added != null) {
+      bufferedBytes -= added.bytes;
+      for (String message : added.drain()) {
+        add(buffer, message, sizeOf(message), now);
+      }
+    }
+    buffers.put(endpointId, buffer);
+    evictLeastRecentlyUsed();
+  }
+
+  private void add(MessageBuffer buffer, String message, long size, long now) {
+    final String evicted = buffer.add(message, size, now);
+    bufferedBytes += size;
+    if (evicted != null) {
+      bufferedBytes -= sizeOf(evicted);
+      evictedMessages++;
+    }
+  }
+
+  /** Removes the oldest messages of the least recently used endpoints until total size fits. */
+  private void evictLeastRecentlyUsed() {
+    final Iterator<MessageBuffer> it = buffers.values().iterator();
+    while (bufferedBytes > maxBytes && it.hasNext()) {
+      final MessageBuffer buffer = it.next();
+      while (bufferedBytes > maxBytes && buffer.size > 0) {
+        bufferedBytes -= sizeOf(buffer.removeFirst());
+        evictedMessages++;
+      }
+      if (buffer.size == 0) {
+        it.remove();
       }
     }
+  }
+
+  /** Removes buffers of endpoints not used longer than time to live. */
+  private void expire(long now) {
+    final Iterator<Map.Entry<String, MessageBuffer>> it = buffers.entrySet().iterator();
+    while (it.hasNext()) {
+      final Map.Entry<String, MessageBuffer> entry = it.next();
+      // buffers are in access order, all the following ones are used later
+      if (now - entry.getValue().lastUsed < ttlMillis) {
+        break;
+      }
+      it.remove();
+      bufferedBytes -= entry.getValue().bytes;
+      evictedMessages += entry.getValue().size;
+      expiredEndpoints++;
+      LOG.debug("Messages of endpoint {} are expired", entry.getKey());
+    }
+  }
 
-    messagesMap.put(endpointId, messages);
+  /** Approximate size of the message in memory, two bytes per char. */
+  private static long sizeOf(String message) {
+    return 2L * message.length();
+  }
+
+  /** Fixed size ring of messages, adding message to the full ring overwrites the oldest one. */
+  private static class MessageBuffer {
+    final String[] messages;
+    int head;
+    int size;
+    long bytes;
+    long lastUsed;
+
+    MessageBuffer(int capacity) {
+      this.messages = new String[capacity];
+    }
+
+    /** Adds message and returns the overwritten message or {@code null}. */
+    String add(String message, long messageSize, long now) {
+      String evicted = null;
+      if (size == messages.length) {
+        evicted = removeFirst();
+      }
+      messages[(head + size) % messages.length] = message;
+      size++;
+      bytes += messageSize;
+      lastUsed = now;
+      return evicted;
+    }
+
+    String removeFirst() {
+      final String message = messages[head];
+      messages[head] = null;
+      head = (head + 1) % messages.length;
+      size--;
+      bytes -= sizeOf(message);
+      return message;
+    }
+
+    List<String> drain() {
+      final List<String> result = new ArrayList<>(size);
+      while (size > 0) {
+        result.add(removeFirst());
+      }
+      return result;
+    }
   }
 }
@@ -13,6 +13,7 @@ package org.eclipse.che.api.core.jsonrpc.commons;
 import static java.util.Collections.singletonList;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -86,9 +87,27 @@ public class JsonRpcMessageReceiverTest {
     when(jsonRpcQualifier.isJsonRpcRequest(MESSAGE)).thenReturn(true);
     when(jsonRpcQualifier.isJsonRpcResponse(MESSAGE)).thenReturn(false);
     when(jsonRpcUnmarshaller.unmarshalArray(any())).thenReturn(singletonList(MESSAGE));
+    when(jsonRpcUnmarshaller.unmarshalRequest(MESSAGE))
+        .thenReturn(new JsonRpcRequest("id", "method", null));
 
     jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
 
-    verify(requestProcessor).process(any());
+    verify(requestProcessor).process(eq(ENDPOINT_ID), eq("method"), any(Runnable.class));
+  }
+
+  @Test
+  public void shouldTransmitErrorIfRequestIsRejected() throws Exception {
+    when(jsonRpcQualifier.isJsonRpcRequest(MESSAGE)).thenReturn(true);
+    when(jsonRpcUnmarshaller.unmarshalArray(any())).thenReturn(singletonList(MESSAGE));
+    when(jsonRpcUnmarshaller.unmarshalRequest(MESSAGE))
+        .thenReturn(new JsonRpcRequest("id", "method", null));
+    doThrow(new JsonRpcException(-32001, "rejected"))
+        .when(requestProcessor)
+        .process(eq(ENDPOINT_ID), eq("method"), any(Runnable.class));
+
+    jsonRpcMessageReceiver.receive(ENDPOINT_ID, MESSAGE);
+
+    verify(errorTransmitter).transmit(eq(ENDPOINT_ID), any(JsonRpcException.class));
+    verify(requestDispatcher, never()).dispatch(any(), any());
   }
 }
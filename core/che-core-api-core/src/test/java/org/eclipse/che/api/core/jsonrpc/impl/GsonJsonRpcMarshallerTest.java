@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import java.util.List;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcParams;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResult;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.core.rest.shared.dto.LinkParameter;
+import org.eclipse.che.api.core.rest.shared.dto.RequestBodyDescriptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link GsonJsonRpcMarshaller} and {@link GsonJsonRpcUnmarshaller}. */
+public class GsonJsonRpcMarshallerTest {
+  private JsonParser jsonParser;
+  private GsonJsonRpcMarshaller marshaller;
+  private GsonJsonRpcUnmarshaller unmarshaller;
+  private GsonJsonRpcComposer composer;
+
+  @BeforeMethod
+  public void setUp() {
+    jsonParser = new JsonParser();
+    marshaller = new GsonJsonRpcMarshaller(jsonParser);
+    unmarshaller = new GsonJsonRpcUnmarshaller(jsonParser);
+    composer = new GsonJsonRpcComposer();
+  }
+
+  @Test
+  public void shouldMarshallRequestWithDtoParams() {
+    final Link link = link("file:///projects/test/src/Main.java");
+
+    final String message =
+        marshaller.marshall(new JsonRpcRequest("1", "textDocument/hover", new JsonRpcParams(link)));
+
+    final JsonObject expected = new JsonObject();
+    expected.addProperty("jsonrpc", "2.0");
+    expected.addProperty("method", "textDocument/hover");
+    expected.addProperty("id", "1");
+    expected.add("params", jsonParser.parse(link.toString()));
+    assertEquals(jsonParser.parse(message), expected);
+  }
+
+  @Test
+  public void shouldWrapSingleNonObjectParamIntoArray() {
+    final String message =
+        marshaller.marshall(new JsonRpcRequest(null, "event", new JsonRpcParams("text")));
+
+    assertEquals(
+        jsonParser.parse(message).getAsJsonObject().get("params"),
+        jsonParser.parse("[\"text\"]"));
+  }
+
+  @Test
+  public void shouldMarshallResponseWithManyResults() {
+    final Link link = link("file:///projects/test/pom.xml");
+    final JsonObject jsonObject = new JsonObject();
+    jsonObject.add("nullable", JsonNull.INSTANCE);
+
+    final String message =
+        marshaller.marshall(
+            new JsonRpcResponse(
+                "2",
+                new JsonRpcResult(asList(link, "text", true, 1.5D, null, jsonObject, 42L)),
+                null));
+
+    final JsonArray expected = new JsonArray();
+    expected.add(jsonParser.parse(link.toString()));
+    expected.add(new JsonPrimitive("text"));
+    expected.add(new JsonPrimitive(true));
+    expected.add(new JsonPrimitive(1.5D));
+    expected.add(JsonNull.INSTANCE);
+    expected.add(jsonObject);
+    expected.add(new JsonPrimitive(42));
+    final JsonObject response = jsonParser.parse(message).getAsJsonObject();
+    assertEquals(response.get("id").getAsString(), "2");
+    assertEquals(response.get("result"), expected);
+    assertFalse(response.has("error"));
+  }
+
+  @Test
+  public void shouldMarshallErrorResponse() {
+    final String message =
+        marshaller.marshall(new JsonRpcResponse("3", null, new JsonRpcError(-32601, "Not found")));
+
+    assertEquals(
+        jsonParser.parse(message),
+        jsonParser.parse(
+            "{\"jsonrpc\":\"2.0\",\"id\":\"3\","
+                + "\"error\":{\"code\":-32601,\"message\":\"Not found\"}}"));
+  }
+
+  @Test
+  public void shouldUnmarshallMarshalledRequest() {
+    final List<Link> links = asList(link("file:///a"), link("file:///b"));
+
+    final JsonRpcRequest request =
+        unmarshaller.unmarshalRequest(
+            marshaller.marshall(
+                new JsonRpcRequest("4", "workspace/symbol", new JsonRpcParams(links))));
+
+    assertEquals(request.getId(), "4");
+    assertEquals(request.getMethod(), "workspace/symbol");
+    assertEquals(composer.composeMany(request.getParams(), Link.class), links);
+  }
+
+  @Test
+  public void shouldUnmarshallResponse() {
+    final JsonRpcResponse response =
+        unmarshaller.unmarshalResponse(
+            "{\"jsonrpc\":\"2.0\",\"id\":5,\"result\":{\"href\":\"file:///a\"},\"extra\":[1]}");
+
+    assertEquals(response.getId(), "5");
+    assertEquals(
+        composer.composeOne(response.getResult(), Link.class),
+        newDto(Link.class).withHref("file:///a"));
+    assertNull(response.getError());
+  }
+
+  @Test
+  public void shouldUnmarshallErrorResponse() {
+    final JsonRpcResponse response =
+        unmarshaller.unmarshalResponse(
+            "{\"error\":{\"message\":\"Not found\",\"code\":-32601},"
+                + "\"id\":\"6\",\"jsonrpc\":\"2.0\"}");
+
+    assertEquals(response.getId(), "6");
+    assertEquals(response.getError().getCode(), -32601);
+    assertEquals(response.getError().getMessage(), "Not found");
+    assertFalse(response.hasResult());
+  }
+
+  @Test
+  public void shouldSplitArrayOfMessages() {
+    final List<String> messages =
+        unmarshaller.unmarshalArray("[{\"id\":\"1\",\"result\":[true]}, {\"method\":\"m\"}]");
+
+    assertEquals(messages, asList("{\"id\":\"1\",\"result\":[true]}", "{\"method\":\"m\"}"));
+  }
+
+  private static Link link(String href) {
+    return newDto(Link.class)
+        .withHref(href)
+        .withRel("self")
+        .withMethod("GET")
+        .withProduces("application/json")
+        .withParameters(
+            asList(
+                newDto(LinkParameter.class)
+                    .withName("line")
+                    .withDescription("Line <of> document")
+                    .withRequired(true)
+                    .withValid(asList("1", "2")),
+                newDto(LinkParameter.class).withName("character")))
+        .withRequestBody(newDto(RequestBodyDescriptor.class).withDescription("body"));
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ServerSideRequestProcessor} */
+public class ServerSideRequestProcessorTest {
+  private ServerSideRequestProcessor processor;
+  private CountDownLatch started;
+  private CountDownLatch release;
+
+  @BeforeMethod
+  public void setUp() {
+    processor = new ServerSideRequestProcessor(1, 4);
+    processor.postConstruct();
+    started = new CountDownLatch(1);
+    release = new CountDownLatch(1);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    release.countDown();
+    processor.preDestroy();
+  }
+
+  @Test
+  public void shouldProcessRequestsOfDifferentEndpointsRoundRobin() throws Exception {
+    final List<String> processed = new CopyOnWriteArrayList<>();
+    final CountDownLatch done = new CountDownLatch(4);
+    processor.process("a", "method", this::block);
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    for (String id : asList("a1", "a2", "a3")) {
+      processor.process("a", "method", () -> record(processed, id, done));
+    }
+    processor.process("b", "method", () -> record(processed, "b1", done));
+    release.countDown();
+
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    assertEquals(processed, asList("a1", "b1", "a2", "a3"));
+  }
+
+  @Test
+  public void shouldRejectRequestWhenQueueOfMethodIsFull() throws Exception {
+    processor.process("a", "method", this::block);
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    for (int i = 0; i < 4; i++) {
+      processor.process(i % 2 == 0 ? "a" : "b", "method", () -> {});
+    }
+    // queue of other method is not affected
+    processor.process("a", "other", () -> {});
+
+    try {
+      processor.process("a", "method", () -> {});
+      fail("Request is expected to be rejected");
+    } catch (JsonRpcException e) {
+      assertEquals(e.getCode(), ServerSideRequestProcessor.REQUEST_REJECTED_ERROR_CODE);
+    }
+
+    final MethodStatistics statistics = processor.getStatistics().get("method");
+    assertEquals(statistics.getRejected(), 1);
+    assertEquals(statistics.getQueueDepth(), 4);
+  }
+
+  @Test
+  public void shouldCollectQueueAndExecutionTimeOfMethod() throws Exception {
+    final CountDownLatch done = new CountDownLatch(1);
+    processor.process("a", "method", this::block);
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    processor.process("a", "method", done::countDown);
+    release.countDown();
+
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    processor.preDestroy();
+
+    final MethodStatistics statistics = processor.getStatistics().get("method");
+    assertEquals(statistics.getQueueTime().getCount(), 2);
+    assertEquals(statistics.getExecutionTime().getCount(), 2);
+    assertEquals(statistics.getQueueDepth(), 0);
+    assertTrue(statistics.getExecutionTime().getMaxMillis() >= 0);
+  }
+
+  private void block() {
+    started.countDown();
+    try {
+      release.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void record(List<String> processed, String id, CountDownLatch done) {
+    processed.add(id);
+    done.countDown();
+  }
+}
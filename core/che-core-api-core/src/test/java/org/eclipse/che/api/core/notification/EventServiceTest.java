@@ -10,10 +10,16 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static org.eclipse.che.api.core.notification.AsyncSubscription.OverflowPolicy.DROP_OLDEST;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -26,6 +32,11 @@ public class EventServiceTest {
     bus = new EventService();
   }
 
+  @AfterMethod
+  public void tearDown() {
+    bus.stop();
+  }
+
   @Test
   public void testSimpleEvent() {
     final List<Object> events = new ArrayList<>();
@@ -192,6 +203,148 @@ public class EventServiceTest {
     bus.unsubscribe(sb, CustomEventImpl.class);
   }
 
+  @Test
+  public void shouldDeliverEventsAsynchronouslyInPublishOrder() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch delivered = new CountDownLatch(100);
+    final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    bus.subscribe(
+        new EventSubscriber<String>() {
+          @Override
+          public void onEvent(String event) {
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            events.add(event);
+            delivered.countDown();
+          }
+        },
+        AsyncSubscription.ordered());
+
+    final List<String> published = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      published.add(bus.publish(String.valueOf(i)));
+    }
+    // publisher is not blocked by the subscriber
+    Assert.assertTrue(events.isEmpty());
+    release.countDown();
+
+    Assert.assertTrue(delivered.await(10, TimeUnit.SECONDS));
+    Assert.assertEquals(events, published);
+    final SubscriberStatistics statistics = bus.getSubscriberStatistics().get(0);
+    Assert.assertEquals(statistics.getEventType(), String.class);
+    Assert.assertEquals(statistics.getPublished(), 100);
+    Assert.assertEquals(statistics.getDelivered(), 100);
+    Assert.assertEquals(statistics.getDropped(), 0);
+  }
+
+  @Test
+  public void shouldDropOldestEventsWhenQueueIsFull() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch delivered = new CountDownLatch(3);
+    final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    bus.subscribe(
+        new EventSubscriber<String>() {
+          @Override
+          public void onEvent(String event) {
+            started.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            events.add(event);
+            delivered.countDown();
+          }
+        },
+        String.class,
+        AsyncSubscription.ordered().withQueueSize(2).withOverflowPolicy(DROP_OLDEST));
+
+    bus.publish("0");
+    Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+    bus.publish("1");
+    bus.publish("2");
+    bus.publish("3");
+    bus.publish("4");
+    final SubscriberStatistics statistics = bus.getSubscriberStatistics().get(0);
+    Assert.assertEquals(statistics.getQueueDepth(), 2);
+    release.countDown();
+
+    Assert.assertTrue(delivered.await(10, TimeUnit.SECONDS));
+    Assert.assertEquals(events.toArray(), new String[] {"0", "3", "4"});
+    Assert.assertEquals(statistics.getPublished(), 5);
+    Assert.assertEquals(statistics.getDropped(), 2);
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldKeepDeliveringEventsAfterSubscriberThrowsError() throws Exception {
+    final CountDownLatch delivered = new CountDownLatch(3);
+    bus.subscribe(
+        new EventSubscriber<String>() {
+          @Override
+          public void onEvent(String event) {
+            delivered.countDown();
+            throw new AssertionError(event);
+          }
+        },
+        AsyncSubscription.ordered().withQueueSize(1));
+
+    // publishers are blocked on the full queue if the delivery thread dies
+    bus.publish("0");
+    bus.publish("1");
+    bus.publish("2");
+
+    Assert.assertTrue(delivered.await(10, TimeUnit.SECONDS));
+    final SubscriberStatistics statistics = bus.getSubscriberStatistics().get(0);
+    Assert.assertEquals(statistics.getPublished(), 3);
+  }
+
+  @Test
+  public void shouldDeliverEventsOfTheSameTypeInPublishOrder() throws Exception {
+    final CountDownLatch delivered = new CountDownLatch(200);
+    final List<Object> strings = Collections.synchronizedList(new ArrayList<>());
+    final List<Object> integers = Collections.synchronizedList(new ArrayList<>());
+    bus.subscribe(
+        new EventSubscriber<Object>() {
+          @Override
+          public void onEvent(Object event) {
+            (event instanceof String ? strings : integers).add(event);
+            delivered.countDown();
+          }
+        },
+        Object.class,
+        AsyncSubscription.orderedByEventType(4));
+
+    final List<Object> publishedStrings = new ArrayList<>();
+    final List<Object> publishedIntegers = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      publishedStrings.add(bus.publish(String.valueOf(i)));
+      publishedIntegers.add(bus.publish(i));
+    }
+
+    Assert.assertTrue(delivered.await(10, TimeUnit.SECONDS));
+    Assert.assertEquals(strings, publishedStrings);
+    Assert.assertEquals(integers, publishedIntegers);
+  }
+
+  @Test
+  public void shouldStopAsynchronousDeliveryOnUnsubscribe() {
+    final Listener listener = new Listener();
+    bus.subscribe(listener, AsyncSubscription.unordered(2));
+    // second subscription of the same subscriber is ignored
+    bus.subscribe(listener, AsyncSubscription.unordered(2));
+    Assert.assertEquals(bus.getSubscriberStatistics().size(), 1);
+
+    bus.unsubscribe(listener);
+
+    Assert.assertTrue(bus.getSubscriberStatistics().isEmpty());
+    bus.publish("hello");
+    Assert.assertTrue(listener.events.isEmpty());
+  }
+
   static class CustomEventSubscriber<T extends CustomEvent> implements EventSubscriber<T> {
     final List<String> events = new ArrayList<>();
 
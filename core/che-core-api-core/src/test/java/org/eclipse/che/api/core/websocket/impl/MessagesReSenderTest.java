@@ -15,8 +15,10 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import javax.websocket.RemoteEndpoint;
 import javax.websocket.Session;
 import org.mockito.InjectMocks;
@@ -145,4 +147,76 @@ public class MessagesReSenderTest {
     verify(session, times(2)).getAsyncRemote();
     verify(endpoint, times(2)).sendText(MESSAGE);
   }
+
+  @Test
+  public void shouldKeepOnlyLatestMessagesOfEndpoint() {
+    reSender = new MessagesReSender(sessionRegistry, 2, 1024, 1, TimeUnit.HOURS);
+
+    reSender.add(ENDPOINT_ID, "1");
+    reSender.add(ENDPOINT_ID, "2");
+    reSender.add(ENDPOINT_ID, "3");
+    reSender.resend(ENDPOINT_ID);
+
+    verify(endpoint, never()).sendText("1");
+    verify(endpoint).sendText("2");
+    verify(endpoint).sendText("3");
+    assertEquals(reSender.getEvictedMessages(), 1);
+    assertEquals(reSender.getResentMessages(), 2);
+    assertEquals(reSender.getBufferedBytes(), 0);
+  }
+
+  @Test
+  public void shouldEvictMessagesOfLeastRecentlyUsedEndpointWhenSizeLimitIsReached() {
+    // each message takes 14 bytes, so only two messages fit
+    reSender = new MessagesReSender(sessionRegistry, 10, 28, 1, TimeUnit.HOURS);
+
+    reSender.add("1", MESSAGE);
+    reSender.add("2", MESSAGE);
+    reSender.add("3", MESSAGE);
+
+    assertEquals(reSender.getBufferedEndpoints(), 2);
+    assertEquals(reSender.getBufferedBytes(), 28);
+    assertEquals(reSender.getEvictedMessages(), 1);
+
+    reSender.resend("1");
+    verify(endpoint, never()).sendText(MESSAGE);
+
+    reSender.resend("2");
+    reSender.resend("3");
+    verify(endpoint, times(2)).sendText(MESSAGE);
+  }
+
+  @Test
+  public void shouldExpireMessagesOfEndpointWhichIsNotUsedLongerThanTimeToLive() throws Exception {
+    reSender = new MessagesReSender(sessionRegistry, 10, 1024, 1, TimeUnit.MILLISECONDS);
+
+    reSender.add("1", MESSAGE);
+    Thread.sleep(10);
+    reSender.add("2", MESSAGE);
+
+    assertEquals(reSender.getBufferedEndpoints(), 1);
+    assertEquals(reSender.getExpiredEndpoints(), 1);
+    assertEquals(reSender.getBufferedBytes(), 14);
+  }
+
+  @Test
+  public void shouldKeepMessagesIfSessionIsClosedDuringResend() {
+    reSender.add(ENDPOINT_ID, "1");
+    reSender.add(ENDPOINT_ID, "2");
+    when(session.isOpen()).thenReturn(true, false);
+
+    reSender.resend(ENDPOINT_ID);
+    reSender.add(ENDPOINT_ID, "3");
+
+    verify(endpoint).sendText("1");
+    verify(endpoint, never()).sendText("2");
+    assertEquals(reSender.getBufferedBytes(), 4);
+
+    when(session.isOpen()).thenReturn(true);
+    reSender.resend(ENDPOINT_ID);
+
+    verify(endpoint).sendText("2");
+    verify(endpoint).sendText("3");
+    assertEquals(reSender.getResentMessages(), 3);
+  }
 }
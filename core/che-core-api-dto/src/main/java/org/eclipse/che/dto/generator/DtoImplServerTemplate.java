@@ -19,6 +19,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import org.eclipse.che.dto.server.DtoTypeAdapter;
 import org.eclipse.che.dto.server.JsonArrayImpl;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.eclipse.che.dto.server.JsonStringMapImpl;
@@ -32,6 +33,10 @@ import org.eclipse.che.dto.shared.JsonStringMap;
 public class DtoImplServerTemplate extends DtoImpl {
   private static final String JSON_ARRAY_IMPL = JsonArrayImpl.class.getCanonicalName();
   private static final String JSON_MAP_IMPL = JsonStringMapImpl.class.getCanonicalName();
+  private static final String DTO_TYPE_ADAPTER = DtoTypeAdapter.class.getCanonicalName();
+  /** Name of the adapter class generated inside of each DTO implementation. */
+  static final String TYPE_ADAPTER_CLASS_NAME = "GsonAdapter";
+
   private static final String SERVER_DTO_MARKER =
       "  @" + DTOImpl.class.getCanonicalName() + "(\"server\")\n";
 
@@ -107,6 +112,8 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
       }
     }
+    // Adapter which reads and writes fields directly instead of Gson's reflective adapter.
+    emitTypeAdapter(getters, superGetterNames, builder);
     emitPostamble(builder);
     return builder.toString();
   }
@@ -373,6 +380,187 @@ public class DtoImplServerTemplate extends DtoImpl {
     builder.append("    }\n\n");
   }
 
+  /**
+   * Emits {@link org.eclipse.che.dto.server.DtoTypeAdapter} implementation which reads and writes
+   * fields declared in this DTO implementation without reflection. Inherited fields are handled by
+   * the adapter of the super DTO implementation.
+   */
+  private void emitTypeAdapter(
+      List<Method> getters, Set<String> superGetterNames, StringBuilder builder) {
+    final String implClassName = getImplClassName();
+    final List<Method> fields = new ArrayList<>();
+    for (Method getter : getters) {
+      if (!superGetterNames.contains(getter.getName())) {
+        fields.add(getter);
+      }
+    }
+    builder
+        .append("    public static class ")
+        .append(TYPE_ADAPTER_CLASS_NAME)
+        .append(" extends ")
+        .append(DTO_TYPE_ADAPTER)
+        .append("<")
+        .append(implClassName)
+        .append("> {\n");
+    for (Method getter : fields) {
+      builder
+          .append("      private final com.google.gson.TypeAdapter<")
+          .append(getAdaptedTypeName(getter))
+          .append("> ")
+          .append(getAdapterFieldName(getter))
+          .append(";\n");
+    }
+    builder.append("\n");
+    builder
+        .append("      public ")
+        .append(TYPE_ADAPTER_CLASS_NAME)
+        .append("(com.google.gson.Gson gson) {\n");
+    final String superImplClassName = getSuperImplClassName();
+    if (superImplClassName == null) {
+      builder.append("        super(gson);\n");
+    } else {
+      builder
+          .append("        super(gson, new ")
+          .append(superImplClassName)
+          .append(".")
+          .append(TYPE_ADAPTER_CLASS_NAME)
+          .append("(gson));\n");
+    }
+    for (Method getter : fields) {
+      builder.append("        ").append(getAdapterFieldName(getter)).append(" = gson.getAdapter(");
+      Type type = getter.getGenericReturnType();
+      if (type instanceof Class<?>) {
+        builder.append(getImplName(type, false)).append(".class");
+      } else {
+        builder
+            .append("new com.google.gson.reflect.TypeToken<")
+            .append(getImplName(type, false))
+            .append(">() {}");
+      }
+      builder.append(");\n");
+    }
+    builder.append("      }\n\n");
+
+    builder.append("      @Override\n");
+    builder.append("      protected ").append(implClassName).append(" newInstance() {\n");
+    builder.append("        return new ").append(implClassName).append("();\n");
+    builder.append("      }\n\n");
+
+    builder.append("      @Override\n");
+    builder
+        .append("      protected void writeFields(com.google.gson.stream.JsonWriter out, ")
+        .append(implClassName)
+        .append(" value)\n");
+    builder.append("          throws java.io.IOException {\n");
+    for (Method getter : fields) {
+      emitWriteField(getter, builder);
+    }
+    builder.append("      }\n\n");
+
+    builder.append("      @Override\n");
+    builder
+        .append("      protected boolean readField(\n")
+        .append("          com.google.gson.stream.JsonReader in, String name, ")
+        .append(implClassName)
+        .append(" instance)\n");
+    builder.append("          throws java.io.IOException {\n");
+    builder.append("        switch (name) {\n");
+    for (Method getter : fields) {
+      emitReadField(getter, builder);
+    }
+    builder.append("          default:\n");
+    builder.append("            return false;\n");
+    builder.append("        }\n");
+    builder.append("      }\n");
+    builder.append("    }\n\n");
+  }
+
+  private void emitWriteField(Method getter, StringBuilder builder) {
+    final String fieldName = getJavaFieldName(getter.getName());
+    final Type type = getter.getGenericReturnType();
+    final Class<?> rawClass = getter.getReturnType();
+    builder
+        .append("        out.name(")
+        .append(quoteStringLiteral(getJsonFieldName(getter)))
+        .append(");\n");
+    builder.append("        ");
+    if (rawClass == String.class
+        || rawClass == boolean.class
+        || rawClass == int.class
+        || rawClass == long.class) {
+      // written in the same way as gson's adapters do
+      builder.append("out.value(value.").append(fieldName).append(");\n");
+    } else if (rawClass.isPrimitive()) {
+      builder
+          .append(getAdapterFieldName(getter))
+          .append(".write(out, value.")
+          .append(fieldName)
+          .append(");\n");
+    } else {
+      final String typeName = getImplName(type, false);
+      if (type instanceof Class<?>) {
+        builder
+            .append("writeRuntimeType(out, ")
+            .append(getAdapterFieldName(getter))
+            .append(", ")
+            .append(typeName)
+            .append(".class, ");
+      } else {
+        builder.append(getAdapterFieldName(getter)).append(".write(out, ");
+      }
+      builder.append("value.").append(fieldName).append(");\n");
+    }
+  }
+
+  private void emitReadField(Method getter, StringBuilder builder) {
+    final String fieldName = getJavaFieldName(getter.getName());
+    builder
+        .append("          case ")
+        .append(quoteStringLiteral(getJsonFieldName(getter)))
+        .append(":\n");
+    if (getter.getReturnType().isPrimitive()) {
+      // null does not change the default value of primitive field
+      final String valueName = fieldName + "Value";
+      builder
+          .append("            ")
+          .append(getAdaptedTypeName(getter))
+          .append(" ")
+          .append(valueName)
+          .append(" = ")
+          .append(getAdapterFieldName(getter))
+          .append(".read(in);\n");
+      builder.append("            if (").append(valueName).append(" != null) {\n");
+      builder
+          .append("              instance.")
+          .append(fieldName)
+          .append(" = ")
+          .append(valueName)
+          .append(";\n");
+      builder.append("            }\n");
+    } else {
+      builder
+          .append("            instance.")
+          .append(fieldName)
+          .append(" = ")
+          .append(getAdapterFieldName(getter))
+          .append(".read(in);\n");
+    }
+    builder.append("            return true;\n");
+  }
+
+  /** Returns type which is read and written by adapter of the field, primitives are boxed. */
+  private String getAdaptedTypeName(Method getter) {
+    final Class<?> rawClass = getter.getReturnType();
+    if (rawClass.isPrimitive()) {
+      return Primitives.wrap(rawClass).getName();
+    }
+    return getImplName(getter.getGenericReturnType(), false);
+  }
+
+  private String getAdapterFieldName(Method getter) {
+    return getJavaFieldName(getter.getName()) + "Adapter";
+  }
+
   private static StringBuilder appendNaiveCopyJsonExpression(
       String inValue, StringBuilder builder) {
     builder.append("((");
@@ -388,17 +576,10 @@ public class DtoImplServerTemplate extends DtoImpl {
     builder.append("  public static class ");
     builder.append(getImplClassName());
 
-    Class<?> superType = getSuperDtoInterface(getDtoInterface());
-    if (superType != null && superType != JsonSerializable.class) {
+    final String superImplClassName = getSuperImplClassName();
+    if (superImplClassName != null) {
       // We need to extend something.
-      builder.append(" extends ");
-
-      final Class<?> superTypeImpl = getEnclosingTemplate().getDtoImplementation(superType);
-      if (superTypeImpl == null) {
-        builder.append(superType.getSimpleName()).append("Impl");
-      } else {
-        builder.append(superTypeImpl.getCanonicalName());
-      }
+      builder.append(" extends ").append(superImplClassName);
     }
     builder.append(" implements ");
     builder.append(dtoInterface.getCanonicalName());
@@ -408,6 +589,19 @@ public class DtoImplServerTemplate extends DtoImpl {
     emitDefaultConstructor(builder);
   }
 
+  /** Returns name of the class which this DTO implementation extends or null if there is none. */
+  private String getSuperImplClassName() {
+    Class<?> superType = getSuperDtoInterface(getDtoInterface());
+    if (superType == null || superType == JsonSerializable.class) {
+      return null;
+    }
+    final Class<?> superTypeImpl = getEnclosingTemplate().getDtoImplementation(superType);
+    if (superTypeImpl == null) {
+      return superType.getSimpleName() + "Impl";
+    }
+    return superTypeImpl.getCanonicalName();
+  }
+
   private void emitPostamble(StringBuilder builder) {
     builder.append("  }\n\n");
   }
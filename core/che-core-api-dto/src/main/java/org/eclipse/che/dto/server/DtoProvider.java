@@ -10,7 +10,9 @@
  */
 package org.eclipse.che.dto.server;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
 
 /**
  * Provides implementation of DTO interface.
@@ -27,4 +29,15 @@ public interface DtoProvider<DTO> {
   DTO newInstance();
 
   DTO clone(DTO origin);
+
+  /**
+   * Creates adapter which reads and writes implementation of DTO without reflection.
+   *
+   * @param gson gson the adapter is created for, adapters of DTO fields are taken from it
+   * @return adapter of DTO implementation or {@code null} if implementation of DTO should be
+   *     serialized by reflection
+   */
+  default TypeAdapter<? extends DTO> createTypeAdapter(Gson gson) {
+    return null;
+  }
 }
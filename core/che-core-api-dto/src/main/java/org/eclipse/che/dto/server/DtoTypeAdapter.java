@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.dto.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * Base class of adapters generated for server implementations of DTO interfaces. Generated
+ * adapters access fields of DTO implementations directly, so DTOs are read and written without
+ * reflection. Adapters of the field types are taken from the Gson the adapter is created for.
+ * Each adapter handles fields declared in its DTO implementation, inherited fields are handled by
+ * the adapter of the super implementation.
+ *
+ * <p>Output is the same as the one of Gson's reflective adapter: fields with null values are
+ * written only when Gson serializes nulls, values of fields are written with adapters of their
+ * runtime types, unknown fields are skipped on reading.
+ *
+ * @param <T> type of DTO implementation
+ */
+public abstract class DtoTypeAdapter<T> extends TypeAdapter<T> {
+  protected final Gson gson;
+
+  private final DtoTypeAdapter<? super T> superAdapter;
+
+  protected DtoTypeAdapter(Gson gson) {
+    this(gson, null);
+  }
+
+  /**
+   * @param gson gson which provides adapters of the field types
+   * @param superAdapter adapter of the implementation which DTO implementation extends
+   */
+  protected DtoTypeAdapter(Gson gson, DtoTypeAdapter<? super T> superAdapter) {
+    this.gson = gson;
+    this.superAdapter = superAdapter;
+  }
+
+  @Override
+  public void write(JsonWriter out, T value) throws IOException {
+    if (value == null) {
+      out.nullValue();
+      return;
+    }
+    out.beginObject();
+    writeAllFields(out, value);
+    out.endObject();
+  }
+
+  @Override
+  public T read(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    T instance = newInstance();
+    try {
+      in.beginObject();
+      while (in.hasNext()) {
+        if (!readAnyField(in, in.nextName(), instance)) {
+          in.skipValue();
+        }
+      }
+    } catch (IllegalStateException e) {
+      throw new JsonSyntaxException(e);
+    }
+    in.endObject();
+    return instance;
+  }
+
+  /** Creates new instance of DTO implementation. */
+  protected abstract T newInstance();
+
+  /** Writes names and values of the fields declared in DTO implementation. */
+  protected abstract void writeFields(JsonWriter out, T value) throws IOException;
+
+  /**
+   * Reads value of the field declared in DTO implementation with the given JSON name.
+   *
+   * @return false if there is no such field, then the value is not read
+   */
+  protected abstract boolean readField(JsonReader in, String name, T instance) throws IOException;
+
+  private void writeAllFields(JsonWriter out, T value) throws IOException {
+    writeFields(out, value);
+    if (superAdapter != null) {
+      superAdapter.writeAllFields(out, value);
+    }
+  }
+
+  private boolean readAnyField(JsonReader in, String name, T instance) throws IOException {
+    return readField(in, name, instance)
+        || superAdapter != null && superAdapter.readAnyField(in, name, instance);
+  }
+
+  /**
+   * Writes value of the field which type is a class. When the value is an instance of a subclass,
+   * e.g. implementation of DTO interface, it is written with adapter of its own class.
+   */
+  @SuppressWarnings("unchecked")
+  protected <V> void writeRuntimeType(
+      JsonWriter out, TypeAdapter<V> adapter, Class<?> declaredType, V value) throws IOException {
+    if (value != null && value.getClass() != declaredType) {
+      ((TypeAdapter<Object>) gson.getAdapter(value.getClass())).write(out, value);
+    } else {
+      adapter.write(out, value);
+    }
+  }
+}
@@ -35,6 +35,7 @@ import org.eclipse.che.dto.definitions.model.Model;
 import org.eclipse.che.dto.definitions.model.ModelComponentDto;
 import org.eclipse.che.dto.definitions.model.ModelDto;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.DtoTypeAdapter;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -189,6 +190,30 @@ public class ServerDtoTest {
     dtoFactory.toJson(dto1);
   }
 
+  @Test
+  public void testGeneratedTypeAdapterReadsAndWritesInheritedFields() throws Exception {
+    GrandchildDto dto = dtoFactory.createDto(GrandchildDto.class);
+    dto.setDtoField("dto");
+    dto.setChildField("child");
+    dto.setParentField("parent");
+
+    assertTrue(dtoFactory.getGson().getAdapter(dto.getClass()) instanceof DtoTypeAdapter);
+    final String json = dtoFactory.toJson(dto);
+    assertEquals(
+        new JsonParser().parse(json),
+        new JsonParser().parse("{dtoField:'dto',childField:'child',parentField:'parent'}"));
+    assertEquals(dtoFactory.createDtoFromJson(json, GrandchildDto.class), dto);
+  }
+
+  @Test
+  public void testGeneratedTypeAdapterSkipsUnknownFieldsAndNullPrimitives() throws Exception {
+    SimpleDto dto =
+        dtoFactory.createDtoFromJson(
+            "{name:'foo',unknown:{a:[1,2]},id:null,default:'bar'}", SimpleDto.class);
+
+    checkSimpleDto(dto, "foo", 0, "bar");
+  }
+
   /** Intentionally call several times to ensure non-reference equality */
   private static JsonElement createTestValueForAny() {
     return new JsonParser().parse("{a:100,b:{c:'blah'}}");
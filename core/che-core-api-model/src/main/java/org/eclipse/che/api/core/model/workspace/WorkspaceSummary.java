@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.model.workspace;
+
+import java.util.Map;
+
+/**
+ * Defines a short description of {@link Workspace} which doesn't contain its configuration and
+ * runtime, e.g. to list workspaces.
+ */
+public interface WorkspaceSummary {
+
+  /** Returns the identifier of the workspace. */
+  String getId();
+
+  /** Returns the name of the workspace, it is the same as the name of workspace configuration. */
+  String getName();
+
+  /** Returns the namespace of the workspace. */
+  String getNamespace();
+
+  /** Returns the status of the workspace. */
+  WorkspaceStatus getStatus();
+
+  /** Returns the attributes of the workspace. */
+  Map<String, String> getAttributes();
+
+  /** Returns true if the workspace is temporary, and false otherwise. */
+  boolean isTemporary();
+}
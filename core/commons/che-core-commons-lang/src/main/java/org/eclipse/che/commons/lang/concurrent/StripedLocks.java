@@ -11,6 +11,8 @@
 package org.eclipse.che.commons.lang.concurrent;
 
 import com.google.common.util.concurrent.Striped;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 
@@ -53,6 +55,25 @@ public class StripedLocks {
     return new LockUnlocker(lock);
   }
 
+  /**
+   * Acquire read locks for all provided keys. Each lock is acquired once, even when several keys
+   * share it, so the number of acquired locks doesn't exceed the number of stripes.
+   */
+  public Unlocker readLocks(Iterable<String> keys) {
+    final List<Lock> locks = new ArrayList<>();
+    ReadWriteLock previous = null;
+    // stripes are returned in the order of their indexes, so the same stripes are adjacent
+    for (ReadWriteLock stripe : striped.bulkGet(keys)) {
+      if (stripe != previous) {
+        Lock lock = stripe.readLock();
+        lock.lock();
+        locks.add(lock);
+        previous = stripe;
+      }
+    }
+    return new LocksUnlocker(locks.toArray(new Lock[locks.size()]));
+  }
+
   /** Acquire write lock for provided key. */
   public Unlocker writeLock(String key) {
     Lock lock = striped.get(key).writeLock();
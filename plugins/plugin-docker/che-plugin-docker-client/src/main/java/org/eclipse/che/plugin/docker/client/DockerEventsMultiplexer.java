@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client;
+
+import static java.util.Arrays.asList;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.Filters;
+import org.eclipse.che.plugin.docker.client.params.GetEventsParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads events of docker daemon with a single connection and delivers them to all subscribers
+ * which filters accept the event, so components interested in docker events do not open own
+ * connections to docker and do not parse the same events again.
+ *
+ * <p>Connection to docker is opened when the first subscriber is added. Only events of types and
+ * statuses which subscribers are interested in are requested from docker. When a subscriber
+ * interested in other events is added, a new connection is opened with the updated filters and the
+ * previous one is closed on its next event. When connection is broken it is opened again with
+ * {@code since} set to the time of the last received event, so events which happened while there
+ * was no connection are not lost. Events of that second which were already delivered are skipped.
+ *
+ * <p>Events are delivered to subscribers in the thread which reads them, so subscribers should not
+ * block.
+ */
+@Singleton
+public class DockerEventsMultiplexer {
+  private static final Logger LOG = LoggerFactory.getLogger(DockerEventsMultiplexer.class);
+
+  private static final long MIN_RECONNECT_DELAY_MS = 500;
+  private static final long MAX_RECONNECT_DELAY_MS = 30_000;
+
+  private final DockerConnector dockerConnector;
+  private final List<Subscription> subscriptions;
+  private final ExecutorService executor;
+  /** Keys of delivered events which happened in the second {@link #lastEventSecond}. */
+  private final Set<String> lastSecondEvents;
+
+  private volatile boolean stopped;
+  /** Stream which events are delivered to subscribers, guarded by this. */
+  private EventsStream stream;
+
+  private long lastEventSecond;
+
+  @Inject
+  public DockerEventsMultiplexer(DockerConnectorProvider dockerConnectorProvider) {
+    this(dockerConnectorProvider.get());
+  }
+
+  DockerEventsMultiplexer(DockerConnector dockerConnector) {
+    this.dockerConnector = dockerConnector;
+    this.subscriptions = new CopyOnWriteArrayList<>();
+    this.lastSecondEvents = new HashSet<>();
+    // previous stream may still wait for its next event while the new one is read
+    this.executor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder()
+                .setNameFormat("DockerEventsMultiplexer-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+  }
+
+  /**
+   * Subscribes processor to the docker events accepted by the filter.
+   *
+   * @param processor processor of events
+   * @param filter filter of events, events which are not accepted are not passed to processor
+   */
+  public void subscribe(MessageProcessor<Event> processor, EventsFilter filter) {
+    subscriptions.add(new Subscription(processor, filter));
+    updateStream();
+  }
+
+  /** Unsubscribes processor from docker events. */
+  public void unsubscribe(MessageProcessor<Event> processor) {
+    subscriptions.removeIf(subscription -> subscription.processor == processor);
+    updateStream();
+  }
+
+  /**
+   * Returns filter which accepts container events with one of the given statuses, e.g. {@code
+   * die}.
+   */
+  public static EventsFilter containerEvents(String... statuses) {
+    return new EventsFilter("container", statuses);
+  }
+
+  @PreDestroy
+  void stop() {
+    stopped = true;
+    executor.shutdownNow();
+  }
+
+  /** Opens a new stream when subscribers are interested in events which are not requested. */
+  private synchronized void updateStream() {
+    final EventsStream newStream = new EventsStream();
+    newStream.select(subscriptions);
+    // events are filtered on this side as well, so the stream is kept when nobody is subscribed
+    if (stopped || newStream.types.isEmpty()) {
+      return;
+    }
+    if (stream == null) {
+      lastEventSecond = System.currentTimeMillis() / 1000;
+    } else if (!stream.connected || stream.selects(newStream)) {
+      // stream which is not connected yet selects events when it is connected
+      return;
+    }
+    stream = newStream;
+    executor.execute(() -> readEvents(newStream));
+  }
+
+  private void readEvents(EventsStream stream) {
+    long reconnectDelay = MIN_RECONNECT_DELAY_MS;
+    while (!stopped) {
+      final GetEventsParams params;
+      synchronized (this) {
+        if (stream != this.stream) {
+          return;
+        }
+        stream.select(subscriptions);
+        stream.connected = true;
+        params =
+            GetEventsParams.create()
+                .withSinceSecond(lastEventSecond)
+                .withFilters(stream.toFilters());
+      }
+      final long receivedBefore = stream.receivedEvents;
+      try {
+        dockerConnector.getEvents(params, event -> dispatch(stream, event));
+      } catch (StreamReplacedException e) {
+        return;
+      } catch (IOException e) {
+        // usually connection timeout
+        LOG.debug(e.getLocalizedMessage(), e);
+      } catch (RuntimeException e) {
+        LOG.error(e.getLocalizedMessage(), e);
+      }
+      if (stopped) {
+        return;
+      }
+      // connection which received new events was fine, so open the next one without delay
+      reconnectDelay =
+          stream.receivedEvents != receivedBefore
+              ? MIN_RECONNECT_DELAY_MS
+              : Math.min(reconnectDelay * 2, MAX_RECONNECT_DELAY_MS);
+      try {
+        Thread.sleep(reconnectDelay);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void dispatch(EventsStream stream, Event event) {
+    stream.receivedEvents++;
+    synchronized (this) {
+      if (stream != this.stream) {
+        // closes connection of replaced stream
+        throw new StreamReplacedException();
+      }
+      if (stopped || !isNew(event)) {
+        return;
+      }
+    }
+    for (Subscription subscription : subscriptions) {
+      try {
+        if (subscription.filter.test(event)) {
+          subscription.processor.process(event);
+        }
+      } catch (RuntimeException e) {
+        LOG.error(e.getLocalizedMessage(), e);
+      }
+    }
+  }
+
+  /**
+   * Checks whether event was not delivered yet. Connection is reopened with {@code since} which
+   * includes the whole second of the last received event, so events of that second come again.
+   */
+  private boolean isNew(Event event) {
+    if (event.getTime() < lastEventSecond) {
+      return false;
+    }
+    if (event.getTime() > lastEventSecond) {
+      lastEventSecond = event.getTime();
+      lastSecondEvents.clear();
+    }
+    return lastSecondEvents.add(
+        event.getTimeNano()
+            + ":"
+            + event.getType()
+            + ":"
+            + event.getStatus()
+            + ":"
+            + event.getAction()
+            + ":"
+            + event.getId());
+  }
+
+  /** Filter of docker events by type and status, which is also passed to docker. */
+  public static class EventsFilter implements Predicate<Event> {
+    private final String type;
+    private final Set<String> statuses;
+
+    private EventsFilter(String type, String... statuses) {
+      this.type = type;
+      this.statuses = new HashSet<>(asList(statuses));
+    }
+
+    @Override
+    public boolean test(Event event) {
+      // docker swarm does not filter events by type, so events of other types are skipped here
+      return (event.getType() == null || type.equals(event.getType()))
+          && statuses.contains(event.getStatus());
+    }
+  }
+
+  /** Connection to docker events, replaced by the new one when filters of subscribers change. */
+  private static class EventsStream {
+    final Set<String> types = new TreeSet<>();
+    final Set<String> statuses = new TreeSet<>();
+    boolean connected;
+    long receivedEvents;
+
+    /** Selects types and statuses of events which subscribers are interested in. */
+    void select(List<Subscription> subscriptions) {
+      types.clear();
+      statuses.clear();
+      for (Subscription subscription : subscriptions) {
+        types.add(subscription.filter.type);
+        statuses.addAll(subscription.filter.statuses);
+      }
+    }
+
+    boolean selects(EventsStream other) {
+      return types.equals(other.types) && statuses.equals(other.statuses);
+    }
+
+    Filters toFilters() {
+      return new Filters()
+          .withFilter("type", types.toArray(new String[types.size()]))
+          .withFilter("event", statuses.toArray(new String[statuses.size()]));
+    }
+  }
+
+  private static class StreamReplacedException extends RuntimeException {}
+
+  private static class Subscription {
+    final MessageProcessor<Event> processor;
+    final EventsFilter filter;
+
+    Subscription(MessageProcessor<Event> processor, EventsFilter filter) {
+      this.processor = Objects.requireNonNull(processor);
+      this.filter = Objects.requireNonNull(filter);
+    }
+  }
+}
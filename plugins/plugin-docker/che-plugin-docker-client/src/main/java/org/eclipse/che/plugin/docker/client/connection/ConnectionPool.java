@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps idle connections to docker API open, so next requests may reuse them with HTTP/1.1
+ * keep-alive instead of opening new ones. The most recently released connection is reused first,
+ * connections idle longer than the timeout are closed. Before connection is reused it is checked
+ * with {@link Connector#isAlive(Object)}, so connections closed by docker daemon are not reused.
+ *
+ * <p>Pool limits number of idle connections only, number of connections in use is not limited
+ * since some of them are held by long living streams of logs or events.
+ *
+ * @param <C> type of connection
+ */
+class ConnectionPool<C> {
+  /** Opens, checks and closes connections of the pool. */
+  interface Connector<C> {
+    C connect() throws IOException;
+
+    boolean isAlive(C connection);
+
+    void close(C connection);
+  }
+
+  private final Connector<C> connector;
+  private final int maxIdle;
+  private final long idleTimeoutMs;
+  private final Deque<IdleConnection<C>> idle;
+  private final AtomicLong created;
+  private final AtomicLong reused;
+  private final AtomicLong evicted;
+
+  private boolean closed;
+
+  ConnectionPool(Connector<C> connector, int maxIdle, long idleTimeoutMs) {
+    this.connector = connector;
+    this.maxIdle = maxIdle;
+    this.idleTimeoutMs = idleTimeoutMs;
+    this.idle = new ArrayDeque<>();
+    this.created = new AtomicLong();
+    this.reused = new AtomicLong();
+    this.evicted = new AtomicLong();
+  }
+
+  /** Returns idle connection if there is alive one, otherwise opens new connection. */
+  C acquire() throws IOException {
+    for (C connection = pollIdle(); connection != null; connection = pollIdle()) {
+      if (connector.isAlive(connection)) {
+        reused.incrementAndGet();
+        return connection;
+      }
+      evicted.incrementAndGet();
+      connector.close(connection);
+    }
+    final C connection = connector.connect();
+    created.incrementAndGet();
+    return connection;
+  }
+
+  /**
+   * Returns connection to the pool. Caller must release only connections which have no unread
+   * data, e.g. response is read completely. Connection is closed if pool is full or closed.
+   */
+  void release(C connection) {
+    final List<C> expired;
+    final boolean keep;
+    synchronized (this) {
+      expired = removeExpired(System.currentTimeMillis());
+      keep = !closed && idle.size() < maxIdle;
+      if (keep) {
+        idle.push(new IdleConnection<>(connection, System.currentTimeMillis()));
+      }
+    }
+    if (!keep) {
+      connector.close(connection);
+    }
+    closeAll(expired);
+  }
+
+  /** Closes all idle connections, connections released after that are closed immediately. */
+  void close() {
+    final List<C> connections = new ArrayList<>();
+    synchronized (this) {
+      closed = true;
+      for (IdleConnection<C> idleConnection : idle) {
+        connections.add(idleConnection.connection);
+      }
+      idle.clear();
+    }
+    closeAll(connections);
+  }
+
+  /** Returns number of connections which are open at the moment and are not in use. */
+  synchronized int getIdle() {
+    return idle.size();
+  }
+
+  /** Returns number of connections opened by the pool. */
+  long getCreated() {
+    return created.get();
+  }
+
+  /** Returns number of times idle connection was reused. */
+  long getReused() {
+    return reused.get();
+  }
+
+  /** Returns number of idle connections closed because of timeout or failed check. */
+  long getEvicted() {
+    return evicted.get();
+  }
+
+  private C pollIdle() {
+    final List<C> expired;
+    final IdleConnection<C> idleConnection;
+    synchronized (this) {
+      expired = removeExpired(System.currentTimeMillis());
+      idleConnection = idle.poll();
+    }
+    closeAll(expired);
+    return idleConnection != null ? idleConnection.connection : null;
+  }
+
+  /** Removes connections idle longer than timeout, the oldest ones are in the tail. */
+  private List<C> removeExpired(long now) {
+    List<C> expired = null;
+    while (!idle.isEmpty() && now - idle.peekLast().releasedAt >= idleTimeoutMs) {
+      if (expired == null) {
+        expired = new ArrayList<>();
+      }
+      expired.add(idle.pollLast().connection);
+      evicted.incrementAndGet();
+    }
+    return expired;
+  }
+
+  private void closeAll(List<C> connections) {
+    if (connections != null) {
+      for (C connection : connections) {
+        connector.close(connection);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ConnectionPool{"
+        + "idle="
+        + getIdle()
+        + ", created="
+        + created
+        + ", reused="
+        + reused
+        + ", evicted="
+        + evicted
+        + '}';
+  }
+
+  private static class IdleConnection<C> {
+    final C connection;
+    final long releasedAt;
+
+    IdleConnection(C connection, long releasedAt) {
+      this.connection = connection;
+      this.releasedAt = releasedAt;
+    }
+  }
+}
@@ -12,22 +12,35 @@ package org.eclipse.che.plugin.docker.client.connection;
 
 import com.google.inject.Inject;
 import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import org.eclipse.che.plugin.docker.client.DockerCertificates;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 
 /**
  * Factory for connections to docker API.
  *
- * <p>Detects connection implementation by checking docker daemon URI.
+ * <p>Detects connection implementation by checking docker daemon URI. Connections to unix socket
+ * are kept open between requests and reused with HTTP/1.1 keep-alive, see {@link
+ * #UNIX_SOCKET_POOL_MAX_IDLE_PROPERTY}.
  *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
   public static final String CONNECTION_TIMEOUT_MS_PROPERTY =
       "che.docker.tcp_connection_timeout_ms";
   public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY =
       "che.docker.tcp_connection_read_timeout_ms";
+  /** Max number of idle connections kept open per unix socket, 0 disables reuse of connections. */
+  public static final String UNIX_SOCKET_POOL_MAX_IDLE_PROPERTY =
+      "che.docker.unix_socket_pool_max_idle";
+  /** Time after which idle connection to unix socket is closed. */
+  public static final String UNIX_SOCKET_POOL_IDLE_TIMEOUT_MS_PROPERTY =
+      "che.docker.unix_socket_pool_idle_timeout_ms";
 
   @Inject(optional = true)
   @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -37,19 +50,46 @@ public class DockerConnectionFactory {
   @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
   private int connectionReadTimeoutMs = 60000;
 
+  @Inject(optional = true)
+  @Named(UNIX_SOCKET_POOL_MAX_IDLE_PROPERTY)
+  private int unixSocketPoolMaxIdle = 10;
+
+  @Inject(optional = true)
+  @Named(UNIX_SOCKET_POOL_IDLE_TIMEOUT_MS_PROPERTY)
+  private int unixSocketPoolIdleTimeoutMs = 30000;
+
   private final DockerCertificates dockerCertificates;
+  private final ConcurrentMap<String, ConnectionPool<Integer>> unixSocketPools;
 
   @Inject
   public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
     this.dockerCertificates = connectorConfiguration.getDockerCertificates();
+    this.unixSocketPools = new ConcurrentHashMap<>();
   }
 
   public DockerConnection openConnection(URI dockerDaemonUri) {
     if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-      return new UnixSocketConnection(dockerDaemonUri.getPath());
+      if (unixSocketPoolMaxIdle <= 0) {
+        return new UnixSocketConnection(dockerDaemonUri.getPath());
+      }
+      return new UnixSocketConnection(
+          dockerDaemonUri.getPath(),
+          unixSocketPools.computeIfAbsent(dockerDaemonUri.getPath(), this::createUnixSocketPool));
     } else {
       return new TcpConnection(
           dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
     }
   }
+
+  @PreDestroy
+  void closeIdleConnections() {
+    unixSocketPools.values().forEach(ConnectionPool::close);
+  }
+
+  private ConnectionPool<Integer> createUnixSocketPool(String dockerSocketPath) {
+    return new ConnectionPool<>(
+        new UnixSocketConnection.SocketConnector(dockerSocketPath),
+        unixSocketPoolMaxIdle,
+        unixSocketPoolIdleTimeoutMs);
+  }
 }
@@ -57,6 +57,27 @@ public class LimitedInputStream extends InputStream {
     return doRead(b, 0, len);
   }
 
+  /**
+   * Skips the rest of the bytes within the limit if there are not more than {@code maxBytes} of
+   * them.
+   *
+   * @return {@code true} if all bytes within the limit are read
+   */
+  synchronized boolean finish(int maxBytes) throws IOException {
+    if (limit - pos > maxBytes) {
+      return false;
+    }
+    final byte[] buf = new byte[Math.min(maxBytes, 1024)];
+    while (pos < limit) {
+      int n = input.read(buf, 0, Math.min(buf.length, limit - pos));
+      if (n == -1) {
+        return false;
+      }
+      pos += n;
+    }
+    return true;
+  }
+
   private int doRead(byte[] b, int off, int len) throws IOException {
     if (pos >= limit) {
       return -1;
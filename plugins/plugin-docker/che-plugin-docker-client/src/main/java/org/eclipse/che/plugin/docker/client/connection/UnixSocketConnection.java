@@ -11,11 +11,15 @@
 package org.eclipse.che.plugin.docker.client.connection;
 
 import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.plugin.docker.client.CLibrary.EAGAIN;
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_DONTWAIT;
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_PEEK;
 import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
 import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
 import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
 import com.google.common.base.Strings;
+import com.sun.jna.Native;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
@@ -33,35 +37,63 @@ import org.eclipse.che.plugin.docker.client.CLibrary;
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
+  /** Max number of not read bytes of response body skipped to reuse connection. */
+  private static final int MAX_SKIPPED_BYTES = 8 * 1024;
+
   private final String dockerSocketPath;
+  private final ConnectionPool<Integer> pool;
 
   private int fd = -1;
+  private UnixSocketDockerResponse response;
 
   public UnixSocketConnection(String dockerSocketPath) {
+    this(dockerSocketPath, null);
+  }
+
+  /**
+   * Creates connection which takes socket from the pool and returns it back to the pool when
+   * response is read completely.
+   */
+  UnixSocketConnection(String dockerSocketPath, ConnectionPool<Integer> pool) {
     this.dockerSocketPath = dockerSocketPath;
+    this.pool = pool;
   }
 
   @Override
   protected DockerResponse request(
       String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
       throws IOException {
-    fd = connect();
+    fd = pool != null ? pool.acquire() : connect(dockerSocketPath);
     final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
     writeHttpHeaders(output, method, path, query, headers);
     if (entity != null) {
       entity.writeTo(output);
     }
-    return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+    response = new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+    return response;
   }
 
   @Override
   public void close() {
     if (fd != -1) {
-      getCLibrary().close(fd);
+      if (pool != null && isReusable()) {
+        pool.release(fd);
+      } else {
+        getCLibrary().close(fd);
+      }
+      fd = -1;
     }
   }
 
-  private int connect() throws IOException {
+  private boolean isReusable() {
+    try {
+      return response != null && response.finish(MAX_SKIPPED_BYTES);
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private static int connect(String dockerSocketPath) throws IOException {
     final CLibrary cLib = getCLibrary();
     int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
     if (fd == -1) {
@@ -71,6 +103,7 @@ public class UnixSocketConnection extends DockerConnection {
     final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
     int c = cLib.connect(fd, sockAddr, sockAddr.size());
     if (c == -1) {
+      cLib.close(fd);
       throw new ConnectException(
           String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
     }
@@ -107,4 +140,33 @@ public class UnixSocketConnection extends DockerConnection {
   private OutputStream openOutputStream(int fd) {
     return new UnixSocketOutputStream(fd);
   }
+
+  /** Opens sockets for the pool, sockets are represented by file descriptors. */
+  static class SocketConnector implements ConnectionPool.Connector<Integer> {
+    private final String dockerSocketPath;
+
+    SocketConnector(String dockerSocketPath) {
+      this.dockerSocketPath = dockerSocketPath;
+    }
+
+    @Override
+    public Integer connect() throws IOException {
+      return UnixSocketConnection.connect(dockerSocketPath);
+    }
+
+    /**
+     * Idle socket is alive if it has nothing to read and is not closed by docker daemon, so
+     * non-blocking peek fails with {@code EAGAIN}.
+     */
+    @Override
+    public boolean isAlive(Integer fd) {
+      final int n = getCLibrary().recv(fd, new byte[1], 1, MSG_PEEK | MSG_DONTWAIT);
+      return n == -1 && Native.getLastError() == EAGAIN;
+    }
+
+    @Override
+    public void close(Integer fd) {
+      getCLibrary().close(fd);
+    }
+  }
 }
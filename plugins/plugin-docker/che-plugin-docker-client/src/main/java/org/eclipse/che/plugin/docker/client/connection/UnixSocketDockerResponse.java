@@ -80,6 +80,10 @@ public class UnixSocketDockerResponse implements DockerResponse {
   @Override
   public String getHeader(String name) throws IOException {
     getInputStream();
+    return findHeader(name);
+  }
+
+  private String findHeader(String name) {
     final String lowerCaseName = name.toLowerCase();
     for (String field : headersFields) {
       if (field.toLowerCase().startsWith(lowerCaseName)) {
@@ -108,6 +112,30 @@ public class UnixSocketDockerResponse implements DockerResponse {
     return headers.toArray(new String[headers.size()]);
   }
 
+  /**
+   * Reads small rest of the response body with known length and returns {@code true} if the whole
+   * response is read, so connection may be used for the next request.
+   *
+   * @param maxBytes max number of not read bytes of the body that may be skipped
+   */
+  synchronized boolean finish(int maxBytes) throws IOException {
+    if (headersFields == null || "close".equalsIgnoreCase(findHeader("Connection"))) {
+      return false;
+    }
+    if (data == EMPTY) {
+      return true;
+    }
+    if (data instanceof LimitedInputStream) {
+      return ((LimitedInputStream) data).finish(maxBytes);
+    }
+    if (data instanceof ChunkedInputStream) {
+      // rest of the chunked body may be not sent yet, e.g. stream of events, do not wait for it
+      return ((ChunkedInputStream) data).isFinished();
+    }
+    // response without length is read until connection is closed
+    return false;
+  }
+
   @Override
   public synchronized InputStream getInputStream() throws IOException {
     if (this.headersFields != null) {
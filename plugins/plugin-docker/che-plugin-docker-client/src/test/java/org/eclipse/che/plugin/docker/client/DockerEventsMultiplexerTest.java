@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.plugin.docker.client.DockerEventsMultiplexer.containerEvents;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.params.GetEventsParams;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link DockerEventsMultiplexer}. */
+public class DockerEventsMultiplexerTest {
+  private DockerConnector dockerConnector;
+  private DockerEventsMultiplexer multiplexer;
+  private List<Long> sinceSeconds;
+  private long now;
+
+  @BeforeMethod
+  public void setUp() {
+    dockerConnector = mock(DockerConnector.class);
+    multiplexer = new DockerEventsMultiplexer(dockerConnector);
+    sinceSeconds = new CopyOnWriteArrayList<>();
+    now = System.currentTimeMillis() / 1000;
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    multiplexer.stop();
+  }
+
+  @Test
+  public void shouldDeliverEventsToSubscribersOnceAfterReconnect() throws Exception {
+    final Event die1 = event(now + 10, 1, "die", "c1");
+    final Event oom1 = event(now + 11, 2, "oom", "c1");
+    final Event start2 = event(now + 11, 3, "start", "c2");
+    final Event die2 = event(now + 11, 4, "die", "c2");
+    final Event die3 = event(now + 12, 5, "die", "c3");
+    doAnswer(
+            invocation -> {
+              final GetEventsParams params = (GetEventsParams) invocation.getArguments()[0];
+              if (!params.getFilters().getFilter("event").contains("start")) {
+                // stream opened before the second subscriber is added, it is replaced
+                awaitInterruption();
+                return null;
+              }
+              sinceSeconds.add(params.getSinceSecond());
+              @SuppressWarnings("unchecked")
+              final MessageProcessor<Event> processor =
+                  (MessageProcessor<Event>) invocation.getArguments()[1];
+              if (sinceSeconds.size() == 1) {
+                processor.process(die1);
+                processor.process(oom1);
+                processor.process(start2);
+                throw new IOException("connection reset");
+              }
+              // events of the last second come again after reconnect
+              processor.process(oom1);
+              processor.process(start2);
+              processor.process(die2);
+              processor.process(die3);
+              multiplexer.stop();
+              return null;
+            })
+        .when(dockerConnector)
+        .getEvents(any(GetEventsParams.class), any());
+    final List<Event> stopEvents = new CopyOnWriteArrayList<>();
+    final List<Event> startEvents = new CopyOnWriteArrayList<>();
+    final CountDownLatch received = new CountDownLatch(4);
+
+    multiplexer.subscribe(
+        event -> {
+          stopEvents.add(event);
+          received.countDown();
+        },
+        containerEvents("die", "oom"));
+    multiplexer.subscribe(startEvents::add, containerEvents("start"));
+
+    assertTrue(received.await(10, TimeUnit.SECONDS));
+    assertEquals(stopEvents, asList(die1, oom1, die2, die3));
+    assertEquals(startEvents, asList(start2));
+    assertEquals(sinceSeconds, asList(now, now + 11));
+  }
+
+  @Test
+  public void shouldNotDeliverEventsOfOtherTypes() throws Exception {
+    final Event network = event(now + 1, 1, "die", "c1").withType("network");
+    final Event container = event(now + 1, 2, "die", "c1").withType("container");
+    final CountDownLatch delivered = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              @SuppressWarnings("unchecked")
+              final MessageProcessor<Event> processor =
+                  (MessageProcessor<Event>) invocation.getArguments()[1];
+              processor.process(network);
+              processor.process(container);
+              delivered.countDown();
+              multiplexer.stop();
+              return null;
+            })
+        .when(dockerConnector)
+        .getEvents(any(GetEventsParams.class), any());
+    final List<Event> events = new CopyOnWriteArrayList<>();
+
+    multiplexer.subscribe(events::add, containerEvents("die"));
+
+    assertTrue(delivered.await(10, TimeUnit.SECONDS));
+    assertEquals(events, asList(container));
+  }
+
+  @Test
+  public void shouldNotDeliverEventsToUnsubscribedProcessor() throws Exception {
+    final List<Event> events = new CopyOnWriteArrayList<>();
+    final MessageProcessor<Event> processor = events::add;
+    final CountDownLatch delivered = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              multiplexer.unsubscribe(processor);
+              @SuppressWarnings("unchecked")
+              final MessageProcessor<Event> eventsProcessor =
+                  (MessageProcessor<Event>) invocation.getArguments()[1];
+              eventsProcessor.process(event(now + 1, 1, "die", "c1"));
+              delivered.countDown();
+              multiplexer.stop();
+              return null;
+            })
+        .when(dockerConnector)
+        .getEvents(any(GetEventsParams.class), any());
+
+    multiplexer.subscribe(processor, containerEvents("die"));
+
+    assertTrue(delivered.await(10, TimeUnit.SECONDS));
+    assertTrue(events.isEmpty());
+  }
+
+  @Test
+  public void shouldRequestOnlySubscribedEventsFromDocker() throws Exception {
+    final List<Map<String, List<String>>> filters = new CopyOnWriteArrayList<>();
+    final CountDownLatch opened = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              final GetEventsParams params = (GetEventsParams) invocation.getArguments()[0];
+              filters.add(params.getFilters().getFilters());
+              opened.countDown();
+              multiplexer.stop();
+              return null;
+            })
+        .when(dockerConnector)
+        .getEvents(any(GetEventsParams.class), any());
+
+    multiplexer.subscribe(event -> {}, containerEvents("oom", "die"));
+
+    assertTrue(opened.await(10, TimeUnit.SECONDS));
+    assertEquals(
+        filters,
+        asList(ImmutableMap.of("type", asList("container"), "event", asList("die", "oom"))));
+  }
+
+  @Test
+  public void shouldReopenStreamWhenSubscriberOfOtherEventsIsAdded() throws Exception {
+    final List<List<String>> requestedEvents = new CopyOnWriteArrayList<>();
+    final CountDownLatch firstOpened = new CountDownLatch(1);
+    final CountDownLatch secondOpened = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              final GetEventsParams params = (GetEventsParams) invocation.getArguments()[0];
+              requestedEvents.add(params.getFilters().getFilter("event"));
+              if (requestedEvents.size() == 1) {
+                firstOpened.countDown();
+                awaitInterruption();
+              } else {
+                secondOpened.countDown();
+                multiplexer.stop();
+              }
+              return null;
+            })
+        .when(dockerConnector)
+        .getEvents(any(GetEventsParams.class), any());
+
+    multiplexer.subscribe(event -> {}, containerEvents("die"));
+    assertTrue(firstOpened.await(10, TimeUnit.SECONDS));
+    multiplexer.subscribe(event -> {}, containerEvents("start"));
+
+    assertTrue(secondOpened.await(10, TimeUnit.SECONDS));
+    assertEquals(requestedEvents, asList(asList("die"), asList("die", "start")));
+  }
+
+  /** Blocks like a connection without events until multiplexer is stopped. */
+  private static void awaitInterruption() {
+    try {
+      new CountDownLatch(1).await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static Event event(long time, long nano, String status, String container) {
+    return new Event()
+        .withTime(time)
+        .withTimeNano(time * 1_000_000_000 + nano)
+        .withStatus(status)
+        .withId(container);
+  }
+}
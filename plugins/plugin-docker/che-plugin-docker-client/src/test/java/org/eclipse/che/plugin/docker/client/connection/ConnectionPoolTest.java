@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ConnectionPool} and reuse of connections after response is read. */
+public class ConnectionPoolTest {
+  private TestConnector connector;
+
+  @BeforeMethod
+  public void setUp() {
+    connector = new TestConnector();
+  }
+
+  @Test
+  public void shouldReuseReleasedConnection() throws Exception {
+    final ConnectionPool<Integer> pool = new ConnectionPool<>(connector, 2, 60_000);
+
+    final int first = pool.acquire();
+    pool.release(first);
+    final int second = pool.acquire();
+
+    assertEquals(second, first);
+    assertEquals(pool.getCreated(), 1);
+    assertEquals(pool.getReused(), 1);
+  }
+
+  @Test
+  public void shouldCloseConnectionWhenPoolIsFull() throws Exception {
+    final ConnectionPool<Integer> pool = new ConnectionPool<>(connector, 1, 60_000);
+
+    final int first = pool.acquire();
+    final int second = pool.acquire();
+    pool.release(first);
+    pool.release(second);
+
+    assertEquals(pool.getIdle(), 1);
+    assertTrue(connector.closed.contains(second));
+  }
+
+  @Test
+  public void shouldNotReuseConnectionClosedByServer() throws Exception {
+    final ConnectionPool<Integer> pool = new ConnectionPool<>(connector, 2, 60_000);
+    final int first = pool.acquire();
+    pool.release(first);
+
+    connector.dead.add(first);
+
+    assertNotEquals(pool.acquire().intValue(), first);
+    assertTrue(connector.closed.contains(first));
+    assertEquals(pool.getEvicted(), 1);
+  }
+
+  @Test
+  public void shouldEvictConnectionsIdleLongerThanTimeout() throws Exception {
+    final ConnectionPool<Integer> pool = new ConnectionPool<>(connector, 2, 1);
+    final int first = pool.acquire();
+    pool.release(first);
+
+    Thread.sleep(10);
+
+    assertNotEquals(pool.acquire().intValue(), first);
+    assertTrue(connector.closed.contains(first));
+    assertEquals(pool.getIdle(), 0);
+  }
+
+  @Test
+  public void shouldCloseIdleAndReleasedConnectionsWhenPoolIsClosed() throws Exception {
+    final ConnectionPool<Integer> pool = new ConnectionPool<>(connector, 2, 60_000);
+    final int first = pool.acquire();
+    final int second = pool.acquire();
+    pool.release(first);
+
+    pool.close();
+    pool.release(second);
+
+    assertTrue(connector.closed.contains(first));
+    assertTrue(connector.closed.contains(second));
+  }
+
+  @Test
+  public void shouldFinishResponseWithSmallRestOfBody() throws Exception {
+    final UnixSocketDockerResponse response =
+        response("HTTP/1.1 200 OK\r\nContent-Length: 5\r\n\r\nhello");
+    final InputStream body = response.getInputStream();
+    body.read(new byte[3]);
+
+    assertTrue(response.finish(1024));
+  }
+
+  @Test
+  public void shouldNotFinishResponseWithLargeRestOfBody() throws Exception {
+    final UnixSocketDockerResponse response =
+        response("HTTP/1.1 200 OK\r\nContent-Length: 5\r\n\r\nhello");
+    response.getInputStream();
+
+    assertFalse(response.finish(4));
+  }
+
+  @Test
+  public void shouldNotFinishResponseWhenServerClosesConnection() throws Exception {
+    final UnixSocketDockerResponse response =
+        response("HTTP/1.1 200 OK\r\nConnection: close\r\nContent-Length: 0\r\n\r\n");
+    response.getInputStream();
+
+    assertFalse(response.finish(1024));
+  }
+
+  @Test
+  public void shouldNotFinishResponseWithoutLength() throws Exception {
+    final UnixSocketDockerResponse response = response("HTTP/1.1 101 UPGRADED\r\n\r\nstream");
+    response.getInputStream();
+
+    assertFalse(response.finish(1024));
+  }
+
+  @Test
+  public void shouldFinishChunkedResponseOnlyWhenLastChunkIsRead() throws Exception {
+    final UnixSocketDockerResponse response =
+        response("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n5\r\nhello\r\n0\r\n\r\n");
+    final InputStream body = response.getInputStream();
+    body.read(new byte[5]);
+
+    assertFalse(response.finish(1024));
+
+    assertEquals(body.read(new byte[5]), -1);
+    assertTrue(response.finish(1024));
+  }
+
+  private static UnixSocketDockerResponse response(String raw) {
+    return new UnixSocketDockerResponse(new ByteArrayInputStream(raw.getBytes()));
+  }
+
+  private static class TestConnector implements ConnectionPool.Connector<Integer> {
+    final AtomicInteger counter = new AtomicInteger();
+    final Set<Integer> dead = new HashSet<>();
+    final Set<Integer> closed = new HashSet<>();
+
+    @Override
+    public Integer connect() throws IOException {
+      return counter.incrementAndGet();
+    }
+
+    @Override
+    public boolean isAlive(Integer connection) {
+      return !dead.contains(connection);
+    }
+
+    @Override
+    public void close(Integer connection) {
+      closed.add(connection);
+    }
+  }
+}
@@ -21,6 +21,7 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import org.eclipse.che.api.agent.server.WsAgentPingRequestFactory;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
+import org.eclipse.che.api.agent.server.launcher.AgentLaunchingWaiter;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
@@ -116,12 +117,11 @@ public class WsAgentLauncher implements AgentLauncher {
           wsAgentPingUrl,
           pingStartTimestamp);
 
-      while (System.currentTimeMillis() - pingStartTimestamp < wsAgentMaxStartTimeMs) {
-        if (pingWsAgent(wsAgentPingRequest)) {
-          return;
-        } else {
-          Thread.sleep(wsAgentPingDelayMs);
-        }
+      // ws agent is pinged more frequently at the beginning, so the start of
+      // ws agent is not delayed by the whole ping delay when it starts quickly
+      if (new AgentLaunchingWaiter(wsAgentPingDelayMs)
+          .await(() -> pingWsAgent(wsAgentPingRequest), wsAgentMaxStartTimeMs)) {
+        return;
       }
     } catch (BadRequestException | ServerException | NotFoundException e) {
       throw new ServerException(e.getServiceError());
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+/**
+ * Range of bytes requested with HTTP {@code Range} header, see RFC 7233. Only a single range is
+ * supported, requests of few ranges are served with the whole content which is allowed by the
+ * specification.
+ */
+final class ByteRange {
+  private static final String BYTES_UNIT = "bytes=";
+
+  private final long first;
+  private final long last;
+
+  private ByteRange(long first, long last) {
+    this.first = first;
+    this.last = last;
+  }
+
+  /**
+   * Parses value of {@code Range} header.
+   *
+   * @param header value of header, may be {@code null}
+   * @param length length of requested content
+   * @return requested range or {@code null} if header is absent, malformed or requests few ranges,
+   *     range which is out of content bounds is not {@link #isSatisfiable() satisfiable}
+   */
+  static ByteRange parse(String header, long length) {
+    if (header == null || !header.regionMatches(true, 0, BYTES_UNIT, 0, BYTES_UNIT.length())) {
+      return null;
+    }
+    final String spec = header.substring(BYTES_UNIT.length()).trim();
+    final int dash = spec.indexOf('-');
+    if (dash < 0 || spec.indexOf(',') >= 0) {
+      return null;
+    }
+    final String firstSpec = spec.substring(0, dash).trim();
+    final String lastSpec = spec.substring(dash + 1).trim();
+    if (firstSpec.isEmpty()) {
+      // suffix range, e.g. 'bytes=-500' is the last 500 bytes
+      final long suffix = parseNumber(lastSpec);
+      if (suffix < 0) {
+        return null;
+      }
+      if (suffix == 0 || length == 0) {
+        return unsatisfiable(length);
+      }
+      return new ByteRange(Math.max(0, length - suffix), length - 1);
+    }
+    final long first = parseNumber(firstSpec);
+    final long last = lastSpec.isEmpty() ? Long.MAX_VALUE : parseNumber(lastSpec);
+    if (first < 0 || last < first) {
+      return null;
+    }
+    if (first >= length) {
+      return unsatisfiable(length);
+    }
+    return new ByteRange(first, Math.min(last, length - 1));
+  }
+
+  /** Returns {@code false} if none of the requested bytes is in content bounds. */
+  boolean isSatisfiable() {
+    return first <= last;
+  }
+
+  /** Returns position of the first byte of the range. */
+  long getFirst() {
+    return first;
+  }
+
+  /** Returns number of bytes in the range. */
+  long length() {
+    return last - first + 1;
+  }
+
+  /** Returns value of {@code Content-Range} header of response with content of this range. */
+  String toContentRange(long length) {
+    return isSatisfiable() ? "bytes " + first + '-' + last + '/' + length : "bytes */" + length;
+  }
+
+  private static ByteRange unsatisfiable(long length) {
+    return new ByteRange(length, length - 1);
+  }
+
+  /** Returns parsed non-negative number or {@code -1} if value is not a number. */
+  private static long parseNumber(String value) {
+    if (value.isEmpty()) {
+      return -1;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+    }
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      // too big number
+      return -1;
+    }
+  }
+}
@@ -25,12 +25,19 @@ import org.eclipse.che.api.project.shared.dto.EditorChangesDto;
 /**
  * In-memory implementation of working copy for opened editor on client.
  *
+ * <p>Editor changes are applied to a {@link PieceTable} which is created from the content when the
+ * first change comes, so typing does not copy the whole content. Content bytes are encoded lazily
+ * when the content is read.
+ *
  * @author Roman Nikitenko
  */
 public class EditorWorkingCopy {
   private String path;
   private String projectPath;
+  /** Content bytes, {@code null} when there are changes not encoded to bytes yet. */
   private byte[] content;
+  /** Text with all applied changes, {@code null} until the first change is applied. */
+  private PieceTable text;
 
   /**
    * Creates a working copy for opened editor on client.
@@ -50,9 +57,9 @@ public class EditorWorkingCopy {
    *
    * @return content ot the working copy
    */
-  public byte[] getContentAsBytes() {
+  public synchronized byte[] getContentAsBytes() {
     if (content == null) {
-      content = new byte[0];
+      content = text == null ? new byte[0] : text.toString().getBytes();
     }
     return Arrays.copyOf(content, content.length);
   }
@@ -62,7 +69,10 @@ public class EditorWorkingCopy {
    *
    * @return content ot the working copy
    */
-  public String getContentAsString() {
+  public synchronized String getContentAsString() {
+    if (content == null && text != null) {
+      return text.toString();
+    }
     return new String(getContentAsBytes());
   }
 
@@ -81,8 +91,9 @@ public class EditorWorkingCopy {
    * @param content content
    * @return current working copy after updating content
    */
-  EditorWorkingCopy updateContent(byte[] content) {
+  synchronized EditorWorkingCopy updateContent(byte[] content) {
     this.content = content;
+    this.text = null;
     return this;
   }
 
@@ -120,28 +131,23 @@ public class EditorWorkingCopy {
    *
    * @param changes contains editor content changes
    */
-  void applyChanges(EditorChangesDto changes) {
-    synchronized (this) {
-      String text = changes.getText();
-      int offset = changes.getOffset();
-      int removedCharCount = changes.getRemovedCharCount();
-
-      String newContent = null;
-      String oldContent = getContentAsString();
-      EditorChangesDto.Type type = changes.getType();
-      if (type == INSERT) {
-        newContent = new StringBuilder(oldContent).insert(offset, text).toString();
-      }
-
-      if (type == REMOVE && removedCharCount > 0) {
-        newContent =
-            new StringBuilder(oldContent).delete(offset, offset + removedCharCount).toString();
-      }
-
-      if (newContent != null) {
-        updateContent(newContent);
-      }
+  synchronized void applyChanges(EditorChangesDto changes) {
+    final EditorChangesDto.Type type = changes.getType();
+    final int removedCharCount = changes.getRemovedCharCount();
+    if (type != INSERT && (type != REMOVE || removedCharCount <= 0)) {
+      return;
+    }
+    if (text == null) {
+      text = new PieceTable(getContentAsString());
+    }
+    if (type == INSERT) {
+      text.insert(changes.getOffset(), changes.getText());
+    } else {
+      // like StringBuilder#delete, removal beyond the end of the text is truncated
+      final int offset = changes.getOffset();
+      text.remove(offset, Math.min(removedCharCount, text.length() - offset));
     }
+    content = null;
   }
 
   /** Returns the path to the persistent working copy */
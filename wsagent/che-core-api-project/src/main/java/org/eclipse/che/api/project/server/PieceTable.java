@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import static java.lang.String.format;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Text buffer which applies insertions and removals without copying the whole text.
+ *
+ * <p>Text is kept as a sequence of pieces, each piece refers to a range of either the original
+ * text or the buffer of inserted text which is only appended to. Pieces are kept in a treap
+ * ordered by position in the text, so insertion and removal take O(log n) where n is the number
+ * of pieces. Sequential typing extends the last inserted piece instead of adding a new one.
+ *
+ * <p>The class is not thread safe.
+ */
+class PieceTable {
+  private final String original;
+  private final StringBuilder added;
+
+  private Piece root;
+
+  PieceTable(String text) {
+    this.original = text;
+    this.added = new StringBuilder();
+    this.root = text.isEmpty() ? null : new Piece(false, 0, text.length());
+  }
+
+  /** Returns length of the text. */
+  int length() {
+    return size(root);
+  }
+
+  /**
+   * Inserts text at the given position.
+   *
+   * @throws IndexOutOfBoundsException if offset is out of the text bounds
+   */
+  void insert(int offset, String text) {
+    checkRange(offset, 0);
+    if (text.isEmpty()) {
+      return;
+    }
+    final int start = added.length();
+    added.append(text);
+    final Piece[] split = split(root, offset);
+    if (!extendAdded(split[0], start, text.length())) {
+      split[0] = merge(split[0], new Piece(true, start, text.length()));
+    }
+    root = merge(split[0], split[1]);
+  }
+
+  /**
+   * Removes {@code count} characters starting from the given position.
+   *
+   * @throws IndexOutOfBoundsException if removed range is out of the text bounds
+   */
+  void remove(int offset, int count) {
+    checkRange(offset, count);
+    if (count == 0) {
+      return;
+    }
+    final Piece[] head = split(root, offset);
+    final Piece[] tail = split(head[1], count);
+    root = merge(head[0], tail[1]);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder text = new StringBuilder(length());
+    appendTo(root, text);
+    return text.toString();
+  }
+
+  private void checkRange(int offset, int count) {
+    if (offset < 0 || count < 0 || offset + count > length()) {
+      throw new IndexOutOfBoundsException(
+          format("Range [%d, %d) is out of text bounds [0, %d)", offset, offset + count, length()));
+    }
+  }
+
+  private void appendTo(Piece piece, StringBuilder text) {
+    while (piece != null) {
+      appendTo(piece.left, text);
+      if (piece.added) {
+        text.append(added, piece.start, piece.start + piece.length);
+      } else {
+        text.append(original, piece.start, piece.start + piece.length);
+      }
+      piece = piece.right;
+    }
+  }
+
+  /**
+   * Extends the last piece of the tree by {@code length} characters if it ends exactly where the
+   * newly added text starts, i.e. text is typed sequentially.
+   */
+  private static boolean extendAdded(Piece tree, int start, int length) {
+    if (tree == null) {
+      return false;
+    }
+    if (tree.right != null) {
+      if (!extendAdded(tree.right, start, length)) {
+        return false;
+      }
+    } else if (tree.added && tree.start + tree.length == start) {
+      tree.length += length;
+    } else {
+      return false;
+    }
+    tree.size += length;
+    return true;
+  }
+
+  /** Splits tree into two trees with first {@code offset} characters and with the rest. */
+  private static Piece[] split(Piece tree, int offset) {
+    if (tree == null) {
+      return new Piece[2];
+    }
+    final int leftSize = size(tree.left);
+    if (offset <= leftSize) {
+      final Piece[] split = split(tree.left, offset);
+      tree.left = split[1];
+      tree.update();
+      split[1] = tree;
+      return split;
+    }
+    if (offset >= leftSize + tree.length) {
+      final Piece[] split = split(tree.right, offset - leftSize - tree.length);
+      tree.right = split[0];
+      tree.update();
+      split[0] = tree;
+      return split;
+    }
+    // offset is inside of the piece
+    final int headLength = offset - leftSize;
+    final Piece tail = new Piece(tree.added, tree.start + headLength, tree.length - headLength);
+    final Piece right = merge(tail, tree.right);
+    tree.length = headLength;
+    tree.right = null;
+    tree.update();
+    return new Piece[] {tree, right};
+  }
+
+  /** Merges two trees, all pieces of the first tree precede pieces of the second one. */
+  private static Piece merge(Piece first, Piece second) {
+    if (first == null) {
+      return second;
+    }
+    if (second == null) {
+      return first;
+    }
+    if (first.priority > second.priority) {
+      first.right = merge(first.right, second);
+      first.update();
+      return first;
+    }
+    second.left = merge(first, second.left);
+    second.update();
+    return second;
+  }
+
+  private static int size(Piece piece) {
+    return piece == null ? 0 : piece.size;
+  }
+
+  private static class Piece {
+    final boolean added;
+    final int start;
+    final int priority;
+
+    int length;
+    int size;
+    Piece left;
+    Piece right;
+
+    Piece(boolean added, int start, int length) {
+      this.added = added;
+      this.start = start;
+      this.length = length;
+      this.size = length;
+      this.priority = ThreadLocalRandom.current().nextInt();
+    }
+
+    void update() {
+      size = size(left) + length + size(right);
+    }
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of registered projects by path. Besides lookup of project by its path it finds the project
+ * which owns a path and projects located under a path walking the tree of path segments, so both
+ * take time proportional to the depth of the path and not to the number of projects.
+ *
+ * <p>Reading methods are not blocked and may be called concurrently with modifications,
+ * modifications are serialized.
+ */
+final class ProjectPathIndex {
+  private final Map<String, RegisteredProject> projects;
+  private final Node root;
+
+  ProjectPathIndex() {
+    projects = new ConcurrentHashMap<>();
+    root = new Node(null, null);
+  }
+
+  /** Returns project with the given absolute path or {@code null} if there is no such project. */
+  RegisteredProject get(String path) {
+    return projects.get(path);
+  }
+
+  /** Returns all registered projects. */
+  Collection<RegisteredProject> getAll() {
+    return projects.values();
+  }
+
+  /**
+   * Returns project located at the given path or the nearest project among its parents, or {@code
+   * null} if path does not belong to any project.
+   */
+  RegisteredProject getOwner(String path) {
+    Node node = root;
+    RegisteredProject owner = node.project;
+    int start = skipSlashes(path, 0);
+    while (node != null && start < path.length()) {
+      final int end = segmentEnd(path, start);
+      node = node.children.get(path.substring(start, end));
+      if (node != null && node.project != null) {
+        owner = node.project;
+      }
+      start = skipSlashes(path, end);
+    }
+    return owner;
+  }
+
+  /** Returns paths of all projects located under the given path, excluding project at path. */
+  List<String> getDescendants(String path) {
+    final List<String> descendants = new ArrayList<>();
+    final Node node = find(path);
+    if (node != null) {
+      for (Node child : node.children.values()) {
+        collect(child, descendants);
+      }
+    }
+    return descendants;
+  }
+
+  /** Adds project to the index replacing previously registered project with the same path. */
+  synchronized void put(RegisteredProject project) {
+    final String path = project.getPath();
+    Node node = root;
+    int start = skipSlashes(path, 0);
+    while (start < path.length()) {
+      final int end = segmentEnd(path, start);
+      final Node parent = node;
+      node = node.children.computeIfAbsent(path.substring(start, end), s -> new Node(parent, s));
+      start = skipSlashes(path, end);
+    }
+    node.project = project;
+    projects.put(path, project);
+  }
+
+  /** Removes project with the given path and returns it or {@code null} if there was no one. */
+  synchronized RegisteredProject remove(String path) {
+    final RegisteredProject removed = projects.remove(path);
+    if (removed != null) {
+      Node node = find(path);
+      if (node != null && node.project == removed) {
+        node.project = null;
+        // drop nodes which do not lead to any project anymore
+        while (node.parent != null && node.project == null && node.children.isEmpty()) {
+          node.parent.children.remove(node.segment);
+          node = node.parent;
+        }
+      }
+    }
+    return removed;
+  }
+
+  private Node find(String path) {
+    Node node = root;
+    int start = skipSlashes(path, 0);
+    while (node != null && start < path.length()) {
+      final int end = segmentEnd(path, start);
+      node = node.children.get(path.substring(start, end));
+      start = skipSlashes(path, end);
+    }
+    return node;
+  }
+
+  private static void collect(Node node, List<String> paths) {
+    if (node.project != null) {
+      paths.add(node.project.getPath());
+    }
+    for (Node child : node.children.values()) {
+      collect(child, paths);
+    }
+  }
+
+  private static int skipSlashes(String path, int from) {
+    while (from < path.length() && path.charAt(from) == '/') {
+      from++;
+    }
+    return from;
+  }
+
+  private static int segmentEnd(String path, int from) {
+    final int slash = path.indexOf('/', from);
+    return slash < 0 ? path.length() : slash;
+  }
+
+  private static class Node {
+    final Node parent;
+    final String segment;
+    final Map<String, Node> children;
+    volatile RegisteredProject project;
+
+    Node(Node parent, String segment) {
+      this.parent = parent;
+      this.segment = segment;
+      this.children = new ConcurrentHashMap<>();
+    }
+  }
+}
@@ -12,10 +12,7 @@ package org.eclipse.che.api.project.server;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -46,7 +43,7 @@ import org.slf4j.LoggerFactory;
 public class ProjectRegistry {
   private static final Logger LOG = LoggerFactory.getLogger(ProjectRegistry.class);
 
-  private final Map<String, RegisteredProject> projects;
+  private final ProjectPathIndex projects;
   private final WorkspaceProjectsSyncer workspaceHolder;
   private final VirtualFileSystem vfs;
   private final ProjectTypeRegistry projectTypeRegistry;
@@ -65,7 +62,7 @@ public class ProjectRegistry {
       EventService eventService)
       throws ServerException {
     this.eventService = eventService;
-    this.projects = new ConcurrentHashMap<>();
+    this.projects = new ProjectPathIndex();
     this.workspaceHolder = workspaceHolder;
     this.vfs = vfsProvider.getVirtualFileSystem();
     this.projectTypeRegistry = projectTypeRegistry;
@@ -92,7 +89,7 @@ public class ProjectRegistry {
 
     initialized = true;
 
-    for (RegisteredProject project : projects.values()) {
+    for (RegisteredProject project : projects.getAll()) {
       // only for projects with sources
       if (project.getBaseFolder() != null) {
         fireInitHandlers(project);
@@ -100,13 +97,18 @@ public class ProjectRegistry {
     }
   }
 
-  /** @return all the registered projects */
+  /**
+   * Returns all the registered projects. Folders on root which are not registered yet, e.g. created
+   * after initialization, are registered as projects.
+   *
+   * @return all the registered projects
+   */
   public List<RegisteredProject> getProjects() {
     checkInitializationState();
 
     initUnconfiguredFolders();
 
-    return new ArrayList<>(projects.values());
+    return new ArrayList<>(projects.getAll());
   }
 
   /**
@@ -116,9 +118,9 @@ public class ProjectRegistry {
   public RegisteredProject getProject(String projectPath) {
     checkInitializationState();
 
-    initUnconfiguredFolders();
-
-    return projects.get(absolutizePath(projectPath));
+    final String path = absolutizePath(projectPath);
+    final RegisteredProject project = projects.get(path);
+    return project != null ? project : initUnconfiguredFolder(path);
   }
 
   /**
@@ -128,15 +130,13 @@ public class ProjectRegistry {
   public List<String> getProjects(String parentPath) {
     checkInitializationState();
 
-    initUnconfiguredFolders();
-
-    final Path root = Path.of(absolutizePath(parentPath));
+    final String path = absolutizePath(parentPath);
+    if ("/".equals(path)) {
+      // all the projects are requested
+      initUnconfiguredFolders();
+    }
 
-    return projects
-        .keySet()
-        .stream()
-        .filter(key -> Path.of(key).isChild(root))
-        .collect(Collectors.toList());
+    return projects.getDescendants(path);
   }
 
   /**
@@ -146,23 +146,14 @@ public class ProjectRegistry {
   public RegisteredProject getParentProject(String path) {
     checkInitializationState();
 
-    // return this if a project
-    if (getProject(path) != null) {
-      return getProject(path);
-    }
-
-    // otherwise try to find matched parent
-    Path test;
-    while ((test = Path.of(path).getParent()) != null) {
-      final RegisteredProject project = projects.get(test.toString());
-      if (project != null) {
-        return project;
-      }
-
-      path = test.toString();
+    final RegisteredProject project = projects.getOwner(path);
+    if (project != null) {
+      return project;
     }
 
-    return null;
+    // path may belong to folder on root which is not registered yet
+    final Path itemPath = Path.of(path);
+    return itemPath.length() == 0 ? null : initUnconfiguredFolder("/" + itemPath.element(0));
   }
 
   /**
@@ -181,7 +172,7 @@ public class ProjectRegistry {
 
     final RegisteredProject project =
         new RegisteredProject(folder, config, updated, detected, this.projectTypeRegistry);
-    projects.put(project.getPath(), project);
+    projects.put(project);
 
     return project;
   }
@@ -196,7 +187,9 @@ public class ProjectRegistry {
 
     List<RegisteredProject> removed = new ArrayList<>();
     Optional.ofNullable(projects.remove(path)).ifPresent(removed::add);
-    getProjects(path).forEach(p -> Optional.ofNullable(projects.remove(p)).ifPresent(removed::add));
+    projects
+        .getDescendants(path)
+        .forEach(p -> Optional.ofNullable(projects.remove(p)).ifPresent(removed::add));
 
     removed.forEach(
         registeredProject ->
@@ -338,10 +331,10 @@ public class ProjectRegistry {
   }
 
   /** Try to initialize projects from unconfigured folders on root. */
-  private void initUnconfiguredFolders() {
+  private synchronized void initUnconfiguredFolders() {
     try {
       for (FolderEntry folder : root.getChildFolders()) {
-        if (!projects.containsKey(folder.getVirtualFile().getPath().toString())) {
+        if (projects.get(folder.getVirtualFile().getPath().toString()) == null) {
           putProject(null, folder, true, false);
         }
       }
@@ -350,6 +343,29 @@ public class ProjectRegistry {
     }
   }
 
+  /**
+   * Try to initialize project from unconfigured folder on root with the given path.
+   *
+   * @return project or null if path does not point to folder on root
+   */
+  private synchronized RegisteredProject initUnconfiguredFolder(String path) {
+    final RegisteredProject registered = projects.get(path);
+    if (registered != null) {
+      return registered;
+    }
+    try {
+      if (Path.of(path).length() == 1) {
+        final FolderEntry folder = root.getChildFolder(path);
+        if (folder != null) {
+          return putProject(null, folder, true, false);
+        }
+      }
+    } catch (ServerException e) {
+      LOG.warn(e.getLocalizedMessage());
+    }
+    return null;
+  }
+
   /**
    * Fires init handlers for all the project types of incoming project.
    *
@@ -25,8 +25,8 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.channels.Channels;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -40,6 +40,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -51,6 +52,7 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import org.apache.commons.fileupload.FileItem;
 import org.apache.tika.Tika;
@@ -114,6 +116,9 @@ import org.slf4j.LoggerFactory;
 public class ProjectService extends Service {
   private static final Logger LOG = LoggerFactory.getLogger(ProjectService.class);
   private static final Tika TIKA = new Tika();
+  private static final String RANGE = "Range";
+  private static final String CONTENT_RANGE = "Content-Range";
+  private static final String ACCEPT_RANGES = "Accept-Ranges";
 
   private final ProjectManager projectManager;
   private final EventService eventService;
@@ -558,13 +563,14 @@ public class ProjectService extends Service {
   @GET
   @Path("/file/{path:.*}")
   public Response getFile(
-      @ApiParam(value = "Path to a file", required = true) @PathParam("path") String path)
+      @ApiParam(value = "Path to a file", required = true) @PathParam("path") String path,
+      @ApiParam("Range of requested bytes") @HeaderParam(RANGE) String range)
       throws IOException, NotFoundException, ForbiddenException, ServerException {
     final FileEntry file = projectManager.asFile(path);
     if (file == null) {
       throw new NotFoundException("File not found for " + path);
     }
-    return Response.ok().entity(file.getInputStream()).type(TIKA.detect(file.getName())).build();
+    return fileContent(file.getVirtualFile(), range).type(TIKA.detect(file.getName())).build();
   }
 
   @PUT
@@ -838,7 +844,8 @@ public class ProjectService extends Service {
   @Path("/export/file/{path:.*}")
   @Produces(MediaType.APPLICATION_OCTET_STREAM)
   public Response exportFile(
-      @ApiParam(value = "Path to resource to be imported") @PathParam("path") String path)
+      @ApiParam(value = "Path to resource to be imported") @PathParam("path") String path,
+      @ApiParam("Range of requested bytes") @HeaderParam(RANGE) String range)
       throws NotFoundException, ForbiddenException, ServerException {
 
     final FileEntry file = projectManager.asFile(path);
@@ -849,15 +856,48 @@ public class ProjectService extends Service {
 
     final VirtualFile virtualFile = file.getVirtualFile();
 
-    return Response.ok(virtualFile.getContent(), TIKA.detect(virtualFile.getName()))
+    return fileContent(virtualFile, range)
+        .type(TIKA.detect(virtualFile.getName()))
         .lastModified(new Date(virtualFile.getLastModificationDate()))
-        .header(HttpHeaders.CONTENT_LENGTH, Long.toString(virtualFile.getLength()))
         .header(
             HttpHeaders.CONTENT_DISPOSITION,
             "attachment; filename=\"" + virtualFile.getName() + '"')
         .build();
   }
 
+  /**
+   * Creates response which writes content of the file straight to the response stream without
+   * loading it to memory. If valid range is requested only that range of content is written.
+   */
+  private static Response.ResponseBuilder fileContent(VirtualFile file, String rangeHeader)
+      throws ServerException {
+    final long length = file.getLength();
+    final ByteRange range = ByteRange.parse(rangeHeader, length);
+    if (range != null && !range.isSatisfiable()) {
+      return Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+          .header(CONTENT_RANGE, range.toContentRange(length));
+    }
+    final long offset = range == null ? 0 : range.getFirst();
+    final long count = range == null ? length : range.length();
+    final StreamingOutput content =
+        output -> {
+          try {
+            file.transferContentTo(offset, count, Channels.newChannel(output));
+          } catch (ForbiddenException | ServerException e) {
+            throw new IOException(e.getLocalizedMessage(), e);
+          }
+        };
+    final Response.ResponseBuilder response =
+        range == null
+            ? Response.ok(content)
+            : Response.status(Response.Status.PARTIAL_CONTENT)
+                .entity(content)
+                .header(CONTENT_RANGE, range.toContentRange(length));
+    return response
+        .header(ACCEPT_RANGES, "bytes")
+        .header(HttpHeaders.CONTENT_LENGTH, Long.toString(count));
+  }
+
   @GET
   @Path("/children/{parent:.*}")
   @Produces(MediaType.APPLICATION_JSON)
@@ -984,7 +1024,7 @@ public class ProjectService extends Service {
     @ApiResponse(code = 409, message = "Conflict error"),
     @ApiResponse(code = 500, message = "Internal Server Error")
   })
-  public List<SearchResultDto> search(
+  public Response search(
       @ApiParam(value = "Path to resource, i.e. where to search?", required = true)
           @PathParam("path")
           String path,
@@ -996,14 +1036,40 @@ public class ProjectService extends Service {
           @QueryParam("maxItems")
           @DefaultValue("-1")
           int maxItems,
-      @ApiParam(value = "Skip count") @QueryParam("skipCount") int skipCount)
+      @ApiParam(value = "Skip count") @QueryParam("skipCount") int skipCount,
+      @ApiParam(
+            value =
+                "Cursor of the next page taken from the 'next' link of the previous page. "
+                    + "If present then it takes precedence over skip count"
+          )
+          @QueryParam("cursor")
+          String cursor)
       throws NotFoundException, ForbiddenException, ConflictException, ServerException {
+    final SearchResult result = search(path, name, text, maxItems, skipCount, cursor);
+    final Response.ResponseBuilder response =
+        Response.ok().entity(prepareResults(result.getResults()));
+    if (result.getNextPageQueryExpression().isPresent()) {
+      final QueryExpression next = result.getNextPageQueryExpression().get();
+      final URI nextPageUri =
+          uriInfo
+              .getRequestUriBuilder()
+              .replaceQueryParam("skipCount", next.getSkipCount())
+              .replaceQueryParam("cursor", next.getCursor())
+              .build();
+      response.header("Link", String.format("<%s>; rel=\"next\"", nextPageUri));
+    }
+    return response.build();
+  }
+
+  private SearchResult search(
+      String path, String name, String text, int maxItems, int skipCount, String cursor)
+      throws ConflictException, ServerException {
     final Searcher searcher;
     try {
       searcher = projectManager.getSearcher();
     } catch (NotFoundException e) {
       LOG.warn(e.getLocalizedMessage());
-      return Collections.emptyList();
+      return SearchResult.aSearchResult().build();
     }
 
     if (skipCount < 0) {
@@ -1017,11 +1083,10 @@ public class ProjectService extends Service {
             .setText(text)
             .setMaxItems(maxItems)
             .setSkipCount(skipCount)
+            .setCursor(cursor)
             .setIncludePositions(true);
 
-    final SearchResult result = searcher.search(expr);
-    final List<SearchResultEntry> searchResultEntries = result.getResults();
-    return prepareResults(searchResultEntries);
+    return searcher.search(expr);
   }
 
   /**
@@ -1083,11 +1148,15 @@ public class ProjectService extends Service {
     String text = request.getText();
     int maxItems = request.getMaxItems();
     int skipCount = request.getSkipCount();
+    String cursor = request.getCursor();
 
     try {
+      SearchResult result = search(path, name, text, maxItems, skipCount, cursor);
       return newDto(ProjectSearchResponseDto.class)
-          .withItemReferences(search(path, name, text, maxItems, skipCount));
-    } catch (ServerException | ConflictException | NotFoundException | ForbiddenException e) {
+          .withItemReferences(prepareResults(result.getResults()))
+          .withNextPageCursor(
+              result.getNextPageQueryExpression().transform(QueryExpression::getCursor).orNull());
+    } catch (ServerException | ConflictException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
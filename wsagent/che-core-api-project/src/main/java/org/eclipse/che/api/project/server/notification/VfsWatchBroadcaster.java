@@ -13,6 +13,7 @@ package org.eclipse.che.api.project.server.notification;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import org.eclipse.che.api.core.notification.AsyncSubscription;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.project.shared.dto.event.VfsWatchEvent;
@@ -53,7 +54,7 @@ public class VfsWatchBroadcaster implements EventSubscriber<VfsWatchEvent> {
 
   @PostConstruct
   private void subscribe() {
-    eventService.subscribe(this);
+    eventService.subscribe(this, AsyncSubscription.ordered());
   }
 
   @PreDestroy
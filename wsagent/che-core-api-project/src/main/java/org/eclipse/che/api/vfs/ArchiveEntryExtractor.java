@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs;
+
+import static org.eclipse.che.api.vfs.ArchiveEntryPipeline.MAX_PARALLEL_ENTRY_SIZE;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.ServerException;
+
+/**
+ * Writes entries of extracted archive to folder. Folders are created in the caller thread in order
+ * of entries, small files are read to memory and written to the folder in parallel.
+ */
+final class ArchiveEntryExtractor implements AutoCloseable {
+  private final VirtualFile folder;
+  private final boolean overwrite;
+  private final ArchiveEntryPipeline pipeline;
+  private final Set<Path> extractedFiles;
+
+  ArchiveEntryExtractor(
+      VirtualFile folder, boolean overwrite, ExecutorService executor, int threads) {
+    this.folder = folder;
+    this.overwrite = overwrite;
+    this.pipeline = new ArchiveEntryPipeline(executor, threads);
+    this.extractedFiles = new HashSet<>();
+  }
+
+  void extractFolder(Path relativePath)
+      throws ForbiddenException, ConflictException, ServerException {
+    if (!folder.hasChild(relativePath)) {
+      folder.createFolder(relativePath.toString());
+    }
+  }
+
+  /**
+   * Extracts file, content stream is read until the end of entry but it is not closed.
+   *
+   * @param relativePath path of file relative to the folder
+   * @param content content of file
+   */
+  void extractFile(Path relativePath, InputStream content) throws IOException, ApiException {
+    VirtualFile extractFolder = folder;
+    if (relativePath.length() > 1) {
+      Path neededParentPath = relativePath.getParent();
+      VirtualFile neededParent = extractFolder.getChild(neededParentPath);
+      if (neededParent == null) {
+        neededParent = extractFolder.createFolder(neededParentPath.toString());
+      }
+      extractFolder = neededParent;
+    }
+    if (!extractedFiles.add(relativePath)) {
+      // archive contains the same file twice, it must be written after the previous one
+      pipeline.flush();
+    }
+
+    final VirtualFile parent = extractFolder;
+    final String fileName = relativePath.getName();
+    final byte[] head =
+        ByteStreams.toByteArray(ByteStreams.limit(content, MAX_PARALLEL_ENTRY_SIZE));
+    if (head.length < MAX_PARALLEL_ENTRY_SIZE) {
+      pipeline.submitUnordered(() -> writeFile(parent, fileName, new ByteArrayInputStream(head)));
+    } else {
+      writeFile(
+          parent, fileName, new SequenceInputStream(new ByteArrayInputStream(head), content));
+    }
+  }
+
+  /** Waits until all files are written. */
+  void finish() throws IOException, ApiException {
+    pipeline.flush();
+  }
+
+  @Override
+  public void close() {
+    pipeline.close();
+  }
+
+  private void writeFile(VirtualFile parent, String fileName, InputStream content)
+      throws ForbiddenException, ConflictException, ServerException {
+    VirtualFile file = parent.getChild(Path.of(fileName));
+    if (file == null) {
+      parent.createFile(fileName, content);
+    } else {
+      if (overwrite) {
+        file.updateContent(content);
+      } else {
+        throw new ConflictException(String.format("File '%s' already exists", file.getPath()));
+      }
+    }
+  }
+}
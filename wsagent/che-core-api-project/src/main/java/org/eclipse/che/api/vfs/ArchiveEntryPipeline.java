@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.core.ServerException;
+
+/**
+ * Processes entries of archive in parallel while keeping their order. Each entry is processed in
+ * two steps, the first one, e.g. reading and compressing of file content, runs in a thread of
+ * executor shared by all the pipelines, the second one, e.g. writing of compressed entry to the
+ * archive, runs in the caller thread in order in which entries were submitted.
+ *
+ * <p>Number of entries in progress is limited, so memory used by entries is bounded and archive
+ * is never buffered as a whole. Pipeline with a single thread processes entries in the caller
+ * thread one by one.
+ */
+final class ArchiveEntryPipeline implements AutoCloseable {
+  /**
+   * Max size of entry content which may be kept in memory to process the entry in parallel, bigger
+   * entries are streamed in the caller thread.
+   */
+  static final int MAX_PARALLEL_ENTRY_SIZE = 1024 * 1024;
+
+  /** Step of entry processing which runs in order of entries. */
+  interface OrderedStep {
+    void run() throws IOException, ApiException;
+  }
+
+  /** Step of entry processing which runs in parallel with other entries. */
+  interface ParallelStep {
+    OrderedStep run() throws IOException, ApiException;
+  }
+
+  private static final OrderedStep NOTHING = () -> {};
+
+  private final ExecutorService executor;
+  private final int maxEntriesInProgress;
+  private final Deque<Future<OrderedStep>> inProgress;
+
+  /**
+   * @param executor executor which runs parallel steps of entries, it is not shut down by the
+   *     pipeline. If {@code null} then entries are processed in the caller thread
+   * @param threads number of threads of the executor
+   */
+  ArchiveEntryPipeline(ExecutorService executor, int threads) {
+    if (executor != null && threads > 1) {
+      this.executor = executor;
+      maxEntriesInProgress = threads * 2;
+    } else {
+      this.executor = MoreExecutors.newDirectExecutorService();
+      maxEntriesInProgress = 1;
+    }
+    inProgress = new ArrayDeque<>(maxEntriesInProgress);
+  }
+
+  /**
+   * Submits entry which first step runs in parallel with other entries. Blocks while too many
+   * entries are in progress.
+   */
+  void submit(ParallelStep step) throws IOException, ApiException {
+    awaitCapacity();
+    inProgress.add(executor.submit(step::run));
+  }
+
+  /** Submits entry which is processed completely in order of entries. */
+  void submitOrdered(OrderedStep step) throws IOException, ApiException {
+    awaitCapacity();
+    inProgress.add(CompletableFuture.completedFuture(step));
+  }
+
+  /** Submits entry which is processed completely in parallel with other entries. */
+  void submitUnordered(OrderedStep step) throws IOException, ApiException {
+    submit(
+        () -> {
+          step.run();
+          return NOTHING;
+        });
+  }
+
+  /** Waits until all submitted entries are processed. */
+  void flush() throws IOException, ApiException {
+    while (!inProgress.isEmpty()) {
+      complete(inProgress.poll());
+    }
+  }
+
+  /** Cancels entries which are in progress, e.g. if processing of some entry failed. */
+  @Override
+  public void close() {
+    for (Future<OrderedStep> entry : inProgress) {
+      entry.cancel(true);
+    }
+    inProgress.clear();
+  }
+
+  private void awaitCapacity() throws IOException, ApiException {
+    while (inProgress.size() >= maxEntriesInProgress) {
+      complete(inProgress.poll());
+    }
+  }
+
+  private void complete(Future<OrderedStep> entry) throws IOException, ApiException {
+    final OrderedStep orderedStep;
+    try {
+      orderedStep = entry.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ServerException("Processing of archive was interrupted", e);
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof ApiException) {
+        throw (ApiException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new ServerException(cause.getMessage(), cause);
+    }
+    orderedStep.run();
+  }
+}
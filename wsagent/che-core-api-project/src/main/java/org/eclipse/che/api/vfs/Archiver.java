@@ -13,16 +13,40 @@ package org.eclipse.che.api.vfs;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 
-/** Archiver for compressing and extracting content of folder. */
+/**
+ * Archiver for compressing and extracting content of folder.
+ *
+ * <p>Archiver which uses more than one thread reads and compresses files in parallel and writes
+ * files on extraction in parallel, so it may be used only with thread safe {@link
+ * VirtualFileSystem}.
+ */
 public abstract class Archiver {
   protected final VirtualFile folder;
+  protected final ExecutorService executor;
+  protected final int threads;
 
   protected Archiver(VirtualFile folder) {
+    this(folder, null, 1);
+  }
+
+  /**
+   * @param folder folder to compress or to extract archive to
+   * @param executor executor which processes entries of archive, it is shared by archivers and is
+   *     not shut down by them. If {@code null} then entries are processed one by one
+   * @param threads number of threads of the executor
+   */
+  protected Archiver(VirtualFile folder, ExecutorService executor, int threads) {
     this.folder = folder;
+    this.executor = executor;
+    this.threads = threads;
   }
 
   /**
@@ -50,4 +74,48 @@ public abstract class Archiver {
    */
   public abstract void extract(InputStream compressedInput, boolean overwrite, int stripNumber)
       throws IOException, ForbiddenException, ConflictException, ServerException;
+
+  /**
+   * Lists items of the folder accepted by the filter in order in which they are written to
+   * archive. The folder itself is not listed.
+   */
+  protected List<VirtualFile> listEntries(VirtualFileFilter filter) throws ServerException {
+    final List<VirtualFile> entries = new ArrayList<>();
+    folder.accept(
+        new VirtualFileVisitor() {
+          @Override
+          public void visit(VirtualFile visitedVirtualFile) throws ServerException {
+            if (filter.accept(visitedVirtualFile)) {
+              if (!visitedVirtualFile.equals(folder)) {
+                entries.add(visitedVirtualFile);
+              }
+              if (visitedVirtualFile.isFolder()) {
+                for (VirtualFile child : visitedVirtualFile.getChildren()) {
+                  child.accept(this);
+                }
+              }
+            }
+          }
+        });
+    return entries;
+  }
+
+  /** Converts failure of compression to exception declared by {@link #compress}. */
+  protected static ServerException toServerException(ApiException e) {
+    return e instanceof ServerException
+        ? (ServerException) e
+        : new ServerException(e.getServiceError());
+  }
+
+  /** Rethrows failure of extraction as exception declared by {@link #extract}. */
+  protected static void rethrowExtractionFailure(ApiException e)
+      throws ForbiddenException, ConflictException, ServerException {
+    if (e instanceof ForbiddenException) {
+      throw (ForbiddenException) e;
+    }
+    if (e instanceof ConflictException) {
+      throw (ConflictException) e;
+    }
+    throw toServerException(e);
+  }
 }
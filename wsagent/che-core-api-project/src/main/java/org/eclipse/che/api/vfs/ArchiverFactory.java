@@ -10,15 +10,40 @@
  */
 package org.eclipse.che.api.vfs;
 
+import java.util.concurrent.ExecutorService;
+import java.util.zip.Deflater;
+
 public class ArchiverFactory {
+  private final int compressionLevel;
+  private final ExecutorService executor;
+  private final int threads;
+
+  /** Creates factory of archivers which process entries one by one. */
+  public ArchiverFactory() {
+    this(Deflater.DEFAULT_COMPRESSION, null, 1);
+  }
+
+  /**
+   * @param compressionLevel level of zip compression from 0 to 9, or -1 for the default one
+   * @param executor executor which processes entries of archives, it is shared by all the
+   *     archivers and is owned by the caller. Archivers which use executor may be used only with
+   *     thread safe {@link VirtualFileSystem}
+   * @param threads number of threads of the executor
+   */
+  public ArchiverFactory(int compressionLevel, ExecutorService executor, int threads) {
+    this.compressionLevel = compressionLevel;
+    this.executor = executor;
+    this.threads = threads;
+  }
+
   public Archiver createArchiver(VirtualFile folder, String archiveType) {
     if (archiveType == null) {
       throw new IllegalArgumentException("Archive type might not be null");
     }
     if ("zip".equals(archiveType.toLowerCase())) {
-      return new ZipArchiver(folder);
+      return new ZipArchiver(folder, compressionLevel, executor, threads);
     } else if ("tar".equals(archiveType.toLowerCase())) {
-      return new TarArchiver(folder);
+      return new TarArchiver(folder, executor, threads);
     }
     throw new IllegalArgumentException(String.format("Unsupported archive type %s", archiveType));
   }
@@ -55,20 +55,25 @@ public class HashSumsCounter implements VirtualFileVisitor {
   @Override
   public void visit(VirtualFile virtualFile) throws ServerException {
     if (virtualFile.isFile()) {
-      try (InputStream in = virtualFile.getContent()) {
-        final Hasher hasher = hashFunction.newHasher();
-        ByteStreams.copy(in, asOutputStream(hasher));
-        final String hexHash = hasher.hash().toString();
-        hashSums.add(Pair.of(hexHash, virtualFile.getPath().subPath(folder.getPath()).toString()));
-      } catch (IOException e) {
-        throw new ServerException(e);
-      } catch (ForbiddenException e) {
-        throw new ServerException(e.getServiceError());
-      }
+      final String hexHash = countHashSum(virtualFile);
+      hashSums.add(Pair.of(hexHash, virtualFile.getPath().subPath(folder.getPath()).toString()));
     } else {
       for (VirtualFile child : virtualFile.getChildren()) {
         child.accept(this);
       }
     }
   }
+
+  /** Counts hash sum of file content and returns it represented as HEX String. */
+  protected String countHashSum(VirtualFile file) throws ServerException {
+    try (InputStream in = file.getContent()) {
+      final Hasher hasher = hashFunction.newHasher();
+      ByteStreams.copy(in, asOutputStream(hasher));
+      return hasher.hash().toString();
+    } catch (IOException e) {
+      throw new ServerException(e);
+    } catch (ForbiddenException e) {
+      throw new ServerException(e.getServiceError());
+    }
+  }
 }
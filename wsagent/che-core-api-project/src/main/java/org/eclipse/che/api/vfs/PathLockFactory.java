@@ -10,6 +10,15 @@
  */
 package org.eclipse.che.api.vfs;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * Advisory file locks. It does not prevent access to the file from other programs.
  *
@@ -32,14 +41,21 @@ package org.eclipse.che.api.vfs;
  *      }
  * </pre>
  *
+ * <p>Lock of a path conflicts with locks of the same path, its parents and its children. Locks are
+ * reentrant, a thread is never blocked by locks it already holds. To lock a path all its parents
+ * are locked first with intention mode which conflicts only with locks of the parent itself, so
+ * conflicts are found by looking at the locked path and its parents only. Lock state of each path
+ * is guarded separately and waiting threads are woken up only when the path they wait for is
+ * released, so locks of unrelated paths do not contend.
+ *
  * @author andrew00x>
  */
 public final class PathLockFactory {
   private static final int MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
   /** Max number of threads allowed to access file. */
   private final int maxThreads;
-  // Tail of the "lock table".
-  private final Node tail = new Node(null, 0, null);
+  /** Lock state of paths which are locked or waited for, keyed by path. */
+  private final ConcurrentMap<Path, Node> nodes = new ConcurrentHashMap<>();
 
   /**
    * @param maxThreads the max number of threads are allowed to access one file. Typically this
@@ -54,146 +70,243 @@ public final class PathLockFactory {
   }
 
   public PathLock getLock(Path path, boolean exclusive) {
-    return new PathLock(path, exclusive ? maxThreads : 1);
+    return new PathLock(path, exclusive);
   }
 
-  private synchronized void acquire(Path path, int permits) {
-    while (!tryAcquire(path, permits)) {
-      try {
-        wait();
-      } catch (InterruptedException e) {
-        notifyAll();
-        throw new RuntimeException(e);
+  /**
+   * Locks all parents of the path with intention mode, from root down to the direct parent, and
+   * then the path itself. Parents are always locked in the same order, so locks are never taken in
+   * the opposite order by different threads. If locking of some path fails then all paths locked
+   * so far are unlocked.
+   */
+  private void acquire(Path path, boolean exclusive, boolean timed, long timeoutMilliseconds) {
+    final long deadline = System.nanoTime() + MILLISECONDS.toNanos(timeoutMilliseconds);
+    final Path[] hierarchy = hierarchy(path);
+    final Mode intention = exclusive ? Mode.INTENTION_EXCLUSIVE : Mode.INTENTION_SHARED;
+    int locked = 0;
+    try {
+      for (; locked < hierarchy.length - 1; locked++) {
+        lock(path, hierarchy[locked], intention, timed, deadline);
+      }
+      lock(path, path, exclusive ? Mode.EXCLUSIVE : Mode.SHARED, timed, deadline);
+    } catch (RuntimeException | Error e) {
+      for (int i = locked - 1; i >= 0; i--) {
+        unlock(hierarchy[i], intention);
       }
+      throw e;
     }
   }
 
-  private synchronized void acquire(Path path, int permits, long timeoutMilliseconds) {
-    final long endTime = System.currentTimeMillis() + timeoutMilliseconds;
-    long waitTime = timeoutMilliseconds;
-    while (!tryAcquire(path, permits)) {
-      try {
-        wait(waitTime);
-      } catch (InterruptedException e) {
-        notifyAll();
-        throw new RuntimeException(e);
-      }
-      long now = System.currentTimeMillis();
-      if (now >= endTime) {
-        throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
-      }
-      waitTime = endTime - now;
+  private void release(Path path, boolean exclusive) {
+    final Node node = nodes.get(path);
+    final Mode mode = exclusive ? Mode.EXCLUSIVE : Mode.SHARED;
+    if (node == null || !node.isHeldByCurrentThread(mode)) {
+      throw new IllegalMonitorStateException(
+          String.format("Lock of '%s' is not held by current thread. ", path));
+    }
+    unlock(path, mode);
+    final Path[] hierarchy = hierarchy(path);
+    final Mode intention = exclusive ? Mode.INTENTION_EXCLUSIVE : Mode.INTENTION_SHARED;
+    for (int i = hierarchy.length - 2; i >= 0; i--) {
+      unlock(hierarchy[i], intention);
     }
   }
 
-  private synchronized void release(Path path, int permits) {
-    Node node = tail;
-    while (node != null) {
-      Node prev = node.prev;
-      if (prev == null) {
-        break;
-      }
-      if (prev.path.equals(path)) {
-        if (prev.threadDeep == 1) {
-          // If last recursive lock.
-          prev.permits += permits;
-          if (prev.permits >= maxThreads) {
-            // remove
-            node.prev = prev.prev;
-            prev.prev = null;
+  private void lock(Path lockedPath, Path path, Mode mode, boolean timed, long deadline) {
+    final Node node = reference(path);
+    boolean acquired = false;
+    try {
+      synchronized (node) {
+        while (!node.tryAcquire(mode, maxThreads)) {
+          long waitTime = 0;
+          if (timed) {
+            waitTime = NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (waitTime <= 0) {
+              throw new RuntimeException(String.format("Get lock timeout for '%s'. ", lockedPath));
+            }
+          }
+          try {
+            node.wait(waitTime);
+          } catch (InterruptedException e) {
+            throw new RuntimeException(e);
           }
-        } else {
-          --prev.threadDeep;
         }
+        acquired = true;
+      }
+    } finally {
+      if (!acquired) {
+        dereference(path);
       }
-      node = node.prev;
     }
-    notifyAll();
-    //System.err.printf(">>>>> release: %s : %d%n", path, permits);
   }
 
-  private boolean tryAcquire(Path path, int permits) {
-    //System.err.printf(">>>>> acquire: %s : %d%n", path, permits);
-    Node node = tail.prev;
-    final Thread current = Thread.currentThread();
-    while (node != null) {
-      if (node.path.equals(path)) {
-        if (node.threadId == current.getId()) {
-          // Current thread already has direct lock for this path
-          if (node.threadDeep > MAX_RECURSIVE_LOCKS) {
-            throw new Error("Max number of recursive locks exceeded. ");
-          }
-          ++node.threadDeep;
-          return true;
-        }
-        if (node.permits > permits) {
-          // Lock already exists and current thread is not owner of this lock,
-          // but lock is not exclusive and we can "share" it for other thread.
-          node.permits -= permits; // decrement number of allowed concurrent threads
-          return true;
-        }
-        // Lock is exclusive or max number of allowed concurrent thread is reached.
-        return false;
-      } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
-        // Found some path which already has lock that prevents us to get required permits.
-        // There is two possibilities:
-        // 1. Parent of the path we try to lock already locked
-        // 2. Child of the path we try to lock already locked
-        // Need to check is such lock obtained by current thread or not.
-        // If such lock obtained by other thread stop here immediately there is no reasons to continue.
-        if (node.threadId != current.getId()) {
-          return false;
-        }
+  private void unlock(Path path, Mode mode) {
+    final Node node = nodes.get(path);
+    synchronized (node) {
+      if (node.release(mode)) {
+        // only threads waiting for this path may be able to continue
+        node.notifyAll();
       }
-      node = node.prev;
     }
-    // If we are here there is no lock for path yet.
-    tail.prev = new Node(path, maxThreads - permits, tail.prev);
-    return true;
+    dereference(path);
+  }
+
+  /** Gets node of the path and counts a hold or waiting of the current thread on it. */
+  private Node reference(Path path) {
+    return nodes.compute(
+        path,
+        (p, node) -> {
+          if (node == null) {
+            node = new Node();
+          }
+          node.references++;
+          return node;
+        });
   }
 
-  public synchronized void checkClean() {
-    assert tail.prev == null;
+  /** Removes node of the path when it is neither held nor waited for by any thread. */
+  private void dereference(Path path) {
+    nodes.computeIfPresent(path, (p, node) -> --node.references == 0 ? null : node);
+  }
+
+  /** Returns all paths from the root to the given path inclusive. */
+  private static Path[] hierarchy(Path path) {
+    final Path[] hierarchy = new Path[path.length() + 1];
+    for (int i = hierarchy.length - 1; i >= 0; i--) {
+      hierarchy[i] = path;
+      path = path.getParent();
+    }
+    return hierarchy;
+  }
+
+  public void checkClean() {
+    assert nodes.isEmpty();
   }
 
   /* =============================================== */
 
+  /**
+   * Lock modes. A path is locked with {@link #SHARED} or {@link #EXCLUSIVE} mode and all its
+   * parents are locked with the corresponding intention mode, so a lock of a parent path conflicts
+   * with locks of its children without looking through all locked paths.
+   */
+  private enum Mode {
+    INTENTION_SHARED,
+    INTENTION_EXCLUSIVE,
+    SHARED,
+    EXCLUSIVE;
+
+    private static final boolean[][] COMPATIBLE = {
+      {true, true, true, false},
+      {true, true, false, false},
+      {true, false, true, false},
+      {false, false, false, false}
+    };
+
+    boolean isCompatibleWith(Mode other) {
+      return COMPATIBLE[ordinal()][other.ordinal()];
+    }
+  }
+
+  /** Lock state of a single path. All fields except references are guarded by the node. */
   private static class Node {
-    final Path path;
-    final long threadId = Thread.currentThread().getId();
-    int permits;
-    int threadDeep;
-    Node prev;
+    private static final Mode[] MODES = Mode.values();
 
-    Node(Path path, int permits, Node prev) {
-      this.path = path;
-      this.permits = permits;
-      this.prev = prev;
-      threadDeep = 1;
+    /** Number of holds and waiting threads, guarded by the map of nodes. */
+    int references;
+    /** Number of holds of each mode by all threads. */
+    final int[] holds = new int[MODES.length];
+    /** Number of holds of each mode by each thread. */
+    final Map<Thread, int[]> owners = new HashMap<>(4);
+    /** Number of threads which hold shared lock. */
+    int sharedThreads;
+
+    boolean tryAcquire(Mode mode, int maxThreads) {
+      final int[] own = owners.get(Thread.currentThread());
+      for (Mode held : MODES) {
+        final int others = holds[held.ordinal()] - (own == null ? 0 : own[held.ordinal()]);
+        if (others > 0 && !mode.isCompatibleWith(held)) {
+          return false;
+        }
+      }
+      final int ownHolds = own == null ? 0 : own[mode.ordinal()];
+      if (mode == Mode.SHARED && ownHolds == 0 && sharedThreads >= maxThreads) {
+        return false;
+      }
+      if ((mode == Mode.SHARED || mode == Mode.EXCLUSIVE) && ownHolds >= MAX_RECURSIVE_LOCKS) {
+        throw new Error("Max number of recursive locks exceeded. ");
+      }
+      if (own == null) {
+        owners.put(Thread.currentThread(), newHolds(mode));
+      } else {
+        own[mode.ordinal()]++;
+      }
+      if (mode == Mode.SHARED && ownHolds == 0) {
+        sharedThreads++;
+      }
+      holds[mode.ordinal()]++;
+      return true;
+    }
+
+    /**
+     * Releases one hold of the current thread and returns {@code true} if the thread does not hold
+     * this mode anymore, so other threads may be able to acquire the path.
+     */
+    boolean release(Mode mode) {
+      final int[] own = owners.get(Thread.currentThread());
+      holds[mode.ordinal()]--;
+      if (--own[mode.ordinal()] > 0) {
+        return false;
+      }
+      if (mode == Mode.SHARED) {
+        sharedThreads--;
+      }
+      if (isEmpty(own)) {
+        owners.remove(Thread.currentThread());
+      }
+      return true;
+    }
+
+    synchronized boolean isHeldByCurrentThread(Mode mode) {
+      final int[] own = owners.get(Thread.currentThread());
+      return own != null && own[mode.ordinal()] > 0;
+    }
+
+    private static int[] newHolds(Mode mode) {
+      final int[] holds = new int[MODES.length];
+      holds[mode.ordinal()] = 1;
+      return holds;
+    }
+
+    private static boolean isEmpty(int[] holds) {
+      for (int count : holds) {
+        if (count > 0) {
+          return false;
+        }
+      }
+      return true;
     }
 
     @Override
-    public String toString() {
+    public synchronized String toString() {
       return "Node{"
-          + "path="
-          + path
-          + ", threadId="
-          + threadId
-          + ", permits="
-          + permits
-          + ", prev="
-          + prev
+          + "references="
+          + references
+          + ", holds="
+          + Arrays.toString(holds)
+          + ", sharedThreads="
+          + sharedThreads
           + '}';
     }
   }
 
   public final class PathLock {
     private final Path path;
-    private final int permits;
+    private final boolean exclusive;
 
-    private PathLock(Path path, int permits) {
+    private PathLock(Path path, boolean exclusive) {
       this.path = path;
-      this.permits = permits;
+      this.exclusive = exclusive;
     }
 
     /**
@@ -202,7 +315,7 @@ public final class PathLockFactory {
      * @return this PathLock instance
      */
     public PathLock acquire() {
-      PathLockFactory.this.acquire(path, permits);
+      PathLockFactory.this.acquire(path, exclusive, false, 0);
       return this;
     }
 
@@ -216,18 +329,18 @@ public final class PathLockFactory {
      * @throws RuntimeException if waiting timeout reached
      */
     public PathLock acquire(long timeoutMilliseconds) {
-      PathLockFactory.this.acquire(path, permits, timeoutMilliseconds);
+      PathLockFactory.this.acquire(path, exclusive, true, timeoutMilliseconds);
       return this;
     }
 
     /** Release file permit. */
     public void release() {
-      PathLockFactory.this.release(path, permits);
+      PathLockFactory.this.release(path, exclusive);
     }
 
     /** Returns <code>true</code> if this lock is exclusive and <code>false</code> otherwise. */
     public boolean isExclusive() {
-      return permits == PathLockFactory.this.maxThreads;
+      return exclusive;
     }
   }
 }
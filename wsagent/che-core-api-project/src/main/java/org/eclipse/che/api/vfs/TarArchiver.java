@@ -10,23 +10,42 @@
  */
 package org.eclipse.che.api.vfs;
 
-import com.google.common.io.ByteStreams;
+import static org.eclipse.che.api.vfs.ArchiveEntryPipeline.MAX_PARALLEL_ENTRY_SIZE;
+
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.util.concurrent.ExecutorService;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.util.NotClosableInputStream;
 
+/**
+ * Archiver of tar format. Files are read in parallel if archiver uses few threads and written to
+ * the archive in order, files bigger than {@link ArchiveEntryPipeline#MAX_PARALLEL_ENTRY_SIZE} are
+ * read while they are written.
+ */
 public class TarArchiver extends Archiver {
   public TarArchiver(VirtualFile folder) {
     super(folder);
   }
 
+  /**
+   * @param folder folder to compress or to extract archive to
+   * @param executor executor which processes entries of archive, it is not shut down by archiver
+   * @param threads number of threads of the executor
+   */
+  public TarArchiver(VirtualFile folder, ExecutorService executor, int threads) {
+    super(folder, executor, threads);
+  }
+
   @Override
   public void compress(OutputStream tarOutput) throws IOException, ServerException {
     compress(tarOutput, VirtualFileFilter.ACCEPT_ALL);
@@ -35,24 +54,19 @@ public class TarArchiver extends Archiver {
   @Override
   public void compress(OutputStream tarOutput, VirtualFileFilter filter)
       throws IOException, ServerException {
-    try (TarArchiveOutputStream tarOutputStream = new TarArchiveOutputStream(tarOutput)) {
+    try (TarArchiveOutputStream tarOutputStream = new TarArchiveOutputStream(tarOutput);
+        ArchiveEntryPipeline pipeline = new ArchiveEntryPipeline(executor, threads)) {
       tarOutputStream.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
-      folder.accept(
-          new VirtualFileVisitor() {
-            @Override
-            public void visit(VirtualFile visitedVirtualFile) throws ServerException {
-              if (filter.accept(visitedVirtualFile)) {
-                if (!visitedVirtualFile.equals(folder)) {
-                  addTarEntry(visitedVirtualFile, tarOutputStream);
-                }
-                if (visitedVirtualFile.isFolder()) {
-                  for (VirtualFile child : visitedVirtualFile.getChildren()) {
-                    child.accept(this);
-                  }
-                }
-              }
-            }
-          });
+      for (VirtualFile entry : listEntries(filter)) {
+        if (entry.isFile() && entry.getLength() < MAX_PARALLEL_ENTRY_SIZE) {
+          pipeline.submit(() -> readTarEntry(entry, tarOutputStream));
+        } else {
+          pipeline.submitOrdered(() -> addTarEntry(entry, tarOutputStream));
+        }
+      }
+      pipeline.flush();
+    } catch (ApiException e) {
+      throw toServerException(e);
     }
   }
 
@@ -64,38 +78,47 @@ public class TarArchiver extends Archiver {
     return tarPath.toString();
   }
 
-  private void addTarEntry(VirtualFile virtualFile, TarArchiveOutputStream tarOutputStream)
-      throws ServerException {
-    try {
-      TarArchiveEntry tarEntry = new TarArchiveEntry(getTarEntryName(virtualFile));
-      if (virtualFile.isFolder()) {
-        tarEntry.setModTime(0);
-        tarOutputStream.putArchiveEntry(tarEntry);
-      } else {
-        tarEntry.setSize(virtualFile.getLength());
-        tarEntry.setModTime(virtualFile.getLastModificationDate());
-        tarOutputStream.putArchiveEntry(tarEntry);
-        try (InputStream content = virtualFile.getContent()) {
-          ByteStreams.copy(content, tarOutputStream);
-        }
-      }
+  /** Reads content of file to memory, entry is written by returned step. */
+  private ArchiveEntryPipeline.OrderedStep readTarEntry(
+      VirtualFile virtualFile, TarArchiveOutputStream tarOutputStream)
+      throws IOException, ApiException {
+    final ByteArrayOutputStream content = new ByteArrayOutputStream((int) virtualFile.getLength());
+    virtualFile.transferContentTo(0, virtualFile.getLength(), Channels.newChannel(content));
+    final TarArchiveEntry tarEntry = new TarArchiveEntry(getTarEntryName(virtualFile));
+    tarEntry.setSize(content.size());
+    tarEntry.setModTime(virtualFile.getLastModificationDate());
+    return () -> {
+      tarOutputStream.putArchiveEntry(tarEntry);
+      content.writeTo(tarOutputStream);
       tarOutputStream.closeArchiveEntry();
-    } catch (ForbiddenException e) {
-      throw new ServerException(e.getServiceError());
-    } catch (IOException e) {
-      throw new ServerException(e.getMessage(), e);
+    };
+  }
+
+  private void addTarEntry(VirtualFile virtualFile, TarArchiveOutputStream tarOutputStream)
+      throws IOException, ApiException {
+    TarArchiveEntry tarEntry = new TarArchiveEntry(getTarEntryName(virtualFile));
+    if (virtualFile.isFolder()) {
+      tarEntry.setModTime(0);
+      tarOutputStream.putArchiveEntry(tarEntry);
+    } else {
+      final long length = virtualFile.getLength();
+      tarEntry.setSize(length);
+      tarEntry.setModTime(virtualFile.getLastModificationDate());
+      tarOutputStream.putArchiveEntry(tarEntry);
+      virtualFile.transferContentTo(0, length, Channels.newChannel(tarOutputStream));
     }
+    tarOutputStream.closeArchiveEntry();
   }
 
   @Override
   public void extract(InputStream tarInput, boolean overwrite, int stripNumber)
       throws IOException, ForbiddenException, ConflictException, ServerException {
-    try (TarArchiveInputStream tarInputStream = new TarArchiveInputStream(tarInput)) {
+    try (TarArchiveInputStream tarInputStream = new TarArchiveInputStream(tarInput);
+        ArchiveEntryExtractor extractor =
+            new ArchiveEntryExtractor(folder, overwrite, executor, threads)) {
       InputStream notClosableInputStream = new NotClosableInputStream(tarInputStream);
       TarArchiveEntry tarEntry;
       while ((tarEntry = tarInputStream.getNextTarEntry()) != null) {
-        VirtualFile extractFolder = folder;
-
         Path relativePath = Path.of(tarEntry.getName());
 
         if (stripNumber > 0) {
@@ -106,33 +129,15 @@ public class TarArchiver extends Archiver {
         }
 
         if (tarEntry.isDirectory()) {
-          if (!extractFolder.hasChild(relativePath)) {
-            extractFolder.createFolder(relativePath.toString());
-          }
+          extractor.extractFolder(relativePath);
           continue;
         }
 
-        if (relativePath.length() > 1) {
-          Path neededParentPath = relativePath.getParent();
-          VirtualFile neededParent = extractFolder.getChild(neededParentPath);
-          if (neededParent == null) {
-            neededParent = extractFolder.createFolder(neededParentPath.toString());
-          }
-          extractFolder = neededParent;
-        }
-
-        String fileName = relativePath.getName();
-        VirtualFile file = extractFolder.getChild(Path.of(fileName));
-        if (file == null) {
-          extractFolder.createFile(fileName, notClosableInputStream);
-        } else {
-          if (overwrite) {
-            file.updateContent(notClosableInputStream);
-          } else {
-            throw new ConflictException(String.format("File '%s' already exists", file.getPath()));
-          }
-        }
+        extractor.extractFile(relativePath, notClosableInputStream);
       }
+      extractor.finish();
+    } catch (ApiException e) {
+      rethrowExtractionFailure(e);
     }
   }
 }
@@ -12,6 +12,7 @@ package org.eclipse.che.api.vfs;
 
 import com.google.common.annotations.Beta;
 import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 import java.util.Map;
 import org.eclipse.che.api.core.ConflictException;
@@ -93,6 +94,22 @@ public interface VirtualFile extends Comparable<VirtualFile> {
    */
   InputStream getContent() throws ForbiddenException, ServerException;
 
+  /**
+   * Writes part of content of the file to the channel. Unlike {@link #getContent()} content is not
+   * buffered in memory, implementations backed by java.io.File pass bytes from file to the channel
+   * with {@link java.nio.channels.FileChannel#transferTo(long, long, WritableByteChannel)}.
+   *
+   * @param offset position of the first written byte of content
+   * @param count number of bytes to write
+   * @param target channel to write content to
+   * @throws ForbiddenException if this item is not a file
+   * @throws ServerException if the file does not have {@code count} bytes starting from {@code
+   *     offset}, e.g. it was truncated while content was written, or other error occurs
+   * @see #isFile()
+   */
+  void transferContentTo(long offset, long count, WritableByteChannel target)
+      throws ForbiddenException, ServerException;
+
   /**
    * Gets content of the file as bytes.
    *
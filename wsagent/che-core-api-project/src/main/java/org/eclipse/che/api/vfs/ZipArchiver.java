@@ -10,22 +10,51 @@
  */
 package org.eclipse.che.api.vfs;
 
-import com.google.common.io.ByteStreams;
+import static org.eclipse.che.api.vfs.ArchiveEntryPipeline.MAX_PARALLEL_ENTRY_SIZE;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.util.NotClosableInputStream;
 import org.eclipse.che.api.vfs.util.ZipContent;
 
+/**
+ * Archiver of zip format. Files are read and deflated in parallel if archiver uses few threads and
+ * compressed entries are written to the archive in order, files bigger than {@link
+ * ArchiveEntryPipeline#MAX_PARALLEL_ENTRY_SIZE} are compressed while they are written.
+ */
 public class ZipArchiver extends Archiver {
+  private final int compressionLevel;
+
   public ZipArchiver(VirtualFile folder) {
-    super(folder);
+    this(folder, Deflater.DEFAULT_COMPRESSION, null, 1);
+  }
+
+  /**
+   * @param folder folder to compress or to extract archive to
+   * @param compressionLevel compression level from 0 to 9, or -1 for the default one
+   * @param executor executor which processes entries of archive, it is not shut down by archiver
+   * @param threads number of threads of the executor
+   */
+  public ZipArchiver(
+      VirtualFile folder, int compressionLevel, ExecutorService executor, int threads) {
+    super(folder, executor, threads);
+    this.compressionLevel = compressionLevel;
   }
 
   @Override
@@ -36,23 +65,19 @@ public class ZipArchiver extends Archiver {
   @Override
   public void compress(OutputStream zipOutput, VirtualFileFilter filter)
       throws IOException, ServerException {
-    try (ZipOutputStream zipOutputStream = new ZipOutputStream(zipOutput)) {
-      folder.accept(
-          new VirtualFileVisitor() {
-            @Override
-            public void visit(VirtualFile visitedVirtualFile) throws ServerException {
-              if (filter.accept(visitedVirtualFile)) {
-                if (!visitedVirtualFile.equals(folder)) {
-                  addZipEntry(visitedVirtualFile, zipOutputStream);
-                }
-                if (visitedVirtualFile.isFolder()) {
-                  for (VirtualFile child : visitedVirtualFile.getChildren()) {
-                    child.accept(this);
-                  }
-                }
-              }
-            }
-          });
+    try (ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(zipOutput);
+        ArchiveEntryPipeline pipeline = new ArchiveEntryPipeline(executor, threads)) {
+      zipOutputStream.setLevel(compressionLevel);
+      for (VirtualFile entry : listEntries(filter)) {
+        if (entry.isFile() && entry.getLength() < MAX_PARALLEL_ENTRY_SIZE) {
+          pipeline.submit(() -> deflateZipEntry(entry, zipOutputStream));
+        } else {
+          pipeline.submitOrdered(() -> addZipEntry(entry, zipOutputStream));
+        }
+      }
+      pipeline.flush();
+    } catch (ApiException e) {
+      throw toServerException(e);
     }
   }
 
@@ -64,36 +89,59 @@ public class ZipArchiver extends Archiver {
     return zipPath.toString();
   }
 
-  private void addZipEntry(VirtualFile virtualFile, ZipOutputStream zipOutputStream)
-      throws ServerException {
-    try {
-      ZipEntry zipEntry = new ZipEntry(getZipEntryName(virtualFile));
-      zipOutputStream.putNextEntry(zipEntry);
-      if (virtualFile.isFolder()) {
-        zipEntry.setTime(0);
-      } else {
-        try (InputStream content = virtualFile.getContent()) {
-          ByteStreams.copy(content, zipOutputStream);
-        }
-        zipEntry.setTime(virtualFile.getLastModificationDate());
-      }
-      zipOutputStream.closeEntry();
-    } catch (ForbiddenException e) {
-      throw new ServerException(e.getServiceError());
-    } catch (IOException e) {
-      throw new ServerException(e.getMessage(), e);
+  /** Compresses content of file to memory, compressed entry is written by returned step. */
+  private ArchiveEntryPipeline.OrderedStep deflateZipEntry(
+      VirtualFile virtualFile, ZipArchiveOutputStream zipOutputStream)
+      throws IOException, ApiException {
+    final ByteArrayOutputStream content = new ByteArrayOutputStream((int) virtualFile.getLength());
+    virtualFile.transferContentTo(0, virtualFile.getLength(), Channels.newChannel(content));
+    final byte[] bytes = content.toByteArray();
+    final CRC32 crc = new CRC32();
+    crc.update(bytes);
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 2 + 64);
+    final Deflater deflater = new Deflater(compressionLevel, true);
+    try (DeflaterOutputStream deflaterOutput = new DeflaterOutputStream(compressed, deflater)) {
+      deflaterOutput.write(bytes);
+    } finally {
+      deflater.end();
     }
+
+    final ZipArchiveEntry zipEntry = new ZipArchiveEntry(getZipEntryName(virtualFile));
+    zipEntry.setMethod(ZipEntry.DEFLATED);
+    zipEntry.setCrc(crc.getValue());
+    zipEntry.setSize(bytes.length);
+    zipEntry.setCompressedSize(compressed.size());
+    zipEntry.setTime(virtualFile.getLastModificationDate());
+    return () ->
+        zipOutputStream.addRawArchiveEntry(
+            zipEntry, new ByteArrayInputStream(compressed.toByteArray()));
+  }
+
+  private void addZipEntry(VirtualFile virtualFile, ZipArchiveOutputStream zipOutputStream)
+      throws IOException, ApiException {
+    ZipArchiveEntry zipEntry = new ZipArchiveEntry(getZipEntryName(virtualFile));
+    if (virtualFile.isFolder()) {
+      zipEntry.setTime(0);
+      zipOutputStream.putArchiveEntry(zipEntry);
+    } else {
+      final long length = virtualFile.getLength();
+      zipEntry.setSize(length);
+      zipEntry.setTime(virtualFile.getLastModificationDate());
+      zipOutputStream.putArchiveEntry(zipEntry);
+      virtualFile.transferContentTo(0, length, Channels.newChannel(zipOutputStream));
+    }
+    zipOutputStream.closeArchiveEntry();
   }
 
   @Override
   public void extract(InputStream zipInput, boolean overwrite, int stripNumber)
       throws IOException, ForbiddenException, ConflictException, ServerException {
-    try (ZipInputStream zip = new ZipInputStream(ZipContent.of(zipInput).getContent())) {
+    try (ZipInputStream zip = new ZipInputStream(ZipContent.of(zipInput).getContent());
+        ArchiveEntryExtractor extractor =
+            new ArchiveEntryExtractor(folder, overwrite, executor, threads)) {
       InputStream notClosableInputStream = new NotClosableInputStream(zip);
       ZipEntry zipEntry;
       while ((zipEntry = zip.getNextEntry()) != null) {
-        VirtualFile extractFolder = folder;
-
         Path relativePath = Path.of(zipEntry.getName());
 
         if (stripNumber > 0) {
@@ -104,34 +152,16 @@ public class ZipArchiver extends Archiver {
         }
 
         if (zipEntry.isDirectory()) {
-          if (!extractFolder.hasChild(relativePath)) {
-            extractFolder.createFolder(relativePath.toString());
-          }
+          extractor.extractFolder(relativePath);
           continue;
         }
 
-        if (relativePath.length() > 1) {
-          Path neededParentPath = relativePath.getParent();
-          VirtualFile neededParent = extractFolder.getChild(neededParentPath);
-          if (neededParent == null) {
-            neededParent = extractFolder.createFolder(neededParentPath.toString());
-          }
-          extractFolder = neededParent;
-        }
-
-        String fileName = relativePath.getName();
-        VirtualFile file = extractFolder.getChild(Path.of(fileName));
-        if (file == null) {
-          extractFolder.createFile(fileName, notClosableInputStream);
-        } else {
-          if (overwrite) {
-            file.updateContent(notClosableInputStream);
-          } else {
-            throw new ConflictException(String.format("File '%s' already exists", file.getPath()));
-          }
-        }
+        extractor.extractFile(relativePath, notClosableInputStream);
         zip.closeEntry();
       }
+      extractor.finish();
+    } catch (ApiException e) {
+      rethrowExtractionFailure(e);
     }
   }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.impl.file;
+
+import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
+
+import com.google.common.hash.HashFunction;
+import java.util.Map;
+import java.util.Objects;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.HashSumsCounter;
+import org.eclipse.che.api.vfs.VirtualFile;
+
+/**
+ * Counts hash sums of files in folder reusing hash sums counted before. Hash sum of file is reused
+ * if length and modification time of file are the same as when it was counted, so content of
+ * unchanged files is not read again.
+ *
+ * <p>Hash sums of files modified recently are not remembered, since file may be modified again
+ * within the precision of modification time of the file system and such change would be missed.
+ */
+class CachingHashSumsCounter extends HashSumsCounter {
+  /** Files modified within this interval before counting of hash sum are not remembered. */
+  static final long RACY_MODIFICATION_INTERVAL_MS = 2000;
+
+  private final VirtualFile folder;
+  private final Map<String, HashSum> knownHashSums;
+  private final Map<String, HashSum> countedHashSums;
+  private boolean changed;
+
+  /**
+   * @param folder folder to count hash sums of files in
+   * @param hashFunction hash function, must be the same as one used for known hash sums
+   * @param knownHashSums hash sums counted before, keyed by path relative to folder
+   */
+  CachingHashSumsCounter(
+      VirtualFile folder, HashFunction hashFunction, Map<String, HashSum> knownHashSums) {
+    super(folder, hashFunction);
+    this.folder = folder;
+    this.knownHashSums = knownHashSums;
+    this.countedHashSums = newHashMapWithExpectedSize(knownHashSums.size());
+  }
+
+  /**
+   * Returns hash sums of files visited by the last {@link #countHashSums()} which may be reused
+   * next time, keyed by path relative to folder.
+   */
+  Map<String, HashSum> getCountedHashSums() {
+    return countedHashSums;
+  }
+
+  /**
+   * Returns {@code true} if hash sums returned by {@link #getCountedHashSums()} differ from known
+   * hash sums and need to be saved.
+   */
+  boolean isChanged() {
+    return changed || countedHashSums.size() != knownHashSums.size();
+  }
+
+  @Override
+  protected String countHashSum(VirtualFile file) throws ServerException {
+    final String path = file.getPath().subPath(folder.getPath()).toString();
+    final long length = file.getLength();
+    final long lastModified = file.getLastModificationDate();
+    final HashSum known = knownHashSums.get(path);
+    if (known != null && known.length == length && known.lastModified == lastModified) {
+      countedHashSums.put(path, known);
+      return known.hash;
+    }
+    final String hash = super.countHashSum(file);
+    if (System.currentTimeMillis() - lastModified > RACY_MODIFICATION_INTERVAL_MS) {
+      countedHashSums.put(path, new HashSum(hash, length, lastModified));
+      changed = true;
+    }
+    return hash;
+  }
+
+  /** Hash sum of file together with length and modification time of file it was counted for. */
+  static final class HashSum {
+    final String hash;
+    final long length;
+    final long lastModified;
+
+    HashSum(String hash, long length, long lastModified) {
+      this.hash = hash;
+      this.length = length;
+      this.lastModified = lastModified;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof HashSum)) {
+        return false;
+      }
+      final HashSum other = (HashSum) o;
+      return length == other.length
+          && lastModified == other.lastModified
+          && Objects.equals(hash, other.hash);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(hash, length, lastModified);
+    }
+  }
+}
@@ -10,7 +10,6 @@
  */
 package org.eclipse.che.api.vfs.impl.file;
 
-import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Sets.newLinkedHashSet;
 import static java.nio.file.FileVisitResult.CONTINUE;
@@ -40,12 +39,14 @@ import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
@@ -67,6 +68,7 @@ public class FileTreeWatcher {
   private final File watchRoot;
   private final Path watchRootPath;
   private final Map<Path, WatchedDirectory> watchedDirectories;
+  // read by file tree walker while matchers are added
   private final List<PathMatcher> excludePatterns;
   private final FileWatcherNotificationHandler fileWatcherNotificationHandler;
   private final ExecutorService executor;
@@ -82,7 +84,7 @@ public class FileTreeWatcher {
     watchEventModifiers = new WatchEvent.Modifier[0];
     this.watchRoot = toCanonicalFile(watchRoot);
     this.watchRootPath = this.watchRoot.toPath();
-    this.excludePatterns = newArrayList(excludePatterns);
+    this.excludePatterns = new CopyOnWriteArrayList<>(excludePatterns);
     this.fileWatcherNotificationHandler = fileWatcherNotificationHandler;
 
     ThreadFactory threadFactory =
@@ -170,6 +172,16 @@ public class FileTreeWatcher {
     this.excludePatterns.remove(exclude);
   }
 
+  /**
+   * Returns {@code true} if directory is not watched because of exclude matchers, changes of its
+   * entries are not reported then.
+   *
+   * @param subPath path of the directory relative to the watch root
+   */
+  public boolean isExcluded(Path subPath) {
+    return !shouldNotify(subPath);
+  }
+
   private void walkTreeAndSetupWatches(Path root) throws IOException {
     Files.walkFileTree(
         root,
@@ -240,11 +252,11 @@ public class FileTreeWatcher {
       WatchedDirectory watchedDirectory = new WatchedDirectory(directory, watchKey);
       try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
         for (Path entry : entries) {
+          final boolean isDirectory = Files.isDirectory(entry);
           watchedDirectory.addItem(
-              new DirectoryItem(
-                  entry.getFileName(), Files.isDirectory(entry), getLastModifiedInMillis(entry)));
+              entry.getFileName(), isDirectory, getLastModifiedInMillis(entry));
 
-          if (Files.isDirectory(entry)) {
+          if (isDirectory) {
             setupDirectoryWatcher(entry);
           }
         }
@@ -277,10 +289,13 @@ public class FileTreeWatcher {
               pendingEvents.clear();
             }
           }
-          if (watchKey != null) {
+          // take all keys which are already signalled, events of the same directory are
+          // coalesced and processed once when there are no new events during the timeout
+          while (watchKey != null) {
             pendingEvents.add(new PendingEvent((Path) watchKey.watchable()));
             watchKey.pollEvents();
             watchKey.reset();
+            watchKey = watchService.poll();
           }
         } catch (InterruptedException | ClosedWatchServiceException e) {
           running.set(false);
@@ -305,19 +320,17 @@ public class FileTreeWatcher {
         final int hitCounter = watchedDirectory.incrementHitCounter();
         try (DirectoryStream<Path> entries = Files.newDirectoryStream(eventDirectoryPath)) {
           for (Path fsItem : entries) {
-            DirectoryItem directoryItem = watchedDirectory.getItem(fsItem.getFileName());
-            if (directoryItem == null) {
+            final int index = watchedDirectory.indexOf(fsItem.getFileName());
+            if (index < 0) {
               try {
                 boolean directory = Files.isDirectory(fsItem);
-                directoryItem =
-                    new DirectoryItem(
-                        fsItem.getFileName(), directory, getLastModifiedInMillis(fsItem));
-                watchedDirectory.addItem(directoryItem);
+                watchedDirectory.addItem(
+                    fsItem.getFileName(), directory, getLastModifiedInMillis(fsItem));
                 if (isModifiedNotYetReported) {
                   isModifiedNotYetReported = false;
                   fireWatchEvent(MODIFIED, eventDirectoryPath, true);
                 }
-                fireWatchEvent(CREATED, fsItem, directoryItem.isDirectory());
+                fireWatchEvent(CREATED, fsItem, directory);
                 if (directory) {
                   walkTreeAndFireCreatedEvents(fsItem);
                   setupDirectoryWatcher(fsItem);
@@ -331,37 +344,36 @@ public class FileTreeWatcher {
               } catch (IOException ignored) {
                 continue;
               }
-              if (lastModified != directoryItem.getLastModified() && Files.isRegularFile(fsItem)) {
+              if (lastModified != watchedDirectory.getLastModified(index)
+                  && Files.isRegularFile(fsItem)) {
                 fireWatchEvent(MODIFIED, fsItem, false);
               }
-              directoryItem.touch(lastModified);
-              directoryItem.updateHitCounter(hitCounter);
+              watchedDirectory.touch(index, lastModified);
             }
           }
         }
 
-        for (Iterator<DirectoryItem> iterator = watchedDirectory.getItems().iterator();
-            iterator.hasNext();
-            ) {
-          DirectoryItem directoryItem = iterator.next();
-          if (hitCounter != directoryItem.getHitCount()) {
-            iterator.remove();
+        // items which were not touched during this pass are deleted, items are iterated from the
+        // end as removal moves the last item to the place of removed one
+        for (int index = watchedDirectory.size() - 1; index >= 0; index--) {
+          if (hitCounter != watchedDirectory.getHitCount(index)) {
             if (isModifiedNotYetReported) {
               isModifiedNotYetReported = false;
               fireWatchEvent(MODIFIED, eventDirectoryPath, true);
             }
             fireWatchEvent(
                 DELETED,
-                eventDirectoryPath.resolve(directoryItem.getName()),
-                directoryItem.isDirectory());
+                eventDirectoryPath.resolve(watchedDirectory.getName(index)),
+                watchedDirectory.isDirectory(index));
+            watchedDirectory.removeItem(index);
           }
         }
       } else {
-        for (DirectoryItem directoryItem : watchedDirectory.getItems()) {
+        for (int index = 0; index < watchedDirectory.size(); index++) {
           fireWatchEvent(
               DELETED,
-              eventDirectoryPath.resolve(directoryItem.getName()),
-              directoryItem.isDirectory());
+              eventDirectoryPath.resolve(watchedDirectory.getName(index)),
+              watchedDirectory.isDirectory(index));
         }
         watchedDirectories.remove(eventDirectoryPath);
       }
@@ -409,16 +421,32 @@ public class FileTreeWatcher {
     }
   }
 
+  /**
+   * Known items of watched directory. Items are looked up by name and their state is kept in
+   * primitive arrays, so processing events of directories with many items takes linear time.
+   */
   static class WatchedDirectory {
+    private static final int INITIAL_CAPACITY = 8;
+
     final Path path;
     final WatchKey watchKey;
-    final List<DirectoryItem> items;
+    /** Index of item in arrays below by item name. */
+    final Map<Path, Integer> indexes;
+    Path[] names;
+    long[] lastModified;
+    int[] hitCounters;
+    final BitSet directories;
+    int size;
     int hitCounter;
 
     WatchedDirectory(Path path, WatchKey watchKey) {
       this.path = path;
       this.watchKey = watchKey;
-      items = newArrayList();
+      indexes = newHashMap();
+      names = new Path[INITIAL_CAPACITY];
+      lastModified = new long[INITIAL_CAPACITY];
+      hitCounters = new int[INITIAL_CAPACITY];
+      directories = new BitSet();
     }
 
     WatchKey getWatchKey() {
@@ -429,63 +457,69 @@ public class FileTreeWatcher {
       return path;
     }
 
-    DirectoryItem getItem(Path name) {
-      for (DirectoryItem item : items) {
-        if (item.getName().equals(name)) {
-          return item;
-        }
-      }
-      return null;
-    }
-
-    void addItem(DirectoryItem item) {
-      item.updateHitCounter(this.hitCounter);
-      items.add(item);
+    /** Returns index of item with the given name or {@code -1} if there is no such item. */
+    int indexOf(Path name) {
+      final Integer index = indexes.get(name);
+      return index == null ? -1 : index;
     }
 
-    List<DirectoryItem> getItems() {
-      return items;
+    void addItem(Path name, boolean directory, long lastModified) {
+      if (size == names.length) {
+        final int capacity = size * 2;
+        names = Arrays.copyOf(names, capacity);
+        this.lastModified = Arrays.copyOf(this.lastModified, capacity);
+        hitCounters = Arrays.copyOf(hitCounters, capacity);
+      }
+      names[size] = name;
+      this.lastModified[size] = lastModified;
+      hitCounters[size] = hitCounter;
+      directories.set(size, directory);
+      indexes.put(name, size++);
     }
 
-    int incrementHitCounter() {
-      return ++hitCounter;
+    /** Removes item by moving the last item to its place. */
+    void removeItem(int index) {
+      indexes.remove(names[index]);
+      final int last = --size;
+      if (index != last) {
+        names[index] = names[last];
+        lastModified[index] = lastModified[last];
+        hitCounters[index] = hitCounters[last];
+        directories.set(index, directories.get(last));
+        indexes.put(names[index], index);
+      }
+      names[last] = null;
+      directories.clear(last);
     }
-  }
 
-  static class DirectoryItem {
-    final Path name;
-    final boolean directory;
-    long lastModified;
-    int hitCounter;
-
-    DirectoryItem(Path name, boolean directory, long lastModified) {
-      this.name = name;
-      this.directory = directory;
-      this.lastModified = lastModified;
+    int size() {
+      return size;
     }
 
-    long getLastModified() {
-      return lastModified;
+    Path getName(int index) {
+      return names[index];
     }
 
-    Path getName() {
-      return name;
+    boolean isDirectory(int index) {
+      return directories.get(index);
     }
 
-    boolean isDirectory() {
-      return directory;
+    long getLastModified(int index) {
+      return lastModified[index];
     }
 
-    void touch(long lastModified) {
-      this.lastModified = lastModified;
+    int getHitCount(int index) {
+      return hitCounters[index];
     }
 
-    int getHitCount() {
-      return hitCounter;
+    /** Updates modification time of item and marks it as seen during the current pass. */
+    void touch(int index, long lastModified) {
+      this.lastModified[index] = lastModified;
+      hitCounters[index] = hitCounter;
     }
 
-    void updateHitCounter(int hitCounter) {
-      this.hitCounter = hitCounter;
+    int incrementHitCounter() {
+      return ++hitCounter;
     }
   }
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.impl.file;
+
+import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+import org.eclipse.che.api.vfs.impl.file.CachingHashSumsCounter.HashSum;
+
+/** Serializes hash sums of files keyed by path of file. */
+class HashSumsSerializer implements DataSerializer<Map<String, HashSum>> {
+  @Override
+  public void write(DataOutput output, Map<String, HashSum> hashSums) throws IOException {
+    output.writeInt(hashSums.size());
+    for (Map.Entry<String, HashSum> entry : hashSums.entrySet()) {
+      final HashSum hashSum = entry.getValue();
+      output.writeUTF(entry.getKey());
+      output.writeUTF(hashSum.hash);
+      output.writeLong(hashSum.length);
+      output.writeLong(hashSum.lastModified);
+    }
+  }
+
+  @Override
+  public Map<String, HashSum> read(DataInput input) throws IOException {
+    final int recordsNum = input.readInt();
+    if (recordsNum < 0) {
+      throw new IOException("Invalid number of hash sums: " + recordsNum);
+    }
+    final Map<String, HashSum> hashSums = newHashMapWithExpectedSize(recordsNum);
+    for (int i = 0; i < recordsNum; i++) {
+      final String path = input.readUTF();
+      hashSums.put(path, new HashSum(input.readUTF(), input.readLong(), input.readLong()));
+    }
+    return hashSums;
+  }
+}
@@ -17,6 +17,7 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -105,6 +106,12 @@ public class LocalVirtualFile implements VirtualFile {
     return fileSystem.getContent(this);
   }
 
+  @Override
+  public void transferContentTo(long offset, long count, WritableByteChannel target)
+      throws ForbiddenException, ServerException {
+    fileSystem.transferContent(this, offset, count, target);
+  }
+
   @Override
   public byte[] getContentAsBytes() throws ForbiddenException, ServerException {
     if (getLength() > MAX_BUFFER_SIZE) {
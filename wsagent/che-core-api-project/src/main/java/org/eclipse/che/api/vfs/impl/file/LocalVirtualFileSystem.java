@@ -12,8 +12,10 @@ package org.eclipse.che.api.vfs.impl.file;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Lists.newArrayListWithCapacity;
 import static com.google.common.collect.Maps.newLinkedHashMap;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
@@ -39,7 +41,13 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Collections;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -51,13 +59,13 @@ import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.Archiver;
 import org.eclipse.che.api.vfs.ArchiverFactory;
-import org.eclipse.che.api.vfs.HashSumsCounter;
 import org.eclipse.che.api.vfs.LockedFileFinder;
 import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.PathLockFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.impl.file.CachingHashSumsCounter.HashSum;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.api.vfs.util.DeleteOnCloseFileInputStream;
@@ -86,6 +94,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   private static final FileLock NO_LOCK = new FileLock("no_lock", 0);
   private static final String FILE_PROPERTIES_DIR = VFS_SERVICE_DIR + File.separatorChar + "props";
   private static final String PROPERTIES_FILE_SUFFIX = "_props";
+  private static final String HASH_SUMS_DIR = VFS_SERVICE_DIR + File.separatorChar + "hashes";
+  private static final String MD5_SUMS_FILE = "md5";
 
   private static final FilenameFilter DOT_VFS_DIR_FILTER =
       (dir, name) -> !(VFS_SERVICE_DIR.equals(name));
@@ -138,6 +148,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   private final FileMetadataSerializer metadataSerializer;
   private final LoadingCache<Path, Map<String, String>> metadataCache;
 
+  private final HashSumsSerializer hashSumsSerializer;
+
   @SuppressWarnings("unchecked")
   public LocalVirtualFileSystem(
       File ioRoot,
@@ -167,6 +179,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             .maximumSize(256)
             .expireAfterAccess(10, MINUTES)
             .build(new FilePropertiesCacheLoader());
+
+    hashSumsSerializer = new HashSumsSerializer();
   }
 
   @Override
@@ -250,12 +264,14 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     return newArrayList(path.elements()).contains(".vfs");
   }
 
-  synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter)
+  /**
+   * Lists children of the folder. Listing does not take any lock, so folders may be listed
+   * concurrently.
+   */
+  List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter)
       throws ServerException {
     if (parent.isFolder()) {
-      final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
-      Collections.sort(children);
-      return children;
+      return sortFoldersFirst(doGetChildren(parent, DOT_VFS_DIR_FILTER, filter));
     }
     return emptyList();
   }
@@ -267,28 +283,49 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
       ioFileFilter = IoUtil.ANY_FILTER;
     }
 
-    final String[] names = parent.toIoFile().list(ioFileFilter);
-    if (names == null) {
-      throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
-    }
-
     if (vfsFilter == null) {
       vfsFilter = VirtualFileFilter.ACCEPT_ALL;
     }
 
-    final List<VirtualFile> children = newArrayListWithCapacity(names.length);
-    for (String name : names) {
-      final Path childPath = parent.getPath().newPath(name);
-      final LocalVirtualFile child =
-          new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, this);
-      if (vfsFilter.accept(child)) {
-        children.add(child);
+    final File parentIoFile = parent.toIoFile();
+    final List<VirtualFile> children = newArrayList();
+    // directory stream does not collect all names to array and reuses parent path of entries
+    try (DirectoryStream<java.nio.file.Path> entries = newDirectoryStream(parentIoFile.toPath())) {
+      for (java.nio.file.Path entry : entries) {
+        final String name = entry.getFileName().toString();
+        if (!ioFileFilter.accept(parentIoFile, name)) {
+          continue;
+        }
+        final LocalVirtualFile child =
+            new LocalVirtualFile(entry.toFile(), parent.getPath().newPath(name), this);
+        if (vfsFilter.accept(child)) {
+          children.add(child);
+        }
       }
+    } catch (IOException | DirectoryIteratorException e) {
+      throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
     }
 
     return children;
   }
 
+  /**
+   * Sorts files in the same order as {@link LocalVirtualFile#compareTo(VirtualFile)} does, but
+   * checks whether item is a folder only once per item rather than on each comparison.
+   */
+  private static List<VirtualFile> sortFoldersFirst(List<VirtualFile> children) {
+    final List<VirtualFile> folders = newArrayList();
+    final List<VirtualFile> files = newArrayList();
+    for (VirtualFile child : children) {
+      (child.isFolder() ? folders : files).add(child);
+    }
+    final Comparator<VirtualFile> byName = Comparator.comparing(VirtualFile::getName);
+    folders.sort(byName);
+    files.sort(byName);
+    folders.addAll(files);
+    return folders;
+  }
+
   LocalVirtualFile createFile(LocalVirtualFile parent, String name, InputStream content)
       throws ForbiddenException, ConflictException, ServerException {
     checkName(name);
@@ -538,6 +575,86 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
   }
 
+  void transferContent(
+      LocalVirtualFile virtualFile, long offset, long count, WritableByteChannel target)
+      throws ForbiddenException, ServerException {
+    if (!virtualFile.isFile()) {
+      throw new ForbiddenException(
+          String.format("Unable get content. Item '%s' is not a file", virtualFile.getPath()));
+    }
+    // Copy requested range to be able release the file lock before content is sent to the client,
+    // slow client must not block updates of the file.
+    final PathLockFactory.PathLock lock =
+        pathLockFactory.getLock(virtualFile.getPath(), false).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+    ByteBuffer buffer = null;
+    File spoolFile = null;
+    try (FileChannel source =
+        FileChannel.open(virtualFile.toIoFile().toPath(), StandardOpenOption.READ)) {
+      if (offset < 0 || count < 0 || offset + count > source.size()) {
+        throw new ServerException(
+            String.format(
+                "Range [%d, %d) is out of bounds of file '%s'",
+                offset, offset + count, virtualFile.getPath()));
+      }
+      if (count <= MAX_BUFFER_SIZE) {
+        buffer = ByteBuffer.allocate((int) count);
+        while (buffer.hasRemaining()) {
+          if (source.read(buffer, offset + buffer.position()) < 0) {
+            throw new IOException("Unexpected end of file");
+          }
+        }
+        buffer.flip();
+      } else {
+        spoolFile = File.createTempFile("spool_file", null);
+        try (FileChannel spool = FileChannel.open(spoolFile.toPath(), StandardOpenOption.WRITE)) {
+          transfer(source, offset, count, spool);
+        }
+      }
+    } catch (IOException e) {
+      if (spoolFile != null) {
+        FileCleaner.addFile(spoolFile);
+      }
+      String errorMessage = String.format("Unable get content of '%s'", virtualFile.getPath());
+      LOG.error(errorMessage + "\n" + e.getMessage(), e);
+      throw new ServerException(errorMessage);
+    } finally {
+      lock.release();
+    }
+    try {
+      if (buffer != null) {
+        while (buffer.hasRemaining()) {
+          target.write(buffer);
+        }
+      } else {
+        try (FileChannel spool = FileChannel.open(spoolFile.toPath(), StandardOpenOption.READ)) {
+          transfer(spool, 0, count, target);
+        }
+      }
+    } catch (IOException e) {
+      // usually the client closed connection
+      throw new ServerException(
+          String.format(
+              "Unable get content of '%s'. Error: %s", virtualFile.getPath(), e.getMessage()));
+    } finally {
+      if (spoolFile != null && !spoolFile.delete()) {
+        FileCleaner.addFile(spoolFile);
+      }
+    }
+  }
+
+  private static void transfer(
+      FileChannel source, long offset, long count, WritableByteChannel target) throws IOException {
+    long position = offset;
+    final long end = offset + count;
+    while (position < end) {
+      final long transferred = source.transferTo(position, end - position, target);
+      if (transferred == 0 && position >= source.size()) {
+        throw new IOException("Unexpected end of file");
+      }
+      position += transferred;
+    }
+  }
+
   void updateContent(LocalVirtualFile virtualFile, InputStream content, String lockToken)
       throws ForbiddenException, ServerException {
     if (virtualFile.isFile()) {
@@ -951,7 +1068,55 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     if (virtualFile.isFile()) {
       return emptyList();
     }
-    return new HashSumsCounter(virtualFile, Hashing.md5()).countHashSums();
+    final File md5SumsIoFile = getMd5SumsIoFile(virtualFile.getPath());
+    final CachingHashSumsCounter counter =
+        new CachingHashSumsCounter(virtualFile, Hashing.md5(), readHashSums(md5SumsIoFile));
+    final List<Pair<String, String>> md5Sums = counter.countHashSums();
+    if (counter.isChanged()) {
+      writeHashSums(md5SumsIoFile, counter.getCountedHashSums());
+    }
+    return md5Sums;
+  }
+
+  /**
+   * Hash sums of files in folder are kept in the service directory of the folder, paths of files
+   * are relative to the folder, so hash sums stay valid when folder is moved.
+   */
+  private File getMd5SumsIoFile(Path folderPath) {
+    return new File(ioRoot, toIoPath(folderPath.newPath(HASH_SUMS_DIR, MD5_SUMS_FILE)));
+  }
+
+  private Map<String, HashSum> readHashSums(File hashSumsIoFile) {
+    if (hashSumsIoFile.exists()) {
+      try (DataInputStream dis =
+          new DataInputStream(new BufferedInputStream(new FileInputStream(hashSumsIoFile)))) {
+        return hashSumsSerializer.read(dis);
+      } catch (IOException e) {
+        // hash sums are counted again
+        LOG.warn("Unable read hash sums from '{}'. {}", hashSumsIoFile, e.getMessage());
+      }
+    }
+    return emptyMap();
+  }
+
+  private void writeHashSums(File hashSumsIoFile, Map<String, HashSum> hashSums) {
+    File tempIoFile = null;
+    try {
+      hashSumsIoFile.getParentFile().mkdirs();
+      // write to temporary file first so concurrent counting never reads partially written file
+      tempIoFile = File.createTempFile(MD5_SUMS_FILE, null, hashSumsIoFile.getParentFile());
+      try (DataOutputStream dos =
+          new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempIoFile)))) {
+        hashSumsSerializer.write(dos, hashSums);
+      }
+      java.nio.file.Files.move(
+          tempIoFile.toPath(), hashSumsIoFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+    } catch (IOException e) {
+      LOG.warn("Unable save hash sums to '{}'. {}", hashSumsIoFile, e.getMessage());
+      if (tempIoFile != null && !tempIoFile.delete() && tempIoFile.exists()) {
+        LOG.warn("Unable delete temporary file '{}'", tempIoFile);
+      }
+    }
   }
 
   private String toIoPath(Path vfsPath) {
@@ -10,9 +10,14 @@
  */
 package org.eclipse.che.api.vfs.impl.file;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -21,18 +26,49 @@ import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 
 @Singleton
 public class LocalVirtualFileSystemProvider extends AbstractVirtualFileSystemProvider {
   private final File rootDirectory;
   private final SearcherProvider searcherProvider;
+  private final ExecutorService archiveExecutor;
+  private final ArchiverFactory archiverFactory;
 
+  public LocalVirtualFileSystemProvider(File rootDirectory, SearcherProvider searcherProvider)
+      throws IOException {
+    this(rootDirectory, searcherProvider, Deflater.DEFAULT_COMPRESSION, 1);
+  }
+
+  /**
+   * @param rootDirectory root directory of file system
+   * @param searcherProvider provider of searcher of file system
+   * @param archiveCompressionLevel level of compression of exported zip archives from 0 to 9, or
+   *     -1 for the default one
+   * @param archiveThreads number of threads which compress files on export and write files on
+   *     import of archives, if zero or negative then number of available processors is used. The
+   *     threads are shared by all archives of the file system
+   */
   @Inject
   public LocalVirtualFileSystemProvider(
-      @Named("che.user.workspaces.storage") File rootDirectory, SearcherProvider searcherProvider)
+      @Named("che.user.workspaces.storage") File rootDirectory,
+      SearcherProvider searcherProvider,
+      @Named("vfs.archive_compression_level") int archiveCompressionLevel,
+      @Named("vfs.archive_threads") int archiveThreads)
       throws IOException {
     this.rootDirectory = rootDirectory;
     this.searcherProvider = searcherProvider;
+    final int threads =
+        archiveThreads > 0 ? archiveThreads : Runtime.getRuntime().availableProcessors();
+    this.archiveExecutor =
+        Executors.newFixedThreadPool(
+            threads,
+            new ThreadFactoryBuilder()
+                .setNameFormat("VirtualFileSystemArchiver-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+    this.archiverFactory = new ArchiverFactory(archiveCompressionLevel, archiveExecutor, threads);
     Files.createDirectories(rootDirectory.toPath());
   }
 
@@ -40,6 +76,11 @@ public class LocalVirtualFileSystemProvider extends AbstractVirtualFileSystemPro
   protected VirtualFileSystem createVirtualFileSystem(CloseCallback closeCallback)
       throws ServerException {
     return new LocalVirtualFileSystem(
-        rootDirectory, new ArchiverFactory(), searcherProvider, closeCallback);
+        rootDirectory, archiverFactory, searcherProvider, closeCallback);
+  }
+
+  @PreDestroy
+  void stop() {
+    archiveExecutor.shutdownNow();
   }
 }
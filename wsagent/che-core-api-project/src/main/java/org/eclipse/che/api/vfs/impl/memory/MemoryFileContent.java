@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.impl.memory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Content of file of {@link MemoryVirtualFileSystem}. Content is immutable, so it may be shared
+ * between copies of file and read while file is updated, update of file replaces its content.
+ */
+abstract class MemoryFileContent {
+  /** Size of off-heap segments content read from stream is split into. */
+  static final int SEGMENT_SIZE = 64 * 1024;
+
+  static final MemoryFileContent EMPTY = new HeapContent(new byte[0]);
+
+  /** Creates content stored in heap, copies the given bytes. */
+  static MemoryFileContent onHeap(byte[] bytes) {
+    return bytes.length == 0 ? EMPTY : new HeapContent(Arrays.copyOf(bytes, bytes.length));
+  }
+
+  /** Creates content stored outside of heap, copies the given bytes. */
+  static MemoryFileContent offHeap(byte[] bytes) {
+    if (bytes.length == 0) {
+      return EMPTY;
+    }
+    final ByteBuffer segment = ByteBuffer.allocateDirect(bytes.length);
+    segment.put(bytes).flip();
+    return new OffHeapContent(new ByteBuffer[] {segment}, bytes.length);
+  }
+
+  /**
+   * Creates content stored outside of heap from the given stream. Content is read in segments, so
+   * whole content is never kept in heap. Each segment is filled in heap buffer first and then
+   * copied to direct buffer of the exact size, so no direct memory is allocated in vain.
+   */
+  static MemoryFileContent offHeap(InputStream in) throws IOException {
+    final List<ByteBuffer> segments = new ArrayList<>();
+    final byte[] buffer = new byte[SEGMENT_SIZE];
+    long length = 0;
+    int filled;
+    do {
+      filled = fill(in, buffer);
+      if (filled > 0) {
+        length += filled;
+        if (length > Integer.MAX_VALUE) {
+          throw new IOException("Content is too big");
+        }
+        final ByteBuffer segment = ByteBuffer.allocateDirect(filled);
+        segment.put(buffer, 0, filled).flip();
+        segments.add(segment);
+      }
+    } while (filled == buffer.length);
+    if (length == 0) {
+      return EMPTY;
+    }
+    return new OffHeapContent(segments.toArray(new ByteBuffer[segments.size()]), (int) length);
+  }
+
+  /** Reads stream until the buffer is full or stream ends, returns number of read bytes. */
+  private static int fill(InputStream in, byte[] buffer) throws IOException {
+    int filled = 0;
+    int read;
+    while (filled < buffer.length
+        && (read = in.read(buffer, filled, buffer.length - filled)) != -1) {
+      filled += read;
+    }
+    return filled;
+  }
+
+  /** Returns length of content in bytes. */
+  abstract int length();
+
+  /** Returns copy of content. */
+  abstract byte[] toByteArray();
+
+  /** Opens stream to read content. */
+  abstract InputStream openStream();
+
+  /**
+   * Writes {@code count} bytes of content starting from {@code offset} to the channel.
+   *
+   * @throws IndexOutOfBoundsException if content does not have requested bytes
+   */
+  void transferTo(int offset, int count, WritableByteChannel target) throws IOException {
+    if (offset < 0 || count < 0 || offset + count > length()) {
+      throw new IndexOutOfBoundsException(
+          String.format(
+              "Range [%d, %d) is out of content bounds [0, %d)",
+              offset, offset + count, length()));
+    }
+    for (ByteBuffer segment : segments()) {
+      if (count == 0) {
+        return;
+      }
+      if (offset >= segment.limit()) {
+        offset -= segment.limit();
+        continue;
+      }
+      final ByteBuffer view = segment.duplicate();
+      view.position(offset).limit(Math.min(view.limit(), offset + count));
+      count -= view.remaining();
+      offset = 0;
+      while (view.hasRemaining()) {
+        target.write(view);
+      }
+    }
+  }
+
+  /** Returns content as segments, segments must not be modified. */
+  abstract ByteBuffer[] segments();
+
+  private static class HeapContent extends MemoryFileContent {
+    private final byte[] bytes;
+
+    HeapContent(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    @Override
+    int length() {
+      return bytes.length;
+    }
+
+    @Override
+    byte[] toByteArray() {
+      return Arrays.copyOf(bytes, bytes.length);
+    }
+
+    @Override
+    InputStream openStream() {
+      return new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    ByteBuffer[] segments() {
+      return new ByteBuffer[] {ByteBuffer.wrap(bytes)};
+    }
+  }
+
+  private static class OffHeapContent extends MemoryFileContent {
+    private final ByteBuffer[] segments;
+    private final int length;
+
+    OffHeapContent(ByteBuffer[] segments, int length) {
+      this.segments = segments;
+      this.length = length;
+    }
+
+    @Override
+    int length() {
+      return length;
+    }
+
+    @Override
+    byte[] toByteArray() {
+      final byte[] bytes = new byte[length];
+      int offset = 0;
+      for (ByteBuffer segment : segments) {
+        final int count = segment.limit();
+        segment.duplicate().get(bytes, offset, count);
+        offset += count;
+      }
+      return bytes;
+    }
+
+    @Override
+    InputStream openStream() {
+      return new SegmentsInputStream(segments);
+    }
+
+    @Override
+    ByteBuffer[] segments() {
+      return segments;
+    }
+  }
+
+  /** Reads segments one by one, each stream reads own views of segments. */
+  private static class SegmentsInputStream extends InputStream {
+    private final ByteBuffer[] segments;
+    private int index;
+    private ByteBuffer current;
+
+    SegmentsInputStream(ByteBuffer[] segments) {
+      this.segments = segments;
+    }
+
+    @Override
+    public int read() {
+      final ByteBuffer segment = nextReadable();
+      return segment == null ? -1 : segment.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      final ByteBuffer segment = nextReadable();
+      if (segment == null) {
+        return -1;
+      }
+      final int count = Math.min(len, segment.remaining());
+      segment.get(b, off, count);
+      return count;
+    }
+
+    @Override
+    public long skip(long n) {
+      long skipped = 0;
+      ByteBuffer segment;
+      while (skipped < n && (segment = nextReadable()) != null) {
+        final int count = (int) Math.min(n - skipped, segment.remaining());
+        segment.position(segment.position() + count);
+        skipped += count;
+      }
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return current == null ? 0 : current.remaining();
+    }
+
+    private ByteBuffer nextReadable() {
+      while (current == null || !current.hasRemaining()) {
+        if (index == segments.length) {
+          return null;
+        }
+        current = segments[index++].duplicate();
+      }
+      return current;
+    }
+  }
+}
@@ -15,12 +15,11 @@ import static com.google.common.collect.Maps.newHashMap;
 import static java.util.Collections.singletonMap;
 
 import com.google.common.hash.Hashing;
-import com.google.common.io.ByteStreams;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Arrays;
+import java.nio.channels.WritableByteChannel;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -58,13 +57,22 @@ public class MemoryVirtualFile implements VirtualFile {
 
   static MemoryVirtualFile newFile(MemoryVirtualFile parent, String name, InputStream content)
       throws IOException {
-    return new MemoryVirtualFile(
-        parent, name, content == null ? new byte[0] : ByteStreams.toByteArray(content));
+    return newFile(
+        parent,
+        name,
+        content == null ? MemoryFileContent.EMPTY : parent.fileSystem.newContent(content));
   }
 
   static MemoryVirtualFile newFile(MemoryVirtualFile parent, String name, byte[] content) {
-    return new MemoryVirtualFile(
-        parent, name, content == null ? new byte[0] : Arrays.copyOf(content, content.length));
+    return newFile(
+        parent,
+        name,
+        content == null ? MemoryFileContent.EMPTY : parent.fileSystem.newContent(content));
+  }
+
+  static MemoryVirtualFile newFile(
+      MemoryVirtualFile parent, String name, MemoryFileContent content) {
+    return new MemoryVirtualFile(parent, name, content);
   }
 
   static MemoryVirtualFile newFolder(MemoryVirtualFile parent, String name) {
@@ -80,14 +88,14 @@ public class MemoryVirtualFile implements VirtualFile {
 
   private String name;
   private MemoryVirtualFile parent;
-  private byte[] content;
+  private MemoryFileContent content;
   private long lastModificationDate;
   private LockHolder lock;
 
   private boolean exists = true;
 
   // --- File ---
-  private MemoryVirtualFile(MemoryVirtualFile parent, String name, byte[] content) {
+  private MemoryVirtualFile(MemoryVirtualFile parent, String name, MemoryFileContent content) {
     this.fileSystem = (MemoryVirtualFileSystem) parent.getFileSystem();
     this.parent = parent;
     this.type = FILE;
@@ -296,17 +304,36 @@ public class MemoryVirtualFile implements VirtualFile {
 
   @Override
   public InputStream getContent() throws ForbiddenException {
-    return new ByteArrayInputStream(getContentAsBytes());
+    return getFileContent().openStream();
+  }
+
+  @Override
+  public void transferContentTo(long offset, long count, WritableByteChannel target)
+      throws ForbiddenException, ServerException {
+    final MemoryFileContent fileContent = getFileContent();
+    if (offset < 0 || count < 0 || offset + count > fileContent.length()) {
+      throw new ServerException(
+          String.format(
+              "Unable get content of '%s'. Range [%d, %d) is out of file bounds",
+              getPath(), offset, offset + count));
+    }
+    try {
+      fileContent.transferTo((int) offset, (int) count, target);
+    } catch (IOException e) {
+      throw new ServerException(
+          String.format("Unable get content of '%s'. Error: %s", getPath(), e.getMessage()));
+    }
   }
 
   @Override
   public byte[] getContentAsBytes() throws ForbiddenException {
+    return getFileContent().toByteArray();
+  }
+
+  private MemoryFileContent getFileContent() throws ForbiddenException {
     checkExistence();
     if (isFile()) {
-      if (content == null) {
-        content = new byte[0];
-      }
-      return Arrays.copyOf(content, content.length);
+      return content;
     }
 
     throw new ForbiddenException(
@@ -322,22 +349,22 @@ public class MemoryVirtualFile implements VirtualFile {
   @Override
   public VirtualFile updateContent(InputStream content, String lockToken)
       throws ForbiddenException, ServerException {
-    byte[] bytes;
+    MemoryFileContent newContent;
     try {
-      bytes = ByteStreams.toByteArray(content);
+      newContent = fileSystem.newContent(content);
     } catch (IOException e) {
       throw new ServerException(
           String.format(
               "We were unable to set the content of '%s'. Error: %s", getPath(), e.getMessage()));
     }
-    doUpdateContent(bytes, lockToken);
+    doUpdateContent(newContent, lockToken);
     return this;
   }
 
   @Override
   public VirtualFile updateContent(byte[] content, String lockToken)
       throws ForbiddenException, ServerException {
-    doUpdateContent(content, lockToken);
+    doUpdateContent(fileSystem.newContent(content), lockToken);
     return this;
   }
 
@@ -362,7 +389,7 @@ public class MemoryVirtualFile implements VirtualFile {
     return updateContent(content, null);
   }
 
-  private void doUpdateContent(byte[] content, String lockToken)
+  private void doUpdateContent(MemoryFileContent content, String lockToken)
       throws ForbiddenException, ServerException {
     checkExistence();
 
@@ -374,7 +401,7 @@ public class MemoryVirtualFile implements VirtualFile {
                 getPath()));
       }
 
-      this.content = Arrays.copyOf(content, content.length);
+      this.content = content;
       lastModificationDate = System.currentTimeMillis();
 
       updateInSearcher();
@@ -389,7 +416,7 @@ public class MemoryVirtualFile implements VirtualFile {
   public long getLength() {
     checkExistence();
     if (isFile()) {
-      return content.length;
+      return content.length();
     }
     return 0;
   }
@@ -434,7 +461,8 @@ public class MemoryVirtualFile implements VirtualFile {
 
     MemoryVirtualFile virtualFile;
     if (isFile()) {
-      virtualFile = newFile(parent, newName, Arrays.copyOf(content, content.length));
+      // content is immutable, so copy shares it with the original file
+      virtualFile = newFile(parent, newName, content);
     } else {
       virtualFile = newFolder(parent, newName);
       for (VirtualFile child : getChildren()) {
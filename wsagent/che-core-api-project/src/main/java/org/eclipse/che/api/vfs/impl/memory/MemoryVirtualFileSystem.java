@@ -10,6 +10,9 @@
  */
 package org.eclipse.che.api.vfs.impl.memory;
 
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
@@ -22,6 +25,9 @@ import org.eclipse.che.api.vfs.search.SearcherProvider;
 /**
  * In-memory implementation of VirtualFileSystem.
  *
+ * <p>Content of files may be kept outside of java heap, then only tree of files and its metadata
+ * are in heap and big file systems do not put pressure on garbage collector.
+ *
  * <p>NOTE: This implementation is not thread safe.
  *
  * @author andrew00x
@@ -32,22 +38,41 @@ public class MemoryVirtualFileSystem implements VirtualFileSystem {
   private final ArchiverFactory archiverFactory;
   private final SearcherProvider searcherProvider;
   private final AbstractVirtualFileSystemProvider.CloseCallback closeCallback;
+  private final boolean offHeapContent;
   private final int id = ID.incrementAndGet();
 
   private VirtualFile root;
 
   public MemoryVirtualFileSystem(
       ArchiverFactory archiverFactory, SearcherProvider searcherProvider) {
-    this(archiverFactory, searcherProvider, null);
+    this(archiverFactory, searcherProvider, null, false);
+  }
+
+  /**
+   * @param offHeapContent if {@code true} content of files is kept in direct buffers outside of
+   *     java heap
+   */
+  public MemoryVirtualFileSystem(
+      ArchiverFactory archiverFactory, SearcherProvider searcherProvider, boolean offHeapContent) {
+    this(archiverFactory, searcherProvider, null, offHeapContent);
   }
 
   MemoryVirtualFileSystem(
       ArchiverFactory archiverFactory,
       SearcherProvider searcherProvider,
       AbstractVirtualFileSystemProvider.CloseCallback closeCallback) {
+    this(archiverFactory, searcherProvider, closeCallback, false);
+  }
+
+  MemoryVirtualFileSystem(
+      ArchiverFactory archiverFactory,
+      SearcherProvider searcherProvider,
+      AbstractVirtualFileSystemProvider.CloseCallback closeCallback,
+      boolean offHeapContent) {
     this.archiverFactory = archiverFactory;
     this.searcherProvider = searcherProvider;
     this.closeCallback = closeCallback;
+    this.offHeapContent = offHeapContent;
     root = new MemoryVirtualFile(this);
   }
 
@@ -95,4 +120,16 @@ public class MemoryVirtualFileSystem implements VirtualFileSystem {
   ArchiverFactory getArchiverFactory() {
     return archiverFactory;
   }
+
+  /** Creates content of file, the given bytes are copied. */
+  MemoryFileContent newContent(byte[] bytes) {
+    return offHeapContent ? MemoryFileContent.offHeap(bytes) : MemoryFileContent.onHeap(bytes);
+  }
+
+  /** Creates content of file from the given stream, stream is not closed. */
+  MemoryFileContent newContent(InputStream in) throws IOException {
+    return offHeapContent
+        ? MemoryFileContent.offHeap(in)
+        : MemoryFileContent.onHeap(ByteStreams.toByteArray(in));
+  }
 }
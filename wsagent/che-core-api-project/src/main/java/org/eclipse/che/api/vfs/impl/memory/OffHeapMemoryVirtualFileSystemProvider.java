@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.impl.memory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.search.SearcherProvider;
+
+/**
+ * Provides in-memory file system which keeps content of files outside of java heap. Suitable for
+ * big short-living workspaces which do not need to be persisted, content of files does not add
+ * to heap usage and garbage collection pauses.
+ */
+@Singleton
+public class OffHeapMemoryVirtualFileSystemProvider extends AbstractVirtualFileSystemProvider {
+  private final SearcherProvider searcherProvider;
+
+  @Inject
+  public OffHeapMemoryVirtualFileSystemProvider(SearcherProvider searcherProvider) {
+    this.searcherProvider = searcherProvider;
+  }
+
+  @Override
+  protected VirtualFileSystem createVirtualFileSystem(CloseCallback closeCallback) {
+    return new MemoryVirtualFileSystem(
+        new ArchiverFactory(), searcherProvider, closeCallback, true);
+  }
+}
@@ -18,6 +18,7 @@ public class QueryExpression {
   private int skipCount;
   private int maxItems;
   private boolean includePositions;
+  private String cursor;
 
   /**
    * Optional file path parameter. Only file with the specified path or children are included in
@@ -78,6 +79,20 @@ public class QueryExpression {
     return this;
   }
 
+  /**
+   * Optional opaque position in the search result which is provided by searcher in the next page
+   * query expression. If cursor is set then it takes precedence over {@link #getSkipCount()} for
+   * paging through large set of search result.
+   */
+  public String getCursor() {
+    return cursor;
+  }
+
+  public QueryExpression setCursor(String cursor) {
+    this.cursor = cursor;
+    return this;
+  }
+
   /** search for term position information or not. */
   public boolean isIncludePositions() {
     return includePositions;
@@ -104,6 +119,9 @@ public class QueryExpression {
         + skipCount
         + ", maxItems="
         + maxItems
+        + ", cursor='"
+        + cursor
+        + '\''
         + '}';
   }
 }
@@ -31,11 +31,33 @@ import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 public abstract class AbstractLuceneSearcherProvider implements SearcherProvider {
   protected final VirtualFileFilter excludeFileIndexFilters;
   protected final AtomicReference<Searcher> searcherReference = new AtomicReference<>();
+  protected final int indexThreads;
+  protected final int indexBatchSize;
+  protected final boolean ngramIndex;
   private final ExecutorService executor;
 
   /** @param excludeFileIndexFilters set filter for files that should not be indexed */
   protected AbstractLuceneSearcherProvider(Set<VirtualFileFilter> excludeFileIndexFilters) {
+    this(excludeFileIndexFilters, 1, LuceneSearcher.DEFAULT_INDEX_BATCH_SIZE, false);
+  }
+
+  /**
+   * @param excludeFileIndexFilters set filter for files that should not be indexed
+   * @param indexThreads number of threads used for initial indexing, if zero or negative then
+   *     number of available processors is used
+   * @param indexBatchSize number of documents added to the index at once during initial indexing
+   * @param ngramIndex if {@code true} then searchers additionally index trigrams of names and
+   *     content of files to answer queries with leading wildcard without term dictionary scan
+   */
+  protected AbstractLuceneSearcherProvider(
+      Set<VirtualFileFilter> excludeFileIndexFilters,
+      int indexThreads,
+      int indexBatchSize,
+      boolean ngramIndex) {
     this.excludeFileIndexFilters = mergeFileIndexFilters(excludeFileIndexFilters);
+    this.indexThreads = indexThreads;
+    this.indexBatchSize = indexBatchSize;
+    this.ngramIndex = ngramIndex;
     executor =
         Executors.newSingleThreadExecutor(
             new ThreadFactoryBuilder()
@@ -45,6 +45,17 @@ public class FSLuceneSearcher extends LuceneSearcher {
     this.indexDirectory = indexDirectory;
   }
 
+  FSLuceneSearcher(
+      File indexDirectory,
+      VirtualFileFilter filter,
+      AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+      int indexThreads,
+      int indexBatchSize,
+      boolean ngramIndex) {
+    super(filter, closeCallback, indexThreads, indexBatchSize, ngramIndex);
+    this.indexDirectory = indexDirectory;
+  }
+
   @Override
   protected Directory makeDirectory() throws ServerException {
     try {
@@ -32,18 +32,46 @@ public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
    * @param excludePatterns set filter for files that should not be indexed
    * @see LuceneSearcher
    */
+  public FSLuceneSearcherProvider(File indexRootDirectory, Set<PathMatcher> excludePatterns)
+      throws IOException {
+    this(indexRootDirectory, excludePatterns, 1, LuceneSearcher.DEFAULT_INDEX_BATCH_SIZE, false);
+  }
+
+  /**
+   * @param indexRootDirectory root directory for creation index
+   * @param excludePatterns set filter for files that should not be indexed
+   * @param indexThreads number of threads used for initial indexing, if zero or negative then
+   *     number of available processors is used
+   * @param indexBatchSize number of documents added to the index at once during initial indexing
+   * @param ngramIndex if {@code true} then trigrams of names and content of files are indexed to
+   *     speed up queries with leading wildcard
+   * @see LuceneSearcher
+   */
   @Inject
   public FSLuceneSearcherProvider(
       @Named("vfs.local.fs_index_root_dir") File indexRootDirectory,
-      @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns)
+      @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns,
+      @Named("vfs.index_threads") int indexThreads,
+      @Named("vfs.index_batch_size") int indexBatchSize,
+      @Named("vfs.index_ngrams") boolean ngramIndex)
       throws IOException {
-    super(newHashSet(transform(excludePatterns, VirtualFileFilters::wrap)));
+    super(
+        newHashSet(transform(excludePatterns, VirtualFileFilters::wrap)),
+        indexThreads,
+        indexBatchSize,
+        ngramIndex);
     this.indexRootDirectory = indexRootDirectory;
     Files.createDirectories(indexRootDirectory.toPath());
   }
 
   @Override
   protected LuceneSearcher createLuceneSearcher(CloseCallback closeCallback) {
-    return new FSLuceneSearcher(indexRootDirectory, excludeFileIndexFilters, closeCallback);
+    return new FSLuceneSearcher(
+        indexRootDirectory,
+        excludeFileIndexFilters,
+        closeCallback,
+        indexThreads,
+        indexBatchSize,
+        ngramIndex);
   }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.search.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFile;
+
+/**
+ * Reader of the virtual file content. File is opened on the first read, so documents waiting for
+ * indexing do not hold open files, and not more than specified number of characters is read.
+ */
+class FileContentReader extends Reader {
+  private final VirtualFile file;
+  private final long maxLength;
+
+  private Reader content;
+  private long position;
+  private boolean closed;
+
+  FileContentReader(VirtualFile file, long maxLength) {
+    this.file = file;
+    this.maxLength = maxLength;
+  }
+
+  @Override
+  public int read(char[] cbuf, int off, int len) throws IOException {
+    if (closed) {
+      throw new IOException("Reader of file " + file.getPath() + " is closed");
+    }
+    if (position >= maxLength) {
+      return -1;
+    }
+    if (content == null) {
+      try {
+        content = new BufferedReader(new InputStreamReader(file.getContent()));
+      } catch (ForbiddenException | ServerException e) {
+        throw new IOException(e.getMessage(), e);
+      }
+    }
+    final int read = content.read(cbuf, off, (int) Math.min(len, maxLength - position));
+    if (read > 0) {
+      position += read;
+    }
+    return read;
+  }
+
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    if (content != null) {
+      content.close();
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.search.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress and throughput counters of the tree indexing performed by {@link LuceneSearcher}.
+ * Counters are cumulative for the lifetime of the searcher, all methods are thread-safe.
+ */
+public class IndexingStatistics {
+  private final AtomicLong visitedFolders = new AtomicLong();
+  private final AtomicLong discoveredFiles = new AtomicLong();
+  private final AtomicLong indexedFiles = new AtomicLong();
+  private final AtomicLong failedFiles = new AtomicLong();
+  private final AtomicLong committedBatches = new AtomicLong();
+  private final AtomicLong indexingTimeMillis = new AtomicLong();
+  private final AtomicLong runningTasks = new AtomicLong();
+
+  /** Returns number of folders visited by tree walkers. */
+  public long getVisitedFolders() {
+    return visitedFolders.get();
+  }
+
+  /** Returns number of files found by tree walkers and queued for indexing. */
+  public long getDiscoveredFiles() {
+    return discoveredFiles.get();
+  }
+
+  /** Returns number of files added to the index. */
+  public long getIndexedFiles() {
+    return indexedFiles.get();
+  }
+
+  /** Returns number of files which were not indexed because of errors. */
+  public long getFailedFiles() {
+    return failedFiles.get();
+  }
+
+  /** Returns number of document batches passed to the index writer. */
+  public long getCommittedBatches() {
+    return committedBatches.get();
+  }
+
+  /** Returns total time spent in tree indexing, excluding tasks that are still running. */
+  public long getIndexingTimeMillis() {
+    return indexingTimeMillis.get();
+  }
+
+  /** Returns {@code true} if at least one tree indexing task is in progress. */
+  public boolean isIndexing() {
+    return runningTasks.get() > 0;
+  }
+
+  /** Returns average throughput of the finished indexing tasks in files per second. */
+  public double getFilesPerSecond() {
+    final long time = indexingTimeMillis.get();
+    return time == 0 ? 0 : indexedFiles.get() * 1000D / time;
+  }
+
+  void folderVisited() {
+    visitedFolders.incrementAndGet();
+  }
+
+  void fileDiscovered() {
+    discoveredFiles.incrementAndGet();
+  }
+
+  void fileFailed() {
+    failedFiles.incrementAndGet();
+  }
+
+  void batchCommitted(int size) {
+    committedBatches.incrementAndGet();
+    indexedFiles.addAndGet(size);
+  }
+
+  void taskStarted() {
+    runningTasks.incrementAndGet();
+  }
+
+  void taskFinished(long timeMillis) {
+    indexingTimeMillis.addAndGet(timeMillis);
+    runningTasks.decrementAndGet();
+  }
+
+  @Override
+  public String toString() {
+    return "IndexingStatistics{"
+        + "visitedFolders="
+        + visitedFolders
+        + ", discoveredFiles="
+        + discoveredFiles
+        + ", indexedFiles="
+        + indexedFiles
+        + ", failedFiles="
+        + failedFiles
+        + ", committedBatches="
+        + committedBatches
+        + ", indexingTimeMillis="
+        + indexingTimeMillis
+        + '}';
+  }
+}
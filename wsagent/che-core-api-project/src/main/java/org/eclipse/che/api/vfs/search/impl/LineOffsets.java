@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.search.impl;
+
+import java.util.Arrays;
+
+/**
+ * Table of line start offsets of a text. Built once per text with a single pass over it, after
+ * that line of any character offset is found with binary search. Lines are separated with {@code
+ * \n}, {@code \r\n} or {@code \r}.
+ */
+final class LineOffsets {
+  private final String text;
+  private final int[] lineStarts;
+  private final int lineCount;
+
+  LineOffsets(String text) {
+    this.text = text;
+    int[] starts = new int[16];
+    int count = 1;
+    final int length = text.length();
+    for (int i = 0; i < length; i++) {
+      final char c = text.charAt(i);
+      if (c == '\n' || (c == '\r' && (i + 1 == length || text.charAt(i + 1) != '\n'))) {
+        if (count == starts.length) {
+          starts = Arrays.copyOf(starts, count << 1);
+        }
+        starts[count++] = i + 1;
+      }
+    }
+    this.lineStarts = starts;
+    this.lineCount = count;
+  }
+
+  /**
+   * Returns number of lines in the text. Text that ends with line separator has empty last line.
+   */
+  int getLineCount() {
+    return lineCount;
+  }
+
+  /**
+   * Returns one-based number of the line which contains character with the specified offset.
+   * Offsets of line separators belong to the lines they terminate.
+   */
+  int getLineNumber(int offset) {
+    final int index = Arrays.binarySearch(lineStarts, 0, lineCount, offset);
+    return index >= 0 ? index + 1 : -index - 1;
+  }
+
+  /** Returns content of the line with the specified one-based number without line separator. */
+  String getLine(int lineNumber) {
+    final int start = lineStarts[lineNumber - 1];
+    int end = lineNumber < lineCount ? lineStarts[lineNumber] : text.length();
+    if (end > start && text.charAt(end - 1) == '\n') {
+      end--;
+    }
+    if (end > start && text.charAt(end - 1) == '\r') {
+      end--;
+    }
+    return text.substring(start, end);
+  }
+}
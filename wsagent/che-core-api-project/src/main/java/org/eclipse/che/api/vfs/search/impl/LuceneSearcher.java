@@ -12,29 +12,37 @@ package org.eclipse.che.api.vfs.search.impl;
 
 import static com.google.common.collect.Lists.newArrayList;
 
-import com.google.common.io.CharStreams;
-import java.io.BufferedReader;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
 import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
-import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.NGramTokenFilter;
 import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.Fields;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
@@ -46,16 +54,19 @@ import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ReferenceManager;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherLifetimeManager;
 import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.highlight.QueryScorer;
 import org.apache.lucene.search.highlight.TokenSources;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.util.IOUtils;
-import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
@@ -65,6 +76,7 @@ import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -76,15 +88,53 @@ import org.slf4j.LoggerFactory;
 public abstract class LuceneSearcher implements Searcher {
   private static final Logger LOG = LoggerFactory.getLogger(LuceneSearcher.class);
   private static final int RESULT_LIMIT = 1000;
+  /** Time during which searchers are kept for retrieving next pages with search cursors. */
+  private static final double SEARCHER_MAX_AGE_SECONDS = 300;
   private static final String PATH_FIELD = "path";
   private static final String NAME_FIELD = "name";
   private static final String TEXT_FIELD = "text";
+  /**
+   * Content of the text field is not stored. Offsets of the terms are kept in the term vectors and
+   * hit positions are resolved by reading the file.
+   */
+  private static final FieldType TEXT_FIELD_TYPE = new FieldType(TextField.TYPE_NOT_STORED);
+
+  static {
+    TEXT_FIELD_TYPE.setStoreTermVectors(true);
+    TEXT_FIELD_TYPE.setStoreTermVectorPositions(true);
+    TEXT_FIELD_TYPE.setStoreTermVectorOffsets(true);
+    TEXT_FIELD_TYPE.freeze();
+  }
+
+  /** Max number of characters of the file content which are indexed. */
+  private static final int MAX_INDEXED_TEXT_LENGTH = 1_000_000;
+  private static final String NAME_NGRAM_FIELD = "name_ngram";
+  private static final String TEXT_NGRAM_FIELD = "text_ngram";
+  private static final int NGRAM_SIZE = 3;
+  /** Single term with leading wildcard, no other query syntax is allowed. */
+  private static final Pattern NGRAM_QUERY_PATTERN =
+      Pattern.compile("\\*[^\\s\\\\+!():^\\[\\]\"{}~?|&/]*");
+
+  static final int DEFAULT_INDEX_BATCH_SIZE = 500;
+
+  private static final AtomicInteger SEARCHER_COUNTER = new AtomicInteger();
 
   private final List<VirtualFileFilter> excludeFileIndexFilters;
   private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
+  private final int indexThreads;
+  private final int indexBatchSize;
+  private final boolean ngramIndex;
+  private final IndexingStatistics indexingStatistics;
+  /** Trees are indexed one by one with pools of the searcher. */
+  private final Object treeIndexingLock = new Object();
 
   private IndexWriter luceneIndexWriter;
+  private ForkJoinPool indexWalkers;
+  private ExecutorService indexBuilders;
   private SearcherManager searcherManager;
+  private SearcherLifetimeManager searcherLifetimeManager;
+
+  private volatile VirtualFileSystem virtualFileSystem;
 
   private boolean closed = true;
 
@@ -104,7 +154,32 @@ public abstract class LuceneSearcher implements Searcher {
   protected LuceneSearcher(
       VirtualFileFilter excludeFileIndexFilter,
       AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
+    this(excludeFileIndexFilter, closeCallback, 1, DEFAULT_INDEX_BATCH_SIZE, false);
+  }
+
+  /**
+   * @param excludeFileIndexFilter common filter for files that should not be indexed
+   * @param closeCallback callback which is notified when searcher is closed
+   * @param indexThreads number of threads used for indexing of file trees, if zero or negative
+   *     then number of available processors is used
+   * @param indexBatchSize number of documents passed to the index writer at once while file tree
+   *     is indexed
+   * @param ngramIndex if {@code true} then names and content of files are additionally indexed as
+   *     trigrams and queries with leading wildcard, e.g. {@code *Service}, are answered with
+   *     intersection of trigram terms instead of scanning of the whole term dictionary
+   */
+  protected LuceneSearcher(
+      VirtualFileFilter excludeFileIndexFilter,
+      AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+      int indexThreads,
+      int indexBatchSize,
+      boolean ngramIndex) {
     this.closeCallback = closeCallback;
+    this.indexThreads =
+        indexThreads > 0 ? indexThreads : Runtime.getRuntime().availableProcessors();
+    this.indexBatchSize = indexBatchSize > 0 ? indexBatchSize : DEFAULT_INDEX_BATCH_SIZE;
+    this.ngramIndex = ngramIndex;
+    this.indexingStatistics = new IndexingStatistics();
     excludeFileIndexFilters = new CopyOnWriteArrayList<>();
     excludeFileIndexFilters.add(excludeFileIndexFilter);
   }
@@ -130,6 +205,32 @@ public abstract class LuceneSearcher implements Searcher {
     };
   }
 
+  /**
+   * Creates analyzer which is used for indexing. If n-gram index is enabled then n-gram fields are
+   * split into trigrams of the whitespace separated lowercase tokens, other fields are analyzed
+   * with {@link #makeAnalyzer()}.
+   */
+  protected Analyzer makeIndexAnalyzer() {
+    final Analyzer analyzer = makeAnalyzer();
+    if (!ngramIndex) {
+      return analyzer;
+    }
+    final Analyzer ngramAnalyzer =
+        new Analyzer() {
+          @Override
+          protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new WhitespaceTokenizer();
+            TokenStream filter =
+                new NGramTokenFilter(new LowerCaseFilter(tokenizer), NGRAM_SIZE, NGRAM_SIZE);
+            return new TokenStreamComponents(tokenizer, filter);
+          }
+        };
+    final Map<String, Analyzer> fieldAnalyzers = new HashMap<>();
+    fieldAnalyzers.put(NAME_NGRAM_FIELD, ngramAnalyzer);
+    fieldAnalyzers.put(TEXT_NGRAM_FIELD, ngramAnalyzer);
+    return new PerFieldAnalyzerWrapper(analyzer, fieldAnalyzers);
+  }
+
   protected abstract Directory makeDirectory() throws ServerException;
 
   /**
@@ -140,12 +241,14 @@ public abstract class LuceneSearcher implements Searcher {
    * @throws ServerException if any virtual filesystem error occurs
    */
   public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
+    this.virtualFileSystem = virtualFileSystem;
     doInit();
     addTree(virtualFileSystem.getRoot());
   }
 
   public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem)
       throws ServerException {
+    this.virtualFileSystem = virtualFileSystem;
     doInit();
     if (!executor.isShutdown()) {
       executor.execute(
@@ -161,8 +264,43 @@ public abstract class LuceneSearcher implements Searcher {
 
   protected final synchronized void doInit() throws ServerException {
     try {
-      luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
+      luceneIndexWriter =
+          new IndexWriter(makeDirectory(), new IndexWriterConfig(makeIndexAnalyzer()));
       searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
+      searcherLifetimeManager = new SearcherLifetimeManager();
+      // searchers kept for cursors are released when index is refreshed, not only by searches
+      searcherManager.addListener(
+          new ReferenceManager.RefreshListener() {
+            @Override
+            public void beforeRefresh() {}
+
+            @Override
+            public void afterRefresh(boolean didRefresh) throws IOException {
+              searcherLifetimeManager.prune(
+                  new SearcherLifetimeManager.PruneByAge(SEARCHER_MAX_AGE_SECONDS));
+            }
+          });
+      final int searcherId = SEARCHER_COUNTER.incrementAndGet();
+      indexWalkers =
+          new ForkJoinPool(
+              indexThreads,
+              pool -> {
+                ForkJoinWorkerThread thread =
+                    ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("LuceneIndexWalker-" + searcherId + '-' + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+              },
+              LoggingUncaughtExceptionHandler.getInstance(),
+              false);
+      indexBuilders =
+          Executors.newFixedThreadPool(
+              indexThreads,
+              new ThreadFactoryBuilder()
+                  .setDaemon(true)
+                  .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                  .setNameFormat("LuceneIndexBuilder-" + searcherId + "-%d")
+                  .build());
       closed = false;
     } catch (IOException e) {
       throw new ServerException(e);
@@ -171,8 +309,14 @@ public abstract class LuceneSearcher implements Searcher {
 
   public final synchronized void close() {
     if (!closed) {
+      indexWalkers.shutdownNow();
+      indexBuilders.shutdownNow();
       try {
-        IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
+        IOUtils.close(
+            searcherLifetimeManager,
+            getIndexWriter(),
+            getIndexWriter().getDirectory(),
+            searcherManager);
         afterClose();
       } catch (IOException e) {
         LOG.error(e.getMessage(), e);
@@ -196,20 +340,47 @@ public abstract class LuceneSearcher implements Searcher {
     return luceneIndexWriter;
   }
 
+  /** Returns progress and throughput of file tree indexing. */
+  public IndexingStatistics getIndexingStatistics() {
+    return indexingStatistics;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Next page query expression of the result contains cursor which points to the last retrieved
+   * hit. While the index searcher which produced the result is kept, the next page is retrieved
+   * right after the hit without re-running query for skipped hits.
+   */
   @Override
   public SearchResult search(QueryExpression query) throws ServerException {
     IndexSearcher luceneSearcher = null;
+    boolean pagingSearcher = false;
     try {
       final long startTime = System.currentTimeMillis();
-      searcherManager.maybeRefresh();
-      luceneSearcher = searcherManager.acquire();
-
-      Query luceneQuery = createLuceneQuery(query);
+      final SearchCursor cursor = SearchCursor.parse(query.getCursor());
+      if (cursor != null) {
+        luceneSearcher = searcherLifetimeManager.acquire(cursor.getSearcherVersion());
+        pagingSearcher = luceneSearcher != null;
+      }
+      if (luceneSearcher == null) {
+        searcherManager.maybeRefresh();
+        luceneSearcher = searcherManager.acquire();
+      }
+      Query luceneQuery = createLuceneQuery(query, ngramIndex);
+      Query highlightQuery = null;
 
       ScoreDoc after = null;
-      final int numSkipDocs = Math.max(0, query.getSkipCount());
-      if (numSkipDocs > 0) {
-        after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+      final int numSkipDocs;
+      if (pagingSearcher) {
+        after = cursor.getScoreDoc();
+        numSkipDocs = cursor.getSkipCount();
+      } else {
+        // Searcher of the cursor is released or cursor is not provided, skip hits from the start.
+        numSkipDocs = cursor != null ? cursor.getSkipCount() : Math.max(0, query.getSkipCount());
+        if (numSkipDocs > 0) {
+          after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+        }
       }
 
       final int numDocs =
@@ -223,83 +394,33 @@ public abstract class LuceneSearcher implements Searcher {
         ScoreDoc scoreDoc = topDocs.scoreDocs[i];
         int docId = scoreDoc.doc;
         Document doc = luceneSearcher.doc(docId);
+        String filePath = doc.getField(PATH_FIELD).stringValue();
         if (query.isIncludePositions()) {
-          offsetData = new ArrayList<>();
-          String txt = doc.get(TEXT_FIELD);
-          if (txt != null) {
-            IndexReader reader = luceneSearcher.getIndexReader();
-
-            TokenStream tokenStream =
-                TokenSources.getTokenStream(
-                    TEXT_FIELD,
-                    reader.getTermVectors(docId),
-                    txt,
-                    luceneIndexWriter.getAnalyzer(),
-                    -1);
-
-            CharTermAttribute termAtt = tokenStream.addAttribute(CharTermAttribute.class);
-            OffsetAttribute offsetAtt = tokenStream.addAttribute(OffsetAttribute.class);
-
-            QueryScorer queryScorer = new QueryScorer(luceneQuery);
-            //TODO think about this constant
-            queryScorer.setMaxDocCharsToAnalyze(1_000_000);
-            TokenStream newStream = queryScorer.init(tokenStream);
-            if (newStream != null) {
-              tokenStream = newStream;
-            }
-            queryScorer.startFragment(null);
-
-            tokenStream.reset();
-
-            int startOffset, endOffset;
-            //TODO think about this constant
-            for (boolean next = tokenStream.incrementToken();
-                next && (offsetAtt.startOffset() < 1_000_000);
-                next = tokenStream.incrementToken()) {
-              startOffset = offsetAtt.startOffset();
-              endOffset = offsetAtt.endOffset();
-
-              if ((endOffset > txt.length()) || (startOffset > txt.length())) {
-                throw new ServerException(
-                    "Token "
-                        + termAtt.toString()
-                        + " exceeds length of provided text size "
-                        + txt.length());
-              }
-
-              float res = queryScorer.getTokenScore();
-              if (res > 0.0F && startOffset <= endOffset) {
-                String tokenText = txt.substring(startOffset, endOffset);
-                Scanner sc = new Scanner(txt);
-                int lineNum = 0;
-                long len = 0;
-                String foundLine = "";
-                while (sc.hasNextLine()) {
-                  foundLine = sc.nextLine();
-                  lineNum++;
-                  len += foundLine.length();
-                  if (len > startOffset) {
-                    break;
-                  }
-                }
-                offsetData.add(
-                    new OffsetData(
-                        tokenText, startOffset, endOffset, docId, res, lineNum, foundLine));
-              }
-            }
+          if (highlightQuery == null) {
+            // N-gram terms do not match tokens of text field, highlight with regular query.
+            highlightQuery = ngramIndex ? createLuceneQuery(query, false) : luceneQuery;
           }
+          offsetData =
+              findOffsets(luceneSearcher.getIndexReader(), docId, filePath, highlightQuery);
         }
-        String filePath = doc.getField(PATH_FIELD).stringValue();
         results.add(new SearchResultEntry(filePath, offsetData));
       }
 
       final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
 
-      boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
+      boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length < totalHitsNum;
       QueryExpression nextPageQueryExpression = null;
       if (hasMoreToRetrieve) {
-        nextPageQueryExpression =
-            createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+        final int newSkipCount = numSkipDocs + topDocs.scoreDocs.length;
+        final ScoreDoc last =
+            topDocs.scoreDocs.length > 0 ? topDocs.scoreDocs[topDocs.scoreDocs.length - 1] : after;
+        SearchCursor nextCursor = null;
+        if (last != null) {
+          // searcher is kept for the next page only when the cursor refers to it
+          nextCursor =
+              new SearchCursor(searcherLifetimeManager.record(luceneSearcher), last, newSkipCount);
+        }
+        nextPageQueryExpression = createNextPageQuery(query, newSkipCount, nextCursor);
       }
 
       return SearchResult.aSearchResult()
@@ -312,14 +433,116 @@ public abstract class LuceneSearcher implements Searcher {
       throw new ServerException(e.getMessage(), e);
     } finally {
       try {
-        searcherManager.release(luceneSearcher);
+        if (pagingSearcher) {
+          searcherLifetimeManager.release(luceneSearcher);
+        } else if (luceneSearcher != null) {
+          searcherManager.release(luceneSearcher);
+        }
       } catch (IOException e) {
         LOG.error(e.getMessage());
       }
     }
   }
 
-  private Query createLuceneQuery(QueryExpression query) throws ParseException {
+  /**
+   * Finds positions of the query hits in the document. Offsets of hits are taken from the term
+   * vectors of the document, content of the matched lines is read from the file.
+   */
+  private List<OffsetData> findOffsets(
+      IndexReader reader, int docId, String filePath, Query highlightQuery)
+      throws IOException, ServerException {
+    final Fields termVectors = reader.getTermVectors(docId);
+    TokenStream tokenStream =
+        termVectors == null
+            ? null
+            : TokenSources.getTermVectorTokenStreamOrNull(
+                TEXT_FIELD, termVectors, MAX_INDEXED_TEXT_LENGTH);
+    if (tokenStream == null) {
+      return Collections.emptyList();
+    }
+
+    final OffsetAttribute offsetAtt = tokenStream.addAttribute(OffsetAttribute.class);
+    final QueryScorer queryScorer = new QueryScorer(highlightQuery);
+    queryScorer.setMaxDocCharsToAnalyze(MAX_INDEXED_TEXT_LENGTH);
+    final TokenStream newStream = queryScorer.init(tokenStream);
+    if (newStream != null) {
+      tokenStream = newStream;
+    }
+    queryScorer.startFragment(null);
+
+    final List<int[]> hitOffsets = new ArrayList<>();
+    final List<Float> hitScores = new ArrayList<>();
+    int contentLength = 0;
+    tokenStream.reset();
+    while (tokenStream.incrementToken()) {
+      final int startOffset = offsetAtt.startOffset();
+      final int endOffset = offsetAtt.endOffset();
+      final float score = queryScorer.getTokenScore();
+      if (score > 0.0F && startOffset <= endOffset) {
+        hitOffsets.add(new int[] {startOffset, endOffset});
+        hitScores.add(score);
+        contentLength = Math.max(contentLength, endOffset);
+      }
+    }
+    tokenStream.end();
+    tokenStream.close();
+    if (hitOffsets.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    final VirtualFile file =
+        virtualFileSystem == null ? null : virtualFileSystem.getRoot().getChild(Path.of(filePath));
+    if (file == null || !file.isFile()) {
+      return Collections.emptyList();
+    }
+    final String content = readLines(file, contentLength);
+    final LineOffsets lineOffsets = new LineOffsets(content);
+    final List<OffsetData> offsetData = new ArrayList<>(hitOffsets.size());
+    for (int i = 0; i < hitOffsets.size(); i++) {
+      final int startOffset = hitOffsets.get(i)[0];
+      final int endOffset = hitOffsets.get(i)[1];
+      if (endOffset > content.length()) {
+        // File is truncated after it was indexed.
+        break;
+      }
+      final int lineNum = lineOffsets.getLineNumber(startOffset);
+      offsetData.add(
+          new OffsetData(
+              content.substring(startOffset, endOffset),
+              startOffset,
+              endOffset,
+              docId,
+              hitScores.get(i),
+              lineNum,
+              lineOffsets.getLine(lineNum)));
+    }
+    return offsetData;
+  }
+
+  /**
+   * Reads content of the file from the beginning up to the specified length and then up to the end
+   * of the current line.
+   */
+  private String readLines(VirtualFile file, int length) throws ServerException {
+    final StringBuilder content = new StringBuilder(Math.min(length + 256, 8192));
+    try (Reader reader = new FileContentReader(file, MAX_INDEXED_TEXT_LENGTH)) {
+      final char[] buffer = new char[8192];
+      int read;
+      while (content.length() < length && (read = reader.read(buffer)) != -1) {
+        content.append(buffer, 0, read);
+      }
+      int c;
+      while ((c = reader.read()) != -1 && c != '\n' && c != '\r') {
+        content.append((char) c);
+      }
+    } catch (IOException e) {
+      throw new ServerException(e.getMessage(), e);
+    }
+    return content.toString();
+  }
+
+  private Query createLuceneQuery(QueryExpression query, boolean useNGrams)
+      throws ParseException {
     final BooleanQuery luceneQuery = new BooleanQuery();
     final String name = query.getName();
     final String path = query.getPath();
@@ -328,18 +551,64 @@ public abstract class LuceneSearcher implements Searcher {
       luceneQuery.add(new PrefixQuery(new Term(PATH_FIELD, path)), BooleanClause.Occur.MUST);
     }
     if (name != null) {
-      QueryParser qParser = new QueryParser(NAME_FIELD, makeAnalyzer());
-      qParser.setAllowLeadingWildcard(true);
-      luceneQuery.add(qParser.parse(name), BooleanClause.Occur.MUST);
+      luceneQuery.add(
+          createFieldQuery(NAME_FIELD, useNGrams ? NAME_NGRAM_FIELD : null, name),
+          BooleanClause.Occur.MUST);
     }
     if (text != null) {
-      QueryParser qParser = new QueryParser(TEXT_FIELD, makeAnalyzer());
-      qParser.setAllowLeadingWildcard(true);
-      luceneQuery.add(qParser.parse(text), BooleanClause.Occur.MUST);
+      luceneQuery.add(
+          createFieldQuery(TEXT_FIELD, useNGrams ? TEXT_NGRAM_FIELD : null, text),
+          BooleanClause.Occur.MUST);
     }
     return luceneQuery;
   }
 
+  private Query createFieldQuery(String field, String ngramField, String expression)
+      throws ParseException {
+    if (ngramField != null) {
+      Query ngramQuery = createNGramQuery(ngramField, expression);
+      if (ngramQuery != null) {
+        return ngramQuery;
+      }
+    }
+    QueryParser qParser = new QueryParser(field, makeAnalyzer());
+    qParser.setAllowLeadingWildcard(true);
+    return qParser.parse(expression);
+  }
+
+  /**
+   * Creates query which requires all trigrams of the literal parts of the expression with leading
+   * wildcard, e.g. {@code *Service*}. Returns {@code null} if expression is not a single term with
+   * leading wildcard or any of its literal parts is shorter than trigram, such expressions are
+   * handled with query parser.
+   */
+  private Query createNGramQuery(String ngramField, String expression) {
+    final String pattern = expression.trim().toLowerCase();
+    if (!NGRAM_QUERY_PATTERN.matcher(pattern).matches()) {
+      return null;
+    }
+    final Set<String> ngrams = new LinkedHashSet<>();
+    for (String literal : pattern.split("\\*")) {
+      if (literal.isEmpty()) {
+        continue;
+      }
+      if (literal.length() < NGRAM_SIZE) {
+        return null;
+      }
+      for (int i = 0; i + NGRAM_SIZE <= literal.length(); i++) {
+        ngrams.add(literal.substring(i, i + NGRAM_SIZE));
+      }
+    }
+    if (ngrams.isEmpty() || ngrams.size() > BooleanQuery.getMaxClauseCount()) {
+      return null;
+    }
+    final BooleanQuery ngramQuery = new BooleanQuery();
+    for (String ngram : ngrams) {
+      ngramQuery.add(new TermQuery(new Term(ngramField, ngram)), BooleanClause.Occur.MUST);
+    }
+    return ngramQuery;
+  }
+
   private ScoreDoc skipScoreDocs(IndexSearcher luceneSearcher, Query luceneQuery, int numSkipDocs)
       throws IOException {
     final int readFrameSize = Math.min(numSkipDocs, RESULT_LIMIT);
@@ -362,13 +631,15 @@ public abstract class LuceneSearcher implements Searcher {
     return scoreDoc;
   }
 
-  private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount) {
+  private QueryExpression createNextPageQuery(
+      QueryExpression originalQuery, int newSkipCount, SearchCursor cursor) {
     return new QueryExpression()
         .setText(originalQuery.getText())
         .setName(originalQuery.getName())
         .setPath(originalQuery.getPath())
         .setSkipCount(newSkipCount)
-        .setMaxItems(originalQuery.getMaxItems());
+        .setMaxItems(originalQuery.getMaxItems())
+        .setCursor(cursor == null ? null : cursor.toString());
   }
 
   @Override
@@ -385,44 +656,67 @@ public abstract class LuceneSearcher implements Searcher {
   }
 
   protected void addTree(VirtualFile tree) throws ServerException {
+    if (!tree.exists()) {
+      return;
+    }
     final long start = System.currentTimeMillis();
-    final LinkedList<VirtualFile> q = new LinkedList<>();
-    q.add(tree);
+    indexingStatistics.taskStarted();
     int indexedFiles = 0;
-    while (!q.isEmpty()) {
-      final VirtualFile folder = q.pop();
-      if (folder.exists()) {
-        for (VirtualFile child : folder.getChildren()) {
-          if (child.isFolder()) {
-            q.push(child);
-          } else {
-            addFile(child);
-            indexedFiles++;
-          }
+    try {
+      synchronized (treeIndexingLock) {
+        final ForkJoinPool walkers;
+        final ExecutorService builders;
+        synchronized (this) {
+          walkers = indexWalkers;
+          builders = indexBuilders;
         }
+        indexedFiles =
+            new TreeIndexer(
+                    this, tree, walkers, builders, indexThreads, indexBatchSize, indexingStatistics)
+                .index();
       }
+    } catch (OutOfMemoryError oome) {
+      close();
+      throw oome;
+    } finally {
+      indexingStatistics.taskFinished(System.currentTimeMillis() - start);
     }
     final long end = System.currentTimeMillis();
     LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
   }
 
+  /**
+   * Creates document for the specified file. If content of the file should be indexed it is read
+   * when the document is added to the index.
+   */
+  Document readDocument(VirtualFile virtualFile) throws ServerException {
+    return createDocument(
+        virtualFile,
+        shouldIndexContent(virtualFile)
+            ? new FileContentReader(virtualFile, MAX_INDEXED_TEXT_LENGTH)
+            : null);
+  }
+
+  /** Replaces documents of the index which have the same paths as the specified documents. */
+  void updateDocuments(List<Document> documents) throws IOException {
+    final IndexWriter writer = getIndexWriter();
+    for (Document document : documents) {
+      writer.updateDocument(new Term(PATH_FIELD, document.get(PATH_FIELD)), document);
+    }
+  }
+
   protected void addFile(VirtualFile virtualFile) throws ServerException {
     if (virtualFile.exists()) {
-      try (Reader fContentReader =
-          shouldIndexContent(virtualFile)
-              ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-              : null) {
+      try {
         getIndexWriter()
             .updateDocument(
                 new Term(PATH_FIELD, virtualFile.getPath().toString()),
-                createDocument(virtualFile, fContentReader));
+                readDocument(virtualFile));
       } catch (OutOfMemoryError oome) {
         close();
         throw oome;
       } catch (IOException e) {
         throw new ServerException(e.getMessage(), e);
-      } catch (ForbiddenException e) {
-        throw new ServerException(e.getServiceError());
       }
     }
   }
@@ -451,18 +745,13 @@ public abstract class LuceneSearcher implements Searcher {
   }
 
   protected void doUpdate(Term deleteTerm, VirtualFile virtualFile) throws ServerException {
-    try (Reader fContentReader =
-        shouldIndexContent(virtualFile)
-            ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-            : null) {
-      getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader));
+    try {
+      getIndexWriter().updateDocument(deleteTerm, readDocument(virtualFile));
     } catch (OutOfMemoryError oome) {
       close();
       throw oome;
     } catch (IOException e) {
       throw new ServerException(e.getMessage(), e);
-    } catch (ForbiddenException e) {
-      throw new ServerException(e.getServiceError());
     }
   }
 
@@ -470,11 +759,15 @@ public abstract class LuceneSearcher implements Searcher {
     final Document doc = new Document();
     doc.add(new StringField(PATH_FIELD, virtualFile.getPath().toString(), Field.Store.YES));
     doc.add(new TextField(NAME_FIELD, virtualFile.getName(), Field.Store.YES));
+    if (ngramIndex) {
+      doc.add(new TextField(NAME_NGRAM_FIELD, virtualFile.getName(), Field.Store.NO));
+    }
     if (reader != null) {
-      try {
-        doc.add(new TextField(TEXT_FIELD, CharStreams.toString(reader), Field.Store.YES));
-      } catch (IOException e) {
-        throw new ServerException(e.getLocalizedMessage(), e);
+      doc.add(new Field(TEXT_FIELD, reader, TEXT_FIELD_TYPE));
+      if (ngramIndex) {
+        doc.add(
+            new TextField(
+                TEXT_NGRAM_FIELD, new FileContentReader(virtualFile, MAX_INDEXED_TEXT_LENGTH)));
       }
     }
     return doc;
@@ -25,6 +25,15 @@ public class MemoryLuceneSearcher extends LuceneSearcher {
     super(filter, closeCallback);
   }
 
+  MemoryLuceneSearcher(
+      VirtualFileFilter filter,
+      AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+      int indexThreads,
+      int indexBatchSize,
+      boolean ngramIndex) {
+    super(filter, closeCallback, indexThreads, indexBatchSize, ngramIndex);
+  }
+
   @Override
   protected Directory makeDirectory() {
     return new RAMDirectory();
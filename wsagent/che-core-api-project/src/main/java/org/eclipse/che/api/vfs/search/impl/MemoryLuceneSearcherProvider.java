@@ -25,6 +25,7 @@ public class MemoryLuceneSearcherProvider extends AbstractLuceneSearcherProvider
 
   @Override
   protected LuceneSearcher createLuceneSearcher(CloseCallback closeCallback) {
-    return new MemoryLuceneSearcher(excludeFileIndexFilters, closeCallback);
+    return new MemoryLuceneSearcher(
+        excludeFileIndexFilters, closeCallback, indexThreads, indexBatchSize, ngramIndex);
   }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.search.ScoreDoc;
+
+/**
+ * Position of the last retrieved hit in search result. Cursor remembers version of the index
+ * searcher which produced the hit, so next page may be retrieved with the same searcher starting
+ * right after the hit. Number of already retrieved hits is used to skip them if the searcher is
+ * already released.
+ */
+final class SearchCursor {
+  private static final char SEPARATOR = '-';
+
+  private final long searcherVersion;
+  private final int doc;
+  private final float score;
+  private final int skipCount;
+
+  SearchCursor(long searcherVersion, ScoreDoc scoreDoc, int skipCount) {
+    this(searcherVersion, scoreDoc.doc, scoreDoc.score, skipCount);
+  }
+
+  private SearchCursor(long searcherVersion, int doc, float score, int skipCount) {
+    this.searcherVersion = searcherVersion;
+    this.doc = doc;
+    this.score = score;
+    this.skipCount = skipCount;
+  }
+
+  /**
+   * Restores cursor from its string form.
+   *
+   * @return cursor or {@code null} if the specified string is not valid cursor
+   */
+  static SearchCursor parse(String cursor) {
+    if (cursor == null) {
+      return null;
+    }
+    final String[] parts = cursor.split(String.valueOf(SEPARATOR));
+    if (parts.length != 4) {
+      return null;
+    }
+    try {
+      final SearchCursor result =
+          new SearchCursor(
+              Long.parseLong(parts[0]),
+              Integer.parseInt(parts[1]),
+              Float.intBitsToFloat(Integer.parseUnsignedInt(parts[2], 16)),
+              Integer.parseInt(parts[3]));
+      return result.doc < 0 || result.skipCount < 0 ? null : result;
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  long getSearcherVersion() {
+    return searcherVersion;
+  }
+
+  ScoreDoc getScoreDoc() {
+    return new ScoreDoc(doc, score);
+  }
+
+  int getSkipCount() {
+    return skipCount;
+  }
+
+  @Override
+  public String toString() {
+    return Long.toString(searcherVersion)
+        + SEPARATOR
+        + doc
+        + SEPARATOR
+        + Integer.toHexString(Float.floatToIntBits(score))
+        + SEPARATOR
+        + skipCount;
+  }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.search.impl;
+
+import static java.util.Collections.singletonList;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.lucene.document.Document;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Indexes whole file tree with a pipeline of parallel workers:
+ *
+ * <ul>
+ *   <li>fork-join tree walkers which visit folders and put found files into a bounded queue;
+ *   <li>document builders which take files from the queue and update documents of the index
+ *       writer in batches, content of files is read while the index writer analyzes documents.
+ * </ul>
+ *
+ * Documents are replaced by path, like single files are, so indexing of the tree which is already
+ * in the index does not produce duplicates and does not hide indexed files until it completes.
+ */
+class TreeIndexer {
+  private static final Logger LOG = LoggerFactory.getLogger(TreeIndexer.class);
+
+  private final LuceneSearcher searcher;
+  private final VirtualFile tree;
+  private final ForkJoinPool walkers;
+  private final ExecutorService builders;
+  private final int threads;
+  private final int batchSize;
+  private final IndexingStatistics statistics;
+  private final BlockingQueue<VirtualFile> queue;
+  private final AtomicReference<Throwable> failure;
+
+  /**
+   * @param walkers pool which walks the tree, it is shared by the searcher and used by single
+   *     indexer at a time
+   * @param builders pool with {@code threads} threads which builds documents, it is shared by the
+   *     searcher and used by single indexer at a time
+   */
+  TreeIndexer(
+      LuceneSearcher searcher,
+      VirtualFile tree,
+      ForkJoinPool walkers,
+      ExecutorService builders,
+      int threads,
+      int batchSize,
+      IndexingStatistics statistics) {
+    this.searcher = searcher;
+    this.tree = tree;
+    this.walkers = walkers;
+    this.builders = builders;
+    this.threads = threads;
+    this.batchSize = batchSize;
+    this.statistics = statistics;
+    this.queue = new ArrayBlockingQueue<>(threads * batchSize * 2);
+    this.failure = new AtomicReference<>();
+  }
+
+  /**
+   * Indexes all files of the tree and blocks until all of them are added to the index.
+   *
+   * @return number of files added to the index
+   * @throws ServerException if any error occurs while the tree is walked or file is indexed
+   */
+  int index() throws ServerException {
+    final AtomicInteger indexed = new AtomicInteger();
+    final CountDownLatch buildersDone = new CountDownLatch(threads);
+    final List<Future<?>> buildTasks = new ArrayList<>(threads);
+    try {
+      for (int i = 0; i < threads; i++) {
+        buildTasks.add(
+            builders.submit(
+                () -> {
+                  try {
+                    indexed.addAndGet(buildDocuments());
+                  } finally {
+                    buildersDone.countDown();
+                  }
+                }));
+      }
+      try {
+        walkers.invoke(new WalkTask(tree));
+      } finally {
+        // Tree root is folder and never gets into the queue as file, use it as end of walk marker.
+        for (int i = 0; i < threads; i++) {
+          queue.put(tree);
+        }
+      }
+      buildersDone.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failure.compareAndSet(null, e);
+    } catch (RejectedExecutionException e) {
+      failure.compareAndSet(null, e);
+    } finally {
+      if (buildersDone.getCount() > 0) {
+        // Pools are shared by the searcher, do not leave builders waiting for end of walk markers.
+        buildTasks.forEach(task -> task.cancel(true));
+      }
+    }
+
+    final Throwable error = failure.get();
+    if (error instanceof OutOfMemoryError) {
+      throw (OutOfMemoryError) error;
+    } else if (error instanceof ServerException) {
+      throw (ServerException) error;
+    } else if (error != null) {
+      throw new ServerException(error.getMessage(), error);
+    }
+    return indexed.get();
+  }
+
+  /** Takes files from the queue until end of walk marker and indexes them in batches. */
+  private int buildDocuments() {
+    final List<VirtualFile> batch = new ArrayList<>(batchSize);
+    int indexed = 0;
+    try {
+      for (VirtualFile file = queue.take(); file != tree; file = queue.take()) {
+        // Keep draining queue after failure otherwise walkers may block on full queue forever.
+        if (failure.get() == null) {
+          batch.add(file);
+          if (batch.size() >= batchSize) {
+            indexed += flush(batch);
+          }
+        }
+      }
+      if (failure.get() == null) {
+        indexed += flush(batch);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failure.compareAndSet(null, e);
+    }
+    return indexed;
+  }
+
+  private int flush(List<VirtualFile> batch) {
+    if (batch.isEmpty()) {
+      return 0;
+    }
+    try {
+      final List<Document> documents = new ArrayList<>(batch.size());
+      for (VirtualFile file : batch) {
+        if (file.exists()) {
+          documents.add(searcher.readDocument(file));
+        }
+      }
+      searcher.updateDocuments(documents);
+      statistics.batchCommitted(documents.size());
+      LOG.debug(
+          "Indexed batch of {} files from {}, {}", documents.size(), tree.getPath(), statistics);
+      return documents.size();
+    } catch (IOException | ServerException e) {
+      // Content of files is read while documents are updated in the index, so single unreadable
+      // file fails the whole batch. Retry file by file to skip only failed ones.
+      return flushSeparately(batch);
+    } catch (Throwable e) {
+      failure.compareAndSet(null, e);
+      return 0;
+    } finally {
+      batch.clear();
+    }
+  }
+
+  private int flushSeparately(List<VirtualFile> batch) {
+    int indexed = 0;
+    for (VirtualFile file : batch) {
+      try {
+        if (file.exists()) {
+          searcher.updateDocuments(singletonList(searcher.readDocument(file)));
+          indexed++;
+        }
+      } catch (IOException | ServerException e) {
+        statistics.fileFailed();
+        LOG.warn("Unable index file '{}': {}", file.getPath(), e.getMessage());
+      } catch (Throwable e) {
+        failure.compareAndSet(null, e);
+        break;
+      }
+    }
+    statistics.batchCommitted(indexed);
+    return indexed;
+  }
+
+  private class WalkTask extends RecursiveAction {
+    private final VirtualFile folder;
+
+    WalkTask(VirtualFile folder) {
+      this.folder = folder;
+    }
+
+    @Override
+    protected void compute() {
+      if (failure.get() != null || !folder.exists()) {
+        return;
+      }
+      final List<WalkTask> subTasks = new ArrayList<>();
+      try {
+        for (VirtualFile child : folder.getChildren()) {
+          if (child.isFolder()) {
+            subTasks.add(new WalkTask(child));
+          } else {
+            queue.put(child);
+            statistics.fileDiscovered();
+          }
+        }
+        statistics.folderVisited();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        failure.compareAndSet(null, e);
+        return;
+      } catch (Throwable e) {
+        failure.compareAndSet(null, e);
+        return;
+      }
+      invokeAll(subTasks);
+    }
+  }
+}
@@ -10,27 +10,38 @@
  */
 package org.eclipse.che.api.vfs.watcher;
 
-import static java.nio.file.FileVisitResult.CONTINUE;
-import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
-import static java.nio.file.Files.exists;
-import static java.nio.file.Files.walkFileTree;
-import static java.util.stream.Collectors.toSet;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.vfs.VirtualFileFilter.ACCEPT_ALL;
 
 import com.google.inject.Inject;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.FileVisitResult;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
-import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.impl.file.FileTreeWatcher;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
 import org.eclipse.che.commons.schedule.ScheduleRate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +49,21 @@ import org.slf4j.LoggerFactory;
 /**
  * Walks a file system tree, register addition, update and removal of file system items. On events
  * runs corresponding consumers that can be registered in DI configuration modules.
+ *
+ * <p>Walker works in one of two modes:
+ *
+ * <ul>
+ *   <li>polling mode, each walk checks modification time of every file and directory of the tree;
+ *   <li>event driven mode, enabled with {@code che.fs.tree_walker.event_driven}, each walk checks
+ *       only directories which entries were reported as changed by file tree watcher. Once in
+ *       {@code che.fs.tree_walker.reconcile_period_sec} the whole tree is reconciled to catch
+ *       changes missed by the watcher, entries of directories which modification time did not
+ *       change are not checked during reconciliation. Directories which are not watched by file
+ *       tree watcher, see {@link FileTreeWatcher#isExcluded(Path)}, are checked on each walk as
+ *       in polling mode.
+ * </ul>
+ *
+ * Known items are kept in a tree of names rather than as a set of paths.
  */
 @Singleton
 public class FileTreeWalker {
@@ -55,8 +81,41 @@ public class FileTreeWalker {
   private final Set<Consumer<Path>> fileDeleteConsumers;
   private final Set<PathMatcher> fileExcludes;
 
-  private final Map<Path, Long> files = new HashMap<>();
-  private final Map<Path, Long> directories = new HashMap<>();
+  private final FileWatcherNotificationHandler notificationHandler;
+  private final boolean eventDriven;
+  private final long reconcilePeriodMs;
+  private final Predicate<Path> unwatchedDirectories;
+  private final Set<Path> changedPaths;
+  private final FileWatcherNotificationListener notificationListener;
+
+  private Node tree;
+  private long lastReconcile;
+
+  public FileTreeWalker(
+      File root,
+      Set<Consumer<Path>> directoryUpdateConsumers,
+      Set<Consumer<Path>> directoryCreateConsumers,
+      Set<Consumer<Path>> directoryDeleteConsumers,
+      Set<PathMatcher> directoryExcludes,
+      Set<Consumer<Path>> fileUpdateConsumers,
+      Set<Consumer<Path>> fileCreateConsumers,
+      Set<Consumer<Path>> fileDeleteConsumers,
+      Set<PathMatcher> fileExcludes) {
+    this(
+        root,
+        directoryUpdateConsumers,
+        directoryCreateConsumers,
+        directoryDeleteConsumers,
+        directoryExcludes,
+        fileUpdateConsumers,
+        fileCreateConsumers,
+        fileDeleteConsumers,
+        fileExcludes,
+        null,
+        false,
+        0,
+        null);
+  }
 
   @Inject
   public FileTreeWalker(
@@ -68,7 +127,45 @@ public class FileTreeWalker {
       @Named("che.fs.file.update") Set<Consumer<Path>> fileUpdateConsumers,
       @Named("che.fs.file.create") Set<Consumer<Path>> fileCreateConsumers,
       @Named("che.fs.file.delete") Set<Consumer<Path>> fileDeleteConsumers,
-      @Named("che.fs.file.excludes") Set<PathMatcher> fileExcludes) {
+      @Named("che.fs.file.excludes") Set<PathMatcher> fileExcludes,
+      FileWatcherNotificationHandler notificationHandler,
+      FileTreeWatcher fileTreeWatcher,
+      @Named("che.fs.tree_walker.event_driven") boolean eventDriven,
+      @Named("che.fs.tree_walker.reconcile_period_sec") long reconcilePeriodSec) {
+    this(
+        root,
+        directoryUpdateConsumers,
+        directoryCreateConsumers,
+        directoryDeleteConsumers,
+        directoryExcludes,
+        fileUpdateConsumers,
+        fileCreateConsumers,
+        fileDeleteConsumers,
+        fileExcludes,
+        notificationHandler,
+        eventDriven,
+        reconcilePeriodSec,
+        path -> fileTreeWatcher.isExcluded(root.toPath().relativize(path)));
+  }
+
+  /**
+   * @param unwatchedDirectories matches directories which are not watched by file tree watcher,
+   *     changes in such directories are not reported with events and are checked on each walk
+   */
+  FileTreeWalker(
+      File root,
+      Set<Consumer<Path>> directoryUpdateConsumers,
+      Set<Consumer<Path>> directoryCreateConsumers,
+      Set<Consumer<Path>> directoryDeleteConsumers,
+      Set<PathMatcher> directoryExcludes,
+      Set<Consumer<Path>> fileUpdateConsumers,
+      Set<Consumer<Path>> fileCreateConsumers,
+      Set<Consumer<Path>> fileDeleteConsumers,
+      Set<PathMatcher> fileExcludes,
+      FileWatcherNotificationHandler notificationHandler,
+      boolean eventDriven,
+      long reconcilePeriodSec,
+      Predicate<Path> unwatchedDirectories) {
     this.root = root;
 
     this.directoryUpdateConsumers = directoryUpdateConsumers;
@@ -81,55 +178,53 @@ public class FileTreeWalker {
 
     this.directoryExcludes = directoryExcludes;
     this.fileExcludes = fileExcludes;
+
+    this.notificationHandler = notificationHandler;
+    this.eventDriven = eventDriven;
+    this.reconcilePeriodMs = SECONDS.toMillis(reconcilePeriodSec);
+    this.unwatchedDirectories = unwatchedDirectories;
+    this.changedPaths = ConcurrentHashMap.newKeySet();
+    this.notificationListener =
+        new FileWatcherNotificationListener(ACCEPT_ALL) {
+          @Override
+          public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
+            pathChanged(virtualFile.getPath());
+          }
+        };
+  }
+
+  @PostConstruct
+  void subscribe() {
+    if (eventDriven && notificationHandler != null) {
+      notificationHandler.addNotificationListener(notificationListener);
+    }
+  }
+
+  @PreDestroy
+  void unsubscribe() {
+    if (eventDriven && notificationHandler != null) {
+      notificationHandler.removeNotificationListener(notificationListener);
+    }
   }
 
   @ScheduleRate(period = 10)
   void walk() {
     try {
-      LOG.debug("Tree walk started");
-
-      Set<Path> deletedFiles = files.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-      fileDeleteConsumers.forEach(deletedFiles::forEach);
-      files.keySet().removeAll(deletedFiles);
-
-      Set<Path> deletedDirectories =
-          directories.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-      directoryDeleteConsumers.forEach(deletedDirectories::forEach);
-      directories.keySet().removeAll(deletedDirectories);
-
-      walkFileTree(
-          root.toPath(),
-          new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
-                throws IOException {
-              for (PathMatcher matcher : directoryExcludes) {
-                if (matcher.matches(dir)) {
-                  return SKIP_SUBTREE;
-                }
-              }
-
-              updateFsTreeAndAcceptConsumables(
-                  directories, directoryUpdateConsumers, directoryCreateConsumers, dir, attrs);
-
-              return CONTINUE;
-            }
-
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-              for (PathMatcher matcher : fileExcludes) {
-                if (matcher.matches(file)) {
-                  return CONTINUE;
-                }
-              }
-
-              updateFsTreeAndAcceptConsumables(
-                  files, fileUpdateConsumers, fileCreateConsumers, file, attrs);
-
-              return CONTINUE;
-            }
-          });
-      LOG.debug("Tree walk finished");
+      if (!eventDriven) {
+        LOG.debug("Tree walk started");
+        reconcileTree(true);
+        LOG.debug("Tree walk finished");
+      } else if (tree == null || System.currentTimeMillis() - lastReconcile >= reconcilePeriodMs) {
+        LOG.debug("Tree reconciliation started");
+        reconcileTree(false);
+        lastReconcile = System.currentTimeMillis();
+        LOG.debug("Tree reconciliation finished");
+      } else {
+        reconcileChangedPaths();
+        if (unwatchedDirectories != null) {
+          reconcileUnwatchedDirectories(tree, root.toPath());
+        }
+      }
     } catch (NoSuchFileException e) {
       LOG.debug(
           "Trying to process a file, however seems like it is already not present: {}",
@@ -139,23 +234,247 @@ public class FileTreeWalker {
     }
   }
 
-  private void updateFsTreeAndAcceptConsumables(
-      Map<Path, Long> items,
-      Set<Consumer<Path>> updateConsumer,
-      Set<Consumer<Path>> createConsumer,
-      Path path,
-      BasicFileAttributes attrs) {
-    Long lastModifiedActual = attrs.lastModifiedTime().toMillis();
+  /** Registers change of the item with given path, the path is relative to the tree root. */
+  void pathChanged(org.eclipse.che.api.vfs.Path path) {
+    final Path rootPath = root.toPath();
+    changedPaths.add(path.isRoot() ? rootPath : rootPath.resolve(path.toString().substring(1)));
+  }
 
-    if (items.containsKey(path)) {
-      Long lastModifiedStored = items.get(path);
-      if (!lastModifiedActual.equals(lastModifiedStored)) {
-        updateConsumer.forEach(it -> it.accept(path));
-        items.put(path, lastModifiedActual);
+  /**
+   * Checks the whole tree.
+   *
+   * @param checkAll when {@code false} entries of directories which modification time did not
+   *     change are not checked, only their subdirectories are checked
+   */
+  private void reconcileTree(boolean checkAll) throws IOException {
+    final Path rootPath = root.toPath();
+    final BasicFileAttributes attrs = readAttributes(rootPath);
+    if (attrs == null || !attrs.isDirectory() || isExcluded(directoryExcludes, rootPath)) {
+      if (tree != null && attrs == null) {
+        fireDeleted(tree, rootPath);
+        tree = null;
       }
+      return;
+    }
+    if (tree == null) {
+      tree = new Node(attrs.lastModifiedTime().toMillis(), true);
+      accept(directoryCreateConsumers, rootPath);
+      reconcileEntries(tree, rootPath, true, true);
     } else {
-      createConsumer.forEach(it -> it.accept(path));
-      items.put(path, lastModifiedActual);
+      reconcileDirectory(tree, rootPath, attrs, checkAll, true);
+    }
+  }
+
+  /** Checks directories which entries were reported as changed since the previous walk. */
+  private void reconcileChangedPaths() throws IOException {
+    final Path rootPath = root.toPath();
+    final Set<Path> directories = new HashSet<>();
+    for (Iterator<Path> it = changedPaths.iterator(); it.hasNext(); ) {
+      final Path path = it.next();
+      it.remove();
+      if (path.startsWith(rootPath)) {
+        directories.add(path.equals(rootPath) ? rootPath : path.getParent());
+      }
+    }
+    for (Path directory : directories) {
+      // the closest known directory, the rest of the path is new
+      Node node = tree;
+      Path nodePath = rootPath;
+      for (Path name : rootPath.relativize(directory)) {
+        final Node child = node.children.get(name.toString());
+        if (child == null || child.children == null) {
+          break;
+        }
+        node = child;
+        nodePath = nodePath.resolve(name);
+      }
+      final BasicFileAttributes attrs = readAttributes(nodePath);
+      if (attrs == null || !attrs.isDirectory()) {
+        if (!nodePath.equals(rootPath)) {
+          // removal of the directory is registered by its parent
+          changedPaths.add(nodePath);
+        }
+      } else {
+        reconcileDirectory(node, nodePath, attrs, true, false);
+      }
+    }
+  }
+
+  /** Checks the whole subtrees of known directories which are not watched by file tree watcher. */
+  private void reconcileUnwatchedDirectories(Node node, Path path) throws IOException {
+    for (Map.Entry<String, Node> entry : new ArrayList<>(node.children.entrySet())) {
+      final Node child = entry.getValue();
+      if (child.children == null) {
+        continue;
+      }
+      final Path childPath = path.resolve(entry.getKey());
+      if (!unwatchedDirectories.test(childPath)) {
+        reconcileUnwatchedDirectories(child, childPath);
+        continue;
+      }
+      final BasicFileAttributes attrs = readAttributes(childPath);
+      if (attrs == null || !attrs.isDirectory()) {
+        // removal of the directory is registered by its parent
+        changedPaths.add(childPath);
+      } else {
+        reconcileDirectory(child, childPath, attrs, true, true);
+      }
+    }
+  }
+
+  /**
+   * Compares entries of known directory with the actual ones and runs consumers for the changes.
+   *
+   * @param checkEntries when {@code false} and directory modification time did not change entries
+   *     of the directory are not listed and files are not checked
+   * @param recursive whether known subdirectories should be checked
+   */
+  private void reconcileDirectory(
+      Node node, Path path, BasicFileAttributes attrs, boolean checkEntries, boolean recursive)
+      throws IOException {
+    final long lastModified = attrs.lastModifiedTime().toMillis();
+    final boolean modified = node.lastModified != lastModified;
+    if (modified) {
+      node.lastModified = lastModified;
+      accept(directoryUpdateConsumers, path);
+    }
+    if (modified || checkEntries) {
+      reconcileEntries(node, path, recursive, checkEntries);
+      return;
+    }
+    if (recursive) {
+      for (Map.Entry<String, Node> entry : new ArrayList<>(node.children.entrySet())) {
+        final Node child = entry.getValue();
+        if (child.children != null) {
+          final Path childPath = path.resolve(entry.getKey());
+          final BasicFileAttributes childAttrs = readAttributes(childPath);
+          if (childAttrs == null || !childAttrs.isDirectory()) {
+            // directory was replaced or removed, parent modification time must change then,
+            // check it on the next walk
+            continue;
+          }
+          reconcileDirectory(child, childPath, childAttrs, false, true);
+        }
+      }
+    }
+  }
+
+  /**
+   * Lists entries of the directory and compares them with the known ones. New directories are
+   * walked completely.
+   *
+   * @param recursive whether known subdirectories should be checked
+   * @param checkAll whether all entries of known subdirectories should be checked or only entries
+   *     of modified ones
+   */
+  private void reconcileEntries(Node node, Path path, boolean recursive, boolean checkAll)
+      throws IOException {
+    final Set<String> existing = new HashSet<>();
+    final List<Path> entries = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
+      for (Path entry : stream) {
+        entries.add(entry);
+      }
+    } catch (NoSuchFileException e) {
+      // removal of the directory is registered by its parent
+      return;
+    }
+    for (Path entry : entries) {
+      final String name = entry.getFileName().toString();
+      final BasicFileAttributes attrs = readAttributes(entry);
+      if (attrs == null) {
+        continue;
+      }
+      existing.add(name);
+      Node child = node.children.get(name);
+      if (child != null && child.isDirectory() != attrs.isDirectory()) {
+        fireDeleted(child, entry);
+        node.children.remove(name);
+        child = null;
+      }
+      final long lastModified = attrs.lastModifiedTime().toMillis();
+      if (attrs.isDirectory()) {
+        if (isExcluded(directoryExcludes, entry)) {
+          continue;
+        }
+        if (child == null) {
+          child = new Node(lastModified, true);
+          node.children.put(name, child);
+          accept(directoryCreateConsumers, entry);
+          reconcileEntries(child, entry, true, true);
+        } else if (recursive) {
+          reconcileDirectory(child, entry, attrs, checkAll, true);
+        }
+      } else {
+        if (isExcluded(fileExcludes, entry)) {
+          continue;
+        }
+        if (child == null) {
+          node.children.put(name, new Node(lastModified, false));
+          accept(fileCreateConsumers, entry);
+        } else if (child.lastModified != lastModified) {
+          child.lastModified = lastModified;
+          accept(fileUpdateConsumers, entry);
+        }
+      }
+    }
+    for (Iterator<Map.Entry<String, Node>> it = node.children.entrySet().iterator();
+        it.hasNext(); ) {
+      final Map.Entry<String, Node> entry = it.next();
+      if (!existing.contains(entry.getKey())) {
+        it.remove();
+        fireDeleted(entry.getValue(), path.resolve(entry.getKey()));
+      }
+    }
+  }
+
+  /** Runs delete consumers for the item and all items of its subtree. */
+  private void fireDeleted(Node node, Path path) {
+    if (node.children == null) {
+      accept(fileDeleteConsumers, path);
+      return;
+    }
+    for (Map.Entry<String, Node> entry : node.children.entrySet()) {
+      fireDeleted(entry.getValue(), path.resolve(entry.getKey()));
+    }
+    accept(directoryDeleteConsumers, path);
+  }
+
+  private static BasicFileAttributes readAttributes(Path path) throws IOException {
+    try {
+      return Files.readAttributes(path, BasicFileAttributes.class, NOFOLLOW_LINKS);
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+  }
+
+  private static boolean isExcluded(Set<PathMatcher> excludes, Path path) {
+    for (PathMatcher matcher : excludes) {
+      if (matcher.matches(path)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void accept(Set<Consumer<Path>> consumers, Path path) {
+    consumers.forEach(it -> it.accept(path));
+  }
+
+  /** Known file or directory, names of entries are kept by parent directory. */
+  private static class Node {
+    /** Entries of directory by name, {@code null} for files. */
+    final Map<String, Node> children;
+
+    long lastModified;
+
+    Node(long lastModified, boolean directory) {
+      this.lastModified = lastModified;
+      this.children = directory ? new HashMap<>() : null;
+    }
+
+    boolean isDirectory() {
+      return children != null;
     }
   }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ByteRange}. */
+public class ByteRangeTest {
+
+  @DataProvider
+  public Object[][] ranges() {
+    return new Object[][] {
+      {"bytes=0-99", 0, 100, "bytes 0-99/1000"},
+      {"bytes=500-", 500, 500, "bytes 500-999/1000"},
+      {"bytes=-100", 900, 100, "bytes 900-999/1000"},
+      {"bytes=-5000", 0, 1000, "bytes 0-999/1000"},
+      {"bytes=900-5000", 900, 100, "bytes 900-999/1000"},
+      {"Bytes=1 - 1", 1, 1, "bytes 1-1/1000"}
+    };
+  }
+
+  @Test(dataProvider = "ranges")
+  public void shouldParseRange(String header, long first, long length, String contentRange) {
+    final ByteRange range = ByteRange.parse(header, 1000);
+
+    assertEquals(range.getFirst(), first);
+    assertEquals(range.length(), length);
+    assertEquals(range.toContentRange(1000), contentRange);
+  }
+
+  @DataProvider
+  public Object[][] ignoredHeaders() {
+    return new Object[][] {
+      {null}, {"items=0-10"}, {"bytes=0-10,20-30"}, {"bytes=10-0"}, {"bytes=a-b"}, {"bytes=-"}
+    };
+  }
+
+  @Test(dataProvider = "ignoredHeaders")
+  public void shouldIgnoreMalformedOrMultipleRanges(String header) {
+    assertNull(ByteRange.parse(header, 1000));
+  }
+
+  @Test
+  public void shouldNotSatisfyRangeOutOfContent() {
+    final ByteRange range = ByteRange.parse("bytes=1000-", 1000);
+
+    assertFalse(range.isSatisfiable());
+    assertEquals(range.toContentRange(1000), "bytes */1000");
+  }
+
+  @Test
+  public void shouldNotSatisfySuffixRangeOfEmptyContent() {
+    assertFalse(ByteRange.parse("bytes=-10", 0).isSatisfiable());
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.Random;
+import org.testng.annotations.Test;
+
+/** Tests for {@link PieceTable}. */
+public class PieceTableTest {
+
+  @Test
+  public void shouldInsertText() {
+    final PieceTable text = new PieceTable("hello world");
+
+    text.insert(5, ",");
+    text.insert(0, ">");
+    text.insert(13, "!");
+
+    assertEquals(text.toString(), ">hello, world!");
+    assertEquals(text.length(), 14);
+  }
+
+  @Test
+  public void shouldRemoveTextAcrossPieces() {
+    final PieceTable text = new PieceTable("hello world");
+    text.insert(5, " brave new");
+
+    text.remove(3, 10);
+
+    assertEquals(text.toString(), "helew world");
+  }
+
+  @Test
+  public void shouldApplySequentialTyping() {
+    final PieceTable text = new PieceTable("");
+    final String typed = "public class Test {}";
+
+    for (int i = 0; i < typed.length(); i++) {
+      text.insert(i, typed.substring(i, i + 1));
+    }
+    text.remove(typed.length() - 1, 1);
+    text.insert(typed.length() - 1, "\n}");
+
+    assertEquals(text.toString(), "public class Test {\n}");
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void shouldNotInsertBeyondEndOfText() {
+    new PieceTable("abc").insert(4, "d");
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void shouldNotRemoveBeyondEndOfText() {
+    new PieceTable("abc").remove(2, 2);
+  }
+
+  @Test
+  public void shouldProduceSameTextAsStringBuilder() {
+    final Random random = new Random(42);
+    final StringBuilder expected = new StringBuilder("initial content of the file\n");
+    final PieceTable text = new PieceTable(expected.toString());
+
+    for (int i = 0; i < 10_000; i++) {
+      final int offset = random.nextInt(expected.length() + 1);
+      if (random.nextInt(3) > 0 || expected.length() == 0) {
+        final String inserted = Integer.toString(i, 36);
+        expected.insert(offset, inserted);
+        text.insert(offset, inserted);
+      } else {
+        final int count = random.nextInt(Math.min(20, expected.length() - offset) + 1);
+        expected.delete(offset, offset + count);
+        text.remove(offset, count);
+      }
+    }
+
+    assertEquals(text.toString(), expected.toString());
+    assertEquals(text.length(), expected.length());
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.HashSet;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ProjectPathIndex}. */
+public class ProjectPathIndexTest {
+  private ProjectPathIndex index;
+  private RegisteredProject project;
+  private RegisteredProject module;
+  private RegisteredProject submodule;
+
+  @BeforeMethod
+  public void setUp() {
+    index = new ProjectPathIndex();
+    project = mockProject("/project");
+    module = mockProject("/project/module");
+    submodule = mockProject("/project/module/sub/submodule");
+    index.put(project);
+    index.put(module);
+    index.put(submodule);
+    index.put(mockProject("/projectile"));
+  }
+
+  @Test
+  public void shouldFindOwnerOfPath() {
+    assertEquals(index.getOwner("/project"), project);
+    assertEquals(index.getOwner("/project/src/Main.java"), project);
+    assertEquals(index.getOwner("/project/module/"), module);
+    assertEquals(index.getOwner("project/module/sub/file"), module);
+    assertEquals(index.getOwner("/project/module/sub/submodule/pom.xml"), submodule);
+    assertNull(index.getOwner("/other/module"));
+    assertNull(index.getOwner("/"));
+  }
+
+  @Test
+  public void shouldFindDescendantsOfPath() {
+    assertEquals(
+        new HashSet<>(index.getDescendants("/project")),
+        new HashSet<>(asList("/project/module", "/project/module/sub/submodule")));
+    assertEquals(index.getDescendants("/project/module/sub"), asList(submodule.getPath()));
+    assertEquals(index.getDescendants("/").size(), 4);
+    assertTrue(index.getDescendants("/project/module/sub/submodule").isEmpty());
+    assertTrue(index.getDescendants("/other").isEmpty());
+  }
+
+  @Test
+  public void shouldRemoveProjectAndKeepItsDescendants() {
+    assertEquals(index.remove("/project/module"), module);
+
+    assertNull(index.get("/project/module"));
+    assertEquals(index.getOwner("/project/module/pom.xml"), project);
+    assertEquals(index.getOwner("/project/module/sub/submodule/pom.xml"), submodule);
+    assertEquals(index.getDescendants("/project"), asList(submodule.getPath()));
+  }
+
+  @Test
+  public void shouldReplaceProjectWithTheSamePath() {
+    final RegisteredProject updated = mockProject("/project/module");
+
+    index.put(updated);
+
+    assertEquals(index.get("/project/module"), updated);
+    assertEquals(index.getOwner("/project/module/pom.xml"), updated);
+    assertEquals(index.getAll().size(), 4);
+  }
+
+  private static RegisteredProject mockProject(String path) {
+    final RegisteredProject project = mock(RegisteredProject.class);
+    when(project.getPath()).thenReturn(path);
+    return project;
+  }
+}
@@ -1001,6 +1001,48 @@ public class ProjectServiceTest {
     assertEquals(new String(writer.getBody()), myContent);
   }
 
+  @Test
+  public void testGetFileContentRange() throws Exception {
+    String myContent = "to be or not to be";
+    pm.getProject("my_project")
+        .getBaseFolder()
+        .createFile("test.txt", myContent.getBytes(Charset.defaultCharset()));
+    Map<String, List<String>> headers = new HashMap<>();
+    headers.put("Range", singletonList("bytes=9-"));
+    ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+    ContainerResponse response =
+        launcher.service(
+            GET,
+            "http://localhost:8080/api/project/file/my_project/test.txt",
+            "http://localhost:8080/api",
+            headers,
+            null,
+            writer,
+            null);
+    assertEquals(response.getStatus(), 206, "Error: " + response.getEntity());
+    assertEquals(response.getHttpHeaders().getFirst("Content-Range"), "bytes 9-17/18");
+    assertEquals(new String(writer.getBody()), "not to be");
+  }
+
+  @Test
+  public void testGetFileContentUnsatisfiableRange() throws Exception {
+    pm.getProject("my_project")
+        .getBaseFolder()
+        .createFile("test.txt", "to be or not to be".getBytes(Charset.defaultCharset()));
+    Map<String, List<String>> headers = new HashMap<>();
+    headers.put("Range", singletonList("bytes=100-"));
+    ContainerResponse response =
+        launcher.service(
+            GET,
+            "http://localhost:8080/api/project/file/my_project/test.txt",
+            "http://localhost:8080/api",
+            headers,
+            null,
+            null);
+    assertEquals(response.getStatus(), 416);
+    assertEquals(response.getHttpHeaders().getFirst("Content-Range"), "bytes */18");
+  }
+
   @Test
   public void testUpdateFileContent() throws Exception {
     String myContent = "<test>hello</test>";
@@ -11,7 +11,11 @@
 package org.eclipse.che.api.vfs;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -241,4 +245,107 @@ public class PathLockFactoryTest extends TestCase {
     waiter.await();
     assertEquals(2, acquired.get());
   }
+
+  public void testSharedLockInsideExclusiveLockOfSameThread() throws Exception {
+    PathLockFactory.PathLock exclusiveLock = pathLockFactory.getLock(path, true).acquire(100);
+    PathLockFactory.PathLock sharedLock = pathLockFactory.getLock(path, false).acquire(100);
+    sharedLock.release();
+    exclusiveLock.release();
+
+    // path must not stay locked
+    pathLockFactory.getLock(path.getParent(), true).acquire(100).release();
+    pathLockFactory.checkClean();
+  }
+
+  public void testLocksOfDisjointPathsDoNotBlock() throws Exception {
+    final CountDownLatch starter = new CountDownLatch(1);
+    final CountDownLatch finisher = new CountDownLatch(1);
+    Thread t =
+        new Thread() {
+          @Override
+          public void run() {
+            PathLockFactory.PathLock lock = pathLockFactory.getLock(path, true).acquire();
+            starter.countDown();
+            try {
+              finisher.await();
+            } catch (InterruptedException ignored) {
+            } finally {
+              lock.release();
+            }
+          }
+        };
+    t.start();
+    starter.await();
+    try {
+      // sibling of the locked path and shared lock of its parent's sibling
+      pathLockFactory.getLock(path.getParent().newPath("d"), true).acquire(100).release();
+      pathLockFactory.getLock(Path.of("/a/e"), false).acquire(100).release();
+    } finally {
+      finisher.countDown();
+      t.join();
+    }
+  }
+
+  public void testConcurrentLocksOfDisjointAndOverlappingSubtrees() throws Throwable {
+    final Path[] paths = {
+      Path.of("/a"),
+      Path.of("/a/b"),
+      Path.of("/a/b/c"),
+      Path.of("/a/b/d"),
+      Path.of("/a/e/f"),
+      Path.of("/g/h"),
+      Path.of("/g/i"),
+      Path.of("/j/k/l")
+    };
+    final int threads = 8;
+    final Map<Thread, PathLockFactory.PathLock> held = new HashMap<>();
+    final Map<PathLockFactory.PathLock, Path> lockedPaths = new HashMap<>();
+    final List<Throwable> errors = new CopyOnWriteArrayList<>();
+    final CountDownLatch waiter = new CountDownLatch(threads);
+    for (int i = 0; i < threads; i++) {
+      final Random random = new Random(i);
+      new Thread(
+              () -> {
+                try {
+                  for (int j = 0; j < 500; j++) {
+                    final Path lockPath = paths[random.nextInt(paths.length)];
+                    final PathLockFactory.PathLock lock =
+                        pathLockFactory.getLock(lockPath, random.nextInt(4) == 0).acquire(10_000);
+                    synchronized (held) {
+                      // no conflicting lock may be held by other threads
+                      for (PathLockFactory.PathLock other : held.values()) {
+                        final Path otherPath = lockedPaths.get(other);
+                        final boolean related =
+                            otherPath.equals(lockPath)
+                                || otherPath.isChild(lockPath)
+                                || lockPath.isChild(otherPath);
+                        if (related && (lock.isExclusive() || other.isExclusive())) {
+                          throw new AssertionError(lockPath + " conflicts with " + otherPath);
+                        }
+                      }
+                      held.put(Thread.currentThread(), lock);
+                      lockedPaths.put(lock, lockPath);
+                    }
+                    Thread.yield();
+                    synchronized (held) {
+                      held.remove(Thread.currentThread());
+                      lockedPaths.remove(lock);
+                    }
+                    lock.release();
+                  }
+                } catch (Throwable e) {
+                  errors.add(e);
+                } finally {
+                  waiter.countDown();
+                }
+              })
+          .start();
+    }
+    waiter.await();
+
+    if (!errors.isEmpty()) {
+      throw errors.get(0);
+    }
+    pathLockFactory.checkClean();
+  }
 }
@@ -19,6 +19,7 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import com.google.common.base.Strings;
 import com.google.common.io.ByteStreams;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -27,6 +28,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
@@ -53,6 +56,7 @@ public class TarArchiverTest {
 
   private File testDirectory;
   private VirtualFile vfsRoot;
+  private ExecutorService executor;
 
   @Before
   public void setUp() throws Exception {
@@ -73,10 +77,12 @@ public class TarArchiverTest {
     when(searcherProvider.getSearcher(eq(virtualFileSystem), eq(true))).thenReturn(searcher);
     when(searcherProvider.getSearcher(eq(virtualFileSystem))).thenReturn(searcher);
     vfsRoot = virtualFileSystem.getRoot();
+    executor = Executors.newFixedThreadPool(4);
   }
 
   @After
   public void tearDown() throws Exception {
+    executor.shutdownNow();
     IoUtil.deleteRecursive(testDirectory);
     FileCleaner.stop();
   }
@@ -196,6 +202,34 @@ public class TarArchiverTest {
     }
   }
 
+  @Test
+  public void compressesAndExtractsFolderInParallel() throws Exception {
+    VirtualFile folder = createFileTreeForArchiving();
+    VirtualFile manyFilesFolder = folder.createFolder("many");
+    for (int i = 0; i < 100; i++) {
+      manyFilesFolder.createFile("file" + i + ".txt", TEST_CONTENT + i);
+    }
+    folder.createFile("big.txt", Strings.repeat(TEST_CONTENT, 300_000));
+    Map<String, String> entries =
+        getFileTreeAsList(folder)
+            .stream()
+            .collect(toMap(f -> getTarEntryName(folder, f), this::readContentUnchecked));
+    ByteArrayOutputStream compressedFolder = new ByteArrayOutputStream();
+
+    new TarArchiver(folder, executor, 4).compress(compressedFolder);
+    assertThatTarArchiveContainsAllEntries(
+        new ByteArrayInputStream(compressedFolder.toByteArray()), newHashMap(entries));
+
+    VirtualFile extractFolder = vfsRoot.createFolder("extracted");
+    new TarArchiver(extractFolder, executor, 4)
+        .extract(new ByteArrayInputStream(compressedFolder.toByteArray()), false, 0);
+    Map<String, String> extractedEntries =
+        getFileTreeAsList(extractFolder)
+            .stream()
+            .collect(toMap(f -> getTarEntryName(extractFolder, f), this::readContentUnchecked));
+    assertEquals(entries, extractedEntries);
+  }
+
   private Map<String, String> readArchiveEntries(InputStream archive) throws Exception {
     Map<String, String> entries = newHashMap();
     try (TarArchiveInputStream tarIn = new TarArchiveInputStream(archive)) {
@@ -214,9 +248,9 @@ public class TarArchiverTest {
     if (virtualFile.isFolder()) {
       return "<none>";
     }
-    try {
-      return virtualFile.getContentAsString();
-    } catch (ForbiddenException | ServerException e) {
+    try (InputStream content = virtualFile.getContent()) {
+      return new String(ByteStreams.toByteArray(content));
+    } catch (ForbiddenException | ServerException | IOException e) {
       throw new RuntimeException(e);
     }
   }
@@ -19,6 +19,7 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import com.google.common.base.Strings;
 import com.google.common.io.ByteStreams;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -27,6 +28,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -53,6 +57,7 @@ public class ZipArchiverTest {
 
   private File testDirectory;
   private VirtualFile vfsRoot;
+  private ExecutorService executor;
 
   @Before
   public void setUp() throws Exception {
@@ -73,10 +78,12 @@ public class ZipArchiverTest {
     when(searcherProvider.getSearcher(eq(virtualFileSystem), eq(true))).thenReturn(searcher);
     when(searcherProvider.getSearcher(eq(virtualFileSystem))).thenReturn(searcher);
     vfsRoot = virtualFileSystem.getRoot();
+    executor = Executors.newFixedThreadPool(4);
   }
 
   @After
   public void tearDown() throws Exception {
+    executor.shutdownNow();
     IoUtil.deleteRecursive(testDirectory);
     FileCleaner.stop();
   }
@@ -196,6 +203,34 @@ public class ZipArchiverTest {
     }
   }
 
+  @Test
+  public void compressesAndExtractsFolderInParallel() throws Exception {
+    VirtualFile folder = createFileTreeForArchiving();
+    VirtualFile manyFilesFolder = folder.createFolder("many");
+    for (int i = 0; i < 100; i++) {
+      manyFilesFolder.createFile("file" + i + ".txt", TEST_CONTENT + i);
+    }
+    folder.createFile("big.txt", Strings.repeat(TEST_CONTENT, 300_000));
+    Map<String, String> entries =
+        getFileTreeAsList(folder)
+            .stream()
+            .collect(toMap(f -> getZipEntryName(folder, f), this::readContentUnchecked));
+    ByteArrayOutputStream compressedFolder = new ByteArrayOutputStream();
+
+    new ZipArchiver(folder, Deflater.BEST_SPEED, executor, 4).compress(compressedFolder);
+    assertThatZipArchiveContainsAllEntries(
+        new ByteArrayInputStream(compressedFolder.toByteArray()), newHashMap(entries));
+
+    VirtualFile extractFolder = vfsRoot.createFolder("extracted");
+    new ZipArchiver(extractFolder, Deflater.BEST_SPEED, executor, 4)
+        .extract(new ByteArrayInputStream(compressedFolder.toByteArray()), false, 0);
+    Map<String, String> extractedEntries =
+        getFileTreeAsList(extractFolder)
+            .stream()
+            .collect(toMap(f -> getZipEntryName(extractFolder, f), this::readContentUnchecked));
+    assertEquals(entries, extractedEntries);
+  }
+
   private Map<String, String> readArchiveEntries(InputStream archive) throws Exception {
     Map<String, String> entries = newHashMap();
     try (ZipInputStream zip = new ZipInputStream(archive)) {
@@ -215,9 +250,9 @@ public class ZipArchiverTest {
     if (virtualFile.isFolder()) {
       return "<none>";
     }
-    try {
-      return virtualFile.getContentAsString();
-    } catch (ForbiddenException | ServerException e) {
+    try (InputStream content = virtualFile.getContent()) {
+      return new String(ByteStreams.toByteArray(content));
+    } catch (ForbiddenException | ServerException | IOException e) {
       throw new RuntimeException(e);
     }
   }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.impl.file;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteSource;
+import java.io.ByteArrayInputStream;
+import java.util.Map;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileVisitor;
+import org.eclipse.che.api.vfs.impl.file.CachingHashSumsCounter.HashSum;
+import org.eclipse.che.commons.lang.Pair;
+import org.junit.Test;
+
+public class CachingHashSumsCounterTest {
+  private static final long MODIFIED = System.currentTimeMillis() - 60_000;
+
+  @Test
+  public void doesNotReadContentOfUnchangedFiles() throws Exception {
+    VirtualFile file = mockFile("/a/file", "file1".getBytes(), MODIFIED);
+    VirtualFile folder = mockFolder("/a", file);
+    Map<String, HashSum> known = ImmutableMap.of("file", new HashSum("cached", 5, MODIFIED));
+
+    CachingHashSumsCounter counter = new CachingHashSumsCounter(folder, Hashing.md5(), known);
+
+    assertEquals(newArrayList(Pair.of("cached", "file")), counter.countHashSums());
+    assertFalse(counter.isChanged());
+    verify(file, never()).getContent();
+  }
+
+  @Test
+  public void countsHashSumsOfChangedFilesAndForgetsDeletedFiles() throws Exception {
+    VirtualFile modified = mockFile("/a/modified", "file1".getBytes(), MODIFIED);
+    VirtualFile created = mockFile("/a/b/created", "file2".getBytes(), MODIFIED);
+    VirtualFile folder = mockFolder("/a", modified, mockFolder("/a/b", created));
+    Map<String, HashSum> known =
+        ImmutableMap.of(
+            "modified", new HashSum("cached", 5, MODIFIED - 1000),
+            "deleted", new HashSum("cached", 5, MODIFIED));
+
+    CachingHashSumsCounter counter = new CachingHashSumsCounter(folder, Hashing.md5(), known);
+
+    assertEquals(
+        newHashSet(
+            Pair.of(countMd5Sum("file1".getBytes()), "modified"),
+            Pair.of(countMd5Sum("file2".getBytes()), "b/created")),
+        newHashSet(counter.countHashSums()));
+    assertTrue(counter.isChanged());
+    assertEquals(
+        ImmutableMap.of(
+            "modified", new HashSum(countMd5Sum("file1".getBytes()), 5, MODIFIED),
+            "b/created", new HashSum(countMd5Sum("file2".getBytes()), 5, MODIFIED)),
+        counter.getCountedHashSums());
+  }
+
+  @Test
+  public void doesNotRememberHashSumsOfRecentlyModifiedFiles() throws Exception {
+    VirtualFile file = mockFile("/a/file", "file1".getBytes(), System.currentTimeMillis());
+    VirtualFile folder = mockFolder("/a", file);
+
+    CachingHashSumsCounter counter =
+        new CachingHashSumsCounter(folder, Hashing.md5(), ImmutableMap.of());
+
+    assertEquals(
+        newArrayList(Pair.of(countMd5Sum("file1".getBytes()), "file")), counter.countHashSums());
+    assertTrue(counter.getCountedHashSums().isEmpty());
+  }
+
+  private String countMd5Sum(byte[] bytes) throws Exception {
+    return ByteSource.wrap(bytes).hash(Hashing.md5()).toString();
+  }
+
+  private VirtualFile mockFile(String path, byte[] content, long lastModified) throws Exception {
+    VirtualFile file = mock(VirtualFile.class);
+    when(file.isFile()).thenReturn(true);
+    when(file.getPath()).thenReturn(Path.of(path));
+    when(file.getLength()).thenReturn((long) content.length);
+    when(file.getLastModificationDate()).thenReturn(lastModified);
+    when(file.getContent()).thenReturn(new ByteArrayInputStream(content));
+    accept(file);
+    return file;
+  }
+
+  private VirtualFile mockFolder(String path, VirtualFile... children) throws Exception {
+    VirtualFile folder = mock(VirtualFile.class);
+    when(folder.isFolder()).thenReturn(true);
+    when(folder.getPath()).thenReturn(Path.of(path));
+    when(folder.getChildren()).thenReturn(newArrayList(children));
+    accept(folder);
+    return folder;
+  }
+
+  private void accept(VirtualFile virtualFile) throws Exception {
+    doAnswer(
+            invocation -> {
+              ((VirtualFileVisitor) invocation.getArguments()[0]).visit(virtualFile);
+              return null;
+            })
+        .when(virtualFile)
+        .accept(any(VirtualFileVisitor.class));
+  }
+}
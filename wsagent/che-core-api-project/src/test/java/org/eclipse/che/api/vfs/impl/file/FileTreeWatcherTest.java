@@ -10,6 +10,7 @@
  */
 package org.eclipse.che.api.vfs.impl.file;
 
+import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
@@ -304,6 +305,48 @@ public class FileTreeWatcherTest {
     assertEquals(deleted, newHashSet(deletedEvents.getAllValues()));
   }
 
+  @Test
+  public void watchesDeleteAndCreateOfManyFilesInDirectory() throws Exception {
+    fileWatcherTestTree.createDirectory("", "watched");
+    List<String> files = newArrayList();
+    for (int i = 0; i < 1000; i++) {
+      files.add(fileWatcherTestTree.createFile("watched"));
+    }
+
+    FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
+    fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
+    fileWatcher.startup();
+
+    Thread.sleep(500);
+
+    Set<String> deleted = newHashSet();
+    for (int i = 0; i < files.size(); i += 2) {
+      fileWatcherTestTree.delete(files.get(i));
+      deleted.add(files.get(i));
+    }
+    Set<String> created = newHashSet();
+    for (int i = 0; i < 100; i++) {
+      created.add(fileWatcherTestTree.createFile("watched"));
+    }
+
+    Thread.sleep(5000);
+
+    verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
+    ArgumentCaptor<String> deletedEvents = ArgumentCaptor.forClass(String.class);
+    verify(notificationHandler, times(deleted.size()))
+        .handleFileWatcherEvent(
+            eq(DELETED), eq(testDirectory), deletedEvents.capture(), anyBoolean());
+    assertEquals(deleted, newHashSet(deletedEvents.getAllValues()));
+    ArgumentCaptor<String> createdEvents = ArgumentCaptor.forClass(String.class);
+    verify(notificationHandler, times(created.size()))
+        .handleFileWatcherEvent(
+            eq(CREATED), eq(testDirectory), createdEvents.capture(), anyBoolean());
+    assertEquals(created, newHashSet(createdEvents.getAllValues()));
+    // directory modification is reported once for the whole burst
+    verify(notificationHandler)
+        .handleFileWatcherEvent(eq(MODIFIED), eq(testDirectory), eq("watched"), eq(true));
+  }
+
   @Test
   public void doesNotWatchExcludedDirectories() throws Exception {
     fileWatcherTestTree.createDirectory("", "excluded");
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.impl.file;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Map;
+import org.eclipse.che.api.vfs.impl.file.CachingHashSumsCounter.HashSum;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HashSumsSerializerTest {
+  private HashSumsSerializer hashSumsSerializer;
+
+  @Before
+  public void setUp() throws Exception {
+    hashSumsSerializer = new HashSumsSerializer();
+  }
+
+  @Test
+  public void writesAndReadsHashSums() throws Exception {
+    Map<String, HashSum> hashSums =
+        ImmutableMap.of(
+            "a", new HashSum("0cc175b9c0f1b6a831c399e269772661", 1, 1000),
+            "b/c", new HashSum("4a8a08f09d37b73795649038408b5f33", 5, 2000));
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    hashSumsSerializer.write(new DataOutputStream(bytes), hashSums);
+
+    assertEquals(
+        hashSums,
+        hashSumsSerializer.read(
+            new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+  }
+}
@@ -12,6 +12,7 @@ package org.eclipse.che.api.vfs.impl.file;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -25,6 +26,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.hash.Hashing;
 import com.google.common.io.ByteSource;
@@ -36,11 +38,19 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
@@ -317,6 +327,27 @@ public class LocalVirtualFileTest {
     assertEquals(expected, newHashSet(folder.countMd5Sums()));
   }
 
+  @Test
+  public void countsMd5SumsOfFilesUpdatedAfterPreviousCounting() throws Exception {
+    VirtualFile root = getRoot();
+    VirtualFile folder = root.createFolder(generateFolderName());
+    VirtualFile file1 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+    VirtualFile file2 = folder.createFile(generateFileName(), "xxx");
+    long modified = System.currentTimeMillis() - 60_000;
+    assertTrue(file1.toIoFile().setLastModified(modified));
+    assertTrue(file2.toIoFile().setLastModified(modified));
+    folder.countMd5Sums();
+
+    file2.updateContent("yyy");
+    Set<Pair<String, String>> expected =
+        newHashSet(
+            Pair.of(countMd5Sum(file1), file1.getPath().subPath(folder.getPath()).toString()),
+            Pair.of(countMd5Sum(file2), file2.getPath().subPath(folder.getPath()).toString()));
+
+    assertEquals(expected, newHashSet(folder.countMd5Sums()));
+    assertEquals(2, folder.getChildren().size());
+  }
+
   @Test
   public void returnsEmptyListWhenCountMd5SumsOnFile() throws Exception {
     VirtualFile root = getRoot();
@@ -368,6 +399,41 @@ public class LocalVirtualFileTest {
     assertEquals(expectedResult, children);
   }
 
+  @Test
+  public void listsChildrenOfFoldersConcurrently() throws Exception {
+    VirtualFile root = getRoot();
+    List<VirtualFile> folders = newArrayList();
+    for (int i = 0; i < 4; i++) {
+      VirtualFile folder = root.createFolder(generateFolderName());
+      for (int j = 0; j < 20; j++) {
+        folder.createFile(generateFileName(), DEFAULT_CONTENT);
+      }
+      folder.createFolder(generateFolderName());
+      folders.add(folder);
+    }
+    Map<VirtualFile, List<VirtualFile>> expectedChildren = new HashMap<>();
+    for (VirtualFile folder : folders) {
+      List<VirtualFile> children = newArrayList(folder.getChildren());
+      Collections.sort(children);
+      expectedChildren.put(folder, children);
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Boolean>> results = newArrayList();
+      for (int i = 0; i < 200; i++) {
+        VirtualFile folder = folders.get(i % folders.size());
+        results.add(
+            executor.submit(() -> expectedChildren.get(folder).equals(folder.getChildren())));
+      }
+      for (Future<Boolean> result : results) {
+        assertTrue(result.get(10, SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void getsChild() throws Exception {
     VirtualFile root = getRoot();
@@ -422,6 +488,88 @@ public class LocalVirtualFileTest {
     assertEquals(DEFAULT_CONTENT, new String(content));
   }
 
+  @Test
+  public void transfersRangeOfContentToChannel() throws Exception {
+    VirtualFile root = getRoot();
+    VirtualFile file = root.createFile(generateFileName(), DEFAULT_CONTENT);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    file.transferContentTo(2, 4, Channels.newChannel(bytes));
+
+    assertEquals(DEFAULT_CONTENT.substring(2, 6), bytes.toString());
+  }
+
+  @Test
+  public void failsTransferContentRangeOutOfFileBounds() throws Exception {
+    VirtualFile root = getRoot();
+    VirtualFile file = root.createFile(generateFileName(), DEFAULT_CONTENT);
+    WritableByteChannel channel = Channels.newChannel(ByteStreams.nullOutputStream());
+
+    thrown.expect(ServerException.class);
+
+    file.transferContentTo(2, DEFAULT_CONTENT.length(), channel);
+  }
+
+  @Test
+  public void transfersConsistentContentWhileFileIsUpdatedConcurrently() throws Exception {
+    VirtualFile root = getRoot();
+    // content is larger than the in-memory buffer, so it is spooled to a file before transfer
+    String oldContent = Strings.repeat("a", 300 * 1024);
+    String newContent = Strings.repeat("b", 300 * 1024);
+    VirtualFile file = root.createFile(generateFileName(), oldContent);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    CountDownLatch transferStarted = new CountDownLatch(1);
+    CountDownLatch updated = new CountDownLatch(1);
+    WritableByteChannel target =
+        new WritableByteChannel() {
+          final WritableByteChannel delegate = Channels.newChannel(bytes);
+
+          @Override
+          public int write(ByteBuffer src) throws IOException {
+            transferStarted.countDown();
+            try {
+              // slow client, the rest of content is sent after the file is updated
+              updated.await(10, SECONDS);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            return delegate.write(src);
+          }
+
+          @Override
+          public boolean isOpen() {
+            return delegate.isOpen();
+          }
+
+          @Override
+          public void close() throws IOException {
+            delegate.close();
+          }
+        };
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> transfer =
+          executor.submit(
+              () -> {
+                file.transferContentTo(0, oldContent.length(), target);
+                return null;
+              });
+      assertTrue(transferStarted.await(10, SECONDS));
+
+      long updateStart = System.currentTimeMillis();
+      file.updateContent(newContent);
+      long updateTime = System.currentTimeMillis() - updateStart;
+      updated.countDown();
+
+      transfer.get(10, SECONDS);
+      assertTrue("Update waited for the transfer " + updateTime + "ms", updateTime < 5_000);
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(oldContent, bytes.toString());
+    assertEquals(newContent, file.getContentAsString());
+  }
+
   @Test
   public void getsContentAsString() throws Exception {
     VirtualFile root = getRoot();
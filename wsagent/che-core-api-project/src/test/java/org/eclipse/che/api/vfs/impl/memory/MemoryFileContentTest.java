@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.impl.memory;
+
+import static org.eclipse.che.api.vfs.impl.memory.MemoryFileContent.SEGMENT_SIZE;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+public class MemoryFileContentTest {
+  @Test
+  public void readsOffHeapContentCreatedFromBytes() throws Exception {
+    byte[] bytes = randomBytes(1000);
+
+    MemoryFileContent content = MemoryFileContent.offHeap(bytes);
+
+    assertEquals(bytes.length, content.length());
+    assertArrayEquals(bytes, content.toByteArray());
+    assertArrayEquals(bytes, ByteStreams.toByteArray(content.openStream()));
+  }
+
+  @Test
+  public void readsOffHeapContentCreatedFromStreamOfFewSegments() throws Exception {
+    byte[] bytes = randomBytes(SEGMENT_SIZE * 2 + 17);
+
+    MemoryFileContent content = MemoryFileContent.offHeap(new ByteArrayInputStream(bytes));
+
+    assertEquals(bytes.length, content.length());
+    assertArrayEquals(bytes, content.toByteArray());
+    assertArrayEquals(bytes, ByteStreams.toByteArray(content.openStream()));
+  }
+
+  @Test
+  public void allocatesOffHeapSegmentsOfExactSizeWhenStreamIsReadInChunks() throws Exception {
+    byte[] bytes = randomBytes(SEGMENT_SIZE * 2 + 17);
+    InputStream in =
+        new ByteArrayInputStream(bytes) {
+          @Override
+          public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, 1000));
+          }
+        };
+
+    MemoryFileContent content = MemoryFileContent.offHeap(in);
+
+    ByteBuffer[] segments = content.segments();
+    assertEquals(3, segments.length);
+    assertEquals(SEGMENT_SIZE, segments[0].capacity());
+    assertEquals(SEGMENT_SIZE, segments[1].capacity());
+    assertEquals(17, segments[2].capacity());
+    assertArrayEquals(bytes, content.toByteArray());
+  }
+
+  @Test
+  public void doesNotAllocateEmptyOffHeapSegmentWhenStreamEndsAtSegmentBoundary()
+      throws Exception {
+    byte[] bytes = randomBytes(SEGMENT_SIZE * 2);
+
+    MemoryFileContent content = MemoryFileContent.offHeap(new ByteArrayInputStream(bytes));
+
+    assertEquals(2, content.segments().length);
+    assertArrayEquals(bytes, content.toByteArray());
+  }
+
+  @Test
+  public void readsOffHeapContentByteByByteAndWithSkips() throws Exception {
+    byte[] bytes = randomBytes(SEGMENT_SIZE + 10);
+    MemoryFileContent content = MemoryFileContent.offHeap(new ByteArrayInputStream(bytes));
+
+    InputStream in = content.openStream();
+    assertEquals(bytes[0] & 0xFF, in.read());
+    assertEquals(SEGMENT_SIZE, in.skip(SEGMENT_SIZE));
+    for (int i = SEGMENT_SIZE + 1; i < bytes.length; i++) {
+      assertEquals(bytes[i] & 0xFF, in.read());
+    }
+    assertEquals(-1, in.read());
+  }
+
+  @Test
+  public void readsSameOffHeapContentWithFewStreams() throws Exception {
+    byte[] bytes = randomBytes(100);
+    MemoryFileContent content = MemoryFileContent.offHeap(bytes);
+
+    InputStream first = content.openStream();
+    first.skip(50);
+
+    assertArrayEquals(bytes, ByteStreams.toByteArray(content.openStream()));
+    assertEquals(50, ByteStreams.toByteArray(first).length);
+  }
+
+  @Test
+  public void transfersRangeOfOffHeapContentAcrossSegments() throws Exception {
+    byte[] bytes = randomBytes(SEGMENT_SIZE * 3);
+    MemoryFileContent content = MemoryFileContent.offHeap(new ByteArrayInputStream(bytes));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    content.transferTo(SEGMENT_SIZE - 10, SEGMENT_SIZE + 20, Channels.newChannel(out));
+
+    assertArrayEquals(
+        Arrays.copyOfRange(bytes, SEGMENT_SIZE - 10, SEGMENT_SIZE * 2 + 10), out.toByteArray());
+  }
+
+  @Test
+  public void doesNotShareBytesWithHeapContent() throws Exception {
+    byte[] bytes = randomBytes(10);
+    MemoryFileContent content = MemoryFileContent.onHeap(bytes);
+    byte[] expected = bytes.clone();
+
+    bytes[0]++;
+    content.toByteArray()[1]++;
+
+    assertArrayEquals(expected, content.toByteArray());
+  }
+
+  @Test
+  public void returnsEmptyContentForEmptyStream() throws Exception {
+    assertSame(
+        MemoryFileContent.EMPTY, MemoryFileContent.offHeap(new ByteArrayInputStream(new byte[0])));
+    assertEquals(-1, MemoryFileContent.EMPTY.openStream().read());
+  }
+
+  private static byte[] randomBytes(int length) {
+    byte[] bytes = new byte[length];
+    new Random(length).nextBytes(bytes);
+    return bytes;
+  }
+}
@@ -31,8 +31,11 @@ import com.google.common.hash.Hashing;
 import com.google.common.io.ByteSource;
 import com.google.common.io.ByteStreams;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -70,12 +73,17 @@ public class MemoryVirtualFileTest {
   public void setUp() throws Exception {
     archiverFactory = mock(ArchiverFactory.class);
     SearcherProvider searcherProvider = mock(SearcherProvider.class);
-    fileSystem = new MemoryVirtualFileSystem(archiverFactory, searcherProvider);
+    fileSystem = createFileSystem(archiverFactory, searcherProvider);
     searcher = mock(Searcher.class);
     when(searcherProvider.getSearcher(eq(fileSystem), eq(true))).thenReturn(searcher);
     when(searcherProvider.getSearcher(eq(fileSystem))).thenReturn(searcher);
   }
 
+  protected MemoryVirtualFileSystem createFileSystem(
+      ArchiverFactory archiverFactory, SearcherProvider searcherProvider) {
+    return new MemoryVirtualFileSystem(archiverFactory, searcherProvider);
+  }
+
   @Test
   public void getsName() throws Exception {
     String name = generateFileName();
@@ -351,6 +359,28 @@ public class MemoryVirtualFileTest {
     assertEquals(DEFAULT_CONTENT, new String(content));
   }
 
+  @Test
+  public void transfersRangeOfContentToChannel() throws Exception {
+    VirtualFile root = getRoot();
+    VirtualFile file = root.createFile(generateFileName(), DEFAULT_CONTENT);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    file.transferContentTo(2, 4, Channels.newChannel(bytes));
+
+    assertEquals(DEFAULT_CONTENT.substring(2, 6), bytes.toString());
+  }
+
+  @Test
+  public void failsTransferContentRangeOutOfFileBounds() throws Exception {
+    VirtualFile root = getRoot();
+    VirtualFile file = root.createFile(generateFileName(), DEFAULT_CONTENT);
+    WritableByteChannel channel = Channels.newChannel(ByteStreams.nullOutputStream());
+
+    thrown.expect(ServerException.class);
+
+    file.transferContentTo(2, DEFAULT_CONTENT.length(), channel);
+  }
+
   @Test
   public void getsContentAsString() throws Exception {
     VirtualFile root = getRoot();
@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.impl.memory;
+
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.search.SearcherProvider;
+
+/** Runs tests of {@link MemoryVirtualFile} against file system which keeps content off-heap. */
+public class OffHeapMemoryVirtualFileTest extends MemoryVirtualFileTest {
+  @Override
+  protected MemoryVirtualFileSystem createFileSystem(
+      ArchiverFactory archiverFactory, SearcherProvider searcherProvider) {
+    return new MemoryVirtualFileSystem(archiverFactory, searcherProvider, true);
+  }
+}
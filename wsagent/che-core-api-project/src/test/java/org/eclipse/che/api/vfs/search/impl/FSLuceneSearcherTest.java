@@ -226,6 +226,24 @@ public class FSLuceneSearcherTest {
     assertEquals(result.getResults().get(0).getData().size(), 2);
   }
 
+  @Test
+  public void includesLineNumbersAndContentInPositions() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+    folder.createFile(
+        "xxx.txt", TEST_CONTENT[0] + "\n" + TEST_CONTENT[1] + "\r\n" + TEST_CONTENT[4]);
+    searcher.init(virtualFileSystem);
+
+    SearchResult result =
+        searcher.search(new QueryExpression().setText("think").setIncludePositions(true));
+    List<LuceneSearcher.OffsetData> data = result.getResults().get(0).getData();
+    assertEquals(data.size(), 2);
+    assertEquals(data.get(0).lineNum, 2);
+    assertEquals(data.get(0).line, TEST_CONTENT[1]);
+    assertEquals(data.get(1).lineNum, 3);
+    assertEquals(data.get(1).line, TEST_CONTENT[4]);
+  }
+
   @DataProvider
   public Object[][] searchByName() {
     return new Object[][] {
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.search.impl;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class LineOffsetsTest {
+
+  @DataProvider
+  public Object[][] offsets() {
+    return new Object[][] {
+      {"first\nsecond\nthird", 0, 1, "first"},
+      {"first\nsecond\nthird", 5, 1, "first"},
+      {"first\nsecond\nthird", 6, 2, "second"},
+      {"first\nsecond\nthird", 14, 3, "third"},
+      {"first\r\nsecond\r\nthird", 6, 1, "first"},
+      {"first\r\nsecond\r\nthird", 7, 2, "second"},
+      {"first\rsecond\rthird", 13, 3, "third"},
+      {"single line", 7, 1, "single line"},
+      {"\n\nthird", 2, 3, "third"},
+    };
+  }
+
+  @Test(dataProvider = "offsets")
+  public void findsLineByOffset(String text, int offset, int lineNumber, String line) {
+    LineOffsets lineOffsets = new LineOffsets(text);
+
+    assertEquals(lineOffsets.getLineNumber(offset), lineNumber);
+    assertEquals(lineOffsets.getLine(lineNumber), line);
+  }
+
+  @Test
+  public void countsEmptyLastLine() {
+    LineOffsets lineOffsets = new LineOffsets("first\nsecond\n");
+
+    assertEquals(lineOffsets.getLineCount(), 3);
+    assertEquals(lineOffsets.getLine(3), "");
+  }
+
+  @Test
+  public void growsTableForManyLines() {
+    StringBuilder text = new StringBuilder();
+    for (int i = 1; i <= 100; i++) {
+      text.append("line").append(i).append('\n');
+    }
+    LineOffsets lineOffsets = new LineOffsets(text.toString());
+
+    int offset = text.indexOf("line57");
+    assertEquals(lineOffsets.getLineNumber(offset), 57);
+    assertEquals(lineOffsets.getLine(57), "line57");
+  }
+}
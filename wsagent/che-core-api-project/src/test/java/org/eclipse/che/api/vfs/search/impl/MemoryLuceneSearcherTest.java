@@ -11,8 +11,12 @@
 package org.eclipse.che.api.vfs.search.impl;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
@@ -21,9 +25,16 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.base.Optional;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
@@ -200,6 +211,39 @@ public class MemoryLuceneSearcherTest {
     assertEquals(newArrayList("/folder1/a/b/xxx.txt"), paths);
   }
 
+  @Test
+  public void doesNotStoreFileContentInIndex() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[2]);
+    searcher.init(virtualFileSystem);
+
+    try (DirectoryReader reader = DirectoryReader.open(searcher.getIndexWriter(), true)) {
+      Document document = reader.document(0);
+      assertEquals("/folder/xxx.txt", document.get("path"));
+      assertNull(document.get("text"));
+    }
+  }
+
+  @Test
+  public void readsHitPositionsFromFile() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    virtualFileSystem
+        .getRoot()
+        .createFolder("folder")
+        .createFile("xxx.txt", TEST_CONTENT[0] + '\n' + TEST_CONTENT[2]);
+    searcher.init(virtualFileSystem);
+
+    SearchResult result =
+        searcher.search(new QueryExpression().setText("not").setIncludePositions(true));
+
+    List<LuceneSearcher.OffsetData> data = result.getResults().get(0).getData();
+    assertEquals(1, data.size());
+    assertEquals("not", data.get(0).phrase);
+    assertEquals(TEST_CONTENT[0].length() + 10, data.get(0).startOffset);
+    assertEquals(2, data.get(0).lineNum);
+    assertEquals(TEST_CONTENT[2], data.get(0).line);
+  }
+
   @Test
   public void closesLuceneIndexWriterWhenSearcherClosed() throws Exception {
     VirtualFileSystem virtualFileSystem = virtualFileSystem();
@@ -235,6 +279,126 @@ public class MemoryLuceneSearcherTest {
     assertEquals(newArrayList("/folder/xxx.txt", "/folder/zzz.txt"), paths);
   }
 
+  @Test
+  public void indexesFileTreeInParallelWithBatches() throws Exception {
+    searcher = new MemoryLuceneSearcher(filter, closeCallback, 4, 7, false);
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    for (int i = 0; i < 10; i++) {
+      VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder" + i + "/sub");
+      for (int j = 0; j < 10; j++) {
+        folder.createFile(String.format("file%02d", j), TEST_CONTENT[j % TEST_CONTENT.length]);
+      }
+    }
+    searcher.init(virtualFileSystem);
+
+    SearchResult result = searcher.search(new QueryExpression().setText("be"));
+    assertEquals(20, result.getTotalHits());
+    IndexingStatistics statistics = searcher.getIndexingStatistics();
+    assertEquals(100, statistics.getDiscoveredFiles());
+    assertEquals(100, statistics.getIndexedFiles());
+    assertEquals(0, statistics.getFailedFiles());
+    assertFalse(statistics.isIndexing());
+  }
+
+  @Test
+  public void doesNotDuplicateDocumentsWhenFileTreeIsIndexedAgain() throws Exception {
+    searcher = new MemoryLuceneSearcher(filter, closeCallback, 4, 3, false);
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+    for (int i = 0; i < 10; i++) {
+      folder.createFile(String.format("file%02d", i), TEST_CONTENT[2]);
+    }
+    searcher.init(virtualFileSystem);
+
+    searcher.add(folder);
+
+    assertEquals(10, searcher.search(new QueryExpression().setText("be")).getTotalHits());
+  }
+
+  @Test
+  public void doesNotDuplicateDocumentsWhenFileTreeIsIndexedConcurrently() throws Exception {
+    searcher = new MemoryLuceneSearcher(filter, closeCallback, 2, 3, false);
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+    for (int i = 0; i < 10; i++) {
+      folder.createFile(String.format("file%02d", i), TEST_CONTENT[2]);
+    }
+    searcher.init(virtualFileSystem);
+
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      List<Future<?>> tasks = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        tasks.add(
+            executor.submit(
+                () -> {
+                  searcher.add(folder);
+                  return null;
+                }));
+        tasks.add(
+            executor.submit(
+                () -> {
+                  searcher.update(folder.getChild(Path.of("file00")));
+                  return null;
+                }));
+      }
+      for (Future<?> task : tasks) {
+        task.get(10, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(10, searcher.search(new QueryExpression().setText("be")).getTotalHits());
+  }
+
+  @Test
+  public void searchesByTextWithLeadingWildcardInNGramIndex() throws Exception {
+    searcher = new MemoryLuceneSearcher(filter, closeCallback, 1, 10, true);
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+    folder.createFile("xxx.txt", TEST_CONTENT[0]);
+    folder.createFile("zzz.txt", TEST_CONTENT[3]);
+    searcher.init(virtualFileSystem);
+
+    SearchResult result =
+        searcher.search(new QueryExpression().setText("*FLIGHT").setIncludePositions(true));
+
+    assertEquals(newArrayList("/folder/xxx.txt"), result.getFilePaths());
+    List<LuceneSearcher.OffsetData> data = result.getResults().get(0).getData();
+    assertEquals(1, data.size());
+    assertEquals("spaceflight", data.get(0).phrase);
+  }
+
+  @Test
+  public void searchesByNameWithLeadingWildcardInNGramIndex() throws Exception {
+    searcher = new MemoryLuceneSearcher(filter, closeCallback, 1, 10, true);
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+    folder.createFile("ProjectService.java", TEST_CONTENT[0]);
+    folder.createFile("ProjectManager.java", TEST_CONTENT[0]);
+    searcher.init(virtualFileSystem);
+
+    List<String> paths =
+        searcher.search(new QueryExpression().setName("*Service.java")).getFilePaths();
+
+    assertEquals(newArrayList("/folder/ProjectService.java"), paths);
+  }
+
+  @Test
+  public void usesQueryParserForShortLiteralsInNGramIndex() throws Exception {
+    searcher = new MemoryLuceneSearcher(filter, closeCallback, 1, 10, true);
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+    folder.createFile("xxx.txt", TEST_CONTENT[2]);
+    folder.createFile("zzz.txt", TEST_CONTENT[1]);
+    searcher.init(virtualFileSystem);
+
+    List<String> paths = searcher.search(new QueryExpression().setText("*e")).getFilePaths();
+
+    assertEquals(newArrayList("/folder/xxx.txt", "/folder/zzz.txt"), paths);
+  }
+
   @Test
   public void limitsNumberOfSearchResultsWhenMaxItemIsSet() throws Exception {
     VirtualFileSystem virtualFileSystem = virtualFileSystem();
@@ -298,6 +462,53 @@ public class MemoryLuceneSearcherTest {
     assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
   }
 
+  @Test
+  public void retrievesSearchResultWithPagesUsingCursor() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    for (int i = 0; i < 100; i++) {
+      virtualFileSystem
+          .getRoot()
+          .createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+    }
+    searcher.init(virtualFileSystem);
+
+    List<String> paths = newArrayList();
+    QueryExpression query = new QueryExpression().setText("spaceflight").setMaxItems(4);
+    for (int page = 0; page < 10; page++) {
+      SearchResult result = searcher.search(query);
+      paths.addAll(result.getFilePaths());
+      if (!result.getNextPageQueryExpression().isPresent()) {
+        break;
+      }
+      query = result.getNextPageQueryExpression().get();
+      assertNotNull(query.getCursor());
+      assertEquals(paths.size(), query.getSkipCount());
+    }
+
+    assertEquals(25, paths.size());
+    assertEquals(25, newHashSet(paths).size());
+  }
+
+  @Test
+  public void skipsResultsWhenSearcherOfCursorIsNotAvailable() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    for (int i = 0; i < 100; i++) {
+      virtualFileSystem
+          .getRoot()
+          .createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+    }
+    searcher.init(virtualFileSystem);
+
+    SearchResult firstPage =
+        searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(8));
+    QueryExpression nextPageQueryExpression = firstPage.getNextPageQueryExpression().get();
+    nextPageQueryExpression.setCursor("123456789-0-0-8").setMaxItems(100);
+
+    SearchResult lastPage = searcher.search(nextPageQueryExpression);
+    assertEquals(17, lastPage.getFilePaths().size());
+    assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
+  }
+
   private VirtualFileSystem virtualFileSystem() throws Exception {
     return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
   }
@@ -12,6 +12,7 @@ package org.eclipse.che.api.vfs.watcher;
 
 import static java.io.File.createTempFile;
 import static java.lang.Thread.sleep;
+import static java.util.concurrent.TimeUnit.HOURS;
 import static org.apache.commons.io.FileUtils.write;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -22,6 +23,7 @@ import java.nio.file.PathMatcher;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -190,4 +192,106 @@ public class FileTreeWalkerTest {
     fileTreeWalker.walk();
     verify(directoryCreatedConsumerMock, never()).accept(file.toPath());
   }
+
+  @Test
+  public void shouldRunFileUpdateConsumerOnlyAfterFileWatcherEventInEventDrivenMode()
+      throws Exception {
+    fileUpdateConsumers.add(fileUpdateConsumerMock);
+    FileTreeWalker eventDrivenWalker = createEventDrivenWalker(HOURS.toSeconds(1));
+
+    File file = rootFolder.newFile(TEST_FILE_NAME);
+    sleep(FS_LATENCY_DELAY);
+    eventDrivenWalker.walk();
+
+    write(file, TEST_FILE_CONTENT);
+    sleep(FS_LATENCY_DELAY);
+    eventDrivenWalker.walk();
+    verify(fileUpdateConsumerMock, never()).accept(file.toPath());
+
+    eventDrivenWalker.pathChanged(vfsPath(TEST_FILE_NAME));
+    eventDrivenWalker.walk();
+    verify(fileUpdateConsumerMock).accept(file.toPath());
+  }
+
+  @Test
+  public void shouldRunCreatedConsumersForNewDirectoryTreeOnFileWatcherEvent() throws Exception {
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    directoryCreateConsumers.add(directoryCreatedConsumerMock);
+    FileTreeWalker eventDrivenWalker = createEventDrivenWalker(HOURS.toSeconds(1));
+    eventDrivenWalker.walk();
+
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME, TEST_FOLDER_NAME);
+    File file = new File(folder, TEST_FILE_NAME);
+    file.createNewFile();
+    eventDrivenWalker.pathChanged(vfsPath(TEST_FOLDER_NAME, TEST_FOLDER_NAME, TEST_FILE_NAME));
+    eventDrivenWalker.walk();
+
+    verify(directoryCreatedConsumerMock).accept(folder.getParentFile().toPath());
+    verify(directoryCreatedConsumerMock).accept(folder.toPath());
+    verify(fileCreatedConsumerMock).accept(file.toPath());
+  }
+
+  @Test
+  public void shouldRunDeleteConsumersForDirectoryTreeOnReconciliation() throws Exception {
+    fileDeleteConsumers.add(fileDeleteConsumerMock);
+    directoryDeleteConsumers.add(directoryDeleteConsumerMock);
+    FileTreeWalker eventDrivenWalker = createEventDrivenWalker(0);
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    File file = new File(folder, TEST_FILE_NAME);
+    file.createNewFile();
+    sleep(FS_LATENCY_DELAY);
+    eventDrivenWalker.walk();
+
+    file.delete();
+    folder.delete();
+    sleep(FS_LATENCY_DELAY);
+    eventDrivenWalker.walk();
+
+    verify(fileDeleteConsumerMock).accept(file.toPath());
+    verify(directoryDeleteConsumerMock).accept(folder.toPath());
+  }
+
+  @Test
+  public void shouldRunFileCreatedConsumerForUnwatchedDirectoryOnEachWalkInEventDrivenMode()
+      throws Exception {
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    FileTreeWalker eventDrivenWalker =
+        createEventDrivenWalker(
+            HOURS.toSeconds(1), it -> it.getFileName().toString().equals(TEST_FOLDER_NAME));
+    eventDrivenWalker.walk();
+
+    File file = new File(folder, TEST_FILE_NAME);
+    file.createNewFile();
+    // file watcher does not report changes in unwatched directory
+    eventDrivenWalker.walk();
+
+    verify(fileCreatedConsumerMock).accept(file.toPath());
+  }
+
+  private FileTreeWalker createEventDrivenWalker(long reconcilePeriodSec) {
+    return createEventDrivenWalker(reconcilePeriodSec, it -> false);
+  }
+
+  private FileTreeWalker createEventDrivenWalker(
+      long reconcilePeriodSec, Predicate<Path> unwatchedDirectories) {
+    return new FileTreeWalker(
+        rootFolder.getRoot(),
+        directoryUpdateConsumers,
+        directoryCreateConsumers,
+        directoryDeleteConsumers,
+        directoryExcludes,
+        fileUpdateConsumers,
+        fileCreateConsumers,
+        fileDeleteConsumers,
+        fileExcludes,
+        null,
+        true,
+        reconcilePeriodSec,
+        unwatchedDirectories);
+  }
+
+  private static org.eclipse.che.api.vfs.Path vfsPath(String... elements) {
+    return org.eclipse.che.api.vfs.Path.of("/" + String.join("/", elements));
+  }
 }
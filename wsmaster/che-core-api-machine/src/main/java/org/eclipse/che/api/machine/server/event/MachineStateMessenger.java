@@ -17,6 +17,7 @@ import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.AsyncSubscription;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
@@ -56,7 +57,7 @@ public class MachineStateMessenger implements EventSubscriber<MachineStatusEvent
 
   @PostConstruct
   private void subscribe() {
-    eventService.subscribe(this);
+    eventService.subscribe(this, AsyncSubscription.ordered());
   }
 
   @PreDestroy
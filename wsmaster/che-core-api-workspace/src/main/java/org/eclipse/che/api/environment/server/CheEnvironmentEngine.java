@@ -20,16 +20,28 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -90,7 +102,9 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Size;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.slf4j.Logger;
 
@@ -122,6 +136,8 @@ public class CheEnvironmentEngine {
   private final ContainerNameGenerator containerNameGenerator;
   private final AgentRegistry agentRegistry;
   private final WorkspaceSharedPool sharedPool;
+  private final ExecutorService machineStartExecutor;
+  private final int machineStartParallelism;
 
   private volatile boolean isPreDestroyInvoked;
 
@@ -140,7 +156,8 @@ public class CheEnvironmentEngine {
       RecipeDownloader recipeDownloader,
       ContainerNameGenerator containerNameGenerator,
       AgentRegistry agentRegistry,
-      WorkspaceSharedPool sharedPool) {
+      WorkspaceSharedPool sharedPool,
+      @Named("che.workspace.machine_start_parallelism") int machineStartParallelism) {
     this.snapshotDao = snapshotDao;
     this.eventService = eventService;
     this.environmentParser = environmentParser;
@@ -162,6 +179,30 @@ public class CheEnvironmentEngine {
                 + apiEndpoint.substring(apiEndpoint.indexOf(":"))
                 + "/recipe/.*$)|(^/recipe/.*$)");
     this.containerNameGenerator = containerNameGenerator;
+    if (machineStartParallelism == 1) {
+      // machines are started one by one in the thread which starts environment
+      this.machineStartExecutor = MoreExecutors.newDirectExecutorService();
+      this.machineStartParallelism = 1;
+    } else {
+      this.machineStartParallelism =
+          machineStartParallelism > 1
+              ? machineStartParallelism
+              : Runtime.getRuntime().availableProcessors();
+      ThreadPoolExecutor executor =
+          new ThreadPoolExecutor(
+              this.machineStartParallelism,
+              this.machineStartParallelism,
+              60L,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              new ThreadFactoryBuilder()
+                  .setNameFormat("CheEnvironmentEngine-MachineStart-%d")
+                  .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                  .setDaemon(true)
+                  .build());
+      executor.allowCoreThreadTimeOut(true);
+      this.machineStartExecutor = executor;
+    }
   }
 
   /**
@@ -549,12 +590,15 @@ public class CheEnvironmentEngine {
     normalize(ownerName, workspaceId, internalEnv);
 
     List<String> servicesOrder = startStrategy.order(internalEnv);
+    // must be resolved before names normalization which replaces services names in links
+    Map<String, Set<String>> dependencies = startStrategy.dependencies(internalEnv);
 
     normalizeNames(internalEnv);
 
     EnvironmentHolder environmentHolder =
         new EnvironmentHolder(
             servicesOrder,
+            dependencies,
             internalEnv,
             envConfig,
             messageConsumer,
@@ -697,7 +741,15 @@ public class CheEnvironmentEngine {
             workspaceId, service.getId(), ownerName, machineName));
   }
 
-  /** Starts all machine from machine queue of environment. */
+  /**
+   * Starts all machine from machine queue of environment.
+   *
+   * <p>Machine is started as soon as all the machines it depends on are started, so machines which
+   * do not depend on each other are started concurrently. Not more than {@link
+   * #machineStartParallelism} machines of the environment are started at the same time. If start
+   * of any machine fails, starts of other machines are interrupted and environment is destroyed
+   * when they are finished.
+   */
   private void startEnvironmentQueue(
       String ownerName,
       String workspaceId,
@@ -706,11 +758,9 @@ public class CheEnvironmentEngine {
       boolean recover,
       MachineStartedHandler startedHandler)
       throws ServerException, AgentException, EnvironmentException {
-    // Starting all machines in environment one by one by getting configs
-    // from the corresponding starting queue.
-    // Config will be null only if there are no machines left in the queue
     String envName;
     MessageConsumer<MachineLogMessage> envLogger;
+    Map<String, Set<String>> dependencies;
     String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
     try (@SuppressWarnings("unused")
         Unlocker u = stripedLocks.readLock(workspaceId)) {
@@ -720,138 +770,86 @@ public class CheEnvironmentEngine {
       }
       envName = environmentHolder.name;
       envLogger = environmentHolder.logger;
+      dependencies = environmentHolder.dependencies;
     }
 
+    BlockingQueue<MachineStartTask> finished = new LinkedBlockingQueue<>();
+    Map<String, MachineStartTask> inProgress = new HashMap<>();
+    Set<String> started = new HashSet<>();
     try {
       machineProvider.createNetwork(networkId);
 
-      String machineName = queuePeekOrFail(workspaceId);
-      while (machineName != null) {
-        boolean isDev = devMachineName.equals(machineName);
-        // Environment start is failed when any machine start is failed, so if any error
-        // occurs during machine creation then environment start fail is reported and
-        // start resources such as queue and descriptor must be cleaned up
-
-        CheServiceImpl service;
-        @Nullable ExtendedMachine extendedMachine;
-        try (@SuppressWarnings("unused")
-            Unlocker u = stripedLocks.readLock(workspaceId)) {
-          EnvironmentHolder environmentHolder = environments.get(workspaceId);
-          if (environmentHolder == null) {
-            throw new EnvironmentStartInterruptedException(workspaceId, envName);
+      // Machines are taken from the queue in its order, machine is skipped
+      // until all the machines it depends on are started.
+      // Machine is removed from the queue when it is started, so
+      // queue is empty when all the machines are started
+      List<String> queue = queueCopyOrFail(workspaceId);
+      while (!queue.isEmpty()) {
+        checkInterruption(workspaceId, envName);
+        for (String machineName : queue) {
+          if (inProgress.size() >= machineStartParallelism) {
+            break;
+          }
+          if (!inProgress.containsKey(machineName)
+              && started.containsAll(dependencies.get(machineName))) {
+            MachineStartTask task =
+                new MachineStartTask(
+                    machineName,
+                    ThreadLocalPropagateContext.wrap(
+                        () -> {
+                          startQueuedMachine(
+                              ownerName,
+                              workspaceId,
+                              envName,
+                              envLogger,
+                              creator,
+                              machineName,
+                              devMachineName.equals(machineName),
+                              networkId,
+                              recover,
+                              startedHandler);
+                          return null;
+                        }),
+                    finished);
+            inProgress.put(machineName, task);
+            machineStartExecutor.execute(task);
           }
-          service = environmentHolder.environment.getServices().get(machineName);
-          extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
         }
-        // should not happen
-        if (service == null) {
-          LOG.error(
-              "Start of machine with name {} in workspace {} failed. Machine not found in start queue",
-              machineName,
-              workspaceId);
+        // should not happen, dependencies are validated when order of machines is resolved
+        if (inProgress.isEmpty()) {
           throw new ServerException(
               format(
-                  "Environment of workspace with ID '%s' failed due to internal error",
-                  workspaceId));
+                  "Machines '%s' of workspace '%s' can't be started. Dependencies are not started",
+                  queue, workspaceId));
         }
 
-        final String finalMachineName = machineName;
-        // needed to reuse startInstance method and
-        // create machine instances by different implementation-specific providers
-        MachineStarter machineStarter =
-            (machineLogger, machineSource) -> {
-              CheServiceImpl serviceWithNormalizedSource =
-                  normalizeServiceSource(service, machineSource);
-              return machineProvider.startService(
-                  ownerName,
-                  workspaceId,
-                  envName,
-                  finalMachineName,
-                  isDev,
-                  networkId,
-                  serviceWithNormalizedSource,
-                  machineLogger);
-            };
-
-        MachineImpl machine =
-            MachineImpl.builder()
-                .setConfig(
-                    MachineConfigImpl.builder()
-                        .setDev(isDev)
-                        .setLimits(new MachineLimitsImpl(bytesToMB(service.getMemLimit())))
-                        .setType("docker")
-                        .setName(machineName)
-                        .setEnvVariables(service.getEnvironment())
-                        .build())
-                .setId(service.getId())
-                .setWorkspaceId(workspaceId)
-                .setStatus(MachineStatus.CREATING)
-                .setEnvName(envName)
-                .setOwner(creator)
-                .build();
-
-        checkInterruption(workspaceId, envName);
-        Instance instance = startInstance(recover, envLogger, machine, machineStarter);
-        checkInterruption(workspaceId, envName);
-
-        startedHandler.started(instance, extendedMachine);
-        checkInterruption(workspaceId, envName);
-
-        // Machine destroying is an expensive operation which must be
-        // performed outside of the lock, this section checks if
-        // the environment wasn't stopped while it is starting and sets
-        // polled flag to true if the environment wasn't stopped.
-        // Also polls the proceeded machine configuration from the queue
-        boolean queuePolled = false;
-        try (@SuppressWarnings("unused")
-            Unlocker u = stripedLocks.writeLock(workspaceId)) {
-          ensurePreDestroyIsNotExecuted();
-          EnvironmentHolder environmentHolder = environments.get(workspaceId);
-          if (environmentHolder != null) {
-            final Queue<String> queue = environmentHolder.startQueue;
-            if (queue != null) {
-              queue.poll();
-              queuePolled = true;
-            }
-          }
+        MachineStartTask task;
+        try {
+          task = finished.take();
+        } catch (InterruptedException x) {
+          throw new EnvironmentStartInterruptedException(workspaceId, envName);
         }
-
-        // If machine config is not polled from the queue
-        // then environment was stopped and newly created machine
-        // must be destroyed
-        if (!queuePolled) {
-          try {
-            eventService.publish(
-                newDto(MachineStatusEvent.class)
-                    .withEventType(MachineStatusEvent.EventType.DESTROYING)
-                    .withDev(isDev)
-                    .withMachineName(machineName)
-                    .withMachineId(instance.getId())
-                    .withWorkspaceId(workspaceId));
-
-            instance.destroy();
-
-            removeMachine(workspaceId, instance.getId());
-
-            eventService.publish(
-                newDto(MachineStatusEvent.class)
-                    .withEventType(MachineStatusEvent.EventType.DESTROYED)
-                    .withDev(isDev)
-                    .withMachineName(machineName)
-                    .withMachineId(instance.getId())
-                    .withWorkspaceId(workspaceId));
-          } catch (MachineException e) {
-            LOG.error(e.getLocalizedMessage(), e);
+        inProgress.remove(task.machineName);
+        if (task.error != null) {
+          if (task.interrupted) {
+            throw new EnvironmentStartInterruptedException(workspaceId, envName);
           }
-          throw new ServerException(
-              "Workspace '"
-                  + workspaceId
-                  + "' start interrupted. Workspace stopped before all its machines started");
+          throw task.error;
         }
+        started.add(task.machineName);
 
-        machineName = queuePeekOrFail(workspaceId);
+        queue = queueCopyOrFail(workspaceId);
       }
     } catch (Exception e) {
+      // Machines which are being started are added to the environment,
+      // so environment can be destroyed only when their starts are finished
+      for (MachineStartTask task : inProgress.values()) {
+        task.cancel();
+      }
+      for (int i = inProgress.size(); i > 0; i--) {
+        Uninterruptibles.takeUninterruptibly(finished);
+      }
+
       boolean interrupted = Thread.interrupted();
       EnvironmentHolder env;
       try (@SuppressWarnings("unused")
@@ -878,6 +876,148 @@ public class CheEnvironmentEngine {
     }
   }
 
+  /**
+   * Starts machine from the queue of environment and removes it from the queue.
+   *
+   * <p>Environment start is failed when any machine start is failed, so if any error occurs during
+   * machine creation then environment start fail is reported and start resources such as queue and
+   * descriptor must be cleaned up.
+   */
+  private void startQueuedMachine(
+      String ownerName,
+      String workspaceId,
+      String envName,
+      MessageConsumer<MachineLogMessage> envLogger,
+      String creator,
+      String machineName,
+      boolean isDev,
+      String networkId,
+      boolean recover,
+      MachineStartedHandler startedHandler)
+      throws ServerException, AgentException, EnvironmentException {
+    long startTime = System.currentTimeMillis();
+    CheServiceImpl service;
+    @Nullable ExtendedMachine extendedMachine;
+    try (@SuppressWarnings("unused")
+        Unlocker u = stripedLocks.readLock(workspaceId)) {
+      EnvironmentHolder environmentHolder = environments.get(workspaceId);
+      if (environmentHolder == null) {
+        throw new EnvironmentStartInterruptedException(workspaceId, envName);
+      }
+      service = environmentHolder.environment.getServices().get(machineName);
+      extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
+    }
+    // should not happen
+    if (service == null) {
+      LOG.error(
+          "Start of machine with name {} in workspace {} failed. Machine not found in start queue",
+          machineName,
+          workspaceId);
+      throw new ServerException(
+          format(
+              "Environment of workspace with ID '%s' failed due to internal error", workspaceId));
+    }
+
+    // needed to reuse startInstance method and
+    // create machine instances by different implementation-specific providers
+    MachineStarter machineStarter =
+        (machineLogger, machineSource) -> {
+          CheServiceImpl serviceWithNormalizedSource =
+              normalizeServiceSource(service, machineSource);
+          return machineProvider.startService(
+              ownerName,
+              workspaceId,
+              envName,
+              machineName,
+              isDev,
+              networkId,
+              serviceWithNormalizedSource,
+              machineLogger);
+        };
+
+    MachineImpl machine =
+        MachineImpl.builder()
+            .setConfig(
+                MachineConfigImpl.builder()
+                    .setDev(isDev)
+                    .setLimits(new MachineLimitsImpl(bytesToMB(service.getMemLimit())))
+                    .setType("docker")
+                    .setName(machineName)
+                    .setEnvVariables(service.getEnvironment())
+                    .build())
+            .setId(service.getId())
+            .setWorkspaceId(workspaceId)
+            .setStatus(MachineStatus.CREATING)
+            .setEnvName(envName)
+            .setOwner(creator)
+            .build();
+
+    checkInterruption(workspaceId, envName);
+    Instance instance = startInstance(recover, envLogger, machine, machineStarter);
+    checkInterruption(workspaceId, envName);
+
+    startedHandler.started(instance, extendedMachine);
+    checkInterruption(workspaceId, envName);
+
+    // Machine destroying is an expensive operation which must be
+    // performed outside of the lock, this section checks if
+    // the environment wasn't stopped while it is starting and sets
+    // polled flag to true if the environment wasn't stopped.
+    // Also removes the proceeded machine from the queue
+    boolean queuePolled = false;
+    try (@SuppressWarnings("unused")
+        Unlocker u = stripedLocks.writeLock(workspaceId)) {
+      ensurePreDestroyIsNotExecuted();
+      EnvironmentHolder environmentHolder = environments.get(workspaceId);
+      if (environmentHolder != null) {
+        final Queue<String> queue = environmentHolder.startQueue;
+        if (queue != null) {
+          queue.remove(machineName);
+          queuePolled = true;
+        }
+      }
+    }
+
+    // If machine is not removed from the queue
+    // then environment was stopped and newly created machine
+    // must be destroyed
+    if (!queuePolled) {
+      try {
+        eventService.publish(
+            newDto(MachineStatusEvent.class)
+                .withEventType(MachineStatusEvent.EventType.DESTROYING)
+                .withDev(isDev)
+                .withMachineName(machineName)
+                .withMachineId(instance.getId())
+                .withWorkspaceId(workspaceId));
+
+        instance.destroy();
+
+        removeMachine(workspaceId, instance.getId());
+
+        eventService.publish(
+            newDto(MachineStatusEvent.class)
+                .withEventType(MachineStatusEvent.EventType.DESTROYED)
+                .withDev(isDev)
+                .withMachineName(machineName)
+                .withMachineId(instance.getId())
+                .withWorkspaceId(workspaceId));
+      } catch (MachineException e) {
+        LOG.error(e.getLocalizedMessage(), e);
+      }
+      throw new ServerException(
+          "Workspace '"
+              + workspaceId
+              + "' start interrupted. Workspace stopped before all its machines started");
+    }
+
+    long startDuration = System.currentTimeMillis() - startTime;
+    LOG.debug(
+        "Machine '{}' of workspace '{}' started in {} ms", machineName, workspaceId, startDuration);
+    eventService.publish(
+        new MachineStartTimeEvent(workspaceId, instance.getId(), machineName, startDuration));
+  }
+
   private void checkInterruption(String workspaceId, String envName)
       throws EnvironmentStartInterruptedException {
     if (Thread.interrupted()) {
@@ -1110,18 +1250,16 @@ public class CheEnvironmentEngine {
   }
 
   /**
-   * Gets head config from the queue associated with the given {@code workspaceId}.
-   *
-   * <p>Note that this method won't actually poll the queue.
+   * Returns copy of the queue associated with the given {@code workspaceId}.
    *
    * <p>Fails if environment start was interrupted by stop(queue doesn't exist).
    *
-   * @return machine config which is in the queue head, or null if there are no machine configs left
+   * @return names of machines which are not started yet in the order of their start
    * @throws ServerException if queue doesn't exist which means that {@link #stop(String)} executed
    *     before all the machines started
-   * @throws ServerException if pre destroy has been invoked before peek config retrieved
+   * @throws ServerException if pre destroy has been invoked before queue copy retrieved
    */
-  private String queuePeekOrFail(String workspaceId) throws ServerException {
+  private List<String> queueCopyOrFail(String workspaceId) throws ServerException {
     try (@SuppressWarnings("unused")
         Unlocker u = stripedLocks.readLock(workspaceId)) {
       ensurePreDestroyIsNotExecuted();
@@ -1132,7 +1270,7 @@ public class CheEnvironmentEngine {
                 + workspaceId
                 + " start interrupted. Workspace was stopped before all its machines were started");
       }
-      return environmentHolder.startQueue.peek();
+      return new ArrayList<>(environmentHolder.startQueue);
     }
   }
 
@@ -1197,6 +1335,13 @@ public class CheEnvironmentEngine {
   @SuppressWarnings("unused")
   void cleanup() {
     isPreDestroyInvoked = true;
+    // starts which are not begun yet are reported as interrupted,
+    // so threads which start environments are not blocked forever
+    for (Runnable notStarted : machineStartExecutor.shutdownNow()) {
+      MachineStartTask task = (MachineStartTask) notStarted;
+      task.cancel();
+      task.run();
+    }
     final java.io.File[] files = machineLogsDir.listFiles();
     if (files != null && files.length > 0) {
       for (java.io.File f : files) {
@@ -1311,6 +1456,7 @@ public class CheEnvironmentEngine {
 
   private static class EnvironmentHolder {
     final Queue<String> startQueue;
+    final Map<String, Set<String>> dependencies;
     final CheServicesEnvironmentImpl environment;
     final MessageConsumer<MachineLogMessage> logger;
     final String name;
@@ -1322,6 +1468,7 @@ public class CheEnvironmentEngine {
 
     EnvironmentHolder(
         List<String> startQueue,
+        Map<String, Set<String>> dependencies,
         CheServicesEnvironmentImpl environment,
         Environment environmentConfig,
         MessageConsumer<MachineLogMessage> envLogger,
@@ -1329,6 +1476,7 @@ public class CheEnvironmentEngine {
         String name,
         String networkId) {
       this.startQueue = new ArrayDeque<>(startQueue);
+      this.dependencies = dependencies;
       this.machines = new CopyOnWriteArrayList<>();
       this.logger = envLogger;
       this.status = envStatus;
@@ -1359,6 +1507,63 @@ public class CheEnvironmentEngine {
     }
   }
 
+  /**
+   * Start of machine of environment which puts itself into the queue of finished tasks when it is
+   * finished either successfully or not.
+   */
+  private static class MachineStartTask implements Runnable {
+    final String machineName;
+    final Callable<?> start;
+    final BlockingQueue<MachineStartTask> finished;
+
+    Exception error;
+    boolean interrupted;
+
+    private Thread runner;
+    private boolean cancelled;
+
+    MachineStartTask(
+        String machineName, Callable<?> start, BlockingQueue<MachineStartTask> finished) {
+      this.machineName = machineName;
+      this.start = start;
+      this.finished = finished;
+    }
+
+    @Override
+    public void run() {
+      try {
+        synchronized (this) {
+          if (cancelled) {
+            error = new ServerException(format("Start of machine '%s' is interrupted", machineName));
+            interrupted = true;
+            return;
+          }
+          runner = Thread.currentThread();
+        }
+        start.call();
+      } catch (Exception x) {
+        error = x;
+        interrupted = Thread.interrupted();
+      } catch (Error x) {
+        error = new ServerException(x.getLocalizedMessage(), x);
+        interrupted = Thread.interrupted();
+      } finally {
+        synchronized (this) {
+          runner = null;
+        }
+        finished.add(this);
+      }
+    }
+
+    /** Interrupts the start if it is in progress or prevents it if it is not begun yet. */
+    synchronized void cancel() {
+      cancelled = true;
+      if (runner != null) {
+        runner.interrupt();
+      }
+    }
+  }
+
   // cleanup machine if event about instance failure comes
   private class MachineCleaner implements EventSubscriber<InstanceStateEvent> {
     @Override
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.environment.server;
+
+/**
+ * Published by {@link CheEnvironmentEngine} when machine of environment is started, describes how
+ * long the start of the machine took including start of its agents.
+ */
+public class MachineStartTimeEvent {
+  private final String workspaceId;
+  private final String machineId;
+  private final String machineName;
+  private final long startDuration;
+
+  public MachineStartTimeEvent(
+      String workspaceId, String machineId, String machineName, long startDuration) {
+    this.workspaceId = workspaceId;
+    this.machineId = machineId;
+    this.machineName = machineName;
+    this.startDuration = startDuration;
+  }
+
+  public String getWorkspaceId() {
+    return workspaceId;
+  }
+
+  public String getMachineId() {
+    return machineId;
+  }
+
+  public String getMachineName() {
+    return machineName;
+  }
+
+  /** Returns duration of machine start in milliseconds. */
+  public long getStartDuration() {
+    return startDuration;
+  }
+
+  @Override
+  public String toString() {
+    return "MachineStartTimeEvent{"
+        + "workspaceId='"
+        + workspaceId
+        + '\''
+        + ", machineId='"
+        + machineId
+        + '\''
+        + ", machineName='"
+        + machineName
+        + '\''
+        + ", startDuration="
+        + startDuration
+        + '}';
+  }
+}
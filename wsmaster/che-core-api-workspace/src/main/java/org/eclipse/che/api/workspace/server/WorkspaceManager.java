@@ -17,6 +17,7 @@ import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
 import static java.util.Collections.emptyMap;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_CREATE_SNAPSHOT;
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_RESTORE_FROM_SNAPSHOT;
@@ -38,6 +39,7 @@ import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.workspace.Workspace;
@@ -53,7 +55,9 @@ import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.workspace.server.event.WorkspaceCreatedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceSummaryOrder;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -286,6 +290,54 @@ public class WorkspaceManager {
     return workspaces;
   }
 
+  /**
+   * Gets page of summaries of workspaces which user can read.
+   *
+   * <p>Summaries are fetched without workspace configurations and have statuses of workspace
+   * runtimes, so it is cheaper than {@link #getWorkspaces(String, boolean)} when only the list of
+   * workspaces is needed.
+   *
+   * @param user the id of the user
+   * @param order the order of summaries
+   * @param maxItems the maximum number of summaries to return
+   * @param skipCount the number of summaries to skip
+   * @return page of workspace summaries
+   * @throws NullPointerException when {@code user} or {@code order} is null
+   * @throws IllegalArgumentException when {@code maxItems} is not positive or {@code skipCount}
+   *     is negative
+   * @throws ServerException when any server error occurs while getting summaries with {@link
+   *     WorkspaceDao#getSummaries(String, WorkspaceSummaryOrder, int, long)}
+   */
+  public Page<WorkspaceSummaryImpl> getWorkspaceSummaries(
+      String user, WorkspaceSummaryOrder order, int maxItems, long skipCount)
+      throws ServerException {
+    requireNonNull(user, "Required non-null user id");
+    return injectStatuses(workspaceDao.getSummaries(user, order, maxItems, skipCount));
+  }
+
+  /**
+   * Gets page of summaries of workspaces which have given namespace.
+   *
+   * @param namespace the namespace to find workspaces
+   * @param order the order of summaries
+   * @param maxItems the maximum number of summaries to return
+   * @param skipCount the number of summaries to skip
+   * @return page of workspace summaries
+   * @throws NullPointerException when {@code namespace} or {@code order} is null
+   * @throws IllegalArgumentException when {@code maxItems} is not positive or {@code skipCount}
+   *     is negative
+   * @throws ServerException when any server error occurs while getting summaries with {@link
+   *     WorkspaceDao#getSummariesByNamespace(String, WorkspaceSummaryOrder, int, long)}
+   * @see #getWorkspaceSummaries(String, WorkspaceSummaryOrder, int, long)
+   */
+  public Page<WorkspaceSummaryImpl> getSummariesByNamespace(
+      String namespace, WorkspaceSummaryOrder order, int maxItems, long skipCount)
+      throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    return injectStatuses(
+        workspaceDao.getSummariesByNamespace(namespace, order, maxItems, skipCount));
+  }
+
   /**
    * Updates an existing workspace with a new configuration.
    *
@@ -845,16 +897,27 @@ public class WorkspaceManager {
   private void injectRuntimeAndAttributes(List<WorkspaceImpl> workspaces, boolean statusOnly)
       throws SnapshotException {
     if (statusOnly) {
+      final Map<String, WorkspaceStatus> statuses =
+          runtimes.getStatuses(workspaces.stream().map(WorkspaceImpl::getId).collect(toList()));
       for (WorkspaceImpl workspace : workspaces) {
-        workspace.setStatus(runtimes.getStatus(workspace.getId()));
-        addExtraAttributes(workspace);
+        workspace.setStatus(statuses.get(workspace.getId()));
       }
     } else {
-      for (WorkspaceImpl workspace : workspaces) {
-        runtimes.injectRuntime(workspace);
-        addExtraAttributes(workspace);
-      }
+      runtimes.injectRuntimes(workspaces);
+    }
+    for (WorkspaceImpl workspace : workspaces) {
+      addExtraAttributes(workspace);
+    }
+  }
+
+  /** Sets statuses of workspace runtimes to the summaries of the given page. */
+  private Page<WorkspaceSummaryImpl> injectStatuses(Page<WorkspaceSummaryImpl> page) {
+    final Map<String, WorkspaceStatus> statuses =
+        runtimes.getStatuses(page.getItems(WorkspaceSummaryImpl::getId));
+    for (WorkspaceSummaryImpl summary : page.getItems()) {
+      summary.setStatus(statuses.get(summary.getId()));
     }
+    return page;
   }
 
   /** Adds attributes that are not originally stored in workspace but should be published. */
@@ -25,16 +25,21 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -42,6 +47,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.exception.AgentException;
@@ -50,6 +56,7 @@ import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.agent.shared.model.AgentKey;
+import org.eclipse.che.api.agent.shared.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -71,13 +78,16 @@ import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
+import org.eclipse.che.api.workspace.server.event.AgentLaunchTimeEvent;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
@@ -113,6 +123,9 @@ public class WorkspaceRuntimes {
   private final AgentRegistry agentRegistry;
   private final SnapshotDao snapshotDao;
   private final WorkspaceSharedPool sharedPool;
+  private final int agentLaunchParallelism;
+  /** Pool for concurrent launches of agents, null when agents are launched one by one. */
+  private final ExecutorService agentsLaunchingPool;
 
   private final AtomicBoolean isShutdown = new AtomicBoolean(false);
   private final AtomicBoolean isStartRefused = new AtomicBoolean(false);
@@ -126,7 +139,8 @@ public class WorkspaceRuntimes {
       AgentLauncherFactory launcherFactory,
       AgentRegistry agentRegistry,
       SnapshotDao snapshotDao,
-      WorkspaceSharedPool sharedPool) {
+      WorkspaceSharedPool sharedPool,
+      @Named("che.workspace.agent_launch_parallelism") int agentLaunchParallelism) {
     this(
         eventsService,
         envEngine,
@@ -135,6 +149,7 @@ public class WorkspaceRuntimes {
         agentRegistry,
         snapshotDao,
         sharedPool,
+        agentLaunchParallelism,
         new ConcurrentHashMap<>());
   }
 
@@ -146,6 +161,7 @@ public class WorkspaceRuntimes {
       AgentRegistry agentRegistry,
       SnapshotDao snapshotDao,
       WorkspaceSharedPool sharedPool,
+      int agentLaunchParallelism,
       ConcurrentMap<String, RuntimeState> states) {
     this.eventsService = eventsService;
     this.envEngine = envEngine;
@@ -157,6 +173,19 @@ public class WorkspaceRuntimes {
     this.locks = new StripedLocks(16);
     this.sharedPool = sharedPool;
     this.states = states;
+    this.agentLaunchParallelism = agentLaunchParallelism;
+    if (agentLaunchParallelism == 1) {
+      agentsLaunchingPool = null;
+    } else {
+      agentsLaunchingPool =
+          Executors.newFixedThreadPool(
+              2 * Runtime.getRuntime().availableProcessors(),
+              new ThreadFactoryBuilder()
+                  .setNameFormat("AgentsLaunchingPool-%d")
+                  .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                  .setDaemon(true)
+                  .build());
+    }
   }
 
   /**
@@ -294,6 +323,63 @@ public class WorkspaceRuntimes {
         state = new RuntimeState(states.get(workspace.getId()));
       }
     }
+    injectState(workspace, state);
+  }
+
+  /**
+   * Injects runtime information into each of the given workspaces in the same way as {@link
+   * #injectRuntime(WorkspaceImpl)} does, but takes snapshot of runtime states of all the workspaces
+   * at once.
+   *
+   * @param workspaces the workspaces to inject runtimes into
+   */
+  public void injectRuntimes(Collection<? extends WorkspaceImpl> workspaces) {
+    requireNonNull(workspaces, "Required non-null workspaces");
+    final Map<String, RuntimeState> states =
+        getStates(workspaces.stream().map(WorkspaceImpl::getId).collect(Collectors.toList()));
+    for (WorkspaceImpl workspace : workspaces) {
+      injectState(workspace, states.get(workspace.getId()));
+    }
+  }
+
+  /**
+   * Returns statuses of the given workspaces. Runtime states of all the workspaces are read at
+   * once, so it is cheaper than calling {@link #getStatus(String)} for each workspace.
+   *
+   * @param workspaceIds IDs of requested workspaces
+   * @return statuses of workspaces mapped by their IDs, {@link WorkspaceStatus#STOPPED} for
+   *     workspaces which are not running
+   */
+  public Map<String, WorkspaceStatus> getStatuses(Collection<String> workspaceIds) {
+    requireNonNull(workspaceIds, "Required non-null workspace ids");
+    final Map<String, RuntimeState> states = getStates(workspaceIds);
+    final Map<String, WorkspaceStatus> statuses = new HashMap<>();
+    for (String workspaceId : workspaceIds) {
+      final RuntimeState state = states.get(workspaceId);
+      statuses.put(workspaceId, state == null ? WorkspaceStatus.STOPPED : state.status);
+    }
+    return statuses;
+  }
+
+  /** Returns copies of states of the given workspaces which are running. */
+  private Map<String, RuntimeState> getStates(Collection<String> workspaceIds) {
+    final Map<String, RuntimeState> result = new HashMap<>();
+    if (states.isEmpty() || workspaceIds.isEmpty()) {
+      return result;
+    }
+    try (@SuppressWarnings("unused")
+        Unlocker u = locks.readLocks(workspaceIds)) {
+      for (String workspaceId : workspaceIds) {
+        final RuntimeState state = states.get(workspaceId);
+        if (state != null) {
+          result.put(workspaceId, new RuntimeState(state));
+        }
+      }
+    }
+    return result;
+  }
+
+  private void injectState(WorkspaceImpl workspace, RuntimeState state) {
     if (state == null) {
       workspace.setStatus(WorkspaceStatus.STOPPED);
     } else {
@@ -640,6 +726,10 @@ public class WorkspaceRuntimes {
         Thread.currentThread().interrupt();
       }
     }
+
+    if (agentsLaunchingPool != null) {
+      agentsLaunchingPool.shutdownNow();
+    }
   }
 
   private void checkIsNotTerminated(String operation) throws ServerException {
@@ -669,20 +759,121 @@ public class WorkspaceRuntimes {
     return state;
   }
 
+  /**
+   * Launches agents in the machine respecting dependencies between them. Agents are launched in
+   * waves, each wave consists of agents which depend only on agents of previous waves. Up to
+   * {@code che.workspace.agent_launch_parallelism} agents of the same wave are launched
+   * concurrently, by default agents are launched one by one as their scripts install software with
+   * system package managers which fail when another installation is in progress.
+   */
   protected void launchAgents(Instance instance, List<String> agents)
       throws ServerException, AgentException {
-    for (AgentKey agentKey : agentSorter.sort(agents)) {
-      if (!Thread.currentThread().isInterrupted()) {
-        LOG.info(
-            "Launching '{}' agent at workspace {}", agentKey.getId(), instance.getWorkspaceId());
-        Agent agent = agentRegistry.getAgent(agentKey);
-        AgentLauncher launcher =
-            launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
-        launcher.launch(instance, agent);
+    for (List<Agent> wave : splitIntoWaves(agentSorter.sort(agents))) {
+      if (wave.size() == 1 || agentsLaunchingPool == null) {
+        for (Agent agent : wave) {
+          launchAgent(instance, agent);
+        }
+      } else {
+        launchConcurrently(instance, wave);
+      }
+    }
+  }
+
+  /**
+   * Splits sorted agents into waves, agent belongs to the wave next to the last wave of agents it
+   * depends on.
+   */
+  private List<List<Agent>> splitIntoWaves(List<AgentKey> sortedAgents) throws AgentException {
+    List<List<Agent>> waves = new ArrayList<>();
+    Map<String, Integer> agentWaves = new HashMap<>();
+    for (AgentKey agentKey : sortedAgents) {
+      Agent agent = agentRegistry.getAgent(agentKey);
+      int wave = 0;
+      for (String dependency : agent.getDependencies()) {
+        // agents are sorted, so dependencies are already in the waves
+        Integer dependencyWave = agentWaves.get(AgentKeyImpl.parse(dependency).getId());
+        if (dependencyWave != null) {
+          wave = Math.max(wave, dependencyWave + 1);
+        }
+      }
+      agentWaves.put(agentKey.getId(), wave);
+      if (wave == waves.size()) {
+        waves.add(new ArrayList<>());
+      }
+      waves.get(wave).add(agent);
+    }
+    return waves;
+  }
+
+  /**
+   * Launches agents concurrently, but not more than {@code che.workspace.agent_launch_parallelism}
+   * at the same time. If launch of any agent fails launches of others are interrupted.
+   */
+  private void launchConcurrently(Instance instance, List<Agent> agents)
+      throws ServerException, AgentException {
+    CompletionService<Void> completionService =
+        new ExecutorCompletionService<>(agentsLaunchingPool);
+    int limit = agentLaunchParallelism > 0 ? agentLaunchParallelism : agents.size();
+    Iterator<Agent> pending = agents.iterator();
+    List<Future<Void>> launches = new ArrayList<>(agents.size());
+    try {
+      while (launches.size() < limit && pending.hasNext()) {
+        launches.add(submitLaunch(completionService, instance, pending.next()));
+      }
+      for (int i = 0; i < agents.size(); i++) {
+        completionService.take().get();
+        if (pending.hasNext()) {
+          launches.add(submitLaunch(completionService, instance, pending.next()));
+        }
+      }
+    } catch (InterruptedException x) {
+      // start of the machine is interrupted, it is checked by the environment engine
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException x) {
+      Throwable cause = x.getCause();
+      if (cause instanceof ServerException) {
+        throw (ServerException) cause;
+      } else if (cause instanceof AgentException) {
+        throw (AgentException) cause;
+      } else {
+        throw new ServerException(cause.getLocalizedMessage(), cause);
+      }
+    } finally {
+      for (Future<Void> launch : launches) {
+        launch.cancel(true);
       }
     }
   }
 
+  private Future<Void> submitLaunch(
+      CompletionService<Void> completionService, Instance instance, Agent agent) {
+    return completionService.submit(
+        ThreadLocalPropagateContext.wrap(
+            () -> {
+              launchAgent(instance, agent);
+              return null;
+            }));
+  }
+
+  private void launchAgent(Instance instance, Agent agent) throws ServerException, AgentException {
+    if (Thread.currentThread().isInterrupted()) {
+      return;
+    }
+    LOG.info("Launching '{}' agent at workspace {}", agent.getId(), instance.getWorkspaceId());
+    AgentLauncher launcher = launcherFactory.find(agent.getId(), instance.getConfig().getType());
+    long startTime = System.currentTimeMillis();
+    launcher.launch(instance, agent);
+    long launchDuration = System.currentTimeMillis() - startTime;
+    LOG.debug(
+        "Agent '{}' launched at workspace {} in {} ms",
+        agent.getId(),
+        instance.getWorkspaceId(),
+        launchDuration);
+    eventsService.publish(
+        new AgentLaunchTimeEvent(
+            instance.getWorkspaceId(), instance.getId(), agent.getId(), launchDuration));
+  }
+
   /**
    * Starts the environment publishing all the necessary events. Respects task interruption & stops
    * the workspace if starting task is cancelled.
@@ -56,6 +56,7 @@ import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.rest.Service;
@@ -67,11 +68,14 @@ import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceSummaryOrder;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 
@@ -271,6 +275,91 @@ public class WorkspaceService extends Service {
         .collect(toList());
   }
 
+  @GET
+  @Path("/summary")
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+    value = "Get summaries of workspaces which user can read",
+    notes =
+        "Summaries don't contain configurations and runtimes of workspaces. "
+            + "Links to the other pages are provided in the 'Link' header",
+    response = WorkspaceSummaryDto.class,
+    responseContainer = "List"
+  )
+  @ApiResponses({
+    @ApiResponse(code = 200, message = "The summaries successfully fetched"),
+    @ApiResponse(code = 400, message = "Paging or sorting parameters are not valid"),
+    @ApiResponse(code = 500, message = "Internal server error occurred during summaries fetching")
+  })
+  public Response getWorkspaceSummaries(
+      @ApiParam("The number of the items to skip") @DefaultValue("0") @QueryParam("skipCount")
+          Integer skipCount,
+      @ApiParam("The limit of the items in the response, default is 30")
+          @DefaultValue("30")
+          @QueryParam("maxItems")
+          Integer maxItems,
+      @ApiParam(
+            value = "The order of the items, '-' prefix means descending order",
+            allowableValues = "name,-name,namespace,-namespace"
+          )
+          @DefaultValue("name")
+          @QueryParam("sort")
+          String sort)
+      throws ServerException, BadRequestException {
+    validatePaging(skipCount, maxItems);
+    final Page<WorkspaceSummaryImpl> page =
+        workspaceManager.getWorkspaceSummaries(
+            EnvironmentContext.getCurrent().getSubject().getUserId(),
+            parseOrder(sort),
+            maxItems,
+            skipCount);
+    return Response.ok()
+        .entity(page.getItems(DtoConverter::asDto))
+        .header("Link", createLinkHeader(page))
+        .build();
+  }
+
+  @GET
+  @Path("/summary/namespace/{namespace:.*}")
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+    value = "Get summaries of workspaces by given namespace",
+    notes =
+        "Summaries don't contain configurations and runtimes of workspaces. "
+            + "Links to the other pages are provided in the 'Link' header",
+    response = WorkspaceSummaryDto.class,
+    responseContainer = "List"
+  )
+  @ApiResponses({
+    @ApiResponse(code = 200, message = "The summaries successfully fetched"),
+    @ApiResponse(code = 400, message = "Paging or sorting parameters are not valid"),
+    @ApiResponse(code = 500, message = "Internal server error occurred during summaries fetching")
+  })
+  public Response getSummariesByNamespace(
+      @ApiParam("The namespace") @PathParam("namespace") String namespace,
+      @ApiParam("The number of the items to skip") @DefaultValue("0") @QueryParam("skipCount")
+          Integer skipCount,
+      @ApiParam("The limit of the items in the response, default is 30")
+          @DefaultValue("30")
+          @QueryParam("maxItems")
+          Integer maxItems,
+      @ApiParam(
+            value = "The order of the items, '-' prefix means descending order",
+            allowableValues = "name,-name,namespace,-namespace"
+          )
+          @DefaultValue("name")
+          @QueryParam("sort")
+          String sort)
+      throws ServerException, BadRequestException {
+    validatePaging(skipCount, maxItems);
+    final Page<WorkspaceSummaryImpl> page =
+        workspaceManager.getSummariesByNamespace(namespace, parseOrder(sort), maxItems, skipCount);
+    return Response.ok()
+        .entity(page.getItems(DtoConverter::asDto))
+        .header("Link", createLinkHeader(page))
+        .build();
+  }
+
   @PUT
   @Path("/{id}")
   @Consumes(APPLICATION_JSON)
@@ -831,6 +920,36 @@ public class WorkspaceService extends Service {
     }
   }
 
+  /** Checks that the number of items to skip and the number of items to return are valid. */
+  private static void validatePaging(Integer skipCount, Integer maxItems)
+      throws BadRequestException {
+    if (skipCount < 0) {
+      throw new BadRequestException("The number of items to skip can't be negative");
+    }
+    if (maxItems <= 0) {
+      throw new BadRequestException("The number of items to return must be positive");
+    }
+  }
+
+  /** Parses order of workspace summaries, e.g. 'name' or '-namespace'. */
+  private static WorkspaceSummaryOrder parseOrder(String sort) throws BadRequestException {
+    switch (sort) {
+      case "name":
+        return WorkspaceSummaryOrder.NAME_ASC;
+      case "-name":
+        return WorkspaceSummaryOrder.NAME_DESC;
+      case "namespace":
+        return WorkspaceSummaryOrder.NAMESPACE_ASC;
+      case "-namespace":
+        return WorkspaceSummaryOrder.NAMESPACE_DESC;
+      default:
+        throw new BadRequestException(
+            format(
+                "Unknown sort order '%s', expected one of: name, -name, namespace, -namespace",
+                sort));
+    }
+  }
+
   /*
    * Validate composite key.
    *
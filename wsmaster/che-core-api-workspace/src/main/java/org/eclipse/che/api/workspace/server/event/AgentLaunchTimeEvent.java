@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+/** Published when agent is launched in a machine of workspace, describes how long it took. */
+public class AgentLaunchTimeEvent {
+  private final String workspaceId;
+  private final String machineId;
+  private final String agentId;
+  private final long launchDuration;
+
+  public AgentLaunchTimeEvent(
+      String workspaceId, String machineId, String agentId, long launchDuration) {
+    this.workspaceId = workspaceId;
+    this.machineId = machineId;
+    this.agentId = agentId;
+    this.launchDuration = launchDuration;
+  }
+
+  public String getWorkspaceId() {
+    return workspaceId;
+  }
+
+  public String getMachineId() {
+    return machineId;
+  }
+
+  public String getAgentId() {
+    return agentId;
+  }
+
+  /** Returns duration of agent launch in milliseconds. */
+  public long getLaunchDuration() {
+    return launchDuration;
+  }
+
+  @Override
+  public String toString() {
+    return "AgentLaunchTimeEvent{"
+        + "workspaceId='"
+        + workspaceId
+        + '\''
+        + ", machineId='"
+        + machineId
+        + '\''
+        + ", agentId='"
+        + agentId
+        + '\''
+        + ", launchDuration="
+        + launchDuration
+        + '}';
+  }
+}
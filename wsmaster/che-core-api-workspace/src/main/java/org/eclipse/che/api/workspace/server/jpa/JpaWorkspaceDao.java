@@ -16,7 +16,9 @@ import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
 import com.google.inject.persist.Transactional;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
@@ -29,6 +31,7 @@ import javax.persistence.NoResultException;
 import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
@@ -36,7 +39,9 @@ import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceSummaryOrder;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 
@@ -48,6 +53,13 @@ import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 @Singleton
 public class JpaWorkspaceDao implements WorkspaceDao {
 
+  /** Selects only columns of workspace table, so configurations are not loaded. */
+  private static final String SUMMARY_QUERY =
+      "SELECT NEW "
+          + WorkspaceSummaryImpl.class.getName()
+          + "(w.id, w.name, w.account.name, w.isTemporary) "
+          + "FROM Workspace w";
+
   @Inject private EventService eventService;
   @Inject private Provider<EntityManager> managerProvider;
 
@@ -190,6 +202,44 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>User can read workspaces of the personal account, which has the same identifier as the
+   * user.
+   */
+  @Override
+  @Transactional
+  public Page<WorkspaceSummaryImpl> getSummaries(
+      String userId, WorkspaceSummaryOrder order, int maxItems, long skipCount)
+      throws ServerException {
+    requireNonNull(userId, "Required non-null user id");
+    return doGetSummaries(
+        "w.account.id = :accountId",
+        "Workspace.getByAccountIdCount",
+        "accountId",
+        userId,
+        order,
+        maxItems,
+        skipCount);
+  }
+
+  @Override
+  @Transactional
+  public Page<WorkspaceSummaryImpl> getSummariesByNamespace(
+      String namespace, WorkspaceSummaryOrder order, int maxItems, long skipCount)
+      throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    return doGetSummaries(
+        "w.account.name = :namespace",
+        "Workspace.getByNamespaceCount",
+        "namespace",
+        namespace,
+        order,
+        maxItems,
+        skipCount);
+  }
+
   @Transactional
   protected void doCreate(WorkspaceImpl workspace) {
     if (workspace.getConfig() != null) {
@@ -229,6 +279,85 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     return merged;
   }
 
+  /**
+   * Fetches page of summaries of workspaces matching the condition.
+   *
+   * @param condition condition of the summary query with single parameter
+   * @param countQuery named query which counts workspaces matching the condition
+   */
+  private Page<WorkspaceSummaryImpl> doGetSummaries(
+      String condition,
+      String countQuery,
+      String parameter,
+      String value,
+      WorkspaceSummaryOrder order,
+      int maxItems,
+      long skipCount)
+      throws ServerException {
+    requireNonNull(order, "Required non-null order");
+    checkArgument(maxItems > 0, "The number of items to return must be positive.");
+    checkArgument(
+        skipCount >= 0 && skipCount <= Integer.MAX_VALUE,
+        "The number of items to skip can't be negative or greater than " + Integer.MAX_VALUE);
+    try {
+      final EntityManager manager = managerProvider.get();
+      final List<WorkspaceSummaryImpl> summaries =
+          manager
+              .createQuery(
+                  SUMMARY_QUERY + " WHERE " + condition + orderBy(order),
+                  WorkspaceSummaryImpl.class)
+              .setParameter(parameter, value)
+              .setFirstResult((int) skipCount)
+              .setMaxResults(maxItems)
+              .getResultList();
+      final long count =
+          manager
+              .createNamedQuery(countQuery, Long.class)
+              .setParameter(parameter, value)
+              .getSingleResult();
+      fetchAttributes(manager, summaries);
+      return new Page<>(summaries, skipCount, maxItems, count);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
+  /** Fetches attributes of all the given summaries with a single query. */
+  private static void fetchAttributes(EntityManager manager, List<WorkspaceSummaryImpl> summaries) {
+    if (summaries.isEmpty()) {
+      return;
+    }
+    final Map<String, WorkspaceSummaryImpl> byId = new HashMap<>();
+    for (WorkspaceSummaryImpl summary : summaries) {
+      byId.put(summary.getId(), summary);
+    }
+    final List<Object[]> attributes =
+        manager
+            .createNamedQuery("Workspace.getAttributes", Object[].class)
+            .setParameter("ids", byId.keySet())
+            .getResultList();
+    for (Object[] attribute : attributes) {
+      byId.get((String) attribute[0])
+          .getAttributes()
+          .put((String) attribute[1], (String) attribute[2]);
+    }
+  }
+
+  private static String orderBy(WorkspaceSummaryOrder order) {
+    switch (order) {
+      case NAME_ASC:
+        return " ORDER BY w.name ASC, w.id ASC";
+      case NAME_DESC:
+        return " ORDER BY w.name DESC, w.id ASC";
+      case NAMESPACE_ASC:
+        return " ORDER BY w.account.name ASC, w.name ASC, w.id ASC";
+      case NAMESPACE_DESC:
+        return " ORDER BY w.account.name DESC, w.name ASC, w.id ASC";
+      default:
+        throw new IllegalArgumentException("Unknown order " + order);
+    }
+  }
+
   @Singleton
   public static class RemoveWorkspaceBeforeAccountRemovedEventSubscriber
       extends CascadeEventSubscriber<BeforeAccountRemovedEvent> {
@@ -64,6 +64,22 @@ import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
   @NamedQuery(
     name = "Workspace.getByTemporary",
     query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary"
+  ),
+  @NamedQuery(
+    name = "Workspace.getByNamespaceCount",
+    query = "SELECT COUNT(w) FROM Workspace w WHERE w.account.name = :namespace"
+  ),
+  @NamedQuery(
+    name = "Workspace.getByAccountIdCount",
+    query = "SELECT COUNT(w) FROM Workspace w WHERE w.account.id = :accountId"
+  ),
+  @NamedQuery(
+    name = "Workspace.getAttributes",
+    query =
+        "SELECT w.id, KEY(attribute), VALUE(attribute) "
+            + "FROM Workspace w "
+            + "JOIN w.attributes attribute "
+            + "WHERE w.id IN :ids"
   )
 })
 @EntityListeners(WorkspaceImpl.SyncNameOnUpdateAndPersistEventListener.class)
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.model.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.model.workspace.WorkspaceSummary;
+
+/**
+ * Data object for {@link WorkspaceSummary}. It is fetched with a projection query, so workspace
+ * configuration is not loaded.
+ */
+public class WorkspaceSummaryImpl implements WorkspaceSummary {
+
+  private String id;
+  private String name;
+  private String namespace;
+  private boolean isTemporary;
+  private Map<String, String> attributes;
+  private WorkspaceStatus status;
+
+  public WorkspaceSummaryImpl(String id, String name, String namespace, boolean isTemporary) {
+    this.id = id;
+    this.name = name;
+    this.namespace = namespace;
+    this.isTemporary = isTemporary;
+  }
+
+  public WorkspaceSummaryImpl(
+      String id,
+      String name,
+      String namespace,
+      boolean isTemporary,
+      Map<String, String> attributes,
+      WorkspaceStatus status) {
+    this(id, name, namespace, isTemporary);
+    if (attributes != null) {
+      this.attributes = new HashMap<>(attributes);
+    }
+    this.status = status;
+  }
+
+  public WorkspaceSummaryImpl(WorkspaceSummary summary) {
+    this(
+        summary.getId(),
+        summary.getName(),
+        summary.getNamespace(),
+        summary.isTemporary(),
+        summary.getAttributes(),
+        summary.getStatus());
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getNamespace() {
+    return namespace;
+  }
+
+  @Override
+  public boolean isTemporary() {
+    return isTemporary;
+  }
+
+  @Override
+  public Map<String, String> getAttributes() {
+    if (attributes == null) {
+      attributes = new HashMap<>();
+    }
+    return attributes;
+  }
+
+  public void setAttributes(Map<String, String> attributes) {
+    this.attributes = attributes;
+  }
+
+  @Override
+  public WorkspaceStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(WorkspaceStatus status) {
+    this.status = status;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) return true;
+    if (!(obj instanceof WorkspaceSummaryImpl)) return false;
+    final WorkspaceSummaryImpl other = (WorkspaceSummaryImpl) obj;
+    return Objects.equals(id, other.id)
+        && Objects.equals(name, other.name)
+        && Objects.equals(namespace, other.namespace)
+        && isTemporary == other.isTemporary
+        && getAttributes().equals(other.getAttributes())
+        && Objects.equals(status, other.status);
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 7;
+    hash = 31 * hash + Objects.hashCode(id);
+    hash = 31 * hash + Objects.hashCode(name);
+    hash = 31 * hash + Objects.hashCode(namespace);
+    hash = 31 * hash + Boolean.hashCode(isTemporary);
+    hash = 31 * hash + getAttributes().hashCode();
+    hash = 31 * hash + Objects.hashCode(status);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return "WorkspaceSummaryImpl{"
+        + "id='"
+        + id
+        + '\''
+        + ", name='"
+        + name
+        + '\''
+        + ", namespace='"
+        + namespace
+        + '\''
+        + ", isTemporary="
+        + isTemporary
+        + ", attributes="
+        + attributes
+        + ", status="
+        + status
+        + '}';
+  }
+}
@@ -10,11 +10,15 @@
  */
 package org.eclipse.che.api.workspace.server.spi;
 
+import static java.util.Objects.requireNonNull;
+
 import java.util.List;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 
 /**
  * Defines data access object contract for {@link WorkspaceImpl}.
@@ -129,4 +133,54 @@ public interface WorkspaceDao {
    */
   List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems)
       throws ServerException;
+
+  /**
+   * Gets summaries of workspaces which user can read. Statuses of returned summaries are not set.
+   *
+   * <p>Default implementation sorts and pages workspaces returned by {@link
+   * #getWorkspaces(String)}, implementations should fetch summaries without workspace
+   * configurations instead.
+   *
+   * @param userId id of user
+   * @param order the order of summaries
+   * @param maxItems the maximum number of summaries to return
+   * @param skipCount the number of summaries to skip
+   * @return page of workspace summaries
+   * @throws NullPointerException when {@code userId} or {@code order} is null
+   * @throws IllegalArgumentException when {@code maxItems} is not positive or {@code skipCount}
+   *     is negative
+   * @throws ServerException when any other error occurs during summaries fetching
+   */
+  default Page<WorkspaceSummaryImpl> getSummaries(
+      String userId, WorkspaceSummaryOrder order, int maxItems, long skipCount)
+      throws ServerException {
+    requireNonNull(userId, "Required non-null user id");
+    requireNonNull(order, "Required non-null order");
+    return order.toPage(getWorkspaces(userId), maxItems, skipCount);
+  }
+
+  /**
+   * Gets summaries of workspaces in given namespace. Statuses of returned summaries are not set.
+   *
+   * <p>Default implementation sorts and pages workspaces returned by {@link
+   * #getByNamespace(String)}, implementations should fetch summaries without workspace
+   * configurations instead.
+   *
+   * @param namespace workspace namespace
+   * @param order the order of summaries
+   * @param maxItems the maximum number of summaries to return
+   * @param skipCount the number of summaries to skip
+   * @return page of workspace summaries
+   * @throws NullPointerException when {@code namespace} or {@code order} is null
+   * @throws IllegalArgumentException when {@code maxItems} is not positive or {@code skipCount}
+   *     is negative
+   * @throws ServerException when any other error occurs during summaries fetching
+   */
+  default Page<WorkspaceSummaryImpl> getSummariesByNamespace(
+      String namespace, WorkspaceSummaryOrder order, int maxItems, long skipCount)
+      throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    requireNonNull(order, "Required non-null order");
+    return order.toPage(getByNamespace(namespace), maxItems, skipCount);
+  }
 }
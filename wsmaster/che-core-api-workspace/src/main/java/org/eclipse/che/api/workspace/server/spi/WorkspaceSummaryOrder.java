@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.spi;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+
+import java.util.Comparator;
+import java.util.List;
+import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.model.workspace.WorkspaceSummary;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
+
+/**
+ * Defines the order of workspace summaries returned by {@link WorkspaceDao}. Summaries with equal
+ * sort keys are ordered by workspace identifier, so pages are stable.
+ */
+public enum WorkspaceSummaryOrder {
+  NAME_ASC(comparing(WorkspaceSummary::getName)),
+  NAME_DESC(comparing(WorkspaceSummary::getName).reversed()),
+  NAMESPACE_ASC(
+      comparing(WorkspaceSummary::getNamespace).thenComparing(WorkspaceSummary::getName)),
+  NAMESPACE_DESC(
+      comparing(WorkspaceSummary::getNamespace)
+          .reversed()
+          .thenComparing(WorkspaceSummary::getName));
+
+  private final Comparator<WorkspaceSummary> comparator;
+
+  WorkspaceSummaryOrder(Comparator<WorkspaceSummary> comparator) {
+    this.comparator = comparator.thenComparing(WorkspaceSummary::getId);
+  }
+
+  /** Returns comparator which sorts summaries in this order. */
+  public Comparator<WorkspaceSummary> comparator() {
+    return comparator;
+  }
+
+  /** Sorts summaries of the given workspaces in this order and returns the requested page. */
+  Page<WorkspaceSummaryImpl> toPage(List<WorkspaceImpl> workspaces, int maxItems, long skipCount) {
+    checkArgument(maxItems > 0, "The number of items to return must be positive.");
+    checkArgument(skipCount >= 0, "The number of items to skip can't be negative.");
+    final List<WorkspaceSummaryImpl> summaries =
+        workspaces
+            .stream()
+            .map(
+                workspace ->
+                    new WorkspaceSummaryImpl(
+                        workspace.getId(),
+                        workspace.getConfig().getName(),
+                        workspace.getNamespace(),
+                        workspace.isTemporary(),
+                        workspace.getAttributes(),
+                        null))
+            .sorted(comparator)
+            .skip(skipCount)
+            .limit(maxItems)
+            .collect(toList());
+    return new Page<>(summaries, skipCount, maxItems, workspaces.size());
+  }
+}
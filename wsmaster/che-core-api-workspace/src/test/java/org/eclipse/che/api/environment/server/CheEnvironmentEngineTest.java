@@ -16,11 +16,13 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -33,6 +35,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertEqualsNoOrder;
 import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
@@ -45,6 +48,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.exception.AgentException;
 import org.eclipse.che.api.agent.shared.model.Agent;
@@ -129,23 +135,7 @@ public class CheEnvironmentEngineTest {
 
   @BeforeMethod
   public void setUp() throws Exception {
-    engine =
-        spy(
-            new CheEnvironmentEngine(
-                snapshotDao,
-                machineInstanceProviders,
-                System.getProperty("java.io.tmpdir"),
-                DEFAULT_MACHINE_MEM_LIMIT_MB,
-                eventService,
-                environmentParser,
-                new DefaultServicesStartStrategy(),
-                machineProvider,
-                infrastructureProvisioner,
-                API_ENDPOINT,
-                recipeDownloader,
-                containerNameGenerator,
-                agentRegistry,
-                sharedPool));
+    engine = spy(createEngine(1));
 
     when(machineInstanceProviders.getProvider("docker")).thenReturn(instanceProvider);
     when(instanceProvider.getRecipeTypes()).thenReturn(Collections.singleton("dockerfile"));
@@ -1492,6 +1482,183 @@ public class CheEnvironmentEngineTest {
     engine.start(workspaceId, envName, env, false, messageConsumer, startedHandler);
   }
 
+  @Test
+  public void shouldStartIndependentMachinesConcurrently() throws Exception {
+    // given
+    engine = createEngine(4);
+    EnvironmentImpl env = createEnv();
+    String envName = "env-1";
+    String workspaceId = "wsId";
+    CountDownLatch allStarting = new CountDownLatch(env.getMachines().size());
+    when(machineProvider.startService(
+            anyString(),
+            eq(workspaceId),
+            eq(envName),
+            anyString(),
+            anyBoolean(),
+            anyString(),
+            any(CheServiceImpl.class),
+            any(LineConsumer.class)))
+        .thenAnswer(
+            invocationOnMock -> {
+              // each machine waits for start of others, so start fails if they start sequentially
+              allStarting.countDown();
+              if (!allStarting.await(10, TimeUnit.SECONDS)) {
+                throw new ServerException("Machines are not started concurrently");
+              }
+              Object[] arguments = invocationOnMock.getArguments();
+              return new NoOpMachineInstance(
+                  createMachine(
+                      workspaceId,
+                      envName,
+                      (CheServiceImpl) arguments[6],
+                      (String) arguments[3],
+                      (boolean) arguments[4]));
+            });
+    when(environmentParser.parse(env)).thenReturn(createCheServicesEnv());
+
+    // when
+    List<Instance> machines =
+        engine.start(workspaceId, envName, env, false, messageConsumer, startedHandler);
+
+    // then
+    assertEquals(machines.size(), env.getMachines().size());
+  }
+
+  @Test
+  public void shouldStartMachineWhenMachinesItDependsOnAreStarted() throws Exception {
+    // given
+    engine = createEngine(4);
+    EnvironmentImpl env = createEnv();
+    String envName = "env-1";
+    String workspaceId = "wsId";
+    CheServicesEnvironmentImpl cheServicesEnv = createCheServicesEnv();
+    cheServicesEnv
+        .getServices()
+        .put(
+            "machine3",
+            new CheServiceImpl().withBuild(new CheServiceBuildContextImpl().withContext("image")));
+    cheServicesEnv.getServices().get("dev-machine").setDependsOn(singletonList("machine2"));
+    cheServicesEnv.getServices().get("dev-machine").setLinks(singletonList("machine3:db"));
+    List<String> startedMachines = new CopyOnWriteArrayList<>();
+    when(machineProvider.startService(
+            anyString(),
+            eq(workspaceId),
+            eq(envName),
+            anyString(),
+            anyBoolean(),
+            anyString(),
+            any(CheServiceImpl.class),
+            any(LineConsumer.class)))
+        .thenAnswer(
+            invocationOnMock -> {
+              Object[] arguments = invocationOnMock.getArguments();
+              String machineName = (String) arguments[3];
+              if (machineName.equals("dev-machine")) {
+                assertEqualsNoOrder(
+                    startedMachines.toArray(), new Object[] {"machine2", "machine3"});
+              }
+              startedMachines.add(machineName);
+              return new NoOpMachineInstance(
+                  createMachine(
+                      workspaceId,
+                      envName,
+                      (CheServiceImpl) arguments[6],
+                      machineName,
+                      (boolean) arguments[4]));
+            });
+    when(environmentParser.parse(env)).thenReturn(cheServicesEnv);
+
+    // when
+    engine.start(workspaceId, envName, env, false, messageConsumer, startedHandler);
+
+    // then
+    assertEquals(startedMachines.size(), 3);
+    assertEquals(startedMachines.get(2), "dev-machine");
+    ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
+    verify(eventService, atLeastOnce()).publish(eventCaptor.capture());
+    List<String> timedMachines =
+        eventCaptor
+            .getAllValues()
+            .stream()
+            .filter(event -> event instanceof MachineStartTimeEvent)
+            .map(event -> ((MachineStartTimeEvent) event).getMachineName())
+            .collect(toList());
+    assertEqualsNoOrder(timedMachines.toArray(), startedMachines.toArray());
+  }
+
+  @Test
+  public void shouldInterruptStartsOfOtherMachinesAndStopEnvironmentIfMachineStartFails()
+      throws Exception {
+    // given
+    engine = createEngine(4);
+    EnvironmentImpl env = createEnv();
+    String envName = "env-1";
+    String workspaceId = "wsId";
+    CountDownLatch devMachineStarting = new CountDownLatch(1);
+    when(machineProvider.startService(
+            anyString(),
+            eq(workspaceId),
+            eq(envName),
+            anyString(),
+            anyBoolean(),
+            anyString(),
+            any(CheServiceImpl.class),
+            any(LineConsumer.class)))
+        .thenAnswer(
+            invocationOnMock -> {
+              if ("machine2".equals(invocationOnMock.getArguments()[3])) {
+                devMachineStarting.await(10, TimeUnit.SECONDS);
+                throw new ServerException("start failed");
+              }
+              devMachineStarting.countDown();
+              try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+              } catch (InterruptedException x) {
+                Thread.currentThread().interrupt();
+                throw new ServerException("interrupted");
+              }
+              throw new ServerException("start is not interrupted");
+            });
+    when(environmentParser.parse(env)).thenReturn(createCheServicesEnv());
+
+    // when
+    try {
+      engine.start(workspaceId, envName, env, false, messageConsumer, startedHandler);
+      fail("environment must not be running");
+    } catch (ServerException x) {
+      assertEquals(x.getMessage(), "start failed");
+    }
+
+    // then
+    try {
+      engine.getMachines(workspaceId);
+      fail("environment must not be running");
+    } catch (EnvironmentNotRunningException x) {
+      assertEquals(x.getMessage(), format("Environment with ID '%s' is not found", workspaceId));
+    }
+    verify(machineProvider).destroyNetwork(anyString());
+  }
+
+  private CheEnvironmentEngine createEngine(int machineStartParallelism) {
+    return new CheEnvironmentEngine(
+        snapshotDao,
+        machineInstanceProviders,
+        System.getProperty("java.io.tmpdir"),
+        DEFAULT_MACHINE_MEM_LIMIT_MB,
+        eventService,
+        environmentParser,
+        new DefaultServicesStartStrategy(),
+        machineProvider,
+        infrastructureProvisioner,
+        API_ENDPOINT,
+        recipeDownloader,
+        containerNameGenerator,
+        agentRegistry,
+        sharedPool,
+        machineStartParallelism);
+  }
+
   private List<Instance> startEnv() throws Exception {
     EnvironmentImpl env = createEnv();
     CheServicesEnvironmentImpl cheServicesEnv = createCheServicesEnv();
@@ -21,6 +21,8 @@ import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPING;
 import static org.eclipse.che.api.workspace.server.WorkspaceManager.CREATED_ATTRIBUTE_NAME;
 import static org.eclipse.che.api.workspace.server.WorkspaceManager.SNAPSHOTTED_AT_ATTRIBUTE_NAME;
 import static org.eclipse.che.api.workspace.server.WorkspaceManager.UPDATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.server.spi.WorkspaceSummaryOrder.NAMESPACE_DESC;
+import static org.eclipse.che.api.workspace.server.spi.WorkspaceSummaryOrder.NAME_ASC;
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_CREATE_SNAPSHOT;
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_RESTORE_FROM_SNAPSHOT;
 import static org.mockito.Matchers.any;
@@ -42,7 +44,9 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -53,6 +57,7 @@ import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.workspace.Workspace;
@@ -73,6 +78,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.Constants;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -132,6 +138,25 @@ public class WorkspaceManagerTest {
         .thenAnswer(invocation -> invocation.getArguments()[0]);
     when(workspaceDao.update(any(WorkspaceImpl.class)))
         .thenAnswer(invocation -> invocation.getArguments()[0]);
+    // bulk methods of runtimes behave in the same way as mocked methods for a single workspace
+    doAnswer(
+            invocation -> {
+              for (Object workspace : (Collection<?>) invocation.getArguments()[0]) {
+                runtimes.injectRuntime((WorkspaceImpl) workspace);
+              }
+              return null;
+            })
+        .when(runtimes)
+        .injectRuntimes(any());
+    when(runtimes.getStatuses(any()))
+        .thenAnswer(
+            invocation -> {
+              final Map<String, WorkspaceStatus> statuses = new HashMap<>();
+              for (Object id : (Collection<?>) invocation.getArguments()[0]) {
+                statuses.put((String) id, runtimes.getStatus((String) id));
+              }
+              return statuses;
+            });
 
     EnvironmentContext.setCurrent(
         new EnvironmentContext() {
@@ -290,6 +315,53 @@ public class WorkspaceManagerTest {
     assertFalse(res1.isTemporary(), "Workspace must be permanent");
   }
 
+  @Test
+  public void shouldGetWorkspaceSummariesWithStatusesOfRuntimes() throws Exception {
+    final WorkspaceSummaryImpl summary1 =
+        new WorkspaceSummaryImpl("ws1", "name1", NAMESPACE, false);
+    final WorkspaceSummaryImpl summary2 =
+        new WorkspaceSummaryImpl("ws2", "name2", NAMESPACE, false);
+    when(workspaceDao.getSummaries(USER_ID, NAME_ASC, 2, 4))
+        .thenReturn(new Page<>(asList(summary1, summary2), 4, 2, 10));
+    when(runtimes.getStatuses(asList("ws1", "ws2")))
+        .thenReturn(ImmutableMap.of("ws1", STOPPED, "ws2", RUNNING));
+
+    final Page<WorkspaceSummaryImpl> page =
+        workspaceManager.getWorkspaceSummaries(USER_ID, NAME_ASC, 2, 4);
+
+    assertEquals(page.getItems(WorkspaceSummaryImpl::getStatus), asList(STOPPED, RUNNING));
+    assertEquals(page.getTotalItemsCount(), 10);
+    verify(runtimes, never()).getStatus(anyString());
+    verify(workspaceDao, never()).getWorkspaces(anyString());
+  }
+
+  @Test
+  public void shouldGetWorkspaceSummariesByNamespaceWithStatusesOfRuntimes() throws Exception {
+    final WorkspaceSummaryImpl summary = new WorkspaceSummaryImpl("ws1", "name1", NAMESPACE, true);
+    when(workspaceDao.getSummariesByNamespace(NAMESPACE, NAMESPACE_DESC, 30, 0))
+        .thenReturn(new Page<>(singletonList(summary), 0, 30, 1));
+    when(runtimes.getStatuses(singletonList("ws1"))).thenReturn(ImmutableMap.of("ws1", STARTING));
+
+    final Page<WorkspaceSummaryImpl> page =
+        workspaceManager.getSummariesByNamespace(NAMESPACE, NAMESPACE_DESC, 30, 0);
+
+    assertEquals(
+        page.getItems(),
+        singletonList(new WorkspaceSummaryImpl("ws1", "name1", NAMESPACE, true, null, STARTING)));
+  }
+
+  @Test
+  public void shouldInjectRuntimesOfAllWorkspacesAtOnceWhenGettingWorkspaces() throws Exception {
+    final WorkspaceImpl workspace1 = createAndMockWorkspace(createConfig(), NAMESPACE);
+    final WorkspaceImpl workspace2 = createAndMockWorkspace(createConfig(), NAMESPACE_2);
+    final List<WorkspaceImpl> workspaces = asList(workspace1, workspace2);
+    when(workspaceDao.getWorkspaces(USER_ID)).thenReturn(workspaces);
+
+    workspaceManager.getWorkspaces(USER_ID, true);
+
+    verify(runtimes).injectRuntimes(workspaces);
+  }
+
   @Test
   public void getWorkspaceByNameShouldReturnWorkspaceWithStatusEqualToItsRuntimeStatus()
       throws Exception {
@@ -11,12 +11,14 @@
 package org.eclipse.che.api.workspace.server;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -25,6 +27,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertEqualsNoOrder;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
@@ -45,6 +48,7 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutionException;
@@ -52,9 +56,15 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.che.api.agent.server.AgentRegistry;
+import org.eclipse.che.api.agent.server.exception.AgentStartException;
 import org.eclipse.che.api.agent.server.impl.AgentSorter;
+import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
+import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.agent.shared.model.AgentKey;
+import org.eclipse.che.api.agent.shared.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -80,6 +90,7 @@ import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.workspace.server.WorkspaceRuntimes.RuntimeState;
+import org.eclipse.che.api.workspace.server.event.AgentLaunchTimeEvent;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
@@ -125,16 +136,7 @@ public class WorkspaceRuntimesTest {
   @BeforeMethod
   public void setUp() throws Exception {
     MockitoAnnotations.initMocks(this);
-    runtimes =
-        new WorkspaceRuntimes(
-            eventService,
-            envEngine,
-            agentSorter,
-            launcherFactory,
-            agentRegistry,
-            snapshotDao,
-            sharedPool,
-            runtimeStates = new ConcurrentHashMap<>());
+    runtimes = newRuntimes(1);
   }
 
   @Test(dataProvider = "allStatuses")
@@ -213,6 +215,38 @@ public class WorkspaceRuntimesTest {
     assertTrue(workspace.getRuntime().getMachines().isEmpty());
   }
 
+  @Test
+  public void getsStatusesOfWorkspaces() throws Exception {
+    setRuntime("workspace1", WorkspaceStatus.STARTING);
+    setRuntime("workspace2", WorkspaceStatus.RUNNING);
+
+    Map<String, WorkspaceStatus> statuses =
+        runtimes.getStatuses(asList("workspace1", "workspace2", "not_running"));
+
+    assertEquals(
+        statuses,
+        ImmutableMap.of(
+            "workspace1", WorkspaceStatus.STARTING,
+            "workspace2", WorkspaceStatus.RUNNING,
+            "not_running", WorkspaceStatus.STOPPED));
+  }
+
+  @Test
+  public void injectsRuntimesOfWorkspaces() throws Exception {
+    setRuntime("workspace1", WorkspaceStatus.RUNNING, "env-name");
+    List<Instance> machines = prepareMachines("workspace1", "env-name");
+    WorkspaceImpl running = WorkspaceImpl.builder().setId("workspace1").build();
+    WorkspaceImpl stopped = WorkspaceImpl.builder().setId("workspace2").build();
+
+    runtimes.injectRuntimes(asList(running, stopped));
+
+    assertEquals(running.getStatus(), WorkspaceStatus.RUNNING);
+    assertEquals(running.getRuntime(), new WorkspaceRuntimeImpl("env-name", machines));
+    assertEquals(stopped.getStatus(), WorkspaceStatus.STOPPED);
+    assertNull(stopped.getRuntime());
+    verify(envEngine, never()).getMachines("workspace2");
+  }
+
   @Test
   public void startsWorkspace() throws Exception {
     WorkspaceImpl workspace = newWorkspace("workspace", "env-name");
@@ -886,6 +920,132 @@ public class WorkspaceRuntimesTest {
     runtimes.startAsync(newWorkspace("workspace1", "env-name"), "env-name", false);
   }
 
+  @Test
+  public void launchesIndependentAgentsOneByOneByDefault() throws Exception {
+    Instance machine = newMachine("workspace", "env-name", "machine1", true);
+    prepareAgents(agent("agent1"), agent("agent2"));
+    AtomicInteger launching = new AtomicInteger();
+    List<String> launched = new CopyOnWriteArrayList<>();
+    AgentLauncher launcher = mock(AgentLauncher.class);
+    doAnswer(
+            invocation -> {
+              assertEquals(launching.incrementAndGet(), 1, "Launches of agents overlap");
+              // gives the other launch a chance to start if agents are launched concurrently
+              Thread.sleep(100);
+              launched.add(((Agent) invocation.getArguments()[1]).getId());
+              launching.decrementAndGet();
+              return null;
+            })
+        .when(launcher)
+        .launch(any(Instance.class), any(Agent.class));
+    when(launcherFactory.find(anyString(), eq("docker"))).thenReturn(launcher);
+
+    runtimes.launchAgents(machine, asList("agent1", "agent2"));
+
+    assertEquals(launched, asList("agent1", "agent2"));
+  }
+
+  @Test
+  public void launchesIndependentAgentsConcurrentlyAndDependentAgentsAfterThem() throws Exception {
+    runtimes = newRuntimes(0);
+    Instance machine = newMachine("workspace", "env-name", "machine1", true);
+    prepareAgents(agent("agent1"), agent("agent2"), agent("dependent", "agent1", "agent2"));
+    List<String> launched = new CopyOnWriteArrayList<>();
+    CyclicBarrier independentAgentsLaunching = new CyclicBarrier(2);
+    AgentLauncher launcher = mock(AgentLauncher.class);
+    doAnswer(
+            invocation -> {
+              String agentId = ((Agent) invocation.getArguments()[1]).getId();
+              if (agentId.equals("dependent")) {
+                assertEqualsNoOrder(launched.toArray(), new Object[] {"agent1", "agent2"});
+              } else {
+                // times out if agents are launched one by one
+                independentAgentsLaunching.await(10, TimeUnit.SECONDS);
+              }
+              launched.add(agentId);
+              return null;
+            })
+        .when(launcher)
+        .launch(any(Instance.class), any(Agent.class));
+    when(launcherFactory.find(anyString(), eq("docker"))).thenReturn(launcher);
+
+    runtimes.launchAgents(machine, asList("agent1", "agent2", "dependent"));
+
+    assertEquals(launched.size(), 3);
+    assertEquals(launched.get(2), "dependent");
+    ArgumentCaptor<Object> launchTimeCaptor = ArgumentCaptor.forClass(Object.class);
+    verify(eventService, times(3)).publish(launchTimeCaptor.capture());
+    assertEqualsNoOrder(
+        launchTimeCaptor
+            .getAllValues()
+            .stream()
+            .map(event -> ((AgentLaunchTimeEvent) event).getAgentId())
+            .toArray(),
+        launched.toArray());
+  }
+
+  @Test
+  public void interruptsLaunchesOfAgentsWhenLaunchOfAgentFails() throws Exception {
+    runtimes = newRuntimes(0);
+    Instance machine = newMachine("workspace", "env-name", "machine1", true);
+    prepareAgents(agent("slow"), agent("failing"));
+    CountDownLatch slowLaunchInterrupted = new CountDownLatch(1);
+    AgentLauncher launcher = mock(AgentLauncher.class);
+    doAnswer(
+            invocation -> {
+              if ("failing".equals(((Agent) invocation.getArguments()[1]).getId())) {
+                throw new AgentStartException("launch failed");
+              }
+              try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+              } catch (InterruptedException x) {
+                slowLaunchInterrupted.countDown();
+              }
+              return null;
+            })
+        .when(launcher)
+        .launch(any(Instance.class), any(Agent.class));
+    when(launcherFactory.find(anyString(), eq("docker"))).thenReturn(launcher);
+
+    try {
+      runtimes.launchAgents(machine, asList("slow", "failing"));
+      fail("launch of agents must fail");
+    } catch (AgentStartException x) {
+      assertEquals(x.getMessage(), "launch failed");
+    }
+
+    assertTrue(slowLaunchInterrupted.await(10, TimeUnit.SECONDS));
+  }
+
+  private WorkspaceRuntimes newRuntimes(int agentLaunchParallelism) {
+    return new WorkspaceRuntimes(
+        eventService,
+        envEngine,
+        agentSorter,
+        launcherFactory,
+        agentRegistry,
+        snapshotDao,
+        sharedPool,
+        agentLaunchParallelism,
+        runtimeStates = new ConcurrentHashMap<>());
+  }
+
+  private void prepareAgents(Agent... agents) throws Exception {
+    List<AgentKey> keys = new ArrayList<>(agents.length);
+    for (Agent agent : agents) {
+      keys.add(new AgentKeyImpl(agent.getId()));
+      when(agentRegistry.getAgent(new AgentKeyImpl(agent.getId()))).thenReturn(agent);
+    }
+    when(agentSorter.sort(any())).thenReturn(keys);
+  }
+
+  private static Agent agent(String id, String... dependencies) {
+    Agent agent = mock(Agent.class);
+    when(agent.getId()).thenReturn(id);
+    when(agent.getDependencies()).thenReturn(asList(dependencies));
+    return agent;
+  }
+
   private void captureAsyncTaskAndExecuteSynchronously() throws Exception {
     verify(sharedPool).submit(taskCaptor.capture());
     taskCaptor.getValue().call();
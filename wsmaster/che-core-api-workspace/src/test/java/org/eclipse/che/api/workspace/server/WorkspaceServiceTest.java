@@ -72,6 +72,7 @@ import org.eclipse.che.api.agent.server.WsAgentHealthChecker;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.rest.ApiExceptionMapper;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
@@ -95,11 +96,14 @@ import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceSummaryOrder;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.SubjectImpl;
@@ -442,6 +446,72 @@ public class WorkspaceServiceTest {
         singletonList(workspace2));
   }
 
+  @Test
+  public void shouldGetPageOfWorkspaceSummaries() throws Exception {
+    final WorkspaceSummaryImpl summary1 =
+        new WorkspaceSummaryImpl("ws1", "b", NAMESPACE, false, singletonMap("a", "b"), RUNNING);
+    final WorkspaceSummaryImpl summary2 =
+        new WorkspaceSummaryImpl("ws2", "a", NAMESPACE, true, emptyMap(), STARTING);
+    when(wsManager.getWorkspaceSummaries(USER_ID, WorkspaceSummaryOrder.NAME_DESC, 2, 2))
+        .thenReturn(new Page<>(asList(summary1, summary2), 2, 2, 5));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace/summary?skipCount=2&maxItems=2&sort=-name");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(
+        unwrapDtoList(response, WorkspaceSummaryDto.class)
+            .stream()
+            .map(WorkspaceSummaryImpl::new)
+            .collect(toList()),
+        asList(summary1, summary2));
+    final String links = response.getHeader("Link");
+    assertTrue(links.contains("rel=\"next\""), links);
+    assertTrue(links.contains("rel=\"prev\""), links);
+  }
+
+  @Test
+  public void shouldGetPageOfWorkspaceSummariesByNamespace() throws Exception {
+    final WorkspaceSummaryImpl summary =
+        new WorkspaceSummaryImpl("ws1", "name", NAMESPACE, false, emptyMap(), RUNNING);
+    when(wsManager.getSummariesByNamespace(NAMESPACE, WorkspaceSummaryOrder.NAME_ASC, 30, 0))
+        .thenReturn(new Page<>(singletonList(summary), 0, 30, 1));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace/summary/namespace/" + NAMESPACE);
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(
+        unwrapDtoList(response, WorkspaceSummaryDto.class)
+            .stream()
+            .map(WorkspaceSummaryImpl::new)
+            .collect(toList()),
+        singletonList(summary));
+  }
+
+  @Test
+  public void shouldNotGetWorkspaceSummariesWithUnknownSortOrder() throws Exception {
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace/summary?sort=created");
+
+    assertEquals(response.getStatusCode(), 400);
+    assertEquals(
+        unwrapError(response),
+        "Unknown sort order 'created', expected one of: name, -name, namespace, -namespace");
+  }
+
   @Test
   public void shouldUpdateTheWorkspace() throws Exception {
     final WorkspaceImpl workspace = createWorkspace(createConfigDto());
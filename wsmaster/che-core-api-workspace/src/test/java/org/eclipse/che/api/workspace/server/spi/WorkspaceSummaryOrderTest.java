@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.spi;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.api.workspace.server.spi.WorkspaceSummaryOrder.NAMESPACE_DESC;
+import static org.eclipse.che.api.workspace.server.spi.WorkspaceSummaryOrder.NAME_ASC;
+import static org.eclipse.che.api.workspace.server.spi.WorkspaceSummaryOrder.NAME_DESC;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link WorkspaceSummaryOrder} which is used by default implementation of summary
+ * methods of {@link WorkspaceDao}.
+ */
+public class WorkspaceSummaryOrderTest {
+
+  private final List<WorkspaceImpl> workspaces =
+      asList(
+          createWorkspace("id3", "ns1", "b"),
+          createWorkspace("id1", "ns2", "a"),
+          createWorkspace("id2", "ns1", "a"),
+          createWorkspace("id4", "ns2", "b"));
+
+  @Test
+  public void shouldSortSummariesByNameAndIdentifier() throws Exception {
+    final Page<WorkspaceSummaryImpl> page = NAME_ASC.toPage(workspaces, 30, 0);
+
+    assertEquals(page.getItems(WorkspaceSummaryImpl::getId), asList("id1", "id2", "id3", "id4"));
+    assertEquals(page.getTotalItemsCount(), 4);
+  }
+
+  @Test
+  public void shouldSortSummariesByNameInDescendingOrder() throws Exception {
+    final Page<WorkspaceSummaryImpl> page = NAME_DESC.toPage(workspaces, 30, 0);
+
+    assertEquals(page.getItems(WorkspaceSummaryImpl::getId), asList("id3", "id4", "id1", "id2"));
+  }
+
+  @Test
+  public void shouldSortSummariesByNamespaceInDescendingOrderAndName() throws Exception {
+    final Page<WorkspaceSummaryImpl> page = NAMESPACE_DESC.toPage(workspaces, 30, 0);
+
+    assertEquals(page.getItems(WorkspaceSummaryImpl::getId), asList("id1", "id4", "id2", "id3"));
+  }
+
+  @Test
+  public void shouldReturnRequestedPageOfSummaries() throws Exception {
+    final Page<WorkspaceSummaryImpl> page = NAME_ASC.toPage(workspaces, 2, 1);
+
+    assertEquals(page.getItems(WorkspaceSummaryImpl::getId), asList("id2", "id3"));
+    assertTrue(page.hasPreviousPage());
+    assertEquals(page.getTotalItemsCount(), 4);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowIllegalArgumentExceptionWhenMaxItemsIsNotPositive() throws Exception {
+    NAME_ASC.toPage(workspaces, 0, 0);
+  }
+
+  private static WorkspaceImpl createWorkspace(String id, String namespace, String name) {
+    return new WorkspaceImpl(
+        id,
+        new AccountImpl(namespace + "-id", namespace, "test"),
+        WorkspaceConfigImpl.builder().setName(name).build());
+  }
+}
@@ -14,6 +14,9 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.workspace.server.spi.WorkspaceSummaryOrder.NAMESPACE_DESC;
+import static org.eclipse.che.api.workspace.server.spi.WorkspaceSummaryOrder.NAME_ASC;
+import static org.eclipse.che.api.workspace.server.spi.WorkspaceSummaryOrder.NAME_DESC;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
@@ -36,6 +39,7 @@ import javax.inject.Inject;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
@@ -49,6 +53,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ServerConf2Impl;
 import org.eclipse.che.api.workspace.server.model.impl.SourceStorageImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.commons.test.tck.TckListener;
 import org.eclipse.che.commons.test.tck.repository.TckRepository;
@@ -250,6 +255,75 @@ public class WorkspaceDaoTest {
     workspaceDao.getWorkspaces(true, -2, 0);
   }
 
+  @Test
+  public void shouldGetPageOfWorkspaceSummaries() throws Exception {
+    final Page<WorkspaceSummaryImpl> page =
+        workspaceDao.getSummaries(accounts[0].getId(), NAME_ASC, 1, 1);
+
+    assertEquals(page.getTotalItemsCount(), 2);
+    assertEquals(page.getItems(), singletonList(asSummary(workspaces[1])));
+  }
+
+  @Test
+  public void shouldGetSummariesOfWorkspacesOfGivenUserOnly() throws Exception {
+    final Page<WorkspaceSummaryImpl> page1 =
+        workspaceDao.getSummaries(accounts[0].getId(), NAME_ASC, 30, 0);
+    final Page<WorkspaceSummaryImpl> page2 =
+        workspaceDao.getSummaries(accounts[1].getId(), NAME_ASC, 30, 0);
+
+    assertEquals(page1.getTotalItemsCount(), 2);
+    assertEquals(page1.getItems(), asList(asSummary(workspaces[0]), asSummary(workspaces[1])));
+    assertEquals(page2.getTotalItemsCount(), 2);
+    assertEquals(page2.getItems(), asList(asSummary(workspaces[2]), asSummary(workspaces[3])));
+  }
+
+  @Test
+  public void shouldGetWorkspaceSummariesByNamespaceInGivenOrder() throws Exception {
+    final String namespace = workspaces[0].getNamespace();
+
+    final Page<WorkspaceSummaryImpl> page =
+        workspaceDao.getSummariesByNamespace(namespace, NAME_DESC, 30, 0);
+
+    assertEquals(page.getTotalItemsCount(), 2);
+    assertEquals(page.getItems(), asList(asSummary(workspaces[1]), asSummary(workspaces[0])));
+  }
+
+  @Test
+  public void shouldGetWorkspaceSummariesOrderedByNamespaceAndName() throws Exception {
+    final Page<WorkspaceSummaryImpl> page =
+        workspaceDao.getSummaries(accounts[1].getId(), NAMESPACE_DESC, 3, 0);
+
+    assertEquals(
+        page.getItems(WorkspaceSummaryImpl::getId),
+        asList(workspaces[2].getId(), workspaces[3].getId()));
+  }
+
+  @Test
+  public void shouldReturnEmptyPageWhenThereAreNoWorkspacesInGivenNamespace() throws Exception {
+    final Page<WorkspaceSummaryImpl> page =
+        workspaceDao.getSummariesByNamespace("non-existing-namespace", NAME_ASC, 30, 0);
+
+    assertTrue(page.isEmpty());
+    assertEquals(page.getTotalItemsCount(), 0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowIllegalArgumentExceptionWhenGettingSummariesWithNonPositiveMaxItems()
+      throws Exception {
+    workspaceDao.getSummaries(accounts[0].getId(), NAME_ASC, 0, 0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowIllegalArgumentExceptionWhenGettingSummariesWithNegativeSkipCount()
+      throws Exception {
+    workspaceDao.getSummariesByNamespace(workspaces[0].getNamespace(), NAME_ASC, 30, -1);
+  }
+
+  @Test(expectedExceptions = NullPointerException.class)
+  public void shouldThrowNpeWhenGettingSummariesByNullNamespace() throws Exception {
+    workspaceDao.getSummariesByNamespace(null, NAME_ASC, 30, 0);
+  }
+
   @Test
   public void shouldPublicRemoveWorkspaceEventAfterRemoveWorkspace() throws Exception {
     final boolean[] isNotified = new boolean[] {false};
@@ -635,6 +709,16 @@ public class WorkspaceDaoTest {
     return workspace;
   }
 
+  private static WorkspaceSummaryImpl asSummary(WorkspaceImpl workspace) {
+    return new WorkspaceSummaryImpl(
+        workspace.getId(),
+        workspace.getConfig().getName(),
+        workspace.getNamespace(),
+        workspace.isTemporary(),
+        workspace.getAttributes(),
+        null);
+  }
+
   private <T extends CascadeEvent> CascadeEventSubscriber<T> mockCascadeEventSubscriber() {
     @SuppressWarnings("unchecked")
     CascadeEventSubscriber<T> subscriber = mock(CascadeEventSubscriber.class);